@@ -0,0 +1,120 @@
+/**
+ * TrackLayoutBenchmark.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.internal.scene.control.skin.agenda.base24hour;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javafx.application.Platform;
+import javafx.embed.swing.JFXPanel;
+import jfxtras.internal.scene.control.skin.agenda.AgendaDaySkin;
+import jfxtras.scene.control.agenda.Agenda;
+
+/**
+ * Placing the appointments of a single day in tracks, see {@link AppointmentAbstractTrackedPane#determineTracks(List)}.
+ * RANDOM has appointments of half an hour up to four hours starting during office hours, so hundreds of them overlap.
+ * STAIRCASE has each appointment start a minute after the previous one and last until the end of the day, so they all overlap and each gets its own track.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class TrackLayoutBenchmark {
+
+	@Param({"RANDOM", "STAIRCASE"})
+	public String layout;
+
+	@Param({"1000"})
+	public int count;
+
+	private List<AppointmentRegularBodyPane> appointmentPanes;
+
+	@Setup
+	public void setup() throws Exception {
+		new JFXPanel(); // start the JavaFX toolkit
+		
+		// the panes are created on the FX thread, determining the tracks only touches their fields
+		FutureTask<List<AppointmentRegularBodyPane>> lFutureTask = new FutureTask<>(() -> createAppointmentPanes());
+		Platform.runLater(lFutureTask);
+		appointmentPanes = lFutureTask.get();
+	}
+
+	private List<AppointmentRegularBodyPane> createAppointmentPanes() {
+		Agenda lAgenda = new Agenda();
+		LayoutHelp lLayoutHelp = new LayoutHelp(lAgenda, new AgendaDaySkin(lAgenda));
+		LocalDate lLocalDate = LocalDate.of(2014, 1, 1);
+		Random lRandom = new Random(1);
+		
+		List<AppointmentRegularBodyPane> lAppointmentPanes = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			LocalDateTime lStart;
+			LocalDateTime lEnd;
+			if ("STAIRCASE".equals(layout)) {
+				lStart = lLocalDate.atStartOfDay().plusMinutes(i);
+				lEnd = lLocalDate.plusDays(1).atStartOfDay();
+			}
+			else {
+				lStart = lLocalDate.atTime(8, 0).plusMinutes(lRandom.nextInt(10 * 60));
+				lEnd = lStart.plusMinutes(30 + lRandom.nextInt(210));
+			}
+			Agenda.Appointment lAppointment = new Agenda.AppointmentImplLocal()
+				.withStartLocalDateTime(lStart)
+				.withEndLocalDateTime(lEnd)
+				.withSummary("appointment " + i);
+			lAppointmentPanes.add(new AppointmentRegularBodyPane(lLocalDate, lAppointment, lLayoutHelp));
+		}
+		return lAppointmentPanes;
+	}
+
+	@Benchmark
+	public List<? extends AppointmentAbstractTrackedPane> determineTracks() {
+		// the panes are sorted in place, so every invocation starts from the same order
+		return AppointmentAbstractTrackedPane.determineTracks(new ArrayList<>(appointmentPanes));
+	}
+}
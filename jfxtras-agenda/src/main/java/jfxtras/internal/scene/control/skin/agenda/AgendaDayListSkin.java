@@ -27,52 +27,38 @@
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-package jfxtras.internal.scene.control.skin.agenda;
-
-import java.time.LocalDateTime;
-
-import javafx.print.PrinterJob;
-import javafx.scene.Node;
-import javafx.scene.control.SkinBase;
-import jfxtras.scene.control.agenda.Agenda;
-import jfxtras.scene.control.agenda.Agenda.Appointment;
-
-public class AgendaDayListSkin extends SkinBase<Agenda>
-implements AgendaSkin {
-
-	protected AgendaDayListSkin(Agenda arg0) {
-		super(arg0);
-		// TODO Auto-generated constructor stub
-	}
-
-	@Override
-	public void refresh() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public void setupAppointments() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public LocalDateTime convertClickInSceneToDateTime(double x, double y) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public void print(PrinterJob job) {
-		// TODO Auto-generated method stub
-		
-	}
-
-    @Override
-    public Node getNodeForPopup(Appointment appointment) {
-        // TODO Auto-generated method stub
-        return null;
-    }
-
-}
+package jfxtras.internal.scene.control.skin.agenda;
+
+import jfxtras.internal.scene.control.skin.agenda.basedaylist.AgendaSkinDayListAbstract;
+import jfxtras.scene.control.agenda.Agenda;
+
+/**
+ * Lists the days one below the other, with all their appointments.
+ * 
+ * @author Tom Eugelink
+ */
+public class AgendaDayListSkin extends AgendaSkinDayListAbstract {
+
+	/**
+	 * 
+	 */
+	public AgendaDayListSkin(Agenda control) {
+		super(control);
+	}
+
+	/**
+	 * 
+	 */
+	@Override
+	protected int getDaysPerRow() {
+		return 1;
+	}
+	
+	/**
+	 * A day in the list is as high as its appointments, but a day with a very large number of appointments still has a limit
+	 */
+	@Override
+	protected int getMaxAppointmentsPerDay() {
+		return 25;
+	}
+}
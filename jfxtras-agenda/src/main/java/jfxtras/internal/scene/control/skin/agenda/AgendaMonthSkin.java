@@ -27,52 +27,104 @@
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-package jfxtras.internal.scene.control.skin.agenda;
-
-import java.time.LocalDateTime;
-
-import javafx.print.PrinterJob;
-import javafx.scene.Node;
-import javafx.scene.control.SkinBase;
-import jfxtras.scene.control.agenda.Agenda;
-import jfxtras.scene.control.agenda.Agenda.Appointment;
-
-public class AgendaMonthSkin extends SkinBase<Agenda>
-implements AgendaSkin {
-
-	protected AgendaMonthSkin(Agenda arg0) {
-		super(arg0);
-		// TODO Auto-generated constructor stub
-	}
-
-	@Override
-	public void refresh() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public void setupAppointments() {
-		// TODO Auto-generated method stub
-		
-	}
-
-	@Override
-	public LocalDateTime convertClickInSceneToDateTime(double x, double y) {
-		// TODO Auto-generated method stub
-		return null;
-	}
-
-	@Override
-	public void print(PrinterJob job) {
-		// TODO Auto-generated method stub
-		
-	}
-
-    @Override
-    public Node getNodeForPopup(Appointment appointment) {
-        // TODO Auto-generated method stub
-        return null;
-    }
-
-}
+package jfxtras.internal.scene.control.skin.agenda;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.TextStyle;
+import java.time.temporal.WeekFields;
+import java.util.Locale;
+
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import jfxtras.internal.scene.control.skin.agenda.basedaylist.AgendaSkinDayListAbstract;
+import jfxtras.scene.control.agenda.Agenda;
+
+/**
+ * Shows the weeks one below the other, scrolling from month to month.
+ * 
+ * @author Tom Eugelink
+ */
+public class AgendaMonthSkin extends AgendaSkinDayListAbstract {
+
+	/**
+	 * 
+	 */
+	public AgendaMonthSkin(Agenda control) {
+		super(control);
+	}
+
+	/**
+	 * 
+	 */
+	@Override
+	protected int getDaysPerRow() {
+		return 7;
+	}
+	
+	/**
+	 * The rows are weeks
+	 */
+	@Override
+	protected LocalDate determineFirstDayOfRow(LocalDate localDate) {
+		DayOfWeek lFirstDayOfWeek = WeekFields.of(getSkinnable().getLocale()).getFirstDayOfWeek();
+		int lDaysIntoWeek = (localDate.getDayOfWeek().getValue() - lFirstDayOfWeek.getValue() + 7) % 7;
+		return localDate.minusDays(lDaysIntoWeek);
+	}
+	
+	/**
+	 * The month of the displayed date starts at the top
+	 */
+	@Override
+	protected LocalDate determineFirstDisplayedLocalDate() {
+		return getSkinnable().getDisplayedLocalDateTime().toLocalDate().withDayOfMonth(1);
+	}
+	
+	/**
+	 * All weeks are equally high, so a week shows a limited number of appointments per day
+	 */
+	@Override
+	protected double getFixedRowHeight() {
+		return 100;
+	}
+	
+	/**
+	 * 
+	 */
+	@Override
+	protected DateTimeFormatter createTitleDateTimeFormatter(Locale locale) {
+		return DateTimeFormatter.ofPattern("d", locale);
+	}
+	
+	/**
+	 * 
+	 */
+	@Override
+	protected DateTimeFormatter createFirstOfMonthTitleDateTimeFormatter(Locale locale) {
+		return DateTimeFormatter.ofPattern("d MMMM yyyy", locale);
+	}
+	
+	/**
+	 * The names of the days of the week above the columns
+	 */
+	@Override
+	protected Node createHeader(Locale locale) {
+		HBox lHBox = new HBox();
+		DayOfWeek lDayOfWeek = WeekFields.of(locale).getFirstDayOfWeek();
+		for (int i = 0; i < 7; i++) {
+			Label lLabel = new Label(lDayOfWeek.getDisplayName(TextStyle.SHORT, locale));
+			lLabel.getStyleClass().add("DayHeader");
+			lLabel.setAlignment(Pos.CENTER);
+			lLabel.setMaxWidth(Double.MAX_VALUE);
+			lLabel.setPrefWidth(0); // the same width as the days
+			HBox.setHgrow(lLabel, Priority.ALWAYS);
+			lHBox.getChildren().add(lLabel);
+			lDayOfWeek = lDayOfWeek.plus(1);
+		}
+		return lHBox;
+	}
+}
@@ -30,8 +30,17 @@
 package jfxtras.internal.scene.control.skin.agenda;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
@@ -42,6 +51,10 @@ import jfxtras.scene.control.agenda.Agenda.Appointment;
 /**
  * Capture the logic to extract the different types of appointments in one place.
  * 
+ * The appointments are indexed per date and per type, so collecting the appointments of a day does not scan the whole list.
+ * An appointment spanning multiple days is registered on each of them.
+ * The index follows the changes of the list; an appointment that is changed in place (for example by dragging it) must be reindexed using {@link #reindex()}.
+ * 
  * @author Tom Eugelink
  */
 public class AllAppointments {
@@ -51,6 +64,7 @@ public class AllAppointments {
 	 */
 	public AllAppointments(ObservableList<Agenda.Appointment> appointments) {
 		this.appointments = appointments;
+		rebuildIndex();
 		
 		appointments.addListener( new WeakListChangeListener<>(listChangeListener) );
 
@@ -59,6 +73,7 @@ public class AllAppointments {
 	final private ListChangeListener<Appointment> listChangeListener = new ListChangeListener<Appointment>() {
 		@Override
 		public void onChanged(javafx.collections.ListChangeListener.Change<? extends Appointment> changes) {
+			updateIndex(changes);
 			fireOnChangeListener();
 		}
 	};
@@ -84,63 +99,342 @@ public class AllAppointments {
 	 * 
 	 */
 	public List<Appointment> collectWholedayFor(LocalDate localDate) {
-		List<Appointment> collectedAppointments = new ArrayList<>();
-		
-		// scan all appointments and filter the ones for this day
-		for (Agenda.Appointment lAppointment : appointments) {
-			if (lAppointment.isWholeDay()) {
-				
-				LocalDate startLocalDate = lAppointment.getStartLocalDateTime().toLocalDate();
-				LocalDate endLocalDate = (lAppointment.getEndLocalDateTime() == null ? startLocalDate : lAppointment.getEndLocalDateTime().minusNanos(1).toLocalDate());  // end is exclusive, so subtract one nano
-				if ( (startLocalDate.isEqual(localDate) || startLocalDate.isBefore(localDate))
-				  && (endLocalDate.isEqual(localDate) || endLocalDate.isAfter(localDate)) 
-				) {
-					collectedAppointments.add(lAppointment);
+		return collect(wholedayIndex, localDate);
+	}
+	
+	/**
+	 * 
+	 */
+	public List<Appointment> collectTaskFor(LocalDate localDate) {
+		return collect(taskIndex, localDate);
+	}
+	
+	/**
+	 * 
+	 */
+	public List<Appointment> collectRegularFor(LocalDate localDate) {
+		return collect(regularIndex, localDate);
+	}
+	
+	/**
+	 * Whether the last change of the appointments (or the last {@link #reindex()}) added, removed or moved an appointment on the date.
+	 * Listeners can use this to skip dates that were not affected.
+	 */
+	public boolean isChangedOn(LocalDate localDate) {
+		return allDatesChanged || changedDates.contains(localDate);
+	}
+	final private Set<LocalDate> changedDates = new HashSet<>();
+	private boolean allDatesChanged = false;
+	
+	/**
+	 * Update the index for appointments that were changed without the list reporting it, like when an appointment is dragged to another day.
+	 * Only the appointments whose start, end or wholeday have changed are registered again.
+	 */
+	public void reindex() {
+		clearChangedDates();
+		for (List<Entry> lEntries : entries.values()) {
+			for (Entry lEntry : lEntries) {
+				if (lEntry.isChanged()) {
+					unregister(lEntry);
+					register(lEntry);
 				}
 			}
 		}
-		return collectedAppointments;
+	}
+
+	// =====================================================================================================================
+	// INDEX
+	
+	/** appointments spanning more days than this are not registered per day, but checked on each collect */
+	final static private int MAX_INDEXED_DAYS = 366;
+	/** the distance between the orders of consecutive appointments, leaving room for inserts */
+	final static private long ORDER_STEP = 1L << 16;
+	
+	final private KindIndex wholedayIndex = new KindIndex();
+	final private KindIndex taskIndex = new KindIndex();
+	final private KindIndex regularIndex = new KindIndex();
+	/** the entries per appointment; an appointment that is in the list more than once has an entry for each */
+	final private Map<Appointment, List<Entry>> entries = new IdentityHashMap<>();
+
+	/**
+	 * The indexed appointments of one type
+	 */
+	static private class KindIndex {
+		/** the entries per date, in list order */
+		final Map<LocalDate, List<Entry>> days = new HashMap<>();
+		/** the entries spanning more than MAX_INDEXED_DAYS, in list order */
+		final List<Entry> longEntries = new ArrayList<>();
+		
+		void clear() {
+			days.clear();
+			longEntries.clear();
+		}
+	}
+	
+	/**
+	 * One occurrence of an appointment in the list, with the values it was registered with
+	 */
+	static private class Entry {
+		Entry(Appointment appointment, long order) {
+			this.appointment = appointment;
+			this.order = order;
+		}
+		final Appointment appointment;
+		/** the position in the list: entries are in list order when sorted on this */
+		long order;
+		
+		LocalDateTime startLocalDateTime;
+		LocalDateTime endLocalDateTime;
+		boolean wholeDay;
+		/** the index the entry is registered in, null if it is on no day */
+		KindIndex kindIndex;
+		LocalDate startLocalDate;
+		LocalDate endLocalDate;
+		
+		boolean isChanged() {
+			return !Objects.equals(startLocalDateTime, appointment.getStartLocalDateTime())
+				|| !Objects.equals(endLocalDateTime, appointment.getEndLocalDateTime())
+				|| wholeDay != Boolean.TRUE.equals(appointment.isWholeDay());
+		}
+		
+		boolean spans(LocalDate localDate) {
+			return !startLocalDate.isAfter(localDate) && !endLocalDate.isBefore(localDate);
+		}
 	}
 	
 	/**
 	 * 
 	 */
-	public List<Appointment> collectTaskFor(LocalDate localDate) {
-		List<Appointment> collectedAppointments = new ArrayList<>();
+	private List<Appointment> collect(KindIndex kindIndex, LocalDate localDate) {
+		List<Entry> lDayEntries = kindIndex.days.getOrDefault(localDate, Collections.emptyList());
+		List<Appointment> collectedAppointments = new ArrayList<>(lDayEntries.size());
 		
-		// scan all appointments and filter the ones for this day
-		for (Agenda.Appointment lAppointment : appointments) {
-			// an not-wholeday appointment WITHOUT an end is a task
-			if (!lAppointment.isWholeDay() && lAppointment.getEndLocalDateTime() == null) {
-				
-				if (lAppointment.getStartLocalDateTime().toLocalDate().isEqual(localDate)) {
-					collectedAppointments.add(lAppointment);
+		// merge the long appointments spanning this day into the day's appointments, keeping list order
+		int lDayIdx = 0;
+		for (Entry lLongEntry : kindIndex.longEntries) {
+			if (lLongEntry.spans(localDate)) {
+				while (lDayIdx < lDayEntries.size() && lDayEntries.get(lDayIdx).order < lLongEntry.order) {
+					collectedAppointments.add(lDayEntries.get(lDayIdx++).appointment);
 				}
+				collectedAppointments.add(lLongEntry.appointment);
 			}
 		}
+		while (lDayIdx < lDayEntries.size()) {
+			collectedAppointments.add(lDayEntries.get(lDayIdx++).appointment);
+		}
 		return collectedAppointments;
 	}
 	
+	/**
+	 * Apply the changes of the list to the index.
+	 * Appends, inserts, removals and updates are applied incrementally; a permutation, or a change involving an appointment that is in the list more than once, rebuilds the index.
+	 */
+	private void updateIndex(ListChangeListener.Change<? extends Appointment> changes) {
+		clearChangedDates();
+		boolean lIncremental = true;
+		while (lIncremental && changes.next()) {
+			if (changes.wasPermutated()) {
+				lIncremental = false;
+			}
+			else if (changes.wasUpdated()) {
+				for (int i = changes.getFrom(); i < changes.getTo(); i++) {
+					for (Entry lEntry : entries.getOrDefault(appointments.get(i), Collections.emptyList())) {
+						unregister(lEntry);
+						register(lEntry);
+					}
+				}
+			}
+			else {
+				if (changes.wasRemoved()) {
+					lIncremental = removeEntries(changes.getRemoved());
+				}
+				if (lIncremental && changes.wasAdded()) {
+					lIncremental = insertEntries(changes.getFrom(), changes.getTo());
+				}
+			}
+		}
+		if (!lIncremental) {
+			rebuildIndex();
+		}
+	}
+	
 	/**
 	 * 
 	 */
-	public List<Appointment> collectRegularFor(LocalDate localDate) {
-		List<Appointment> collectedAppointments = new ArrayList<>();
+	private void rebuildIndex() {
+		allDatesChanged = true;
+		wholedayIndex.clear();
+		taskIndex.clear();
+		regularIndex.clear();
+		entries.clear();
+		long lOrder = 0;
+		for (Appointment lAppointment : appointments) {
+			addEntry(lAppointment, lOrder);
+			lOrder += ORDER_STEP;
+		}
+	}
+	
+	/**
+	 * @return false if the index must be rebuilt
+	 */
+	private boolean removeEntries(List<? extends Appointment> removed) {
+		for (Appointment lAppointment : removed) {
+			List<Entry> lEntries = entries.get(lAppointment);
+			if (lEntries == null || lEntries.size() != 1) {
+				// it is not known which occurrence was removed
+				return false;
+			}
+			unregister(lEntries.get(0));
+			entries.remove(lAppointment);
+		}
+		return true;
+	}
+	
+	/**
+	 * Add entries for the appointments in [from, to), with orders between those of their neighbours in the list.
+	 * @return false if the index must be rebuilt
+	 */
+	private boolean insertEntries(int from, int to) {
+		int lCount = to - from;
+		Long lLowerOrder = null;
+		Long lUpperOrder = null;
+		if (from > 0) {
+			lLowerOrder = uniqueOrderOf(appointments.get(from - 1));
+			if (lLowerOrder == null) {
+				return false;
+			}
+		}
+		if (to < appointments.size()) {
+			lUpperOrder = uniqueOrderOf(appointments.get(to));
+			if (lUpperOrder == null) {
+				return false;
+			}
+		}
+		if (lLowerOrder == null && lUpperOrder == null) {
+			lLowerOrder = -ORDER_STEP;
+		}
+		if (lLowerOrder == null) {
+			lLowerOrder = lUpperOrder - (lCount + 1) * ORDER_STEP;
+		}
+		if (lUpperOrder == null) {
+			lUpperOrder = lLowerOrder + (lCount + 1) * ORDER_STEP;
+		}
+		long lStep = (lUpperOrder - lLowerOrder) / (lCount + 1);
+		if (lStep == 0) {
+			// no room left between the neighbours
+			return false;
+		}
+		for (int i = 0; i < lCount; i++) {
+			addEntry(appointments.get(from + i), lLowerOrder + (i + 1) * lStep);
+		}
+		return true;
+	}
+	
+	/**
+	 * @return the order of the appointment, or null if it is not indexed or in the list more than once 
+	 */
+	private Long uniqueOrderOf(Appointment appointment) {
+		List<Entry> lEntries = entries.get(appointment);
+		if (lEntries == null || lEntries.size() != 1) {
+			return null;
+		}
+		return lEntries.get(0).order;
+	}
+	
+	/**
+	 * 
+	 */
+	private void addEntry(Appointment appointment, long order) {
+		Entry lEntry = new Entry(appointment, order);
+		entries.computeIfAbsent(appointment, a -> new ArrayList<>(1)).add(lEntry);
+		register(lEntry);
+	}
+	
+	/**
+	 * Determine the type and days of the appointment, and register it on those days
+	 */
+	private void register(Entry entry) {
+		Appointment lAppointment = entry.appointment;
+		entry.startLocalDateTime = lAppointment.getStartLocalDateTime();
+		entry.endLocalDateTime = lAppointment.getEndLocalDateTime();
+		entry.wholeDay = Boolean.TRUE.equals(lAppointment.isWholeDay());
+		entry.kindIndex = null;
+		if (entry.startLocalDateTime == null) {
+			return;
+		}
 		
-		// scan all appointments and filter the ones for this day
-		for (Agenda.Appointment lAppointment : appointments) {
-			// an not-wholeday appointment WITH a set enddate is a regular appointment
-			if (!lAppointment.isWholeDay() && lAppointment.getEndLocalDateTime() != null) {
-				
-				LocalDate startLocalDate = lAppointment.getStartLocalDateTime().toLocalDate();
-				LocalDate endLocalDate = lAppointment.getEndLocalDateTime().minusNanos(1).toLocalDate();  // end is exclusive, so subtract one nano
-				if ( (startLocalDate.isEqual(localDate) || startLocalDate.isBefore(localDate))
-				  && (endLocalDate.isEqual(localDate) || endLocalDate.isAfter(localDate)) 
-				) {
-					collectedAppointments.add(lAppointment);
-				}
+		// a wholeday appointment may be without end, a not-wholeday appointment WITHOUT an end is a task, WITH an end it is a regular appointment 
+		entry.startLocalDate = entry.startLocalDateTime.toLocalDate();
+		if (entry.wholeDay) {
+			entry.endLocalDate = (entry.endLocalDateTime == null ? entry.startLocalDate : entry.endLocalDateTime.minusNanos(1).toLocalDate()); // end is exclusive, so subtract one nano
+			entry.kindIndex = wholedayIndex;
+		}
+		else if (entry.endLocalDateTime == null) {
+			entry.endLocalDate = entry.startLocalDate;
+			entry.kindIndex = taskIndex;
+		}
+		else {
+			entry.endLocalDate = entry.endLocalDateTime.minusNanos(1).toLocalDate(); // end is exclusive, so subtract one nano
+			entry.kindIndex = regularIndex;
+		}
+		
+		// an appointment ending before it starts is on no day
+		long lDays = ChronoUnit.DAYS.between(entry.startLocalDate, entry.endLocalDate) + 1;
+		if (lDays <= 0) {
+			entry.kindIndex = null;
+		}
+		else if (lDays > MAX_INDEXED_DAYS) {
+			insertInOrder(entry.kindIndex.longEntries, entry);
+			allDatesChanged = true;
+		}
+		else {
+			for (LocalDate lLocalDate = entry.startLocalDate; !lLocalDate.isAfter(entry.endLocalDate); lLocalDate = lLocalDate.plusDays(1)) {
+				insertInOrder(entry.kindIndex.days.computeIfAbsent(lLocalDate, d -> new ArrayList<>()), entry);
+				changedDates.add(lLocalDate);
 			}
 		}
-		return collectedAppointments;
+	}
+	
+	/**
+	 * 
+	 */
+	private void unregister(Entry entry) {
+		KindIndex lKindIndex = entry.kindIndex;
+		if (lKindIndex == null) {
+			return;
+		}
+		entry.kindIndex = null;
+		if (ChronoUnit.DAYS.between(entry.startLocalDate, entry.endLocalDate) + 1 > MAX_INDEXED_DAYS) {
+			lKindIndex.longEntries.remove(entry);
+			allDatesChanged = true;
+			return;
+		}
+		for (LocalDate lLocalDate = entry.startLocalDate; !lLocalDate.isAfter(entry.endLocalDate); lLocalDate = lLocalDate.plusDays(1)) {
+			List<Entry> lDayEntries = lKindIndex.days.get(lLocalDate);
+			lDayEntries.remove(entry);
+			if (lDayEntries.isEmpty()) {
+				lKindIndex.days.remove(lLocalDate);
+			}
+			changedDates.add(lLocalDate);
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	private void clearChangedDates() {
+		changedDates.clear();
+		allDatesChanged = false;
+	}
+	
+	/**
+	 * Insert searching from the end, so appending is cheap
+	 */
+	static private void insertInOrder(List<Entry> list, Entry entry) {
+		int lIdx = list.size();
+		while (lIdx > 0 && list.get(lIdx - 1).order > entry.order) {
+			lIdx--;
+		}
+		list.add(lIdx, entry);
 	}
 }
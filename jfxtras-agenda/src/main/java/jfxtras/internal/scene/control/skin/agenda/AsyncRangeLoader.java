@@ -0,0 +1,347 @@
+/**
+ * AsyncRangeLoader.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.internal.scene.control.skin.agenda;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.util.Callback;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+import jfxtras.scene.control.agenda.Agenda.LocalDateTimeRange;
+
+/**
+ * Loads the appointments of the displayed range through an asynchronous callback, see {@link jfxtras.scene.control.agenda.Agenda#asyncLocalDateTimeRangeCallbackProperty()}.
+ * 
+ * - The result of the displayed range replaces the appointments in one setAll, on the FX thread.
+ * - When the displayed range changes before its result arrives, the result is ignored. 
+ *   Requests that are not for the displayed range or one of its neighbours are cancelled.
+ * - The previous and next range (of the same length) are requested as well, so navigating to them can show their appointments right away.
+ * - The requested ranges are cached, the least recently used are dropped when there are more than the cache size. 
+ *   A failed or cancelled request is not cached.
+ * - Appointments added to or removed from the list by others than the loader, for example created or deleted by the user, 
+ *   are patched into the cached results of the ranges they overlap, so navigating back does not bring back the old result. 
+ *   A running request of such a range is dropped and made again when needed, unless it is for the displayed range; its result is patched when it arrives.
+ * 
+ * All methods must be called on the FX thread.
+ */
+public class AsyncRangeLoader {
+
+	/**
+	 * 
+	 */
+	public AsyncRangeLoader(ObservableList<Appointment> appointments) {
+		this(appointments, Platform::runLater, DEFAULT_CACHE_SIZE);
+	}
+	
+	/**
+	 * @param appointments the list the results are put in
+	 * @param fxExecutor runs the handling of a result on the FX thread
+	 * @param cacheSize the number of ranges kept, at least 3: the displayed range and its neighbours
+	 */
+	public AsyncRangeLoader(ObservableList<Appointment> appointments, Executor fxExecutor, int cacheSize) {
+		this.appointments = appointments;
+		this.fxExecutor = fxExecutor;
+		this.cacheSize = Math.max(3, cacheSize);
+		appointments.addListener(appointmentsListChangeListener);
+	}
+	final private ObservableList<Appointment> appointments;
+	final private Executor fxExecutor;
+	final private int cacheSize;
+	final static public int DEFAULT_CACHE_SIZE = 9;
+	
+	/** the requests per range, in order of last use */
+	final private Map<List<LocalDateTime>, CompletableFuture<List<Appointment>>> cache = new LinkedHashMap<>(16, 0.75f, true);
+	
+	/** the displayed range */
+	private List<LocalDateTime> displayedKey = null;
+	/** the request of the displayed range */
+	private CompletableFuture<List<Appointment>> displayedFuture = null;
+	/** the request whose result was last put in the appointments */
+	private CompletableFuture<List<Appointment>> appliedFuture = null;
+	/** the appointments added and removed while the displayed range was still loading, its result is patched with them */
+	final private List<Appointment> addedWhileLoading = new ArrayList<>();
+	final private List<Appointment> removedWhileLoading = new ArrayList<>();
+	/** true while a result is put in the appointments, so those changes are not patched into the cache */
+	private boolean isApplying = false;
+	
+	/**
+	 * 
+	 */
+	final private ListChangeListener<Appointment> appointmentsListChangeListener = (changes) -> {
+		if (isApplying) {
+			return;
+		}
+		while (changes.next()) {
+			for (Appointment lAppointment : changes.getRemoved()) {
+				patch(lAppointment, false);
+			}
+			for (Appointment lAppointment : changes.getAddedSubList()) {
+				patch(lAppointment, true);
+			}
+		}
+	};
+	
+	/**
+	 * The range that is displayed changed, or must be loaded again.
+	 */
+	public void load(LocalDateTimeRange range, Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>> callback) {
+		List<LocalDateTime> lKey = key(range);
+		
+		// a displayed range left while still loading misses the changes made meanwhile, so it is requested again when needed
+		if (displayedFuture != null && !displayedFuture.isDone() && !lKey.equals(displayedKey) && (!addedWhileLoading.isEmpty() || !removedWhileLoading.isEmpty())) {
+			cache.remove(displayedKey, displayedFuture);
+			cancel(Collections.singletonList(displayedFuture));
+		}
+		if (!lKey.equals(displayedKey)) {
+			addedWhileLoading.clear();
+			removedWhileLoading.clear();
+		}
+		displayedKey = lKey;
+		LocalDateTimeRange lPreviousRange = shift(range, -1);
+		LocalDateTimeRange lNextRange = shift(range, 1);
+		
+		// requests that are no longer needed are cancelled
+		Set<List<LocalDateTime>> lNeededKeys = new HashSet<>(Arrays.asList(lKey, key(lPreviousRange), key(lNextRange)));
+		List<CompletableFuture<List<Appointment>>> lCancelledFutures = new ArrayList<>();
+		for (Iterator<Map.Entry<List<LocalDateTime>, CompletableFuture<List<Appointment>>>> lIterator = cache.entrySet().iterator(); lIterator.hasNext(); ) {
+			Map.Entry<List<LocalDateTime>, CompletableFuture<List<Appointment>>> lEntry = lIterator.next();
+			if (!lNeededKeys.contains(lEntry.getKey()) && !lEntry.getValue().isDone()) {
+				lCancelledFutures.add(lEntry.getValue());
+				lIterator.remove();
+			}
+		}
+		cancel(lCancelledFutures);
+		
+		// the displayed range; a cached result is used right away
+		CompletableFuture<List<Appointment>> lFuture = request(range, callback);
+		displayedFuture = lFuture;
+		if (lFuture.isDone()) {
+			apply(lKey, lFuture);
+		}
+		else {
+			lFuture.whenComplete( (result, throwable) -> {
+				fxExecutor.execute( () -> apply(lKey, lFuture) );
+			});
+		}
+		
+		// prefetch the neighbours
+		request(lPreviousRange, callback);
+		request(lNextRange, callback);
+		
+		// drop the least recently used ranges
+		List<CompletableFuture<List<Appointment>>> lDroppedFutures = new ArrayList<>();
+		for (Iterator<CompletableFuture<List<Appointment>>> lIterator = cache.values().iterator(); cache.size() > cacheSize; ) {
+			lDroppedFutures.add(lIterator.next());
+			lIterator.remove();
+		}
+		cancel(lDroppedFutures);
+	}
+	
+	/**
+	 * Forget all results, and cancel the requests that are still running, so the next load asks the callback again.
+	 */
+	public void invalidate() {
+		List<CompletableFuture<List<Appointment>>> lFutures = new ArrayList<>(cache.values());
+		cache.clear();
+		displayedFuture = null;
+		appliedFuture = null;
+		addedWhileLoading.clear();
+		removedWhileLoading.clear();
+		cancel(lFutures);
+	}
+	
+	/**
+	 * Stop following the appointments, and forget all results.
+	 */
+	public void dispose() {
+		appointments.removeListener(appointmentsListChangeListener);
+		invalidate();
+	}
+	
+	/**
+	 * Cancelling may complete the future right away, so this is done after the cache is updated
+	 */
+	private void cancel(List<CompletableFuture<List<Appointment>>> futures) {
+		for (CompletableFuture<List<Appointment>> lFuture : futures) {
+			lFuture.cancel(true);
+		}
+	}
+	
+	/**
+	 * @return the number of ranges cached, including the requests that are still running
+	 */
+	public int getCachedRangeCount() {
+		return cache.size();
+	}
+	
+	/**
+	 * 
+	 */
+	private CompletableFuture<List<Appointment>> request(LocalDateTimeRange range, Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>> callback) {
+		List<LocalDateTime> lKey = key(range);
+		CompletableFuture<List<Appointment>> lFuture = cache.get(lKey);
+		if (lFuture != null && !lFuture.isCompletedExceptionally()) { // a cancelled future is completed exceptionally as well
+			return lFuture;
+		}
+		lFuture = callback.call(range);
+		if (lFuture == null) {
+			lFuture = CompletableFuture.completedFuture(Collections.emptyList());
+		}
+		cache.put(lKey, lFuture);
+		return lFuture;
+	}
+
+	/**
+	 * Put the result of the displayed range in the appointments, if it was not put there already.
+	 * The result may have been patched since the future completed, so the displayed future is used. 
+	 */
+	private void apply(List<LocalDateTime> key, CompletableFuture<List<Appointment>> future) {
+		if (future.isCompletedExceptionally()) {
+			cache.remove(key, future); // so it is requested again
+			return;
+		}
+		if (!key.equals(displayedKey) || displayedFuture == null || !displayedFuture.isDone() || displayedFuture.isCompletedExceptionally() || displayedFuture == appliedFuture) {
+			return;
+		}
+		if (!addedWhileLoading.isEmpty() || !removedWhileLoading.isEmpty()) {
+			CompletableFuture<List<Appointment>> lPatchedFuture = CompletableFuture.completedFuture(patched(displayedFuture.join(), addedWhileLoading, removedWhileLoading));
+			cache.replace(key, displayedFuture, lPatchedFuture);
+			displayedFuture = lPatchedFuture;
+			addedWhileLoading.clear();
+			removedWhileLoading.clear();
+		}
+		appliedFuture = displayedFuture;
+		List<Appointment> lAppointments = displayedFuture.join();
+		isApplying = true;
+		try {
+			appointments.setAll(lAppointments == null ? Collections.<Appointment>emptyList() : lAppointments);
+		}
+		finally {
+			isApplying = false;
+		}
+	}
+	
+	/**
+	 * An appointment was added or removed, not by apply: patch it into the cached results
+	 */
+	private void patch(Appointment appointment, boolean added) {
+		List<Appointment> lAdded = added ? Collections.singletonList(appointment) : Collections.<Appointment>emptyList();
+		List<Appointment> lRemoved = added ? Collections.<Appointment>emptyList() : Collections.singletonList(appointment);
+		List<CompletableFuture<List<Appointment>>> lDroppedFutures = new ArrayList<>();
+		for (Iterator<Map.Entry<List<LocalDateTime>, CompletableFuture<List<Appointment>>>> lIterator = cache.entrySet().iterator(); lIterator.hasNext(); ) {
+			Map.Entry<List<LocalDateTime>, CompletableFuture<List<Appointment>>> lEntry = lIterator.next();
+			CompletableFuture<List<Appointment>> lFuture = lEntry.getValue();
+			boolean lOverlaps = overlaps(appointment, lEntry.getKey());
+			
+			// a running request: the displayed one is patched when it arrives, the others are requested again
+			if (!lFuture.isDone()) {
+				if (lFuture == displayedFuture) {
+					if (lOverlaps || !added) {
+						(added ? addedWhileLoading : removedWhileLoading).add(appointment);
+					}
+				}
+				else if (lOverlaps) {
+					lDroppedFutures.add(lFuture);
+					lIterator.remove();
+				}
+				continue;
+			}
+			
+			// a result: an added appointment is put in the ranges it overlaps, a removed one is taken out wherever it is
+			if (lFuture.isCompletedExceptionally() || (added && !lOverlaps) || (!added && (lFuture.join() == null || !lFuture.join().contains(appointment)))) {
+				continue;
+			}
+			CompletableFuture<List<Appointment>> lPatchedFuture = CompletableFuture.completedFuture(patched(lFuture.join(), lAdded, lRemoved));
+			lEntry.setValue(lPatchedFuture); // does not change the order of use
+			if (lFuture == displayedFuture) {
+				displayedFuture = lPatchedFuture;
+			}
+			if (lFuture == appliedFuture) {
+				appliedFuture = lPatchedFuture;
+			}
+		}
+		cancel(lDroppedFutures);
+	}
+	
+	/**
+	 * A copy of the result with the added and without the removed appointments
+	 */
+	static private List<Appointment> patched(List<Appointment> result, List<Appointment> added, List<Appointment> removed) {
+		List<Appointment> lAppointments = new ArrayList<>(result == null ? Collections.<Appointment>emptyList() : result);
+		lAppointments.removeAll(removed);
+		for (Appointment lAppointment : added) {
+			if (!lAppointments.contains(lAppointment)) {
+				lAppointments.add(lAppointment);
+			}
+		}
+		return lAppointments;
+	}
+	
+	/**
+	 * Whether the appointment is shown in the range; one without a start is kept in every range 
+	 */
+	static private boolean overlaps(Appointment appointment, List<LocalDateTime> key) {
+		LocalDateTime lStart = appointment.getStartLocalDateTime();
+		if (lStart == null) {
+			return true;
+		}
+		LocalDateTime lEnd = (appointment.getEndLocalDateTime() == null ? lStart : appointment.getEndLocalDateTime());
+		return lStart.isBefore(key.get(1)) && (lEnd.isAfter(key.get(0)) || !lStart.isBefore(key.get(0)));
+	}
+	
+	/**
+	 * A range is identified by its start and end
+	 */
+	static private List<LocalDateTime> key(LocalDateTimeRange range) {
+		return Arrays.asList(range.getStartLocalDateTime(), range.getEndLocalDateTime());
+	}
+	
+	/**
+	 * The range of the same length, the number of lengths earlier or later
+	 */
+	static private LocalDateTimeRange shift(LocalDateTimeRange range, int times) {
+		Duration lLength = Duration.between(range.getStartLocalDateTime(), range.getEndLocalDateTime()).multipliedBy(times);
+		return new LocalDateTimeRange(range.getStartLocalDateTime().plus(lLength), range.getEndLocalDateTime().plus(lLength));
+	}
+}
@@ -0,0 +1,178 @@
+/**
+ * RefreshScheduler.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.internal.scene.control.skin.agenda;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Collects the updates a skin needs to do, so that many requests result in a single update.
+ * 
+ * A skin requests a refresh, a setup of all appointments, or marks the dates whose appointments changed.
+ * The first request calls the trigger, usually requestLayout on the control, and all requests until the next {@link #update()} are added to that one pending update.
+ * The skin calls update() at the start of its layout, so adding a thousand appointments one by one in the same pulse results in one update instead of a thousand.
+ * 
+ * The counters tell how often the skin was asked to update, and how many of those requests were merged into an already pending update.
+ */
+public class RefreshScheduler {
+
+	/**
+	 * @param trigger called when the first request is made after an update, so the skin will call {@link #update()} soon
+	 * @param updater does the actual work, for all requests made since the last update
+	 */
+	public RefreshScheduler(Runnable trigger, Consumer<Pending> updater) {
+		this.trigger = trigger;
+		this.updater = updater;
+	}
+	final private Runnable trigger;
+	final private Consumer<Pending> updater;
+	
+	/** the number of passes update() makes at most, work requested during the last pass is left for the next update */
+	final static private int MAX_PASSES = 5;
+
+	/**
+	 * The work that was requested, handed to the updater
+	 */
+	static public class Pending {
+		private boolean refresh = false;
+		private boolean reindex = false;
+		private boolean allDates = false;
+		final private Set<LocalDate> dates = new HashSet<>();
+		
+		/** @return true if everything must be redone, like for a new locale */
+		public boolean isRefresh() { return refresh; }
+		/** @return true if the appointments may have changed in place, and must be reindexed before they are setup */
+		public boolean isReindex() { return reindex; }
+		/** @return true if the appointments of all dates must be setup */
+		public boolean isAllDates() { return allDates; }
+		/** @return the dates whose appointments must be setup, if not all dates */
+		public Set<LocalDate> getDates() { return Collections.unmodifiableSet(dates); }
+		
+		boolean isEmpty() {
+			return !refresh && !reindex && !allDates && dates.isEmpty();
+		}
+	}
+	private Pending pending = new Pending();
+	
+	/**
+	 * Everything must be redone
+	 */
+	public void requestRefresh() {
+		boolean lWasPending = !pending.isEmpty();
+		pending.refresh = true;
+		requested(lWasPending);
+	}
+	
+	/**
+	 * The appointments of all dates must be setup, after reindexing them if they may have been changed in place
+	 */
+	public void requestSetupAppointments(boolean reindex) {
+		boolean lWasPending = !pending.isEmpty();
+		pending.allDates = true;
+		pending.reindex |= reindex;
+		requested(lWasPending);
+	}
+	
+	/**
+	 * The appointments of this date must be setup
+	 */
+	public void markDirty(LocalDate localDate) {
+		boolean lWasPending = !pending.isEmpty();
+		pending.dates.add(localDate);
+		requested(lWasPending);
+	}
+	
+	/**
+	 * 
+	 */
+	private void requested(boolean wasPending) {
+		requestCount++;
+		if (wasPending) {
+			skippedCount++;
+			return;
+		}
+		trigger.run();
+	}
+	
+	/**
+	 * @return true if there is work waiting for the next update
+	 */
+	public boolean isPending() {
+		return !pending.isEmpty();
+	}
+	
+	/**
+	 * Do the pending work now.
+	 * Requests made while the updater runs (like appointments being added by a range callback) are handled in another pass.
+	 * Calling update from within the updater does nothing, the outer update takes care of it.
+	 */
+	public void update() {
+		if (updating) {
+			return;
+		}
+		updating = true;
+		try {
+			for (int lPass = 0; lPass < MAX_PASSES && !pending.isEmpty(); lPass++) {
+				Pending lPending = pending;
+				pending = new Pending();
+				updateCount++;
+				updater.accept(lPending);
+			}
+		}
+		finally {
+			updating = false;
+		}
+		if (!pending.isEmpty()) {
+			trigger.run();
+		}
+	}
+	private boolean updating = false;
+	
+	/** @return the number of requests made */
+	public long getRequestCount() {
+		return requestCount;
+	}
+	private long requestCount = 0;
+
+	/** @return the number of updates done, each handling one or more requests */
+	public long getUpdateCount() {
+		return updateCount;
+	}
+	private long updateCount = 0;
+	
+	/** @return the number of requests that were merged into an already pending update, instead of causing an update of their own */
+	public long getSkippedCount() {
+		return skippedCount;
+	}
+	private long skippedCount = 0;
+}
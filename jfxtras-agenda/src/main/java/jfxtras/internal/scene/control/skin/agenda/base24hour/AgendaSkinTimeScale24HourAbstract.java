@@ -44,7 +44,9 @@ import java.util.Map;
 import java.util.TimeZone;
 
 import javafx.beans.InvalidationListener;
+import javafx.beans.property.BooleanProperty;
 import javafx.beans.property.ObjectProperty;
+import javafx.beans.property.SimpleBooleanProperty;
 import javafx.beans.value.ChangeListener;
 import javafx.collections.ListChangeListener;
 import javafx.css.CssMetaData;
@@ -70,6 +72,8 @@ import jfxtras.internal.scene.control.skin.DateTimeToCalendarHelper;
 import jfxtras.internal.scene.control.skin.agenda.AgendaDaysFromDisplayedSkin;
 import jfxtras.internal.scene.control.skin.agenda.AgendaSkin;
 import jfxtras.internal.scene.control.skin.agenda.AllAppointments;
+import jfxtras.internal.scene.control.skin.agenda.AsyncRangeLoader;
+import jfxtras.internal.scene.control.skin.agenda.RefreshScheduler;
 import jfxtras.scene.control.agenda.Agenda;
 import jfxtras.scene.control.agenda.Agenda.Appointment;
 import jfxtras.util.NodeUtil;
@@ -104,6 +108,7 @@ implements AgendaSkin
 		
 		// initial setup
 		refresh();
+		refreshScheduler.update();
 	}
 	
 	/*
@@ -112,6 +117,9 @@ implements AgendaSkin
 	private void construct()
 	{	
 		appointments = new AllAppointments(getSkinnable().appointments());
+		appointmentSelection = new AppointmentSelection(getSkinnable().selectedAppointments());
+		refreshScheduler = new RefreshScheduler(() -> getSkinnable().requestLayout(), this::update);
+		asyncRangeLoader = new AsyncRangeLoader(getSkinnable().appointments());
 		
 		// setup component
 		createNodes();
@@ -123,25 +131,52 @@ implements AgendaSkin
 		getSkinnable().displayedLocalDateTime().addListener(displayedDateTimeChangeListener);
 		
 		// react to changes in the appointments 
-		getSkinnable().appointments().addListener(appointmentsListChangeListener);
+		appointments.addOnChangeListener(appointmentsChangedRunnable);
 
         // clean up removed appointments from appointmentNodeMap
         getSkinnable().appointments().addListener(appointmentNodeMapCleanUpListChangeListener);
+        
+		// when the appointments are drawn, the selected ones get a pane
+		getSkinnable().selectedAppointments().addListener(selectedAppointmentsListChangeListener);
+		
+		// switching between panes and drawing sets up all appointments anew
+		canvasRenderingProperty.addListener(canvasRenderingInvalidationListener);
 
 		// initial setup
 		refresh();
+		refreshScheduler.update();
 	}
 	AllAppointments appointments = null;	
+	private RefreshScheduler refreshScheduler = null;
+	private AsyncRangeLoader asyncRangeLoader = null;
+	private AppointmentSelection appointmentSelection = null;
+	AppointmentSelection appointmentSelection() { return appointmentSelection; }
 	private InvalidationListener localeInvalidationListener = (observable) -> {
 		refresh();
 	};
 	private ChangeListener<? super LocalDateTime> displayedDateTimeChangeListener = (observable, oldSelection, newSelection) -> {
 		assignDateToDayAndHeaderPanes();
 		scrollWeekpaneToShowDisplayedTime();
-		setupAppointments();
+		refreshScheduler.requestSetupAppointments(false);
+	};
+	private Runnable appointmentsChangedRunnable = () -> {
+		// only the displayed days with changed appointments need to update their panes, this is done in the next layout
+		for (DayBodyPane lDay : this.weekBodyPane.dayBodyPanes) {
+			LocalDate lLocalDate = lDay.localDateObjectProperty.get();
+			if (appointments.isChangedOn(lLocalDate)) {
+				refreshScheduler.markDirty(lLocalDate);
+			}
+		}
 	};
-	private ListChangeListener<Agenda.Appointment> appointmentsListChangeListener = (changes) -> {
-		setupAppointments();
+	private ListChangeListener<Appointment> selectedAppointmentsListChangeListener = (changes) -> {
+		if (isCanvasRendering()) {
+			for (DayBodyPane lDay : this.weekBodyPane.dayBodyPanes) {
+				lDay.setupMaterializedPanes();
+			}
+		}
+	};
+	private InvalidationListener canvasRenderingInvalidationListener = (observable) -> {
+		refresh();
 	};
     private ListChangeListener<Agenda.Appointment> appointmentNodeMapCleanUpListChangeListener = (changes) -> {
         while (changes.next()) {
@@ -160,8 +195,13 @@ implements AgendaSkin
 		// remove listeners
 		getSkinnable().localeProperty().removeListener(localeInvalidationListener);
 		getSkinnable().displayedLocalDateTime().removeListener(displayedDateTimeChangeListener);
-		getSkinnable().appointments().removeListener(appointmentsListChangeListener);
+		appointments.removeOnChangeListener(appointmentsChangedRunnable);
         getSkinnable().appointments().removeListener(appointmentNodeMapCleanUpListChangeListener);
+		getSkinnable().selectedAppointments().removeListener(selectedAppointmentsListChangeListener);
+		canvasRenderingProperty.removeListener(canvasRenderingInvalidationListener);
+		appointmentSelection.dispose();
+		asyncRangeLoader.dispose();
+		layoutHelp.appointmentPanePool.clear();
 		
 		// reset style classes
 		getSkinnable().getStyleClass().clear();
@@ -199,6 +239,10 @@ implements AgendaSkin
 			Agenda.LocalDateTimeRange lRange = new Agenda.LocalDateTimeRange(lStartLocalDate.atStartOfDay(), lEndLocalDate.plusDays(1).atStartOfDay());
 			getSkinnable().getLocalDateTimeRangeCallback().call(lRange);
 		}
+		if (getSkinnable().getAsyncLocalDateTimeRangeCallback() != null) {
+			Agenda.LocalDateTimeRange lRange = new Agenda.LocalDateTimeRange(lStartLocalDate.atStartOfDay(), lEndLocalDate.plusDays(1).atStartOfDay());
+			asyncRangeLoader.load(lRange, getSkinnable().getAsyncLocalDateTimeRangeCallback());
+		}
 		if (getSkinnable().getCalendarRangeCallback() != null) {
 			Agenda.CalendarRange lRange = new Agenda.CalendarRange( DateTimeToCalendarHelper.createCalendarFromLocalDate(lStartLocalDate, TimeZone.getDefault(), Locale.getDefault()), DateTimeToCalendarHelper.createCalendarFromLocalDate(lEndLocalDate, TimeZone.getDefault(), Locale.getDefault()));
 			getSkinnable().getCalendarRangeCallback().call(lRange);
@@ -232,9 +276,18 @@ implements AgendaSkin
 	}
 
 	/**
-	 * Have all days reconstruct the appointments
+	 * Have all days update their appointment panes.
+	 * Appointments may have been changed in place (for example by dragging), so these are reindexed first.
+	 * This is done in the next layout, together with any other updates requested before then.
 	 */
 	public void setupAppointments() {
+		refreshScheduler.requestSetupAppointments(true);
+	}
+	
+	/**
+	 * Have all days update their appointment panes from the current index
+	 */
+	private void setupDayAppointments() {
 		for (DayHeaderPane lDay : weekHeaderPane.dayHeaderPanes) {
 			lDay.setupAppointments();
 		}
@@ -246,23 +299,119 @@ implements AgendaSkin
 	}
 
 	/**
-	 * 
+	 * Redo everything, in the next layout
 	 */
 	public void refresh() {
-		assignDateToDayAndHeaderPanes();
-		refreshLocale();
-		setupAppointments();
-		nowUpdateRunnable.run(); 
+		refreshScheduler.requestRefresh();
+	}
+	
+	/**
+	 * Do the updates that were requested since the last layout, all at once.
+	 */
+	private void update(RefreshScheduler.Pending pending) {
+		if (pending.isRefresh()) {
+			asyncRangeLoader.invalidate(); // a refresh loads the appointments again
+			assignDateToDayAndHeaderPanes();
+			refreshLocale();
+			layoutHelp.appointmentGroupFills.clear(); // the stylesheet may have changed
+			layoutHelp.appointmentPanePool.clear();
+			for (DayHeaderPane lDay : weekHeaderPane.dayHeaderPanes) {
+				lDay.discardAppointmentPanes();
+			}
+			for (DayBodyPane lDay : weekBodyPane.dayBodyPanes) {
+				lDay.discardAppointmentPanes();
+			}
+		}
+		if (pending.isRefresh() || pending.isReindex()) {
+			appointments.reindex();
+		}
+		if (pending.isRefresh() || pending.isReindex() || pending.isAllDates()) {
+			setupDayAppointments();
+			return;
+		}
+		
+		// only the days that were marked dirty
+		for (DayHeaderPane lDay : weekHeaderPane.dayHeaderPanes) {
+			if (pending.getDates().contains(lDay.localDateObjectProperty.get())) {
+				lDay.setupAppointments();
+			}
+		}
+		for (DayBodyPane lDay : weekBodyPane.dayBodyPanes) {
+			if (pending.getDates().contains(lDay.localDateObjectProperty.get())) {
+				lDay.setupAppointments();
+			}
+		}
+		calculateSizes(); // must be done after setting up the panes
+		nowUpdateRunnable.run(); // set the history
+	}
+	
+	/**
+	 * The pending updates are done before the layout, so any number of changes within one pulse results in a single update.
+	 */
+	@Override
+	protected void layoutChildren(double contentX, double contentY, double contentWidth, double contentHeight) {
+		refreshScheduler.update();
+		super.layoutChildren(contentX, contentY, contentWidth, contentHeight);
+	}
+	
+	/**
+	 * @return the number of times the appointments were updated, each update handling one or more requests
+	 */
+	public long getRebuildCount() {
+		return refreshScheduler.getUpdateCount();
+	}
+	
+	/**
+	 * @return the number of update requests that did not cause an update of their own, because an update was already pending
+	 */
+	public long getSkippedRebuildCount() {
+		return refreshScheduler.getSkippedCount();
+	}
+	
+	/**
+	 * @return the number of appointment panes that were created, because no pane could be reused
+	 */
+	public long getCreatedAppointmentPaneCount() {
+		return layoutHelp.appointmentPanePool.getCreatedCount();
+	}
+	
+	/**
+	 * @return the number of appointment panes that were reused for another appointment or date, instead of creating a new pane
+	 */
+	public long getReusedAppointmentPaneCount() {
+		return layoutHelp.appointmentPanePool.getReusedCount();
 	}
 
 	/**
 	 * 
 	 */
 	@Override
-    public Pane getNodeForPopup(Appointment appointment) { return appointmentNodeMap.get(System.identityHashCode(appointment)); }
+    public Pane getNodeForPopup(Appointment appointment) { 
+    	refreshScheduler.update(); // the node may not have been created yet
+    	if (isCanvasRendering()) {
+    		// a drawn appointment gets a pane for as long as it is needed
+    		for (DayBodyPane lDay : weekBodyPane.dayBodyPanes) {
+    			Pane lPane = lDay.materializePane(appointment);
+    			if (lPane != null) {
+    				return lPane;
+    			}
+    		}
+    	}
+    	return appointmentNodeMap.get(System.identityHashCode(appointment)); 
+    }
     final private Map<Integer, Pane> appointmentNodeMap = new HashMap<>();
     Map<Integer, Pane> appointmentNodeMap() { return appointmentNodeMap; }
 	
+	/**
+	 * canvasRendering: draw the appointments in the days onto a canvas, instead of creating a pane for each, for very busy agendas.
+	 * Only the appointment under the mouse, the selected appointments and the appointment of a popup get a pane, so they can be dragged, resized and styled as usual.
+	 */
+    public final BooleanProperty canvasRenderingProperty() { return canvasRenderingProperty; }
+    final private BooleanProperty canvasRenderingProperty = new SimpleBooleanProperty(this, "canvasRendering", false);
+    public final void setCanvasRendering(boolean value) { canvasRenderingProperty.set(value); }
+    public final boolean isCanvasRendering() { return canvasRenderingProperty.get(); }
+    public final T withCanvasRendering(boolean value) { setCanvasRendering(value); return (T)this; }
+	
 	// ==================================================================================================================
 	// StyleableProperties
 	
@@ -399,9 +548,23 @@ implements AgendaSkin
 		}
 		
 		private void construct() {
-			// one day header pane per day body pane 
-			for (DayBodyPane dayBodyPane : weekBodyPane.dayBodyPanes)
+			matchDayHeaderPanes();
+			
+			prefWidthProperty().bind(weekBodyPane.widthProperty()); // same width as the weekpane
+			prefHeightProperty().bind(layoutHelp.headerHeightProperty);
+		}
+		
+		/**
+		 * One day header pane per day body pane; existing header panes are kept
+		 */
+		private void matchDayHeaderPanes() {
+			while (dayHeaderPanes.size() > weekBodyPane.dayBodyPanes.size()) {
+				getChildren().remove(dayHeaderPanes.remove(dayHeaderPanes.size() - 1));
+			}
+			for (int i = dayHeaderPanes.size(); i < weekBodyPane.dayBodyPanes.size(); i++)
 			{
+				DayBodyPane dayBodyPane = weekBodyPane.dayBodyPanes.get(i);
+				
 				// create pane
 				DayHeaderPane lDayHeader = new DayHeaderPane(dayBodyPane.localDateObjectProperty.get(), appointments, layoutHelp); // associate with a day, so we can use its administration. This needs only be done once
 				
@@ -415,15 +578,13 @@ implements AgendaSkin
 				// remember
 				dayHeaderPanes.add(lDayHeader);
 			}
-			
-			prefWidthProperty().bind(weekBodyPane.widthProperty()); // same width as the weekpane
-			prefHeightProperty().bind(layoutHelp.headerHeightProperty);
 		}
 		
+		/**
+		 * The existing header panes are reused, the dates are assigned on refresh
+		 */
 		private void reconstruct() {
-			dayHeaderPanes.clear();
-			getChildren().clear();
-			construct();
+			matchDayHeaderPanes();
 		}
 	}
 
@@ -441,11 +602,21 @@ implements AgendaSkin
 		
 		private void construct() {
 			getChildren().add(new TimeScale24Hour(this, layoutHelp));
-			
-			int i = 0;
-			for (LocalDate localDate : determineDisplayedLocalDates())
+			matchDayBodyPanes();
+		}
+		
+		/**
+		 * One day pane per displayed date; existing day panes are kept
+		 */
+		private void matchDayBodyPanes() {
+			getChildren().remove(nowLine); // it is added again on top of the days, when needed
+			List<LocalDate> lLocalDates = determineDisplayedLocalDates();
+			while (dayBodyPanes.size() > lLocalDates.size()) {
+				getChildren().remove(dayBodyPanes.remove(dayBodyPanes.size() - 1));
+			}
+			for (int i = dayBodyPanes.size(); i < lLocalDates.size(); i++)
 			{
-				DayBodyPane lDayPane = new DayBodyPane(localDate, appointments, layoutHelp);
+				DayBodyPane lDayPane = new DayBodyPane(lLocalDates.get(i), appointments, layoutHelp);
 				lDayPane.layoutXProperty().bind(layoutHelp.dayWidthProperty.multiply(i).add(layoutHelp.dayFirstColumnXProperty));
 				lDayPane.layoutYProperty().set(0.0);
 				lDayPane.prefWidthProperty().bind(layoutHelp.dayWidthProperty);
@@ -454,15 +625,14 @@ implements AgendaSkin
 				
 				// remember
 				dayBodyPanes.add(lDayPane);
-				localDate = localDate.plusDays(1);
-				i++;
 			}
 		}
 		
+		/**
+		 * The existing day panes are reused, the dates are assigned on refresh
+		 */
 		void reconstruct() {
-			dayBodyPanes.clear();
-			getChildren().clear();
-			construct();
+			matchDayBodyPanes();
 		}
 	}
 	
@@ -632,6 +802,8 @@ implements AgendaSkin
      * @since JavaFX 8.0
      */
     public void print(PrinterJob job) {
+    	refreshScheduler.update(); // print the latest appointments
+    	
         float width = 5000; 
         float height = 5000; 
         
@@ -30,13 +30,19 @@
 package jfxtras.internal.scene.control.skin.agenda.base24hour;
 
 import java.time.Duration;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Period;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
 
-import javafx.collections.ListChangeListener;
-import javafx.collections.WeakListChangeListener;
 import javafx.scene.Cursor;
-import javafx.scene.control.Tooltip;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
@@ -55,66 +61,189 @@ abstract class AppointmentAbstractPane extends Pane {
 	 */
 	AppointmentAbstractPane(Agenda.Appointment appointment, LayoutHelp layoutHelp)
 	{
-		this.appointment = appointment;
 		this.layoutHelp = layoutHelp;
+		
 		appointmentMenu = new AppointmentMenu(this, appointment, layoutHelp);
 		
 		// for debugging setStyle("-fx-border-color:PINK;-fx-border-width:1px;");
 		getStyleClass().add("Appointment");
-		getStyleClass().add(appointment.getAppointmentGroup() != null ? appointment.getAppointmentGroup().getStyleClass() : "group0");
 		
-		// historical visualizer
-		historyVisualizer = new HistoricalVisualizer(this);
-		getChildren().add(historyVisualizer);
+		// the historical visualizer is only created for appointments in the past, see determineHistoryVisualizer
 
-		// tooltip
-		if (appointment.getSummary() != null) {
-			Tooltip.install(this, new Tooltip(appointment.getSummary()));
-		}
+		// tooltip: all appointments share the one tooltip, it gets the summary of the appointment the mouse enters
+		addEventHandler(MouseEvent.MOUSE_ENTERED, (mouseEvent) -> {
+			if (this.appointment.getSummary() != null) {
+				layoutHelp.installAppointmentTooltip(this, this.appointment.getSummary());
+			}
+		});
 		
 		// dragging
 		setupDragging();
 		
-		// react to changes in the selected appointments
-		layoutHelp.skinnable.selectedAppointments().addListener( new WeakListChangeListener<>(listChangeListener) );
+		// the appointment
+		assignAppointment(appointment);
 	}
-	final protected Agenda.Appointment appointment; 
+	protected Agenda.Appointment appointment; 
 	final protected LayoutHelp layoutHelp;
-	final protected HistoricalVisualizer historyVisualizer;
+	protected HistoricalVisualizer historyVisualizer = null;
 	final protected AppointmentMenu appointmentMenu;
-	final private ListChangeListener<Appointment> listChangeListener = new ListChangeListener<Appointment>() {
-		@Override
-		public void onChanged(javafx.collections.ListChangeListener.Change<? extends Appointment> changes) {
-			setOrRemoveSelected();
-		}
-	};
-
+	private LocalDateTime startLocalDateTime;
+	private LocalDateTime endLocalDateTime;
+	private Boolean wholeDay;
+	private String summary;
+	private Agenda.AppointmentGroup appointmentGroup;
+	private String appointmentGroupStyleClass = null;
+	
 	/**
 	 * 
 	 */
-	private void setOrRemoveSelected() {
+	private void assignAppointment(Agenda.Appointment appointment) {
+		this.appointment = appointment;
+		appointmentMenu.appointment = appointment;
+		
+		// remember what is rendered, so we can tell if this pane still matches the appointment
+		startLocalDateTime = appointment.getStartLocalDateTime();
+		endLocalDateTime = appointment.getEndLocalDateTime();
+		wholeDay = appointment.isWholeDay();
+		summary = appointment.getSummary();
+		appointmentGroup = appointment.getAppointmentGroup();
+		
+		// style
+		if (appointmentGroupStyleClass != null) {
+			getStyleClass().remove(appointmentGroupStyleClass);
+		}
+		appointmentGroupStyleClass = (appointment.getAppointmentGroup() != null ? appointment.getAppointmentGroup().getStyleClass() : "group0");
+		getStyleClass().add(appointmentGroupStyleClass);
+		
+		// react to changes in the selected appointments
+		appointmentSelection().register(this);
+	}
+	
+	/**
+	 * Have this pane render another appointment, or the same appointment on another date, instead of creating a new pane, see {@link AppointmentPanePool}.
+	 * Subclasses update their children.
+	 */
+	void reuse(LocalDate localDate, Agenda.Appointment appointment) {
+		assignAppointment(appointment);
+		if (appointment.getSummary() == null) {
+			layoutHelp.uninstallAppointmentTooltip(this);
+		}
+		dragging = false;
+	}
+
+	/**
+	 * Called by the AppointmentSelection of the skin when the appointment is selected or deselected
+	 */
+	void setSelected(boolean selected) {
 		// remove class if not selected
-		if ( getStyleClass().contains(SELECTED) == true // visually selected
-		  && layoutHelp.skinnable.selectedAppointments().contains(appointment) == false // but no longer in the selected collection
-		) {
+		if (selected == false) {
 			getStyleClass().remove(SELECTED);
 		}
 		
-		// add class if selected
-		if ( getStyleClass().contains(SELECTED) == false // visually not selected
-		  && layoutHelp.skinnable.selectedAppointments().contains(appointment) == true // but still in the selected collection
-		) {
+		// add class if selected and not visually selected yet
+		else if (getStyleClass().contains(SELECTED) == false) {
 			getStyleClass().add(SELECTED); 
 		}
 	}
 	private static final String SELECTED = "Selected";
 	
+	/**
+	 * 
+	 */
+	private AppointmentSelection appointmentSelection() {
+		return ((AgendaSkinTimeScale24HourAbstract<?>) layoutHelp.skin).appointmentSelection();
+	}
+	
+	/**
+	 * @return true if the appointment still has the values this pane was created with
+	 */
+	boolean isUpToDate() {
+		return Objects.equals(startLocalDateTime, appointment.getStartLocalDateTime())
+			&& Objects.equals(endLocalDateTime, appointment.getEndLocalDateTime())
+			&& Objects.equals(wholeDay, appointment.isWholeDay())
+			&& Objects.equals(summary, appointment.getSummary())
+			&& appointmentGroup == appointment.getAppointmentGroup();
+	}
+	
+	/**
+	 * Make the panes match the appointments, in the same order.
+	 * The pane of an appointment that is still present and up to date is kept, the other panes are released to the pool and the factory provides the missing ones. 
+	 * 
+	 * @return true if the panes changed, false if they already matched the appointments
+	 */
+	static <T extends AppointmentAbstractPane> boolean reconcilePanes(List<Appointment> appointments, List<T> panes, Function<Appointment, T> paneFactory, LayoutHelp layoutHelp) {
+		
+		// nothing to do if the panes already match
+		if (panes.size() == appointments.size()) {
+			boolean lMatch = true;
+			for (int i = 0; i < panes.size() && lMatch; i++) {
+				lMatch = panes.get(i).appointment == appointments.get(i) && panes.get(i).isUpToDate();
+			}
+			if (lMatch) {
+				return false;
+			}
+		}
+		
+		// the panes that can be reused
+		Map<Appointment, T> lReusablePanes = new IdentityHashMap<>();
+		for (T lPane : panes) {
+			if (lPane.isUpToDate()) {
+				lReusablePanes.putIfAbsent(lPane.appointment, lPane);
+			}
+		}
+		
+		// keep the panes that can be reused for their appointment (null means a pane is needed)
+		List<T> lKeptPanes = new ArrayList<>(appointments.size());
+		Set<T> lUsedPanes = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (Appointment lAppointment : appointments) {
+			T lPane = lReusablePanes.remove(lAppointment);
+			lKeptPanes.add(lPane);
+			if (lPane != null) {
+				lUsedPanes.add(lPane);
+			}
+		}
+		
+		// the discarded panes go to the pool, so the factory can use them for the other appointments
+		for (T lPane : panes) {
+			if (!lUsedPanes.contains(lPane)) {
+				layoutHelp.appointmentPanePool.release(lPane);
+			}
+		}
+		
+		// create the missing panes
+		Map<Integer, Pane> lAppointmentNodeMap = ((AgendaSkinTimeScale24HourAbstract<?>) layoutHelp.skin).appointmentNodeMap();
+		panes.clear();
+		for (int i = 0; i < appointments.size(); i++) {
+			Appointment lAppointment = appointments.get(i);
+			T lPane = lKeptPanes.get(i);
+			if (lPane == null) {
+				lPane = paneFactory.apply(lAppointment);
+				lAppointmentNodeMap.put(System.identityHashCode(lAppointment), lPane);
+			}
+			else {
+				lAppointmentNodeMap.putIfAbsent(System.identityHashCode(lAppointment), lPane);
+			}
+			panes.add(lPane);
+		}
+		return true;
+	}
+	
 	/**
 	 * 
 	 * @param now
 	 */
 	void determineHistoryVisualizer(LocalDateTime now) {
-		historyVisualizer.setVisible(appointment.getStartLocalDateTime().isBefore(now));
+		boolean lHistory = appointment.getStartLocalDateTime().isBefore(now);
+		
+		// most appointments are in the future, so only create the visualizer when it is needed
+		if (historyVisualizer == null) {
+			if (lHistory == false) {
+				return;
+			}
+			historyVisualizer = new HistoricalVisualizer(this);
+			getChildren().add(0, historyVisualizer); // below the other children, as if it was added first
+		}
+		historyVisualizer.setVisible(lHistory);
 	}
 
 	/**
@@ -153,6 +282,11 @@ abstract class AppointmentAbstractPane extends Pane {
 				return;
 			}
 
+			// the drag handlers are only needed once this appointment is actually dragged
+			if (getOnMouseReleased() == null) {
+				setupDragHandlers();
+			}
+
 			// remember
 			startX = mouseEvent.getX();
 			startY = mouseEvent.getY();
@@ -160,7 +294,12 @@ abstract class AppointmentAbstractPane extends Pane {
 			mouseActuallyHasDragged = false;
 			dragging = true;
 		});
-		
+	}
+	
+	/**
+	 * 
+	 */
+	private void setupDragHandlers() {
 		// visualize dragging
 		setOnMouseDragged( (mouseEvent) -> {
 			if (dragging == false) {
@@ -369,7 +508,7 @@ abstract class AppointmentAbstractPane extends Pane {
 		}
 		
 		// add to selection if not already added
-		if (layoutHelp.skinnable.selectedAppointments().contains(appointment) == false) {
+		if (appointmentSelection().isSelected(appointment) == false) {
 			layoutHelp.skinnable.selectedAppointments().add(appointment);
 		}
 		// pressing control allows to toggle
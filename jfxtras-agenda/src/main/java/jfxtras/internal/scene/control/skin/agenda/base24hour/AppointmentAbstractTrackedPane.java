@@ -36,10 +36,11 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
 
 import jfxtras.scene.control.agenda.Agenda;
 
-abstract class AppointmentAbstractTrackedPane extends AppointmentAbstractPane {
+abstract class AppointmentAbstractTrackedPane extends AppointmentAbstractPane implements TrackedAppointment {
 	/**
 	 * @param calendar
 	 * @param appointment
@@ -47,27 +48,64 @@ abstract class AppointmentAbstractTrackedPane extends AppointmentAbstractPane {
 	AppointmentAbstractTrackedPane(LocalDate localDate, Agenda.Appointment appointment, LayoutHelp layoutHelp)
 	{
 		super(appointment, layoutHelp);
-		
+		assignDate(localDate);
+	}
+	protected LocalDateTime startDateTime;
+	protected LocalDateTime endDateTime;
+	protected long durationInMS;
+	protected boolean firstPaneOfAppointment;
+	protected boolean intermediatePaneOfAppointment;
+	protected boolean lastPaneOfAppointment;
+	
+	/**
+	 * 
+	 */
+	private void assignDate(LocalDate localDate) {
 		// we know start and end optionally are set
-		startDateTime = appointment.getStartLocalDateTime().toLocalDate().isEqual(localDate) ? appointment.getStartLocalDateTime() : localDate.atStartOfDay();
-		if (appointment.getEndLocalDateTime() == null) {
-			endDateTime = null; // a task does not have an end time 
-			durationInMS = 0;
-		}
-		else {
-			endDateTime = appointment.getEndLocalDateTime().toLocalDate().isEqual(localDate) ? appointment.getEndLocalDateTime() : localDate.plusDays(1).atStartOfDay();
-			durationInMS = startDateTime.until(endDateTime, ChronoUnit.MILLIS);
-		}
+		startDateTime = determineStartDateTime(localDate, appointment);
+		endDateTime = determineEndDateTime(localDate, appointment);
+		durationInMS = (endDateTime == null ? 0 : startDateTime.until(endDateTime, ChronoUnit.MILLIS));
 		firstPaneOfAppointment = startDateTime.equals(appointment.getStartLocalDateTime());
 		lastPaneOfAppointment = (endDateTime != null && endDateTime.equals(appointment.getEndLocalDateTime()));
 		intermediatePaneOfAppointment = !firstPaneOfAppointment && !lastPaneOfAppointment;
 	}
-	protected final LocalDateTime startDateTime;
-	protected final LocalDateTime endDateTime;
-	protected final long durationInMS;
-	protected final boolean firstPaneOfAppointment;
-	protected final boolean intermediatePaneOfAppointment;
-	protected final boolean lastPaneOfAppointment;
+	
+	@Override
+	void reuse(LocalDate localDate, Agenda.Appointment appointment) {
+		super.reuse(localDate, appointment);
+		assignDate(localDate);
+		placeInTrack(null, -1); // until the tracks are determined again
+	}
+	
+	/**
+	 * @return the start of the appointment, or the start of the day if the appointment started on an earlier day 
+	 */
+	static LocalDateTime determineStartDateTime(LocalDate localDate, Agenda.Appointment appointment) {
+		return appointment.getStartLocalDateTime().toLocalDate().isEqual(localDate) ? appointment.getStartLocalDateTime() : localDate.atStartOfDay();
+	}
+	
+	/**
+	 * @return the end of the appointment, or the end of the day if the appointment ends on a later day, or null for a task (which does not have an end time)
+	 */
+	static LocalDateTime determineEndDateTime(LocalDate localDate, Agenda.Appointment appointment) {
+		if (appointment.getEndLocalDateTime() == null) {
+			return null; 
+		}
+		return appointment.getEndLocalDateTime().toLocalDate().isEqual(localDate) ? appointment.getEndLocalDateTime() : localDate.plusDays(1).atStartOfDay();
+	}
+	
+	@Override
+	public LocalDateTime getStartDateTime() {
+		return startDateTime;
+	}
+	@Override
+	public LocalDateTime getEndDateTime() {
+		return endDateTime;
+	}
+	@Override
+	public long getDurationInMS() {
+		return durationInMS;
+	}
 
 	@Override
 	protected  boolean showStartTimeText() {
@@ -78,13 +116,23 @@ abstract class AppointmentAbstractTrackedPane extends AppointmentAbstractPane {
 		return lastPaneOfAppointment;
 	}
 
-	// for the role of cluster owner
-	List<AppointmentAbstractTrackedPane> clusterMembers = new ArrayList<>(); 
-	List<List<AppointmentAbstractTrackedPane>> clusterTracks = new ArrayList<>();
+	// the cluster and track this pane is placed in
+	private Cluster cluster = null;
+	private int clusterTrackIdx = -1;
 	
-	// for the role of cluster member
-	AppointmentAbstractTrackedPane clusterOwner = this;
-	int clusterTrackIdx = -1;
+	@Override
+	public Cluster getCluster() {
+		return cluster;
+	}
+	@Override
+	public int getClusterTrackIdx() {
+		return clusterTrackIdx;
+	}
+	@Override
+	public void placeInTrack(Cluster cluster, int trackIdx) {
+		this.cluster = cluster;
+		this.clusterTrackIdx = trackIdx;
+	}
 
 	/**
 	 * This method prepares a day for being drawn.
@@ -126,12 +174,15 @@ abstract class AppointmentAbstractTrackedPane extends AppointmentAbstractPane {
 	 * In the example above, F is linked through D to the cluster owned by A. So F is not a cluster owner, but a member of the cluster owned by A.
 	 * And appointment H through F is also part of the cluster owned by A.  
 	 * G finally starts a new cluster.
-	 * The cluster owner knows all members and how many tracks there are, each member knows in what track it is and has a direct link to the cluster owner. 
+	 * The cluster knows its owner, all members and how many tracks there are, each member knows in what track it is and has a direct link to the cluster. 
 	 *  
 	 * When rendering the appointments above, parallel appointments are rendered narrower & indented, so appointments partially overlap and the left side of an appointment is always visible to the user.
 	 * In the example above the single appointment G is rendered full width, while for example A, B, C and D are overlapping.
 	 * F and H are drawn in the same dimensions as A and B in order to allow D to overlap then.
 	 * The size and amount of indentation depends on the number of appointments that are rendered next to each other.
+	 * 
+	 * Finding the free track does not scan the tracks: the tracks in use are kept in a heap on their end time, and the tracks that are free again in a heap on their number.
+	 * So a day with n appointments is placed in O(n log n), also when hundreds of them overlap.
 	 * In order to compute its location and size, each appointment needs to know:
 	 * - its start and ending time,
 	 * - its track number,
@@ -139,71 +190,70 @@ abstract class AppointmentAbstractTrackedPane extends AppointmentAbstractPane {
 	 * - and naturally the total width and height available to draw the day.
 	 * 
 	 */
-	static List<? extends AppointmentAbstractTrackedPane> determineTracks(List<? extends AppointmentAbstractTrackedPane> appointmentAbstractTrackedPanes) {
+	static <T extends TrackedAppointment> List<T> determineTracks(List<T> appointmentAbstractTrackedPanes) {
 		
 		// sort on start time and then decreasing duration
-		Collections.sort(appointmentAbstractTrackedPanes, new Comparator<AppointmentAbstractTrackedPane>() {
+		Collections.sort(appointmentAbstractTrackedPanes, new Comparator<TrackedAppointment>() {
 			@Override
-			public int compare(AppointmentAbstractTrackedPane o1, AppointmentAbstractTrackedPane o2) {
+			public int compare(TrackedAppointment o1, TrackedAppointment o2) {
 				// if not same start, then compare on starttime
-				if (!o1.startDateTime.isEqual(o2.startDateTime)) {
-					return o1.startDateTime.compareTo(o2.startDateTime);
+				if (!o1.getStartDateTime().isEqual(o2.getStartDateTime())) {
+					return o1.getStartDateTime().compareTo(o2.getStartDateTime());
 				}
 				
-				// task after appointment
-				if (o1 instanceof AppointmentRegularBodyPane && o2 instanceof AppointmentTaskBodyPane) {
+				// task (without an end) after appointment
+				if (o1.getEndDateTime() != null && o2.getEndDateTime() == null) {
 					return -1;
 				}
-				if (o1 instanceof AppointmentTaskBodyPane && o2 instanceof AppointmentRegularBodyPane) {
+				if (o1.getEndDateTime() == null && o2.getEndDateTime() != null) {
 					return 1;
 				}
 				
 				// longest last 
-				return o1.durationInMS == o2.durationInMS ? 0 : (o1.durationInMS > o2.durationInMS ? -1 : 1);
+				return o1.getDurationInMS() == o2.getDurationInMS() ? 0 : (o1.getDurationInMS() > o2.getDurationInMS() ? -1 : 1);
 			}
 		});
 		
+		// the tracks of the running cluster: the end time of each track, the tracks in use (earliest end first) and the tracks that are free again (lowest track first)
+		List<LocalDateTime> lTrackEnds = new ArrayList<>();
+		PriorityQueue<Integer> lBusyTracks = new PriorityQueue<>((t1, t2) -> lTrackEnds.get(t1).compareTo(lTrackEnds.get(t2)));
+		PriorityQueue<Integer> lFreeTracks = new PriorityQueue<>();
+		
 		// start placing appointments in the tracks
-		AppointmentAbstractTrackedPane lClusterOwner = null;
-		for (AppointmentAbstractTrackedPane lAppointmentPane : appointmentAbstractTrackedPanes) 
+		Cluster lCluster = null;
+		for (TrackedAppointment lAppointmentPane : appointmentAbstractTrackedPanes) 
 		{
-			// if there is no cluster owner
-			if (lClusterOwner == null) {
-				
-				// than the current becomes an owner
-				// only create a minimal cluster, because it will be setup fully in the code below
-				lClusterOwner = lAppointmentPane;
-				lClusterOwner.clusterTracks = new ArrayList<List<AppointmentAbstractTrackedPane>>();
+			// free the tracks that have ended when this appointment starts
+			// because the appointments are processed by start time, a track that is free stays free for all following appointments
+			while (!lBusyTracks.isEmpty() && !lTrackEnds.get(lBusyTracks.peek()).isAfter(lAppointmentPane.getStartDateTime())) {
+				lFreeTracks.add(lBusyTracks.poll());
 			}
 			
-			// in which track should it be added
-			int lTrackNr = determineTrackWhereAppointmentCanBeAdded(lClusterOwner.clusterTracks, lAppointmentPane);
-			// if it can be added to track 0, then we have a "situation". Track 0 could mean
-			// - we must start a new cluster
-			// - the appointment is still linked to the running cluster by means of a linking appointment in the higher tracks
-			if (lTrackNr == 0) {
-				
-				// So let's see if there is a linking appointment higher up
-				boolean lOverlaps = false;
-				for (int i = 1; i < lClusterOwner.clusterTracks.size() && lOverlaps == false; i++) {
-					lOverlaps = checkIfTheAppointmentOverlapsAnAppointmentAlreadyInThisTrack(lClusterOwner.clusterTracks, i, lAppointmentPane);
-				}
-				
-				// if it does not overlap, we start a new cluster
-				if (lOverlaps == false) {
-					lClusterOwner = lAppointmentPane;
-					lClusterOwner.clusterMembers = new ArrayList<AppointmentAbstractTrackedPane>(); 
-					lClusterOwner.clusterTracks = new ArrayList<List<AppointmentAbstractTrackedPane>>();
-					lClusterOwner.clusterTracks.add(new ArrayList<AppointmentAbstractTrackedPane>());
-				}
+			// if no track is in use, the appointment is not linked to the running cluster, so it starts a new cluster
+			if (lBusyTracks.isEmpty()) {
+				lCluster = new Cluster(lAppointmentPane);
+				lTrackEnds.clear();
+				lFreeTracks.clear();
+			}
+			
+			// the appointment is added to the lowest free track, or if all tracks are in use, to a new track
+			int lTrackNr;
+			if (lFreeTracks.isEmpty()) {
+				lTrackNr = lTrackEnds.size();
+				lTrackEnds.add(null);
+				lCluster.tracks.add(new ArrayList<TrackedAppointment>());
+			}
+			else {
+				lTrackNr = lFreeTracks.poll();
 			}
+			lTrackEnds.set(lTrackNr, determineTrackEnd(lAppointmentPane));
+			lBusyTracks.add(lTrackNr);
 			
 			// add it to the track (and setup all other cluster data)
-			lClusterOwner.clusterMembers.add(lAppointmentPane);
-			lClusterOwner.clusterTracks.get(lTrackNr).add(lAppointmentPane);
-			lAppointmentPane.clusterOwner = lClusterOwner;
-			lAppointmentPane.clusterTrackIdx = lTrackNr;				
-			// for debug  System.out.println("----"); for (int i = 0; i < lClusterOwner.clusterTracks.size(); i++) { System.out.println(i + ": " + lClusterOwner.clusterTracks.get(i) ); } System.out.println("----");
+			lCluster.members.add(lAppointmentPane);
+			lCluster.tracks.get(lTrackNr).add(lAppointmentPane);
+			lAppointmentPane.placeInTrack(lCluster, lTrackNr);
+			// for debug  System.out.println("----"); for (int i = 0; i < lCluster.tracks.size(); i++) { System.out.println(i + ": " + lCluster.tracks.get(i) ); } System.out.println("----");
 		}
 		
 		// done
@@ -211,66 +261,22 @@ abstract class AppointmentAbstractTrackedPane extends AppointmentAbstractPane {
 	}
 	
 	/**
+	 * The time until which the appointment occupies its track.
 	 * 
+	 * The new appointment overlaps an already placed appointment if the placed appointment ends after the new appointment's start time (equals will put two consecutive appointments into the same track).
+	 * Because the appointments are processed by start time, the placed appointment never starts after the new appointment.
+	 * And because an appointment is only placed in a track when the track has ended, the last appointment in a track determines its end.   
+	 * ...PPPPPPPPP...    
+	 * .....NNNNN..... -> Pe > Ns -> overlap
+	 * ..........NNN.. -> Pe > Ns -> overlap
+	 * ............N.. -> false   -> no overlap
+	 * A task has no end, it occupies its track for 10 minutes. An appointment that ends before it starts is treated as ending at its start.
 	 */
-	static private int determineTrackWhereAppointmentCanBeAdded(List<List<AppointmentAbstractTrackedPane>> tracks, AppointmentAbstractTrackedPane appointmentPane)
-	{
-		int lTrackNr = 0;
-		while (true)
-		{
-			// make sure there is a arraylist for this track
-			if (lTrackNr == tracks.size()) {
-				tracks.add(new ArrayList<AppointmentAbstractTrackedPane>());
-			}
-			
-			// scan all existing appointments in this track and see if there is an overlap
-			if (checkIfTheAppointmentOverlapsAnAppointmentAlreadyInThisTrack(tracks, lTrackNr, appointmentPane) == false)
-			{
-				// no overlap, it can be added here
-				return lTrackNr;
-			}
-
-			// overlap, try next track
-			lTrackNr++;
+	static private LocalDateTime determineTrackEnd(TrackedAppointment appointmentPane) {
+		if (appointmentPane.getEndDateTime() == null) {
+			return appointmentPane.getStartDateTime().plusMinutes(10);
 		}
-	}
-	
-	/**
-	 * 
-	 */
-	static private boolean checkIfTheAppointmentOverlapsAnAppointmentAlreadyInThisTrack(List<List<AppointmentAbstractTrackedPane>> tracks, int tracknr, AppointmentAbstractTrackedPane newAppointmentPane)
-	{
-		// get the track
-		List<AppointmentAbstractTrackedPane> lTrack = tracks.get(tracknr);
-		
-		// scan all existing appointments in this track
-		for (AppointmentAbstractTrackedPane lAppointmentPane : lTrack)
-		{
-			// There is an overlap:
-			// if the start time of the already placed appointment is before or equals the new appointment's end time 
-			// and the end time of the already placed appointment is after the new appointment's start time (equals will put two consequative appointments into separate tracks) 
-			// ...PPPPPPPPP...    
-			// .NNNN.......... -> Ps <= Ne & Pe >= Ns -> overlap
-			// .....NNNNN..... -> Ps <= Ne & Pe >= Ns -> overlap
-			// ..........NNN.. -> Ps <= Ne & Pe >= Ns -> overlap
-			// .NNNNNNNNNNNNN. -> Ps <= Ne & Pe >= Ns -> overlap
-			// .N............. -> false    & Pe >= Ns -> no overlap
-			// .............N. -> Ps <= Ne & false	  -> no overlap
-			LocalDateTime lPlacedStart = lAppointmentPane.startDateTime;
-			LocalDateTime lPlacedEnd = (lAppointmentPane.endDateTime != null ? lAppointmentPane.endDateTime : lAppointmentPane.startDateTime.plusMinutes(10));
-			LocalDateTime lNewStart = newAppointmentPane.startDateTime;
-			LocalDateTime lNewEnd = (newAppointmentPane.endDateTime != null ? newAppointmentPane.endDateTime : newAppointmentPane.startDateTime.plusMinutes(10));
-			if ( (lPlacedStart.isEqual(lNewStart) || lNewEnd == null || lPlacedStart.isBefore(lNewEnd)) 
-			  && lPlacedEnd != null && lPlacedEnd.isAfter(lNewStart)
-			   )
-			{
-				// overlap
-				return true;
-			}
-		}
-		
-		// no overlap
-		return false;
+		return appointmentPane.getEndDateTime().isBefore(appointmentPane.getStartDateTime()) ? appointmentPane.getStartDateTime() : appointmentPane.getEndDateTime();
 	}
 	
 	/**
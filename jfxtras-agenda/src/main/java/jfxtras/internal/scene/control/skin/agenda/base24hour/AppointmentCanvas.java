@@ -0,0 +1,295 @@
+/**
+ * AppointmentCanvas.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.internal.scene.control.skin.agenda.base24hour;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javafx.geometry.VPos;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.TextAlignment;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+
+/**
+ * Draws the appointments of a day, instead of rendering each of them as a pane with its own children.
+ * The drawn appointments are kept in buckets on their vertical position, so the appointment at a location is found without checking all of them.
+ */
+class AppointmentCanvas extends Canvas {
+	
+	/**
+	 * 
+	 */
+	AppointmentCanvas(Pane dayPane, LayoutHelp layoutHelp) {
+		this.dayPane = dayPane;
+		this.layoutHelp = layoutHelp;
+		getStyleClass().add("AppointmentCanvas");
+	}
+	final private Pane dayPane;
+	final private LayoutHelp layoutHelp;
+	
+	/**
+	 * Replace the drawn appointments, and place the tracked ones in tracks.
+	 * The bounds of the appointments are set by the day, after which it calls {@link #draw()}.
+	 */
+	void setupAppointments(LocalDate localDate, List<Appointment> wholedayAppointments, List<Appointment> taskAppointments, List<Appointment> regularAppointments) {
+		this.wholedayAppointments.clear();
+		this.trackedAppointments.clear();
+		drawnAppointmentMap.clear();
+		for (int i = 0; i < wholedayAppointments.size(); i++) {
+			DrawnAppointment lDrawnAppointment = new DrawnAppointment(localDate, wholedayAppointments.get(i), true, i);
+			this.wholedayAppointments.add(lDrawnAppointment);
+			drawnAppointmentMap.put(lDrawnAppointment.appointment, lDrawnAppointment);
+		}
+		for (int i = 0; i < regularAppointments.size(); i++) {
+			this.trackedAppointments.add(new DrawnAppointment(localDate, regularAppointments.get(i), false, i));
+		}
+		for (int i = 0; i < taskAppointments.size(); i++) {
+			this.trackedAppointments.add(new DrawnAppointment(localDate, taskAppointments.get(i), false, i));
+		}
+		AppointmentAbstractTrackedPane.determineTracks(this.trackedAppointments); // also the drawing order, so they overlap like the panes do
+		for (DrawnAppointment lDrawnAppointment : this.trackedAppointments) {
+			drawnAppointmentMap.put(lDrawnAppointment.appointment, lDrawnAppointment);
+		}
+	}
+	final List<DrawnAppointment> wholedayAppointments = new ArrayList<>();
+	final List<DrawnAppointment> trackedAppointments = new ArrayList<>();
+	final private Map<Appointment, DrawnAppointment> drawnAppointmentMap = new IdentityHashMap<>();
+	
+	/**
+	 * @return the drawn appointment, or null if the appointment is not drawn on this day
+	 */
+	DrawnAppointment get(Appointment appointment) {
+		return drawnAppointmentMap.get(appointment);
+	}
+	
+	// ==================================================================================================================
+	// DRAW
+	
+	/**
+	 * 
+	 */
+	void draw() {
+		indexAppointments();
+		
+		GraphicsContext lGraphicsContext = getGraphicsContext2D();
+		lGraphicsContext.clearRect(0, 0, getWidth(), getHeight());
+		lGraphicsContext.setTextAlign(TextAlignment.LEFT);
+		lGraphicsContext.setTextBaseline(VPos.TOP);
+		for (DrawnAppointment lDrawnAppointment : wholedayAppointments) {
+			lGraphicsContext.setFill(determineFill(lDrawnAppointment.appointment));
+			lGraphicsContext.fillRect(lDrawnAppointment.x, lDrawnAppointment.y, lDrawnAppointment.width, lDrawnAppointment.height);
+		}
+		for (DrawnAppointment lDrawnAppointment : trackedAppointments) {
+			drawTrackedAppointment(lGraphicsContext, lDrawnAppointment);
+		}
+	}
+	
+	/**
+	 * A box with a border like the appointment panes, and the time and summary if there is room for them
+	 */
+	private void drawTrackedAppointment(GraphicsContext graphicsContext, DrawnAppointment drawnAppointment) {
+		graphicsContext.setFill(determineFill(drawnAppointment.appointment));
+		graphicsContext.fillRect(drawnAppointment.x, drawnAppointment.y, drawnAppointment.width, drawnAppointment.height);
+		graphicsContext.setStroke(Color.WHITE);
+		graphicsContext.setLineWidth(1);
+		graphicsContext.strokeRect(drawnAppointment.x + 0.5, drawnAppointment.y + 0.5, drawnAppointment.width - 1, drawnAppointment.height - 1);
+		
+		double lPadding = layoutHelp.paddingProperty.get();
+		double lTextHeight = layoutHelp.textHeightProperty.get();
+		if (drawnAppointment.height < lTextHeight || drawnAppointment.width < 2 * lPadding) {
+			return;
+		}
+		graphicsContext.save();
+		graphicsContext.beginPath();
+		graphicsContext.rect(drawnAppointment.x, drawnAppointment.y, drawnAppointment.width - lPadding, drawnAppointment.height);
+		graphicsContext.clip();
+		graphicsContext.setFill(Color.BLACK);
+		double lY = drawnAppointment.y;
+		if (drawnAppointment.isFirstDayOfAppointment()) {
+			graphicsContext.fillText(layoutHelp.timeDateTimeFormatter.format(drawnAppointment.startDateTime), drawnAppointment.x + lPadding, lY);
+			lY += lTextHeight;
+		}
+		if (drawnAppointment.appointment.getSummary() != null && lY + lTextHeight <= drawnAppointment.y + drawnAppointment.height) {
+			graphicsContext.fillText(drawnAppointment.appointment.getSummary(), drawnAppointment.x + lPadding, lY);
+		}
+		graphicsContext.restore();
+	}
+	
+	/**
+	 * The fill the CSS gives the group of the appointment
+	 */
+	private Paint determineFill(Appointment appointment) {
+		String lStyleClass = appointment.getAppointmentGroup() != null ? appointment.getAppointmentGroup().getStyleClass() : "group0";
+		Paint lPaint = layoutHelp.determineAppointmentGroupFill(lStyleClass, dayPane);
+		return lPaint == null ? Color.GRAY : lPaint;
+	}
+	
+	// ==================================================================================================================
+	// HIT TEST
+	
+	/** the number of buckets the height of the day is divided in, one per half hour */
+	final static private int BUCKET_COUNT = 48;
+	
+	/**
+	 * Put each tracked appointment in the buckets it overlaps, in drawing order
+	 */
+	private void indexAppointments() {
+		buckets.clear();
+		for (int i = 0; i < BUCKET_COUNT; i++) {
+			buckets.add(new ArrayList<>());
+		}
+		for (DrawnAppointment lDrawnAppointment : trackedAppointments) {
+			int lLastBucketIdx = bucketIdx(lDrawnAppointment.y + lDrawnAppointment.height);
+			for (int i = bucketIdx(lDrawnAppointment.y); i <= lLastBucketIdx; i++) {
+				buckets.get(i).add(lDrawnAppointment);
+			}
+		}
+	}
+	final private List<List<DrawnAppointment>> buckets = new ArrayList<>();
+	
+	/**
+	 * 
+	 */
+	private int bucketIdx(double y) {
+		if (getHeight() <= 0) {
+			return 0;
+		}
+		int lBucketIdx = (int)(y / getHeight() * BUCKET_COUNT);
+		return Math.max(0, Math.min(BUCKET_COUNT - 1, lBucketIdx));
+	}
+	
+	/**
+	 * @param x local coordinate
+	 * @param y local coordinate
+	 * @return the appointment drawn on top at the location, or null 
+	 */
+	DrawnAppointment hitTest(double x, double y) {
+		if (buckets.isEmpty()) {
+			return null;
+		}
+		
+		// the tracked appointments are drawn over the wholeday appointments, and later ones over earlier ones
+		List<DrawnAppointment> lBucket = buckets.get(bucketIdx(y));
+		for (int i = lBucket.size() - 1; i >= 0; i--) {
+			if (lBucket.get(i).contains(x, y)) {
+				return lBucket.get(i);
+			}
+		}
+		for (int i = wholedayAppointments.size() - 1; i >= 0; i--) {
+			if (wholedayAppointments.get(i).contains(x, y)) {
+				return wholedayAppointments.get(i);
+			}
+		}
+		return null;
+	}
+	
+	// ==================================================================================================================
+	// APPOINTMENT
+	
+	/**
+	 * An appointment as it is drawn on a day, much like the appointment panes but without any nodes
+	 */
+	static class DrawnAppointment implements TrackedAppointment {
+		DrawnAppointment(LocalDate localDate, Appointment appointment, boolean wholeday, int idx) {
+			this.localDate = localDate;
+			this.appointment = appointment;
+			this.wholeday = wholeday;
+			this.idx = idx;
+			if (wholeday) {
+				startDateTime = localDate.atStartOfDay();
+				endDateTime = localDate.plusDays(1).atStartOfDay();
+			}
+			else {
+				startDateTime = AppointmentAbstractTrackedPane.determineStartDateTime(localDate, appointment);
+				endDateTime = AppointmentAbstractTrackedPane.determineEndDateTime(localDate, appointment);
+			}
+			durationInMS = (endDateTime == null ? 0 : startDateTime.until(endDateTime, ChronoUnit.MILLIS));
+		}
+		final LocalDate localDate;
+		final Appointment appointment;
+		final boolean wholeday;
+		/** the position of the appointment among the appointments of the same kind on the day */
+		final int idx;
+		final private LocalDateTime startDateTime;
+		final private LocalDateTime endDateTime;
+		final private long durationInMS;
+		private Cluster cluster = null;
+		private int clusterTrackIdx = -1;
+		
+		// set by the day
+		double x;
+		double y;
+		double width;
+		double height;
+		
+		boolean isFirstDayOfAppointment() {
+			return startDateTime.equals(appointment.getStartLocalDateTime());
+		}
+		
+		boolean contains(double x, double y) {
+			return x >= this.x && x < this.x + width && y >= this.y && y < this.y + height;
+		}
+		
+		@Override
+		public LocalDateTime getStartDateTime() {
+			return startDateTime;
+		}
+		@Override
+		public LocalDateTime getEndDateTime() {
+			return endDateTime;
+		}
+		@Override
+		public long getDurationInMS() {
+			return durationInMS;
+		}
+		@Override
+		public Cluster getCluster() {
+			return cluster;
+		}
+		@Override
+		public int getClusterTrackIdx() {
+			return clusterTrackIdx;
+		}
+		@Override
+		public void placeInTrack(Cluster cluster, int trackIdx) {
+			this.cluster = cluster;
+			this.clusterTrackIdx = trackIdx;
+		}
+	}
+}
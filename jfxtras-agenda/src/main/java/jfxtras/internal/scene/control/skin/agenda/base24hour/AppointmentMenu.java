@@ -78,7 +78,7 @@ class AppointmentMenu extends Rectangle {
 		setupMouseClick();
 	}
 	final Pane pane;
-	final Appointment appointment;
+	Appointment appointment; // changes when the pane is reused
 	final LayoutHelp layoutHelp;
 
 	/**
@@ -172,6 +172,13 @@ class AppointmentMenu extends Rectangle {
 	}
 	private Popup popup;
 	
+	/**
+	 * @return true if the popup is showing, so the appointment is being edited
+	 */
+	boolean isShowingMenu() {
+		return popup != null && popup.isShowing();
+	}
+	
 	/**
 	 * @return
 	 */
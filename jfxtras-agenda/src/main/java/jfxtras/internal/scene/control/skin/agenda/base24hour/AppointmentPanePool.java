@@ -0,0 +1,117 @@
+/**
+ * AppointmentPanePool.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.internal.scene.control.skin.agenda.base24hour;
+
+import java.time.LocalDate;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+
+/**
+ * Keeps the appointment panes that are no longer shown, so they can render other appointments instead of new panes being created.
+ * Navigating to another week otherwise replaces every appointment pane, including its children and bindings.
+ * 
+ * The pool is per type of pane, and bounded; panes that do not fit are left to the garbage collector.
+ */
+class AppointmentPanePool {
+	
+	/**
+	 * 
+	 */
+	AppointmentPanePool(LayoutHelp layoutHelp) {
+		this.layoutHelp = layoutHelp;
+	}
+	final private LayoutHelp layoutHelp;
+	
+	/** the maximum number of panes kept per type */
+	final static int MAX_SIZE_PER_TYPE = 200;
+	
+	/**
+	 * The pane no longer renders its appointment, and may be reused.
+	 * The caller still removes it from its parent.
+	 */
+	void release(AppointmentAbstractPane pane) {
+		
+		// it should no longer be found for its appointment
+		((AgendaSkinTimeScale24HourAbstract<?>) layoutHelp.skin).appointmentNodeMap().remove(System.identityHashCode(pane.appointment), pane);
+		
+		// a pane the mouse is pressed on may be dragged, and a pane with its menu showing is edited; these must keep their appointment
+		if (pane.isPressed() || pane.appointmentMenu.isShowingMenu()) {
+			return;
+		}
+		Deque<AppointmentAbstractPane> lPanes = pool.computeIfAbsent(pane.getClass(), c -> new ArrayDeque<>());
+		if (lPanes.size() < MAX_SIZE_PER_TYPE) {
+			lPanes.push(pane);
+		}
+	}
+	final private Map<Class<?>, Deque<AppointmentAbstractPane>> pool = new HashMap<>();
+	
+	/**
+	 * @return a pooled pane of the type, made to render the appointment on the date, or a new pane from the factory if none is pooled
+	 */
+	<T extends AppointmentAbstractPane> T obtain(Class<T> type, LocalDate localDate, Appointment appointment, Supplier<T> factory) {
+		Deque<AppointmentAbstractPane> lPanes = pool.get(type);
+		if (lPanes == null || lPanes.isEmpty()) {
+			createdCount++;
+			return factory.get();
+		}
+		T lPane = type.cast(lPanes.pop());
+		lPane.reuse(localDate, appointment);
+		reusedCount++;
+		return lPane;
+	}
+	
+	/**
+	 * Drop the pooled panes, so a refresh creates all panes anew
+	 */
+	void clear() {
+		pool.clear();
+	}
+	
+	/**
+	 * @return the number of panes that were created because none could be reused
+	 */
+	long getCreatedCount() {
+		return createdCount;
+	}
+	private long createdCount = 0;
+	
+	/**
+	 * @return the number of panes that were reused from the pool
+	 */
+	long getReusedCount() {
+		return reusedCount;
+	}
+	private long reusedCount = 0;
+}
@@ -42,29 +42,28 @@ public class AppointmentRegularBodyPane extends AppointmentAbstractTrackedPane {
 	public AppointmentRegularBodyPane(LocalDate localDate, Appointment appointment, LayoutHelp layoutHelp) {
 		super(localDate, appointment, layoutHelp);
 		
-		// strings
-		this.startAsString = layoutHelp.timeDateTimeFormatter.format(this.startDateTime);
-		this.endAsString = layoutHelp.timeDateTimeFormatter.format(this.endDateTime);
-
+		// texts
+		timeText = new Text();
+		summaryText = new Text();
+		setTexts();
+		
 		// add the duration as text
-		Text lTimeText = new Text((firstPaneOfAppointment ? startAsString : "") + "-" + (lastPaneOfAppointment ? endAsString : ""));
 		{
-			lTimeText.getStyleClass().add("AppointmentTimeLabel");
-			lTimeText.setX(layoutHelp.paddingProperty.get() );
-			lTimeText.setY(lTimeText.prefHeight(0));
-			layoutHelp.clip(this, lTimeText, widthProperty().subtract( layoutHelp.paddingProperty ), heightProperty().add(0.0), true, 0.0);
-			getChildren().add(lTimeText);
+			timeText.getStyleClass().add("AppointmentTimeLabel");
+			timeText.setX(layoutHelp.paddingProperty.get() );
+			timeText.setY(timeText.prefHeight(0));
+			layoutHelp.clip(this, timeText, widthProperty().subtract( layoutHelp.paddingProperty ), heightProperty().add(0.0), true, 0.0);
+			getChildren().add(timeText);
 		}
 		
 		// add summary
-		Text lSummaryText = new Text(appointment.getSummary());
 		{
-			lSummaryText.getStyleClass().add("AppointmentLabel");
-			lSummaryText.setX( layoutHelp.paddingProperty.get() );
-			lSummaryText.setY( lTimeText.getY() + layoutHelp.textHeightProperty.get());
-			lSummaryText.wrappingWidthProperty().bind(widthProperty().subtract( layoutHelp.paddingProperty.get() ));
-			layoutHelp.clip(this, lSummaryText, widthProperty().add(0.0), heightProperty().subtract( layoutHelp.paddingProperty ), false, 0.0);
-			getChildren().add(lSummaryText);			
+			summaryText.getStyleClass().add("AppointmentLabel");
+			summaryText.setX( layoutHelp.paddingProperty.get() );
+			summaryText.setY( timeText.getY() + layoutHelp.textHeightProperty.get());
+			summaryText.wrappingWidthProperty().bind(widthProperty().subtract( layoutHelp.paddingProperty.get() ));
+			layoutHelp.clip(this, summaryText, widthProperty().add(0.0), heightProperty().subtract( layoutHelp.paddingProperty ), false, 0.0);
+			getChildren().add(summaryText);			
 		}
 		
 		// add the menu header
@@ -74,8 +73,29 @@ public class AppointmentRegularBodyPane extends AppointmentAbstractTrackedPane {
 		layoutHelp.skinnable.allowResizeProperty().addListener(new WeakInvalidationListener(allowResizeInvalidationListener));
 		setupDurationDragger();
 	}
-	private String startAsString;
-	private String endAsString;
+	final private Text timeText;
+	final private Text summaryText;
+	
+	/**
+	 * 
+	 */
+	private void setTexts() {
+		String lStartAsString = layoutHelp.timeDateTimeFormatter.format(this.startDateTime);
+		String lEndAsString = layoutHelp.timeDateTimeFormatter.format(this.endDateTime);
+		timeText.setText((firstPaneOfAppointment ? lStartAsString : "") + "-" + (lastPaneOfAppointment ? lEndAsString : ""));
+		summaryText.setText(appointment.getSummary());
+	}
+	
+	@Override
+	void reuse(LocalDate localDate, Appointment appointment) {
+		super.reuse(localDate, appointment);
+		setTexts();
+		
+		// the dragger is specific to the appointment
+		getChildren().remove(durationDragger);
+		durationDragger = null;
+		setupDurationDragger();
+	}
 	final private InvalidationListener allowResizeInvalidationListener = new InvalidationListener() {
 		@Override
 		public void invalidated(Observable arg0) {
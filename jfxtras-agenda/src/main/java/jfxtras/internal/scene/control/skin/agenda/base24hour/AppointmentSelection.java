@@ -0,0 +1,132 @@
+/**
+ * AppointmentSelection.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.internal.scene.control.skin.agenda.base24hour;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+
+/**
+ * Keeps the Selected style class of the appointment panes in line with the selected appointments of the agenda.
+ * Instead of every pane listening to the selected appointments and searching that list, this class listens once, 
+ * keeps the selected appointments in a hashed set, and only updates the panes of the appointments that actually were selected or deselected.
+ * 
+ * Panes are weakly referenced, so panes that are discarded need not be unregistered.
+ * A pane that is reused for another appointment simply registers again.
+ */
+class AppointmentSelection {
+
+	/**
+	 * 
+	 * @param selectedAppointments
+	 */
+	AppointmentSelection(ObservableList<Appointment> selectedAppointments) {
+		this.selectedAppointments = selectedAppointments;
+		for (Appointment lAppointment : selectedAppointments) {
+			selectedCounts.merge(lAppointment, 1, Integer::sum);
+		}
+		selectedAppointments.addListener(listChangeListener);
+	}
+	final private ObservableList<Appointment> selectedAppointments;
+	
+	// the selected appointments, with the number of times each is in the list, so removing a duplicate does not deselect
+	final private Map<Appointment, Integer> selectedCounts = new HashMap<>();
+	
+	// the panes of each appointment, an appointment that spans several days has several panes
+	final private Map<Appointment, List<WeakReference<AppointmentAbstractPane>>> appointmentPanes = new WeakHashMap<>();
+	
+	/**
+	 * 
+	 */
+	void dispose() {
+		selectedAppointments.removeListener(listChangeListener);
+	}
+	
+	/**
+	 * @return true if the appointment is in the selected appointments
+	 */
+	boolean isSelected(Appointment appointment) {
+		return selectedCounts.containsKey(appointment);
+	}
+	
+	/**
+	 * Start following the selection for this pane, and style it accordingly right away
+	 */
+	void register(AppointmentAbstractPane pane) {
+		List<WeakReference<AppointmentAbstractPane>> lPanes = appointmentPanes.computeIfAbsent(pane.appointment, a -> new ArrayList<>(1));
+		lPanes.removeIf(r -> r.get() == null || r.get() == pane);
+		lPanes.add(new WeakReference<>(pane));
+		pane.setSelected(isSelected(pane.appointment));
+	}
+	
+	/**
+	 * 
+	 */
+	final private ListChangeListener<Appointment> listChangeListener = (changes) -> {
+		
+		// update the set, remembering if the touched appointments were selected before
+		Map<Appointment, Boolean> lWasSelected = new HashMap<>();
+		while (changes.next()) {
+			for (Appointment lAppointment : changes.getRemoved()) {
+				lWasSelected.putIfAbsent(lAppointment, isSelected(lAppointment));
+				selectedCounts.computeIfPresent(lAppointment, (a, count) -> count > 1 ? count - 1 : null);
+			}
+			for (Appointment lAppointment : changes.getAddedSubList()) {
+				lWasSelected.putIfAbsent(lAppointment, isSelected(lAppointment));
+				selectedCounts.merge(lAppointment, 1, Integer::sum);
+			}
+		}
+		
+		// only the panes of appointments that were selected or deselected need to change
+		for (Map.Entry<Appointment, Boolean> lEntry : lWasSelected.entrySet()) {
+			boolean lSelected = isSelected(lEntry.getKey());
+			if (lSelected == lEntry.getValue()) {
+				continue;
+			}
+			List<WeakReference<AppointmentAbstractPane>> lPanes = appointmentPanes.get(lEntry.getKey());
+			if (lPanes == null) {
+				continue;
+			}
+			for (WeakReference<AppointmentAbstractPane> lReference : lPanes) {
+				AppointmentAbstractPane lPane = lReference.get();
+				if (lPane != null && lPane.appointment == lEntry.getKey()) { // a reused pane may render another appointment by now
+					lPane.setSelected(lSelected);
+				}
+			}
+		}
+	};
+}
@@ -29,6 +29,8 @@
 
 package jfxtras.internal.scene.control.skin.agenda.base24hour;
 
+import java.time.LocalDate;
+
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import jfxtras.scene.control.agenda.Agenda.Appointment;
@@ -54,6 +56,20 @@ class AppointmentTaskBodyPane extends AppointmentAbstractTrackedPane {
 		}
 	}
 	private String startAsString;
+	
+	@Override
+	void reuse(LocalDate localDate, Appointment appointment) {
+		super.reuse(appointment.getStartLocalDateTime().toLocalDate(), appointment);
+		startAsString = layoutHelp.timeDateTimeFormatter.format(this.startDateTime);
+		timeText.setText(startAsString);
+		
+		// the summary is positioned next to the time text, so it is created anew
+		getChildren().remove(summaryText);
+		summaryText = null;
+		if (appointment.getSummary() != null) {
+			getChildren().add(createSummaryText());
+		}
+	}
 
 	/**
 	 * 
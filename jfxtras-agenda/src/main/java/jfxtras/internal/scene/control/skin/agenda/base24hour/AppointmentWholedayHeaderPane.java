@@ -29,6 +29,8 @@
 
 package jfxtras.internal.scene.control.skin.agenda.base24hour;
 
+import java.time.LocalDate;
+
 import javafx.scene.text.Text;
 import jfxtras.scene.control.agenda.Agenda;
 
@@ -63,4 +65,10 @@ class AppointmentWholedayHeaderPane extends AppointmentAbstractPane
 		return summaryText;
 	}
 	private Text summaryText = null;
+	
+	@Override
+	void reuse(LocalDate localDate, Agenda.Appointment appointment) {
+		super.reuse(localDate, appointment);
+		summaryText.setText(appointment.getSummary());
+	}
 }
\ No newline at end of file
@@ -32,18 +32,26 @@ package jfxtras.internal.scene.control.skin.agenda.base24hour;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
 import java.util.TimeZone;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
 import javafx.scene.Cursor;
 import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Pane;
 import javafx.scene.shape.Rectangle;
 import jfxtras.internal.scene.control.skin.DateTimeToCalendarHelper;
 import jfxtras.internal.scene.control.skin.agenda.AllAppointments;
+import jfxtras.internal.scene.control.skin.agenda.base24hour.AppointmentCanvas.DrawnAppointment;
 import jfxtras.scene.control.agenda.Agenda;
 import jfxtras.scene.control.agenda.Agenda.Appointment;
 import jfxtras.util.NodeUtil;
@@ -75,10 +83,7 @@ class DayBodyPane extends Pane
 		getStyleClass().add("Day");
 		setId("DayBodyPane" + localDateObjectProperty.get()); // for testing
 		
-		// react to changes in the appointments
-		allAppointments.addOnChangeListener( () -> {
-			setupAppointments();
-		});
+		// changes in the appointments on this day are handled by the skin, see AgendaSkinTimeScale24HourAbstract.update
 		setupAppointments();
 		
 		// change the layout related to the size
@@ -90,6 +95,18 @@ class DayBodyPane extends Pane
 		});
 		
 		setupMouseDrag();
+		
+		// when the appointments are drawn, the appointment under the mouse gets a pane
+		addEventHandler(MouseEvent.MOUSE_MOVED, (mouseEvent) -> {
+			if (appointmentCanvas == null || mouseEvent.getTarget() != appointmentCanvas) {
+				return;
+			}
+			DrawnAppointment lDrawnAppointment = appointmentCanvas.hitTest(mouseEvent.getX(), mouseEvent.getY());
+			setHoveredAppointment(lDrawnAppointment == null ? null : lDrawnAppointment.appointment);
+		});
+		addEventHandler(MouseEvent.MOUSE_EXITED, (mouseEvent) -> {
+			setHoveredAppointment(null);
+		});
 
 		// for testing
 		localDateObjectProperty.addListener( (observable) -> {
@@ -109,6 +126,15 @@ class DayBodyPane extends Pane
 			if (mouseEvent.getButton().equals(MouseButton.PRIMARY) == false) {
 				return;
 			}
+			// a drawn appointment that has no pane yet (for example when there is no mouse over) gets one, instead of starting a new appointment
+			if (appointmentCanvas != null && mouseEvent.getTarget() == appointmentCanvas) {
+				DrawnAppointment lDrawnAppointment = appointmentCanvas.hitTest(mouseEvent.getX(), mouseEvent.getY());
+				if (lDrawnAppointment != null) {
+					setHoveredAppointment(lDrawnAppointment.appointment);
+					mouseEvent.consume();
+					return;
+				}
+			}
 			// if there is no one to handle the result, don't even bother
 			if (layoutHelp.skinnable.createAppointmentCallbackProperty().get() == null && layoutHelp.skinnable.newAppointmentCallbackProperty().get() == null) {
 				return;
@@ -195,93 +221,303 @@ class DayBodyPane extends Pane
 	private void relayout()
 	{
 		// prepare
-		int lWholedayCnt = wholedayAppointmentBodyPanes.size();
+		int lWholedayCnt = (appointmentCanvas == null ? wholedayAppointmentBodyPanes.size() : appointmentCanvas.wholedayAppointments.size());
 		double lAllFlagpolesWidth = layoutHelp.wholedayAppointmentFlagpoleWidthProperty.get() * lWholedayCnt;
 		double lDayWidth = layoutHelp.dayContentWidthProperty.get();
 		double lRemainingWidthForAppointments = lDayWidth - lAllFlagpolesWidth;
 		double lNumberOfPixelsPerMinute = layoutHelp.dayHeightProperty.get() / (24 * 60);
+		if (appointmentCanvas != null) {
+			relayoutCanvas(lAllFlagpolesWidth, lRemainingWidthForAppointments, lNumberOfPixelsPerMinute);
+			return;
+		}
 		
 		// then add all tracked appointments (regular & task) to the day
 		for (AppointmentAbstractTrackedPane lAppointmentAbstractTrackedPane : trackedAppointmentBodyPanes) {
-			
-			// for this pane specifically
-			double lNumberOfTracks = (double)lAppointmentAbstractTrackedPane.clusterOwner.clusterTracks.size();
-			double lTrackWidth = lRemainingWidthForAppointments / lNumberOfTracks;
-			double lTrackIdx = (double)lAppointmentAbstractTrackedPane.clusterTrackIdx;
-			
-			// the X is determined by offsetting the wholeday appointments and then calculate the X of the track the appointment is placed in (available width / number of tracks) 
-			double lX = lAllFlagpolesWidth + (lTrackWidth * lTrackIdx);
-			lAppointmentAbstractTrackedPane.setLayoutX( NodeUtil.snapXY(lX));
-			
-			// the Y is determined by the start time in minutes projected onto the total day height (being 24 hours)
-			int lStartOffsetInMinutes = (lAppointmentAbstractTrackedPane.startDateTime.getHour() * 60) + lAppointmentAbstractTrackedPane.startDateTime.getMinute();
-			double lY = lNumberOfPixelsPerMinute * lStartOffsetInMinutes;
-			lAppointmentAbstractTrackedPane.setLayoutY( NodeUtil.snapXY(lY) );
-			
-			// the width is the remaining width (subtracting the wholeday appointments) divided by the number of tracks in the cluster
-			double lW = lTrackWidth;
-			// all but the most right appointment get 50% extra width, so they underlap the next track 
-			if (lTrackIdx < lNumberOfTracks - 1) {
-				lW *= 1.75;
-			}
-			lAppointmentAbstractTrackedPane.setPrefWidth( NodeUtil.snapWH(lAppointmentAbstractTrackedPane.getLayoutX(), lW) );
-			
-			// the height is determined by the duration projected against the total dayHeight (being 24 hours)
-			double lH;
-			if (lAppointmentAbstractTrackedPane instanceof AppointmentTaskBodyPane) {
-				lH = 5; // task height
-			}
-			else {
-				long lHeightInMinutes = lAppointmentAbstractTrackedPane.durationInMS / 1000 / 60;
-				lH = lNumberOfPixelsPerMinute * lHeightInMinutes;
+			double[] lBounds = determineBounds(lAppointmentAbstractTrackedPane, lAllFlagpolesWidth, lRemainingWidthForAppointments, lNumberOfPixelsPerMinute);
+			lAppointmentAbstractTrackedPane.setLayoutX(lBounds[0]);
+			lAppointmentAbstractTrackedPane.setLayoutY(lBounds[1]);
+			lAppointmentAbstractTrackedPane.setPrefWidth(lBounds[2]);
+			lAppointmentAbstractTrackedPane.setPrefHeight(lBounds[3]);
+		}
+	}
+	
+	/**
+	 * @return the x, y, width and height of a tracked appointment (regular & task) within the day
+	 */
+	private double[] determineBounds(TrackedAppointment trackedAppointment, double allFlagpolesWidth, double remainingWidthForAppointments, double numberOfPixelsPerMinute) {
+		
+		// for this appointment specifically
+		double lNumberOfTracks = (double)trackedAppointment.getCluster().tracks.size();
+		double lTrackWidth = remainingWidthForAppointments / lNumberOfTracks;
+		double lTrackIdx = (double)trackedAppointment.getClusterTrackIdx();
+		
+		// the X is determined by offsetting the wholeday appointments and then calculate the X of the track the appointment is placed in (available width / number of tracks) 
+		double lX = NodeUtil.snapXY(allFlagpolesWidth + (lTrackWidth * lTrackIdx));
+		
+		// the Y is determined by the start time in minutes projected onto the total day height (being 24 hours)
+		int lStartOffsetInMinutes = (trackedAppointment.getStartDateTime().getHour() * 60) + trackedAppointment.getStartDateTime().getMinute();
+		double lY = NodeUtil.snapXY(numberOfPixelsPerMinute * lStartOffsetInMinutes);
+		
+		// the width is the remaining width (subtracting the wholeday appointments) divided by the number of tracks in the cluster
+		double lW = lTrackWidth;
+		// all but the most right appointment get 50% extra width, so they underlap the next track 
+		if (lTrackIdx < lNumberOfTracks - 1) {
+			lW *= 1.75;
+		}
+		
+		// the height is determined by the duration projected against the total dayHeight (being 24 hours)
+		double lH;
+		if (trackedAppointment.getEndDateTime() == null) {
+			lH = 5; // task height
+		}
+		else {
+			long lHeightInMinutes = trackedAppointment.getDurationInMS() / 1000 / 60;
+			lH = numberOfPixelsPerMinute * lHeightInMinutes;
 
-				// the height has a minimum size, in order to be able to render sensibly
-				if (lH < 2 * layoutHelp.paddingProperty.get()) {
-					lH = 2 * layoutHelp.paddingProperty.get(); 
-				}
+			// the height has a minimum size, in order to be able to render sensibly
+			if (lH < 2 * layoutHelp.paddingProperty.get()) {
+				lH = 2 * layoutHelp.paddingProperty.get(); 
+			}
+		}
+		return new double[] {lX, lY, NodeUtil.snapWH(lX, lW), NodeUtil.snapWH(lY, lH)};
+	}
+	
+	/**
+	 * Determine where the appointments are drawn, like the panes would be placed, and draw them
+	 */
+	private void relayoutCanvas(double allFlagpolesWidth, double remainingWidthForAppointments, double numberOfPixelsPerMinute) {
+		appointmentCanvas.setWidth(getWidth());
+		appointmentCanvas.setHeight(getHeight());
+		
+		int lCnt = 0;
+		for (DrawnAppointment lDrawnAppointment : appointmentCanvas.wholedayAppointments) {
+			lDrawnAppointment.x = NodeUtil.snapXY(layoutHelp.wholedayAppointmentFlagpoleWidthProperty.get() * lCnt);
+			lDrawnAppointment.y = 0;
+			lDrawnAppointment.width = layoutHelp.wholedayAppointmentFlagpoleWidthProperty.get();
+			lDrawnAppointment.height = layoutHelp.dayHeightProperty.get();
+			lCnt++;
+		}
+		for (DrawnAppointment lDrawnAppointment : appointmentCanvas.trackedAppointments) {
+			double[] lBounds = determineBounds(lDrawnAppointment, allFlagpolesWidth, remainingWidthForAppointments, numberOfPixelsPerMinute);
+			lDrawnAppointment.x = lBounds[0];
+			lDrawnAppointment.y = lBounds[1];
+			lDrawnAppointment.width = lBounds[2];
+			lDrawnAppointment.height = lBounds[3];
+		}
+		appointmentCanvas.draw();
+		
+		// the panes cover their drawn appointment
+		for (Map.Entry<Appointment, AppointmentAbstractPane> lEntry : materializedPanes.entrySet()) {
+			DrawnAppointment lDrawnAppointment = appointmentCanvas.get(lEntry.getKey());
+			if (lDrawnAppointment != null) {
+				positionMaterializedPane(lEntry.getValue(), lDrawnAppointment);
 			}
-			lAppointmentAbstractTrackedPane.setPrefHeight( NodeUtil.snapWH(lAppointmentAbstractTrackedPane.getLayoutY(), lH) );
 		}
-	}			
+	}
 
+	/**
+	 * Make the appointment panes match the appointments of this day.
+	 * Panes of appointments that did not change are reused, and the tracks are only determined again if a regular or task appointment changed.  
+	 */
 	void setupAppointments() {
-		setupWholedayAppointments();
-		setupTaskAppointments();
-		setupRegularAppointments();
+		// panes are specific to a date, and to whether the appointments are drawn
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		boolean lCanvasRendering = ((AgendaSkinTimeScale24HourAbstract<?>)layoutHelp.skin).isCanvasRendering();
+		if (!lLocalDate.equals(appointmentPanesLocalDate) || lCanvasRendering != (appointmentCanvas != null)) {
+			// the panes can render the appointments of the new date, unless everything is to be created anew
+			if (appointmentPanesLocalDate != null) {
+				wholedayAppointmentBodyPanes.forEach(layoutHelp.appointmentPanePool::release);
+				trackedAppointmentBodyPanes.forEach(layoutHelp.appointmentPanePool::release);
+			}
+			getChildren().removeAll(wholedayAppointmentBodyPanes);
+			getChildren().removeAll(trackedAppointmentBodyPanes);
+			wholedayAppointmentBodyPanes.clear();
+			taskAppointmentBodyPanes.clear();
+			regularAppointmentBodyPanes.clear();
+			trackedAppointmentBodyPanes.clear();
+			materializedPanes.values().forEach(this::removeMaterializedPane);
+			materializedPanes.clear();
+			hoveredAppointment = null;
+			popupAppointment = null;
+			getChildren().remove(appointmentCanvas);
+			appointmentCanvas = null;
+			appointmentPanesLocalDate = lLocalDate;
+		}
+		if (lCanvasRendering) {
+			setupCanvas();
+			return;
+		}
 		
-		// place appointments in tracks
-		trackedAppointmentBodyPanes.clear();
-		trackedAppointmentBodyPanes.addAll(regularAppointmentBodyPanes);
-		trackedAppointmentBodyPanes.addAll(taskAppointmentBodyPanes);
-		List<? extends AppointmentAbstractTrackedPane> determineTracks = AppointmentRegularBodyPane.determineTracks(trackedAppointmentBodyPanes);
-		// add the appointments to the pane in the correct order, so they overlap nicely
-		//getChildren().removeAll(determineTracks);
-		getChildren().addAll(determineTracks);
+		boolean lWholedayChanged = setupWholedayAppointments();
+		boolean lTaskChanged = setupTaskAppointments();
+		boolean lRegularChanged = setupRegularAppointments();
+		if (lTaskChanged || lRegularChanged) {
+			// place appointments in tracks
+			getChildren().removeAll(new HashSet<>(trackedAppointmentBodyPanes)); // a set, so removing is not quadratic
+			trackedAppointmentBodyPanes.clear();
+			trackedAppointmentBodyPanes.addAll(regularAppointmentBodyPanes);
+			trackedAppointmentBodyPanes.addAll(taskAppointmentBodyPanes);
+			List<? extends AppointmentAbstractTrackedPane> determineTracks = AppointmentRegularBodyPane.determineTracks(trackedAppointmentBodyPanes);
+			// add the appointments to the pane in the correct order, so they overlap nicely
+			getChildren().addAll(determineTracks);
+		}
 		
-		relayout();
+		// the wholeday appointments take width from the tracked appointments
+		if (lWholedayChanged || lTaskChanged || lRegularChanged) {
+			relayout();
+		}
 	}
 	final List<AppointmentAbstractTrackedPane> trackedAppointmentBodyPanes = new ArrayList<>();
+	private LocalDate appointmentPanesLocalDate = null;
 	
+	// ==================================================================================================================
+	// CANVAS
 	
 	/**
-	 * 
+	 * Draw the appointments on a canvas, instead of creating a pane for each
 	 */
-	private void setupWholedayAppointments() {
-		wholedayAppointments.clear();
-		wholedayAppointments.addAll( allAppointments.collectWholedayFor(localDateObjectProperty.get()) );
+	private void setupCanvas() {
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		if (appointmentCanvas == null) {
+			appointmentCanvas = new AppointmentCanvas(this, layoutHelp);
+			getChildren().add(0, appointmentCanvas); // below the panes
+		}
+		appointmentCanvas.setupAppointments(lLocalDate, allAppointments.collectWholedayFor(lLocalDate), allAppointments.collectTaskFor(lLocalDate), allAppointments.collectRegularFor(lLocalDate));
 		
-		// remove all appointments
-		getChildren().removeAll(wholedayAppointmentBodyPanes);
-		wholedayAppointmentBodyPanes.clear();
+		// the panes may render outdated appointments, so they are created anew (unless the mouse is pressed on one, for example while dragging it)
+		for (Iterator<AppointmentAbstractPane> lIterator = materializedPanes.values().iterator(); lIterator.hasNext(); ) {
+			AppointmentAbstractPane lPane = lIterator.next();
+			if (lPane.isPressed() == false) {
+				removeMaterializedPane(lPane);
+				lIterator.remove();
+			}
+		}
+		relayout();
+		setupMaterializedPanes();
+	}
+	private AppointmentCanvas appointmentCanvas = null;
+	
+	/**
+	 * When the appointments are drawn, only a few of them also get a pane: the one under the mouse, the selected ones, and the one a popup was requested for.
+	 * These can then be styled, dragged and resized like any appointment pane.
+	 */
+	void setupMaterializedPanes() {
+		if (appointmentCanvas == null) {
+			return;
+		}
+		
+		// the appointments that should have a pane
+		Set<Appointment> lAppointments = Collections.newSetFromMap(new IdentityHashMap<>());
+		lAppointments.addAll(layoutHelp.skinnable.selectedAppointments());
+		if (hoveredAppointment != null) {
+			lAppointments.add(hoveredAppointment);
+		}
+		if (popupAppointment != null) {
+			lAppointments.add(popupAppointment);
+		}
+		lAppointments.removeIf( (appointment) -> appointmentCanvas.get(appointment) == null );
+		
+		// remove the panes that are no longer needed, unless the mouse is pressed on one
+		for (Iterator<Map.Entry<Appointment, AppointmentAbstractPane>> lIterator = materializedPanes.entrySet().iterator(); lIterator.hasNext(); ) {
+			Map.Entry<Appointment, AppointmentAbstractPane> lEntry = lIterator.next();
+			if (lAppointments.contains(lEntry.getKey()) == false && lEntry.getValue().isPressed() == false) {
+				removeMaterializedPane(lEntry.getValue());
+				lIterator.remove();
+			}
+		}
+		
+		// create the missing panes
+		Map<Integer, Pane> lAppointmentNodeMap = ((AgendaSkinTimeScale24HourAbstract<?>) layoutHelp.skin).appointmentNodeMap();
+		for (Appointment lAppointment : lAppointments) {
+			if (materializedPanes.containsKey(lAppointment)) {
+				continue;
+			}
+			DrawnAppointment lDrawnAppointment = appointmentCanvas.get(lAppointment);
+			AppointmentAbstractPane lPane;
+			if (lDrawnAppointment.wholeday) {
+				lPane = new AppointmentWholedayBodyPane(lDrawnAppointment.localDate, lAppointment, layoutHelp);
+			}
+			else if (lDrawnAppointment.getEndDateTime() == null) {
+				lPane = new AppointmentTaskBodyPane(lAppointment, layoutHelp);
+			}
+			else {
+				lPane = new AppointmentRegularBodyPane(lDrawnAppointment.localDate, lAppointment, layoutHelp);
+			}
+			lPane.setId(lPane.getClass().getSimpleName() + lDrawnAppointment.localDate + "/" + lDrawnAppointment.idx); // for testing
+			positionMaterializedPane(lPane, lDrawnAppointment);
+			getChildren().add(lPane);
+			materializedPanes.put(lAppointment, lPane);
+			lAppointmentNodeMap.put(System.identityHashCode(lAppointment), lPane);
+		}
+	}
+	final private Map<Appointment, AppointmentAbstractPane> materializedPanes = new IdentityHashMap<>();
+	private Appointment popupAppointment = null;
+	
+	/**
+	 * Remove a materialized pane, also from the appointment node map, so it is no longer found for its appointment
+	 */
+	private void removeMaterializedPane(AppointmentAbstractPane pane) {
+		getChildren().remove(pane);
+		((AgendaSkinTimeScale24HourAbstract<?>) layoutHelp.skin).appointmentNodeMap().remove(System.identityHashCode(pane.appointment), pane);
+	}
+	
+	/**
+	 * 
+	 */
+	private void setHoveredAppointment(Appointment appointment) {
+		if (appointment != hoveredAppointment) {
+			hoveredAppointment = appointment;
+			setupMaterializedPanes();
+		}
+	}
+	private Appointment hoveredAppointment = null;
+	
+	/**
+	 * 
+	 */
+	private void positionMaterializedPane(AppointmentAbstractPane pane, DrawnAppointment drawnAppointment) {
+		pane.setLayoutX(drawnAppointment.x);
+		pane.setLayoutY(drawnAppointment.y);
+		pane.setPrefWidth(drawnAppointment.width);
+		pane.setPrefHeight(drawnAppointment.height);
+	}
+	
+	/**
+	 * @return the pane of the appointment if it is drawn on this day, or null
+	 */
+	Pane materializePane(Appointment appointment) {
+		if (appointmentCanvas == null || appointmentCanvas.get(appointment) == null) {
+			return null;
+		}
+		popupAppointment = appointment;
+		setupMaterializedPanes();
+		return materializedPanes.get(appointment);
+	}
+	
+	// ==================================================================================================================
+	
+	/**
+	 * Have the next setup create all appointment panes anew
+	 */
+	void discardAppointmentPanes() {
+		appointmentPanesLocalDate = null;
+	}
+	
+	/**
+	 * @return true if the panes changed
+	 */
+	private boolean setupWholedayAppointments() {
+		List<AppointmentWholedayBodyPane> lOldPanes = new ArrayList<>(wholedayAppointmentBodyPanes);
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		if (!AppointmentAbstractPane.reconcilePanes(allAppointments.collectWholedayFor(lLocalDate), wholedayAppointmentBodyPanes, a -> layoutHelp.appointmentPanePool.obtain(AppointmentWholedayBodyPane.class, lLocalDate, a, () -> new AppointmentWholedayBodyPane(lLocalDate, a, layoutHelp)), layoutHelp)) {
+			return false;
+		}
+		getChildren().removeAll(new HashSet<>(lOldPanes));
 		
-		// for all wholeday appointments on this date, create a header appointment pane
+		// for all wholeday appointments on this date, position the pane
 		int lCnt = 0;
-		for (Appointment lAppointment : wholedayAppointments) {
-			// create pane
-			AppointmentWholedayBodyPane lAppointmentPane = new AppointmentWholedayBodyPane(localDateObjectProperty.get(), lAppointment, layoutHelp);
-			wholedayAppointmentBodyPanes.add(lAppointmentPane);
-			((AgendaSkinTimeScale24HourAbstract<Appointment>) layoutHelp.skin).appointmentNodeMap().put(System.identityHashCode(lAppointment), lAppointmentPane);
-			lAppointmentPane.setId(lAppointmentPane.getClass().getSimpleName() + localDateObjectProperty.get() + "/" + lCnt); // for testing
+		for (AppointmentWholedayBodyPane lAppointmentPane : wholedayAppointmentBodyPanes) {
+			lAppointmentPane.setId(lAppointmentPane.getClass().getSimpleName() + lLocalDate + "/" + lCnt); // for testing
 			
 			// position by binding
 			lAppointmentPane.layoutXProperty().bind(NodeUtil.snapXY( layoutHelp.wholedayAppointmentFlagpoleWidthProperty.multiply(lCnt) ));
@@ -291,61 +527,47 @@ class DayBodyPane extends Pane
 			
 			lCnt++;
 		}
-		getChildren().addAll(wholedayAppointmentBodyPanes);				
+		getChildren().addAll(0, wholedayAppointmentBodyPanes); // below the tracked appointments				
+		return true;
 	}
-	final private List<Appointment> wholedayAppointments = new ArrayList<>();
 	final private List<AppointmentWholedayBodyPane> wholedayAppointmentBodyPanes = new ArrayList<>();
 	
 	/**
-	 * 
+	 * @return true if the panes changed
 	 */
-	private void setupTaskAppointments() {
-		taskAppointments.clear();
-		taskAppointments.addAll( allAppointments.collectTaskFor(localDateObjectProperty.get()) );
-		
-		// remove all appointments
-		getChildren().removeAll(taskAppointmentBodyPanes);
-		taskAppointmentBodyPanes.clear();
+	private boolean setupTaskAppointments() {
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		if (!AppointmentAbstractPane.reconcilePanes(allAppointments.collectTaskFor(lLocalDate), taskAppointmentBodyPanes, a -> layoutHelp.appointmentPanePool.obtain(AppointmentTaskBodyPane.class, lLocalDate, a, () -> new AppointmentTaskBodyPane(a, layoutHelp)), layoutHelp)) {
+			return false;
+		}
 		
-		// for all task appointments on this date, create a header appointment pane
+		// the panes are added to the children when the tracks are determined
 		int lCnt = 0;
-		for (Appointment lAppointment : taskAppointments) {
-			AppointmentTaskBodyPane lAppointmentPane = new AppointmentTaskBodyPane(lAppointment, layoutHelp);
-			taskAppointmentBodyPanes.add(lAppointmentPane);
-            ((AgendaSkinTimeScale24HourAbstract<Appointment>) layoutHelp.skin).appointmentNodeMap().put(System.identityHashCode(lAppointment), lAppointmentPane);
-			lAppointmentPane.setId(lAppointmentPane.getClass().getSimpleName() + localDateObjectProperty.get() + "/" + lCnt); // for testing
-			
+		for (AppointmentTaskBodyPane lAppointmentPane : taskAppointmentBodyPanes) {
+			lAppointmentPane.setId(lAppointmentPane.getClass().getSimpleName() + lLocalDate + "/" + lCnt); // for testing
 			lCnt++;
 		}
-		//getChildren().addAll(taskAppointmentBodyPanes);				
+		return true;
 	}
-	final private List<Appointment> taskAppointments = new ArrayList<>();
 	final private List<AppointmentTaskBodyPane> taskAppointmentBodyPanes = new ArrayList<>();
 	
 	/**
-	 * 
+	 * @return true if the panes changed
 	 */
-	private void setupRegularAppointments() {
-		regularAppointments.clear();
-		regularAppointments.addAll( allAppointments.collectRegularFor(localDateObjectProperty.get()) );
-		
-		// remove all appointments
-		getChildren().removeAll(regularAppointmentBodyPanes);
-		regularAppointmentBodyPanes.clear();
+	private boolean setupRegularAppointments() {
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		if (!AppointmentAbstractPane.reconcilePanes(allAppointments.collectRegularFor(lLocalDate), regularAppointmentBodyPanes, a -> layoutHelp.appointmentPanePool.obtain(AppointmentRegularBodyPane.class, lLocalDate, a, () -> new AppointmentRegularBodyPane(lLocalDate, a, layoutHelp)), layoutHelp)) {
+			return false;
+		}
 		
-		// for all regular appointments on this date, create a header appointment pane
+		// the panes are added to the children when the tracks are determined
 		int lCnt = 0;
-		for (Appointment lAppointment : regularAppointments) {
-			AppointmentRegularBodyPane lAppointmentPane = new AppointmentRegularBodyPane(localDateObjectProperty.get(), lAppointment, layoutHelp);
-			regularAppointmentBodyPanes.add(lAppointmentPane);
-            ((AgendaSkinTimeScale24HourAbstract<Appointment>) layoutHelp.skin).appointmentNodeMap().put(System.identityHashCode(lAppointment), lAppointmentPane);
-			lAppointmentPane.setId(lAppointmentPane.getClass().getSimpleName() + localDateObjectProperty.get() + "/" + lCnt); // for testing
-			
+		for (AppointmentRegularBodyPane lAppointmentPane : regularAppointmentBodyPanes) {
+			lAppointmentPane.setId(lAppointmentPane.getClass().getSimpleName() + lLocalDate + "/" + lCnt); // for testing
 			lCnt++;
 		}
-		//getChildren().addAll(regularAppointmentBodyPanes);				
+		return true;
 	}
-	final private List<Appointment> regularAppointments = new ArrayList<>();
 	final private List<AppointmentRegularBodyPane> regularAppointmentBodyPanes = new ArrayList<>();
 	
 	
@@ -45,7 +45,6 @@ import javafx.scene.text.Text;
 import jfxtras.internal.scene.control.skin.DateTimeToCalendarHelper;
 import jfxtras.internal.scene.control.skin.agenda.AllAppointments;
 import jfxtras.scene.control.agenda.Agenda;
-import jfxtras.scene.control.agenda.Agenda.Appointment;
 import jfxtras.util.NodeUtil;
 
 /**
@@ -88,10 +87,7 @@ public class DayHeaderPane extends Pane {
 		});
 		setLabel();
 		
-		// react to changes in the appointments
-		allAppointments.addOnChangeListener( () -> {
-			setupAppointments();
-		});
+		// changes in the appointments on this day are handled by the skin, see AgendaSkinTimeScale24HourAbstract.update
 		setupAppointments();
 		
 		// setup the create appointment
@@ -111,43 +107,58 @@ public class DayHeaderPane extends Pane {
 	private Text dayText = new Text("?");
 	
 	/**
-	 * 
+	 * Make the appointment panes match the wholeday appointments of this day, reusing the panes of appointments that did not change.
 	 */
 	public void setupAppointments() {
 		
-		// remove all appointments
-		getChildren().removeAll(appointmentHeaderPanes);
-		appointmentHeaderPanes.clear();
+		// panes are specific to a date
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		if (!lLocalDate.equals(appointmentPanesLocalDate)) {
+			// the panes can render the appointments of the new date, unless everything is to be created anew
+			if (appointmentPanesLocalDate != null) {
+				appointmentHeaderPanes.forEach(layoutHelp.appointmentPanePool::release);
+			}
+			getChildren().removeAll(appointmentHeaderPanes);
+			appointmentHeaderPanes.clear();
+			appointmentPanesLocalDate = lLocalDate;
+		}
 		
 		// for all wholeday appointments on this date, create a header appointment pane
-		appointments.clear();
-		appointments.addAll( allAppointments.collectWholedayFor(localDateObjectProperty.get()) );
+		List<AppointmentWholedayHeaderPane> lOldPanes = new ArrayList<>(appointmentHeaderPanes);
+		if (!AppointmentAbstractPane.reconcilePanes(allAppointments.collectWholedayFor(lLocalDate), appointmentHeaderPanes, a -> layoutHelp.appointmentPanePool.obtain(AppointmentWholedayHeaderPane.class, lLocalDate, a, () -> new AppointmentWholedayHeaderPane(a, layoutHelp)), layoutHelp)) {
+			return;
+		}
+		getChildren().removeAll(lOldPanes);
 		int lCnt = 0;
-		for (Appointment lAppointment : appointments) {
-			// create pane
-			AppointmentWholedayHeaderPane lAppointmentHeaderPane = new AppointmentWholedayHeaderPane(lAppointment, layoutHelp);
+		for (AppointmentWholedayHeaderPane lAppointmentHeaderPane : appointmentHeaderPanes) {
 			getChildren().add(lAppointmentHeaderPane);				
-			appointmentHeaderPanes.add(lAppointmentHeaderPane);
-			lAppointmentHeaderPane.setId(lAppointmentHeaderPane.getClass().getSimpleName() + localDateObjectProperty.get() + "/" + lCnt); // for testing
+			lAppointmentHeaderPane.setId(lAppointmentHeaderPane.getClass().getSimpleName() + lLocalDate + "/" + lCnt); // for testing
 			
 			// position by binding
 			lAppointmentHeaderPane.layoutXProperty().bind(layoutHelp.wholedayAppointmentFlagpoleWidthProperty.multiply(lCnt)); // each pane is cascade offset to the right to allow connecting to the wholeday appointment on the day pane
-			lAppointmentHeaderPane.layoutYProperty().bind(heightProperty().subtract(layoutHelp.appointmentHeaderPaneHeightProperty.multiply(appointments.size() - lCnt))); // each pane is cascaded offset down so the title label is visible 
+			lAppointmentHeaderPane.layoutYProperty().bind(heightProperty().subtract(layoutHelp.appointmentHeaderPaneHeightProperty.multiply(appointmentHeaderPanes.size() - lCnt))); // each pane is cascaded offset down so the title label is visible 
 			lAppointmentHeaderPane.prefWidthProperty().bind(widthProperty().subtract(layoutHelp.wholedayAppointmentFlagpoleWidthProperty.multiply(lCnt))); // make sure the size matches the cascading
 			lAppointmentHeaderPane.prefHeightProperty().bind(heightProperty().subtract(lAppointmentHeaderPane.layoutYProperty())); // and the height reaches all the way to the bottom to connect to the flagpole
 			
 			lCnt++;
 		}
 	}
-	final private List<Appointment> appointments = new ArrayList<>();
 	final private List<AppointmentWholedayHeaderPane> appointmentHeaderPanes = new ArrayList<>();
+	private LocalDate appointmentPanesLocalDate = null;
+	
+	/**
+	 * Have the next setup create all appointment panes anew
+	 */
+	void discardAppointmentPanes() {
+		appointmentPanesLocalDate = null;
+	}
 	
 	/**
 	 * So the out view knows how much room (height) we need
 	 * @return
 	 */
 	public int getNumberOfWholeDayAppointments() {
-		return appointments.size();
+		return appointmentHeaderPanes.size();
 	}
 	
 	/**
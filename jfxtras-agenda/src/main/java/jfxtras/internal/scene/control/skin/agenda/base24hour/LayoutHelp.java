@@ -34,7 +34,9 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.FormatStyle;
+import java.util.HashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import javafx.beans.binding.DoubleBinding;
 import javafx.beans.property.DoubleProperty;
@@ -44,7 +46,12 @@ import javafx.beans.property.SimpleIntegerProperty;
 import javafx.geometry.NodeOrientation;
 import javafx.scene.Cursor;
 import javafx.scene.Node;
+import javafx.scene.control.Tooltip;
+import javafx.scene.layout.Background;
 import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
 import javafx.scene.shape.Rectangle;
 import javafx.scene.text.Text;
 import javafx.util.Callback;
@@ -148,6 +155,63 @@ class LayoutHelp {
 		});
 	}
 
+	/**
+	 * All appointment panes share one tooltip, instead of each pane having its own.
+	 * It is installed on a pane when the mouse enters it, and then shows the text of that pane.
+	 */
+	void installAppointmentTooltip(Node node, String text) {
+		if (appointmentTooltip == null) {
+			appointmentTooltip = new Tooltip();
+		}
+		appointmentTooltip.setText(text);
+		if (node.getProperties().get(APPOINTMENT_TOOLTIP_INSTALLED) == null) {
+			Tooltip.install(node, appointmentTooltip);
+			node.getProperties().put(APPOINTMENT_TOOLTIP_INSTALLED, Boolean.TRUE);
+		}
+	}
+	private Tooltip appointmentTooltip = null;
+	
+	/**
+	 * For a node that no longer has a text to show
+	 */
+	void uninstallAppointmentTooltip(Node node) {
+		if (node.getProperties().remove(APPOINTMENT_TOOLTIP_INSTALLED) != null) {
+			Tooltip.uninstall(node, appointmentTooltip);
+		}
+	}
+	private static final String APPOINTMENT_TOOLTIP_INSTALLED = LayoutHelp.class.getName() + ".appointmentTooltipInstalled";
+
+	/**
+	 * The fill an appointment pane of the group would get from CSS, for drawing the appointment on a canvas.
+	 * This is determined by styling an invisible region in the parent, so it is the same as the panes get. 
+	 * 
+	 * @return the fill, or null if it cannot be determined because the parent is not in a scene (yet)
+	 */
+	Paint determineAppointmentGroupFill(String styleClass, Pane parent) {
+		Paint lPaint = appointmentGroupFills.get(styleClass);
+		if (lPaint != null || parent.getScene() == null) {
+			return lPaint;
+		}
+		Region lRegion = new Region();
+		lRegion.getStyleClass().addAll("Appointment", styleClass);
+		lRegion.setManaged(false);
+		lRegion.setVisible(false);
+		parent.getChildren().add(lRegion);
+		lRegion.applyCss();
+		parent.getChildren().remove(lRegion);
+		Background lBackground = lRegion.getBackground();
+		lPaint = (lBackground == null || lBackground.getFills().isEmpty() ? Color.GRAY : lBackground.getFills().get(lBackground.getFills().size() - 1).getFill());
+		appointmentGroupFills.put(styleClass, lPaint);
+		return lPaint;
+	}
+	/** cleared on refresh, so changes in the CSS are picked up */
+	final Map<String, Paint> appointmentGroupFills = new HashMap<>();
+	
+	/**
+	 * The appointment panes that are no longer shown, for reuse
+	 */
+	final AppointmentPanePool appointmentPanePool = new AppointmentPanePool(this);
+
 	/**
 	 * 
 	 * @param localDateTime
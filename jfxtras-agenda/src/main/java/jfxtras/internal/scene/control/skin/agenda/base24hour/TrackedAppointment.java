@@ -1,5 +1,5 @@
 /**
- * MonthPane.java
+ * TrackedAppointment.java
  *
  * Copyright (c) 2011-2016, JFXtras
  * All rights reserved.
@@ -27,8 +27,57 @@
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-package jfxtras.internal.scene.control.skin.agenda.basedaylist;
-
-public class MonthPane {
-
-}
+package jfxtras.internal.scene.control.skin.agenda.base24hour;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An appointment within one day, as it is placed in tracks by {@link AppointmentAbstractTrackedPane#determineTracks(List)}.
+ * This is implemented by the appointment panes, and by the appointments that are drawn on a canvas.
+ */
+interface TrackedAppointment {
+	
+	/**
+	 * @return the start within the day
+	 */
+	LocalDateTime getStartDateTime();
+	
+	/**
+	 * @return the end within the day, or null for a task
+	 */
+	LocalDateTime getEndDateTime();
+	
+	/**
+	 * 
+	 */
+	long getDurationInMS();
+	
+	/**
+	 * @return the cluster the appointment was placed in
+	 */
+	Cluster getCluster();
+	
+	/**
+	 * @return the track within the cluster the appointment was placed in
+	 */
+	int getClusterTrackIdx();
+	
+	/**
+	 * 
+	 */
+	void placeInTrack(Cluster cluster, int trackIdx);
+	
+	/**
+	 * Overlapping appointments, started by the cluster owner
+	 */
+	static class Cluster {
+		Cluster(TrackedAppointment owner) {
+			this.owner = owner;
+		}
+		final TrackedAppointment owner;
+		final List<TrackedAppointment> members = new ArrayList<>(); 
+		final List<List<TrackedAppointment>> tracks = new ArrayList<>();
+	}
+}
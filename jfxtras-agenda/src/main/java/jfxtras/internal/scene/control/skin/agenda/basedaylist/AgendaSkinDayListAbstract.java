@@ -0,0 +1,611 @@
+/**
+ * AgendaSkinDayListAbstract.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.internal.scene.control.skin.agenda.basedaylist;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.FormatStyle;
+import java.time.temporal.ChronoUnit;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.WeakHashMap;
+
+import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.print.PageLayout;
+import javafx.print.PrinterJob;
+import javafx.scene.Node;
+import javafx.scene.control.ContentDisplay;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.control.SkinBase;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.VBox;
+import javafx.scene.transform.Scale;
+import jfxtras.internal.scene.control.skin.DateTimeToCalendarHelper;
+import jfxtras.internal.scene.control.skin.agenda.AgendaSkin;
+import jfxtras.internal.scene.control.skin.agenda.AllAppointments;
+import jfxtras.internal.scene.control.skin.agenda.AsyncRangeLoader;
+import jfxtras.internal.scene.control.skin.agenda.RefreshScheduler;
+import jfxtras.scene.control.agenda.Agenda;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+
+/**
+ * Shows the days in rows of one or more days, which can be scrolled through the years around the displayed date.
+ * 
+ * The rows are virtualized: the {@link ListView} only creates cells for the rows that are in view, and reuses these for other rows while scrolling.
+ * The rows themselves are computed from their index, and the days in a row collect their appointments from the date index of {@link AllAppointments}.
+ * So the number of nodes depends on the size of the view, not on the number of days or appointments.
+ * 
+ * @author Tom Eugelink
+ */
+abstract public class AgendaSkinDayListAbstract extends SkinBase<Agenda>
+implements AgendaSkin
+{
+	// ==================================================================================================================
+	// CONSTRUCTOR
+	
+	/**
+	 * 
+	 */
+	public AgendaSkinDayListAbstract(Agenda control)
+	{
+		super(control);
+		this.control = control;
+		construct();
+	}
+	protected final Agenda control;
+
+	/*
+	 * construct the component
+	 */
+	private void construct()
+	{	
+		appointments = new AllAppointments(getSkinnable().appointments());
+		layoutHelp = new LayoutHelp(getSkinnable(), this);
+		layoutHelp.maxAppointmentsPerDay = getMaxAppointmentsPerDay();
+		refreshScheduler = new RefreshScheduler(() -> getSkinnable().requestLayout(), this::update);
+		asyncRangeLoader = new AsyncRangeLoader(getSkinnable().appointments());
+		
+		// setup component
+		createNodes();
+
+		// react to changes in the locale 
+		getSkinnable().localeProperty().addListener(localeInvalidationListener);
+		 
+		// react to changes in the displayed calendar 
+		getSkinnable().displayedLocalDateTime().addListener(displayedDateTimeChangeListener);
+		
+		// react to changes in the appointments 
+		appointments.addOnChangeListener(appointmentsChangedRunnable);
+		getSkinnable().selectedAppointments().addListener(selectedAppointmentsListChangeListener);
+
+		// initial setup
+		refresh();
+		refreshScheduler.update();
+	}
+	AllAppointments appointments = null;	
+	LayoutHelp layoutHelp = null;
+	private RefreshScheduler refreshScheduler = null;
+	private AsyncRangeLoader asyncRangeLoader = null;
+	private InvalidationListener localeInvalidationListener = (observable) -> {
+		refresh();
+	};
+	private ChangeListener<? super LocalDateTime> displayedDateTimeChangeListener = (observable, oldSelection, newSelection) -> {
+		// within the rows the list only needs to scroll, otherwise the rows are moved around the new date
+		int lRowIndex = rowIndexOf(determineFirstDisplayedLocalDate());
+		if (lRowIndex < 0) {
+			refresh();
+		}
+		else {
+			this.listView.scrollTo(lRowIndex);
+		}
+	};
+	private Runnable appointmentsChangedRunnable = () -> {
+		// only the days in view with changed appointments need to update, this is done in the next layout
+		for (DayPane lDayPane : dayPanesInView()) {
+			LocalDate lLocalDate = lDayPane.localDateObjectProperty.get();
+			if (appointments.isChangedOn(lLocalDate)) {
+				refreshScheduler.markDirty(lLocalDate);
+			}
+		}
+	};
+	private ListChangeListener<Appointment> selectedAppointmentsListChangeListener = (changes) -> {
+		for (DayPane lDayPane : dayPanesInView()) {
+			lDayPane.setupSelected();
+		}
+	};
+
+	/**
+	 * 
+	 */
+	public void dispose() {
+		
+		// remove listeners
+		getSkinnable().localeProperty().removeListener(localeInvalidationListener);
+		getSkinnable().displayedLocalDateTime().removeListener(displayedDateTimeChangeListener);
+		appointments.removeOnChangeListener(appointmentsChangedRunnable);
+		getSkinnable().selectedAppointments().removeListener(selectedAppointmentsListChangeListener);
+		asyncRangeLoader.dispose();
+		
+		// reset style classes
+		getSkinnable().getStyleClass().clear();
+		getSkinnable().getStyleClass().add(Agenda.class.getSimpleName());
+
+		// continue
+		super.dispose();
+	}
+	
+	// ==================================================================================================================
+	// ROWS
+	
+	/** the rows span this number of years before and after the displayed date, displaying a date outside of them moves the rows */
+	final static int YEARS_AROUND = 10;
+	
+	/**
+	 * @return the number of days in a row
+	 */
+	abstract protected int getDaysPerRow();
+	
+	/**
+	 * @return the first day of the row the date is in
+	 */
+	protected LocalDate determineFirstDayOfRow(LocalDate localDate) {
+		return localDate;
+	}
+	
+	/**
+	 * @return the date that is scrolled to the top when the displayed date changes
+	 */
+	protected LocalDate determineFirstDisplayedLocalDate() {
+		return getSkinnable().getDisplayedLocalDateTime().toLocalDate();
+	}
+	
+	/**
+	 * @return the maximum number of appointments rendered in a day
+	 */
+	protected int getMaxAppointmentsPerDay() {
+		return 3;
+	}
+	
+	/**
+	 * @return the height of all rows, or a negative value if each row is as high as its content
+	 */
+	protected double getFixedRowHeight() {
+		return -1;
+	}
+	
+	/**
+	 * Create the rows around the displayed date, and scroll to it
+	 */
+	private void setupRows() {
+		LocalDate lDisplayedLocalDate = getSkinnable().getDisplayedLocalDateTime().toLocalDate();
+		LocalDate lFirstLocalDate = determineFirstDayOfRow(lDisplayedLocalDate.minusYears(YEARS_AROUND));
+		long lDays = ChronoUnit.DAYS.between(lFirstLocalDate, lDisplayedLocalDate.plusYears(YEARS_AROUND));
+		rows = new Rows(lFirstLocalDate, (int)(lDays / getDaysPerRow()) + 1, getDaysPerRow());
+		listView.setItems(FXCollections.observableList(rows));
+		listView.scrollTo(rowIndexOf(determineFirstDisplayedLocalDate()));
+	}
+	private Rows rows = null;
+	
+	/**
+	 * @return the index of the row with the date, or -1 if there is no such row
+	 */
+	private int rowIndexOf(LocalDate localDate) {
+		long lIndex = ChronoUnit.DAYS.between(rows.firstLocalDate, localDate);
+		if (lIndex < 0) {
+			return -1;
+		}
+		lIndex /= rows.daysPerRow;
+		return lIndex < rows.size ? (int)lIndex : -1;
+	}
+	
+	/**
+	 * The first date of each row, computed from the index so the rows take no memory
+	 */
+	static private class Rows extends AbstractList<LocalDate> {
+		Rows(LocalDate firstLocalDate, int size, int daysPerRow) {
+			this.firstLocalDate = firstLocalDate;
+			this.size = size;
+			this.daysPerRow = daysPerRow;
+		}
+		final LocalDate firstLocalDate;
+		final int size;
+		final int daysPerRow;
+		
+		@Override
+		public LocalDate get(int index) {
+			if (index < 0 || index >= size) {
+				throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+			}
+			return firstLocalDate.plusDays((long)index * daysPerRow);
+		}
+
+		@Override
+		public int size() {
+			return size;
+		}
+	}
+
+	// ==================================================================================================================
+	// CELLS
+	
+	/**
+	 * A row of day panes, which are given the dates of the row the cell is reused for
+	 */
+	class RowCell extends ListCell<LocalDate> {
+		RowCell() {
+			getStyleClass().add("DayRow");
+			for (int i = 0; i < getDaysPerRow(); i++) {
+				DayPane lDayPane = new DayPane(null, appointments, layoutHelp);
+				HBox.setHgrow(lDayPane, Priority.ALWAYS);
+				hBox.getChildren().add(lDayPane);
+				dayPanes.add(lDayPane);
+			}
+			setContentDisplay(ContentDisplay.GRAPHIC_ONLY);
+			
+			// pressing a row should not select it in the list, appointments are selected by clicking them
+			addEventFilter(MouseEvent.MOUSE_PRESSED, (mouseEvent) -> {
+				mouseEvent.consume();
+			});
+			
+			// remember the cells, so the days in view can be found 
+			cells.add(this);
+		}
+		final private HBox hBox = new HBox();
+		final List<DayPane> dayPanes = new ArrayList<>();
+		
+		@Override
+		protected void updateItem(LocalDate item, boolean empty) {
+			super.updateItem(item, empty);
+			for (int i = 0; i < dayPanes.size(); i++) {
+				dayPanes.get(i).localDateObjectProperty.set(empty || item == null ? null : item.plusDays(i));
+			}
+			setGraphic(empty || item == null ? null : hBox);
+			visibleRowsChanged();
+		}
+		
+		/**
+		 * The days take up the whole width of the cell, not only their preferred width
+		 */
+		@Override
+		protected void layoutChildren() {
+			super.layoutChildren();
+			if (getGraphic() != null) {
+				hBox.resizeRelocate(0, 0, getWidth(), getHeight());
+			}
+		}
+		
+		/**
+		 * Whether this cell shows a row in view. The list also keeps cells that are not in use, or used for measuring only; these are not visible.  
+		 */
+		boolean isInView() {
+			return isVisible() && getParent() != null && getParent().isVisible() && isEmpty() == false && getItem() != null; 
+		}
+	}
+	/** the list discards cells when it recreates them, so these are held weakly */
+	final private Set<RowCell> cells = Collections.newSetFromMap(new WeakHashMap<>());
+	
+	/**
+	 * @return the day panes of the rows in view
+	 */
+	private List<DayPane> dayPanesInView() {
+		List<DayPane> lDayPanes = new ArrayList<>();
+		for (RowCell lCell : cells) {
+			if (lCell.isInView()) {
+				lDayPanes.addAll(lCell.dayPanes);
+			}
+		}
+		return lDayPanes;
+	}
+	
+	/**
+	 * The rows in view are known after the list has been laid out, the callbacks are then told about them once 
+	 */
+	private void visibleRowsChanged() {
+		if (reportVisibleRangeScheduled) {
+			return;
+		}
+		reportVisibleRangeScheduled = true;
+		Platform.runLater( () -> {
+			reportVisibleRangeScheduled = false;
+			reportVisibleRange();
+		});
+	}
+	private boolean reportVisibleRangeScheduled = false;
+	
+	/**
+	 * Tell the control what range is in view, so it can update the appointments
+	 */
+	private void reportVisibleRange() {
+		// determine the rows in view
+		LocalDate lStartLocalDate = null;
+		LocalDate lEndLocalDate = null;
+		for (RowCell lCell : cells) {
+			if (lCell.isInView()) {
+				LocalDate lLocalDate = lCell.getItem();
+				if (lStartLocalDate == null || lLocalDate.isBefore(lStartLocalDate)) {
+					lStartLocalDate = lLocalDate;
+				}
+				if (lEndLocalDate == null || lLocalDate.isAfter(lEndLocalDate)) {
+					lEndLocalDate = lLocalDate;
+				}
+			}
+		}
+		if (lStartLocalDate == null) {
+			return;
+		}
+		lEndLocalDate = lEndLocalDate.plusDays(getDaysPerRow() - 1);
+		if (lStartLocalDate.equals(reportedStartLocalDate) && lEndLocalDate.equals(reportedEndLocalDate)) {
+			return;
+		}
+		reportedStartLocalDate = lStartLocalDate;
+		reportedEndLocalDate = lEndLocalDate;
+		
+		// callbacks
+		if (getSkinnable().getLocalDateTimeRangeCallback() != null) {
+			Agenda.LocalDateTimeRange lRange = new Agenda.LocalDateTimeRange(lStartLocalDate.atStartOfDay(), lEndLocalDate.plusDays(1).atStartOfDay());
+			getSkinnable().getLocalDateTimeRangeCallback().call(lRange);
+		}
+		if (getSkinnable().getAsyncLocalDateTimeRangeCallback() != null) {
+			Agenda.LocalDateTimeRange lRange = new Agenda.LocalDateTimeRange(lStartLocalDate.atStartOfDay(), lEndLocalDate.plusDays(1).atStartOfDay());
+			asyncRangeLoader.load(lRange, getSkinnable().getAsyncLocalDateTimeRangeCallback());
+		}
+		if (getSkinnable().getCalendarRangeCallback() != null) {
+			Agenda.CalendarRange lRange = new Agenda.CalendarRange( DateTimeToCalendarHelper.createCalendarFromLocalDate(lStartLocalDate, TimeZone.getDefault(), Locale.getDefault()), DateTimeToCalendarHelper.createCalendarFromLocalDate(lEndLocalDate, TimeZone.getDefault(), Locale.getDefault()));
+			getSkinnable().getCalendarRangeCallback().call(lRange);
+		}
+	}
+	private LocalDate reportedStartLocalDate = null;
+	private LocalDate reportedEndLocalDate = null;
+
+	// ==================================================================================================================
+	// UPDATE
+	
+	/**
+	 * 
+	 */
+	private void refreshLocale()
+	{
+		Locale lLocale = getSkinnable().getLocale();
+		layoutHelp.titleDateTimeFormatter = createTitleDateTimeFormatter(lLocale);
+		layoutHelp.firstOfMonthTitleDateTimeFormatter = createFirstOfMonthTitleDateTimeFormatter(lLocale);
+		layoutHelp.timeDateTimeFormatter = DateTimeFormatter.ofLocalizedTime(FormatStyle.SHORT).withLocale(lLocale);
+		borderPane.setTop(createHeader(lLocale));
+	}
+	
+	/**
+	 * 
+	 */
+	protected DateTimeFormatter createTitleDateTimeFormatter(Locale locale) {
+		return DateTimeFormatter.ofLocalizedDate(FormatStyle.FULL).withLocale(locale);
+	}
+	
+	/**
+	 * 
+	 */
+	protected DateTimeFormatter createFirstOfMonthTitleDateTimeFormatter(Locale locale) {
+		return createTitleDateTimeFormatter(locale);
+	}
+	
+	/**
+	 * @return the node shown above the rows, or null
+	 */
+	protected Node createHeader(Locale locale) {
+		return null;
+	}
+	
+	/**
+	 * Have the days in view update their appointments.
+	 * Appointments may have been changed in place (for example by dragging), so these are reindexed first.
+	 * This is done in the next layout, together with any other updates requested before then.
+	 */
+	public void setupAppointments() {
+		refreshScheduler.requestSetupAppointments(true);
+	}
+	
+	/**
+	 * Redo everything, in the next layout
+	 */
+	public void refresh() {
+		refreshScheduler.requestRefresh();
+	}
+	
+	/**
+	 * Do the updates that were requested since the last layout, all at once.
+	 */
+	private void update(RefreshScheduler.Pending pending) {
+		boolean lAllDates = pending.isRefresh() || pending.isReindex() || pending.isAllDates();
+		if (pending.isRefresh()) {
+			asyncRangeLoader.invalidate(); // a refresh loads the appointments again
+			reportedStartLocalDate = null;
+			reportedEndLocalDate = null;
+			refreshLocale();
+			setupRows();
+		}
+		if (pending.isRefresh() || pending.isReindex()) {
+			appointments.reindex();
+		}
+		for (DayPane lDayPane : dayPanesInView()) {
+			if (lAllDates || pending.getDates().contains(lDayPane.localDateObjectProperty.get())) {
+				lDayPane.setupAppointments();
+			}
+		}
+	}
+	
+	/**
+	 * The pending updates are done before the layout, so any number of changes within one pulse results in a single update.
+	 */
+	@Override
+	protected void layoutChildren(double contentX, double contentY, double contentWidth, double contentHeight) {
+		refreshScheduler.update();
+		super.layoutChildren(contentX, contentY, contentWidth, contentHeight);
+	}
+
+	/**
+	 * 
+	 */
+	@Override
+	public Node getNodeForPopup(Appointment appointment) {
+		refreshScheduler.update(); // the days may not show the latest appointments yet
+		Node lNode = findNodeFor(appointment);
+		if (lNode == null && appointment.getStartLocalDateTime() != null) {
+			// bring the appointment into view
+			int lRowIndex = rowIndexOf(appointment.getStartLocalDateTime().toLocalDate());
+			if (lRowIndex >= 0) {
+				listView.scrollTo(lRowIndex);
+				listView.layout();
+				lNode = findNodeFor(appointment);
+			}
+		}
+		return lNode;
+	}
+	
+	/**
+	 * 
+	 */
+	private Node findNodeFor(Appointment appointment) {
+		for (DayPane lDayPane : dayPanesInView()) {
+			Node lNode = lDayPane.getNodeFor(appointment);
+			if (lNode != null) {
+				return lNode;
+			}
+		}
+		return null;
+	}
+
+	// ==================================================================================================================
+	// DRAW
+	
+	/**
+	 * construct the nodes
+	 */
+	private void createNodes()
+	{
+		// when switching skin, remove any old stuff
+		getChildren().clear();
+		
+		// we use a borderpane
+		borderPane = new BorderPane();
+		borderPane.prefWidthProperty().bind(getSkinnable().widthProperty()); // the border pane is the same size as the whole skin
+		borderPane.prefHeightProperty().bind(getSkinnable().heightProperty());
+		getChildren().add(borderPane);
+		
+		// borderpane center: the rows
+		listView = new ListView<>();
+		listView.getStyleClass().add("DayList");
+		listView.setFocusTraversable(false);
+		listView.setCellFactory( (listView) -> new RowCell() );
+		if (getFixedRowHeight() > 0) {
+			listView.setFixedCellSize(getFixedRowHeight()); // the list need not measure the rows
+		}
+		borderPane.setCenter(listView);
+		
+		// style
+		getSkinnable().getStyleClass().add(getClass().getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control		
+	}
+	protected BorderPane borderPane = null;
+	private ListView<LocalDate> listView = null;
+	
+	/**
+	 * 
+	 */
+	@Override
+	public LocalDateTime convertClickInSceneToDateTime(double x, double y) {
+		for (DayPane lDayPane : dayPanesInView()) {
+			LocalDateTime lLocalDateTime = lDayPane.convertClickInSceneToDateTime(x, y);
+			if (lLocalDateTime != null) {
+				return lLocalDateTime;
+			}
+		}
+		return null;
+	}
+	
+	// ==================================================================================================================
+	// Print
+
+    /**
+     * Prints the rows in view using the given printer job.
+     * <p>This method does not modify the state of the job, nor does it call
+     * {@link PrinterJob#endJob}, so the job may be safely reused afterwards.
+     * 
+     * @param job printer job used for printing
+     * @since JavaFX 8.0
+     */
+    public void print(PrinterJob job) {
+    	refreshScheduler.update(); // print the latest appointments
+    	
+		// the rows in view, without virtualization
+		VBox lVBox = new VBox();
+		List<LocalDate> lRowLocalDates = new ArrayList<>();
+		for (RowCell lCell : cells) {
+			if (lCell.isInView()) {
+				lRowLocalDates.add(lCell.getItem());
+			}
+		}
+		Collections.sort(lRowLocalDates);
+		for (LocalDate lRowLocalDate : lRowLocalDates) {
+			HBox lHBox = new HBox();
+			for (int i = 0; i < getDaysPerRow(); i++) {
+				DayPane lDayPane = new DayPane(lRowLocalDate.plusDays(i), appointments, layoutHelp);
+				HBox.setHgrow(lDayPane, Priority.ALWAYS);
+				lHBox.getChildren().add(lDayPane);
+			}
+			lVBox.getChildren().add(lHBox);
+		}
+		lVBox.setPrefWidth(listView.getWidth());
+		lVBox.autosize();
+		
+		// style
+		lVBox.getStyleClass().add(Agenda.class.getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control		
+		lVBox.getStyleClass().add(getClass().getSimpleName()); // always add self as style class, because CSS should relate to the skin not the control		
+
+		// scale to match page
+        PageLayout pageLayout = job.getJobSettings().getPageLayout();
+        double scaleX = pageLayout.getPrintableWidth() / lVBox.getBoundsInParent().getWidth();
+		double scaleY = pageLayout.getPrintableHeight() / lVBox.getBoundsInParent().getHeight();
+		lVBox.getTransforms().add(new Scale(Math.min(scaleX, scaleY), Math.min(scaleX, scaleY)));
+
+        // print
+        job.printPage(pageLayout, lVBox);
+    }
+}
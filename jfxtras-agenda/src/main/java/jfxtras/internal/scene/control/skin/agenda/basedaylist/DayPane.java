@@ -29,14 +29,31 @@
 
 package jfxtras.internal.scene.control.skin.agenda.basedaylist;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.layout.VBox;
+import javafx.scene.shape.Rectangle;
+import javafx.stage.Popup;
 import jfxtras.internal.scene.control.skin.agenda.AllAppointments;
-import jfxtras.internal.scene.control.skin.agenda.basedaylist.LayoutHelp;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+import jfxtras.util.NodeUtil;
 
-public class DayPane {
+/**
+ * Renders one day in a row: its title, and each appointment on a single line.
+ * The pane is reused for other days while scrolling, and then reuses its appointment labels.
+ * No more than {@link LayoutHelp#maxAppointmentsPerDay} appointment labels are created, the remaining appointments are counted in a separate label.
+ * Clicking that label shows the remaining appointments in a popup, where they can be selected and acted upon like the others.
+ */
+public class DayPane extends VBox {
 	public DayPane(LocalDate localDate, AllAppointments allAppointments, LayoutHelp layoutHelp) {
 		this.localDateObjectProperty.set(localDate);
 		this.allAppointments = allAppointments;
@@ -48,6 +65,248 @@ public class DayPane {
 	final LayoutHelp layoutHelp;
 	
 	private void construct() {
+		getStyleClass().add("Day");
+		titleLabel.getStyleClass().add("DayTitle");
+		moreLabel.getStyleClass().add("MoreAppointmentsLabel");
+		moreLabel.setOnMouseClicked( (mouseEvent) -> {
+			mouseEvent.consume();
+			showMoreAppointments();
+		});
+		getChildren().addAll(titleLabel, moreLabel);
+		setMinWidth(0);
+		setPrefWidth(0); // the days in a row share its width equally
 		
+		// a recycled pane shows the appointments of its new date
+		localDateObjectProperty.addListener( (observable) -> {
+			setupAppointments();
+		});
+		if (localDateObjectProperty.get() != null) {
+			setupAppointments();
+		}
 	}
+	final private Label titleLabel = new Label();
+	final private Label moreLabel = new Label();
+
+	/**
+	 * 
+	 */
+	void setupAppointments() {
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		setId(lLocalDate == null ? null : "DayPane" + lLocalDate); // for testing
+		if (lLocalDate == null) {
+			titleLabel.setText(null);
+			for (AppointmentLabel lAppointmentLabel : appointmentLabels) {
+				lAppointmentLabel.setAppointment(null, null);
+			}
+			show(moreLabel, false);
+			moreAppointments.clear();
+			hideMoreAppointments();
+			return;
+		}
+		
+		// title and style
+		titleLabel.setText( (lLocalDate.getDayOfMonth() == 1 ? layoutHelp.firstOfMonthTitleDateTimeFormatter : layoutHelp.titleDateTimeFormatter).format(lLocalDate) );
+		getStyleClass().removeAll("weekend", "weekday", "today");
+		getStyleClass().add(lLocalDate.getDayOfWeek() == DayOfWeek.SATURDAY || lLocalDate.getDayOfWeek() == DayOfWeek.SUNDAY ? "weekend" : "weekday");
+		if (lLocalDate.equals(LocalDate.now())) {
+			getStyleClass().add("today");
+		}
+		
+		// the wholeday appointments first, then the others in order of their start
+		List<Appointment> lAppointments = allAppointments.collectWholedayFor(lLocalDate);
+		List<Appointment> lTimedAppointments = allAppointments.collectRegularFor(lLocalDate);
+		lTimedAppointments.addAll(allAppointments.collectTaskFor(lLocalDate));
+		lTimedAppointments.sort(Comparator.comparing(Appointment::getStartLocalDateTime));
+		lAppointments.addAll(lTimedAppointments);
+		
+		// reuse the labels, and only create one when there are more appointments than ever before
+		int lShown = Math.min(lAppointments.size(), layoutHelp.maxAppointmentsPerDay);
+		for (int i = 0; i < lShown; i++) {
+			if (i == appointmentLabels.size()) {
+				AppointmentLabel lAppointmentLabel = new AppointmentLabel();
+				appointmentLabels.add(lAppointmentLabel);
+				getChildren().add(getChildren().size() - 1, lAppointmentLabel); // before the more label
+			}
+			appointmentLabels.get(i).setAppointment(lAppointments.get(i), lLocalDate);
+			appointmentLabels.get(i).setId("AppointmentLabel" + lLocalDate + "/" + i); // for testing
+		}
+		for (int i = lShown; i < appointmentLabels.size(); i++) {
+			appointmentLabels.get(i).setAppointment(null, null);
+			appointmentLabels.get(i).setId(null);
+		}
+		
+		// count the appointments that did not fit
+		int lMore = lAppointments.size() - lShown;
+		moreLabel.setText(lMore > 0 ? "+" + lMore : null);
+		moreLabel.setId(lMore > 0 ? "MoreAppointmentsLabel" + lLocalDate : null); // for testing
+		show(moreLabel, lMore > 0);
+		
+		// a popup with the remaining appointments may be outdated
+		moreAppointments.clear();
+		moreAppointments.addAll(lAppointments.subList(lShown, lAppointments.size()));
+		hideMoreAppointments();
+	}
+	final private List<AppointmentLabel> appointmentLabels = new ArrayList<>();
+	final private List<Appointment> moreAppointments = new ArrayList<>();
+	
+	/**
+	 * 
+	 */
+	void setupSelected() {
+		for (AppointmentLabel lAppointmentLabel : appointmentLabels) {
+			lAppointmentLabel.setupSelected();
+		}
+		for (AppointmentLabel lAppointmentLabel : moreAppointmentLabels) {
+			lAppointmentLabel.setupSelected();
+		}
+	}
+	
+	/**
+	 * Show the appointments that did not fit in a popup just below the more label
+	 */
+	void showMoreAppointments() {
+		LocalDate lLocalDate = localDateObjectProperty.get();
+		if (lLocalDate == null || moreAppointments.isEmpty()) {
+			return;
+		}
+		hideMoreAppointments();
+		
+		// the popup does not fall under the control, so the stylesheet must be applied to its contents
+		VBox lVBox = new VBox() {
+			@Override
+			public String getUserAgentStylesheet() {
+				return layoutHelp.skinnable.getUserAgentStylesheet();
+			}
+		};
+		lVBox.getStyleClass().addAll(layoutHelp.skinnable.getClass().getSimpleName() + "Popup", "MoreAppointmentsPopup");
+		for (int i = 0; i < moreAppointments.size(); i++) {
+			AppointmentLabel lAppointmentLabel = new AppointmentLabel();
+			lAppointmentLabel.setAppointment(moreAppointments.get(i), lLocalDate);
+			lAppointmentLabel.setId("AppointmentLabel" + lLocalDate + "/" + (layoutHelp.maxAppointmentsPerDay + i)); // for testing, continuing the numbering of the day
+			moreAppointmentLabels.add(lAppointmentLabel);
+			lVBox.getChildren().add(lAppointmentLabel);
+		}
+		
+		moreAppointmentsPopup = new Popup();
+		moreAppointmentsPopup.setAutoFix(true);
+		moreAppointmentsPopup.setAutoHide(true);
+		moreAppointmentsPopup.setHideOnEscape(true);
+		moreAppointmentsPopup.getContent().add(lVBox);
+		moreAppointmentsPopup.show(moreLabel, NodeUtil.screenX(moreLabel), NodeUtil.screenY(moreLabel) + moreLabel.getHeight());
+	}
+	private Popup moreAppointmentsPopup = null;
+	final private List<AppointmentLabel> moreAppointmentLabels = new ArrayList<>();
+	
+	/**
+	 * 
+	 */
+	void hideMoreAppointments() {
+		if (moreAppointmentsPopup != null) {
+			moreAppointmentsPopup.hide();
+			moreAppointmentsPopup = null;
+		}
+		moreAppointmentLabels.clear();
+	}
+	
+	/**
+	 * @return the label showing the appointment, or null if it is not shown in this day
+	 */
+	Node getNodeFor(Appointment appointment) {
+		for (AppointmentLabel lAppointmentLabel : appointmentLabels) {
+			if (lAppointmentLabel.appointment == appointment) {
+				return lAppointmentLabel;
+			}
+		}
+		for (AppointmentLabel lAppointmentLabel : moreAppointmentLabels) {
+			if (lAppointmentLabel.appointment == appointment) {
+				return lAppointmentLabel;
+			}
+		}
+		return null;
+	}
+	
+	/**
+	 * 
+	 */
+	LocalDateTime convertClickInSceneToDateTime(double x, double y) {
+		LocalDate localDate = localDateObjectProperty.get();
+		if (localDate == null) {
+			return null;
+		}
+		Rectangle r = new Rectangle(NodeUtil.sceneX(this), NodeUtil.sceneY(this), this.getWidth(), this.getHeight());
+		if (r.contains(x, y)) {
+			return localDate.atStartOfDay();
+		}
+		return null;
+	}
+	
+	/**
+	 * Hidden nodes also do not take up space
+	 */
+	static private void show(Node node, boolean show) {
+		node.setVisible(show);
+		node.setManaged(show);
+	}
+	
+	/**
+	 * One line with the start time and summary of an appointment 
+	 */
+	class AppointmentLabel extends Label {
+		AppointmentLabel() {
+			getStyleClass().add("Appointment");
+			setMaxWidth(Double.MAX_VALUE);
+			setOnMouseClicked( (mouseEvent) -> {
+				if (appointment == null) {
+					return;
+				}
+				mouseEvent.consume();
+				if (mouseEvent.getClickCount() > 1) {
+					layoutHelp.handleAction(appointment);
+				}
+				else {
+					layoutHelp.handleSelect(appointment, mouseEvent);
+				}
+			});
+		}
+		Appointment appointment = null;
+		private String groupStyleClass = null;
+		
+		/**
+		 * @param appointment the appointment to show, or null to hide the label
+		 */
+		void setAppointment(Appointment appointment, LocalDate localDate) {
+			this.appointment = appointment;
+			show(this, appointment != null);
+			if (groupStyleClass != null) {
+				getStyleClass().remove(groupStyleClass);
+				groupStyleClass = null;
+			}
+			if (appointment == null) {
+				setText(null);
+				getStyleClass().remove(SELECTED);
+				return;
+			}
+			
+			groupStyleClass = appointment.getAppointmentGroup() != null ? appointment.getAppointmentGroup().getStyleClass() : "group0";
+			getStyleClass().add(groupStyleClass);
+			
+			// the start time is only of interest on the day the appointment starts
+			String lSummary = appointment.getSummary() == null ? "" : appointment.getSummary();
+			LocalDateTime lStartLocalDateTime = appointment.getStartLocalDateTime();
+			boolean lWholeDay = Boolean.TRUE.equals(appointment.isWholeDay());
+			setText(!lWholeDay && lStartLocalDateTime.toLocalDate().equals(localDate) ? layoutHelp.timeDateTimeFormatter.format(lStartLocalDateTime) + " " + lSummary : lSummary);
+			setupSelected();
+		}
+		
+		void setupSelected() {
+			boolean lSelected = appointment != null && layoutHelp.skinnable.selectedAppointments().contains(appointment);
+			if (lSelected == false) {
+				getStyleClass().remove(SELECTED);
+			}
+			else if (getStyleClass().contains(SELECTED) == false) {
+				getStyleClass().add(SELECTED); 
+			}
+		}
+	}
+	static final String SELECTED = "Selected";
 }
@@ -27,8 +27,64 @@
  * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
  */
 
-package jfxtras.internal.scene.control.skin.agenda.basedaylist;
-
-class LayoutHelp {
-
-}
+package jfxtras.internal.scene.control.skin.agenda.basedaylist;
+
+import java.time.format.DateTimeFormatter;
+
+import javafx.scene.input.MouseEvent;
+import javafx.util.Callback;
+import jfxtras.scene.control.agenda.Agenda;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+
+/**
+ * This class is not a class but a data holder, a record, all fields are accessed directly.
+ * Its methods are utility methods, which normally would be statics in a util class. 
+ */
+class LayoutHelp {
+	public LayoutHelp(Agenda skinnable, AgendaSkinDayListAbstract skin) {
+		this.skinnable = skinnable;
+		this.skin = skin;
+	}
+	final Agenda skinnable;
+	final AgendaSkinDayListAbstract skin;
+	
+	/** the format of the title of a day */
+	DateTimeFormatter titleDateTimeFormatter = null;
+	/** the format of the title of a day that is the first of its month */
+	DateTimeFormatter firstOfMonthTitleDateTimeFormatter = null;
+	/** the format of the start time of an appointment */
+	DateTimeFormatter timeDateTimeFormatter = null;
+	
+	/** a day renders no more than this number of appointments, the remainder is counted in a single label */
+	int maxAppointmentsPerDay = 3;
+
+	/**
+	 * 
+	 */
+	void handleSelect(Appointment appointment, MouseEvent mouseEvent) {
+		// if not shift pressed, clear the selection
+		if (mouseEvent.isShiftDown() == false && mouseEvent.isControlDown() == false) {
+			skinnable.selectedAppointments().clear();
+		}
+		
+		// add to selection if not already added
+		if (skinnable.selectedAppointments().contains(appointment) == false) {
+			skinnable.selectedAppointments().add(appointment);
+		}
+		// pressing control allows to toggle
+		else if (mouseEvent.isControlDown()) {
+			skinnable.selectedAppointments().remove(appointment);
+		}
+	}
+	
+	/**
+	 * 
+	 */
+	void handleAction(Appointment appointment) {
+		// has the client registered an action
+		Callback<Appointment, Void> lCallback = skinnable.getActionCallback();
+		if (lCallback != null) {
+			lCallback.call(appointment);
+		}
+	}
+}
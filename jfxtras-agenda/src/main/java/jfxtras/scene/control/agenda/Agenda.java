@@ -36,9 +36,11 @@ import java.time.temporal.Temporal;
 import java.time.temporal.TemporalAdjuster;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
 
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleBooleanProperty;
@@ -93,6 +95,7 @@ import jfxtras.scene.control.agenda.TemporalUtilities.TemporalType;
  * The appropriate appointments for the to-be-displayed time (based on the currently active skin) will be rendered.
  * The coder could provide all appointments in one big list, but that probably will be a memory heavy.
  * The better approach is to register to the localDateTimeRangeCallbackProperty, and update the appointment collection to match the time frame.
+ * If querying the appointments takes a while, use the asyncLocalDateTimeRangeCallbackProperty instead, so the UI is not blocked while loading.
  * 
  * Agenda.Appointment can be provided in three ways:
  * 
@@ -315,6 +318,20 @@ public class Agenda extends Control
 	public void setLocalDateTimeRangeCallback(Callback<LocalDateTimeRange, Void> value) { this.localDateTimeRangeCallbackObjectProperty.setValue(value); }
 	public Agenda withLocalDateTimeRangeCallback(Callback<LocalDateTimeRange, Void> value) { setLocalDateTimeRangeCallback(value); return this; }
 	
+	/** asyncLocalDateTimeRangeCallback: 
+	 * Like localDateTimeRangeCallback, but the appointments are loaded without blocking the FX thread.
+	 * The callback returns a CompletableFuture, which is completed (on any thread) with the appointments of the range.
+	 * - The result replaces the contents of the appointments list, in one change.
+	 * - If another range is displayed before the result arrives, the result is ignored and the future may be cancelled; a long running query may check isCancelled().
+	 * - The previous and next range are requested as well, and a number of results are cached, so navigating to an adjacent range is instant.
+	 * - refresh() clears the cache.
+	 */
+	public ObjectProperty<Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>>> asyncLocalDateTimeRangeCallbackProperty() { return asyncLocalDateTimeRangeCallbackObjectProperty; }
+	final private ObjectProperty<Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>>> asyncLocalDateTimeRangeCallbackObjectProperty = new SimpleObjectProperty<Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>>>(this, "asyncLocalDateTimeRangeCallback", null);
+	public Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>> getAsyncLocalDateTimeRangeCallback() { return this.asyncLocalDateTimeRangeCallbackObjectProperty.getValue(); }
+	public void setAsyncLocalDateTimeRangeCallback(Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>> value) { this.asyncLocalDateTimeRangeCallbackObjectProperty.setValue(value); }
+	public Agenda withAsyncLocalDateTimeRangeCallback(Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>> value) { setAsyncLocalDateTimeRangeCallback(value); return this; }
+	
 	/** addAppointmentCallback:
 	 * Since the Agenda is not the owner of the appointments but only dictates an interface, it does not know how to create a new one.
 	 * So you need to implement this callback and create an appointment.
@@ -32,6 +32,7 @@ package jfxtras.scene.control.agenda;
 import javafx.scene.control.Tooltip;
 import jfxtras.internal.scene.control.skin.agenda.AgendaDaySkin;
 import jfxtras.internal.scene.control.skin.agenda.AgendaDaysFromDisplayedSkin;
+import jfxtras.internal.scene.control.skin.agenda.AgendaMonthSkin;
 import jfxtras.internal.scene.control.skin.agenda.AgendaWeekSkin;
 import jfxtras.scene.control.ImageViewButton;
 import jfxtras.scene.layout.HBox;
@@ -64,6 +65,7 @@ public class AgendaSkinSwitcher extends HBox {
 		getChildren().add(createWeekButton(agenda));
 		getChildren().add(createDayButton(agenda));
 		getChildren().add(createDayDynamicButton(agenda));
+		getChildren().add(createMonthButton(agenda));
 	}
 	final Agenda agenda;
 	
@@ -104,6 +106,17 @@ public class AgendaSkinSwitcher extends HBox {
 		});
 		return button;
 	}
+
+	/**
+	 * 
+	 */
+	private ImageViewButton createMonthButton(Agenda agenda) {
+		ImageViewButton button = createIcon("month", "Month view");
+		button.setOnMouseClicked( (actionEvent) -> {
+			agenda.setSkin(new AgendaMonthSkin(agenda));
+		});
+		return button;
+	}
 	
 	
 	/**
@@ -0,0 +1,168 @@
+/**
+ * AgendaRenderDayListTest.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.scene.control.agenda.test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javafx.scene.input.MouseButton;
+import jfxtras.internal.scene.control.skin.agenda.AgendaDayListSkin;
+import jfxtras.internal.scene.control.skin.agenda.AgendaMonthSkin;
+import jfxtras.scene.control.agenda.Agenda;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+import jfxtras.test.TestUtil;
+
+/**
+ * 
+ */
+public class AgendaRenderDayListTest extends AbstractAgendaTestBase {
+
+	/**
+	 * 
+	 */
+	@Test
+	public void renderMonthWithinNodeBudget()
+	{
+		// GIVEN a month skin on ten years of appointments
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.setSkin(new AgendaMonthSkin(agenda));
+			agenda.appointments().setAll(createDailyAppointments(LocalDate.of(2012, 1, 1), 10 * 366));
+		});
+		
+		// THEN the displayed month is rendered with its appointments, limited per day 
+		assertFind("#DayPane2014-01-01");
+		assertFind("#AppointmentLabel2014-01-01/2");
+		assertNotFind("#AppointmentLabel2014-01-01/3");
+		
+		// AND only the weeks in view exist as nodes
+		int lDayPaneCount = agenda.lookupAll(".Day").size();
+		Assert.assertTrue("" + lDayPaneCount, lDayPaneCount <= 7 * 12);
+		
+		// WHEN moving years ahead
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.setDisplayedLocalDateTime(LocalDate.of(2019, 6, 1).atStartOfDay());
+		});
+		
+		// THEN that month is rendered by the same number of nodes
+		assertFind("#AppointmentLabel2019-06-01/0");
+		assertNotFind("#DayPane2014-01-01");
+		Assert.assertTrue(agenda.lookupAll(".Day").size() <= lDayPaneCount + 7);
+	}
+
+	/**
+	 * 
+	 */
+	@Test
+	public void renderDayListWithinNodeBudget()
+	{
+		// GIVEN a day list skin on ten years of appointments
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.setSkin(new AgendaDayListSkin(agenda));
+			agenda.appointments().setAll(createDailyAppointments(LocalDate.of(2012, 1, 1), 10 * 366));
+		});
+		
+		// THEN the displayed day is rendered with all its appointments
+		assertFind("#DayPane2014-01-01");
+		assertFind("#AppointmentLabel2014-01-01/3");
+		
+		// AND only the days in view exist as nodes
+		int lDayPaneCount = agenda.lookupAll(".Day").size();
+		Assert.assertTrue("" + lDayPaneCount, lDayPaneCount <= 40);
+		
+		// WHEN moving years ahead
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.setDisplayedLocalDateTime(LocalDate.of(2019, 6, 1).atStartOfDay());
+		});
+		
+		// THEN that day is rendered by the same number of nodes
+		assertFind("#AppointmentLabel2019-06-01/0");
+		assertNotFind("#DayPane2014-01-01");
+		Assert.assertTrue(agenda.lookupAll(".Day").size() <= lDayPaneCount + 1);
+	}
+
+	/**
+	 * 
+	 */
+	@Test
+	public void moreAppointmentsCanBeSelectedAndActedUpon()
+	{
+		// GIVEN a month skin with more appointments on a day than are rendered
+		AtomicInteger lActionCount = new AtomicInteger(0);
+		List<Appointment> lAppointments = createDailyAppointments(LocalDate.of(2014, 1, 1), 1);
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.setSkin(new AgendaMonthSkin(agenda));
+			agenda.appointments().setAll(lAppointments);
+			agenda.setActionCallback( (appointment) -> {
+				lActionCount.incrementAndGet();
+				return null;
+			});
+		});
+		assertNotFind("#AppointmentLabel2014-01-01/3");
+		
+		// WHEN clicking the label counting the remaining appointment
+		clickOn("#MoreAppointmentsLabel2014-01-01");
+		
+		// THEN it is shown in a popup
+		assertPopupIsVisible(find("#MoreAppointmentsLabel2014-01-01"));
+		
+		// AND it can be selected there
+		move("#AppointmentLabel2014-01-01/3");
+		clickOn(MouseButton.PRIMARY); // single click
+		Assert.assertEquals(1, agenda.selectedAppointments().size());
+		Assert.assertSame(lAppointments.get(3), agenda.selectedAppointments().get(0));
+		
+		// AND acted upon
+		clickOn(MouseButton.PRIMARY); // double click
+		Assert.assertEquals(1, lActionCount.get());
+	}
+
+	/**
+	 * Four appointments on each day
+	 */
+	private List<Appointment> createDailyAppointments(LocalDate startLocalDate, int days) {
+		List<Appointment> lAppointments = new ArrayList<>();
+		for (int i = 0; i < days; i++) {
+			LocalDate lLocalDate = startLocalDate.plusDays(i);
+			for (int j = 0; j < 4; j++) {
+				lAppointments.add(new Agenda.AppointmentImplLocal()
+					.withStartLocalDateTime(lLocalDate.atTime(8 + 2 * j, 0))
+					.withEndLocalDateTime(lLocalDate.atTime(9 + 2 * j, 0))
+					.withSummary("a" + j)
+					.withAppointmentGroup(appointmentGroupMap.get("group0" + j)));
+			}
+		}
+		return lAppointments;
+	}
+}
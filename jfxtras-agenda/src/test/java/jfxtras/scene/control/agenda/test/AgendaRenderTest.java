@@ -49,6 +49,7 @@ import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.control.ScrollPane;
 import jfxtras.internal.scene.control.skin.agenda.AgendaDaySkin;
+import jfxtras.internal.scene.control.skin.agenda.AgendaWeekSkin;
 import jfxtras.scene.control.agenda.Agenda;
 import jfxtras.scene.control.agenda.test.OSInfo.OS;
 import jfxtras.test.AssertNode;
@@ -116,6 +117,44 @@ public class AgendaRenderTest extends AbstractAgendaTestBase {
 //		TestUtil.sleep(3000);
 	}
 
+	/**
+	 * 
+	 */
+	@Test
+	public void addingAppointmentReusesPanes()
+	{
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.appointments().add( new Agenda.AppointmentImplLocal()
+	            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T10:00"))
+	            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T12:00"))
+	            .withAppointmentGroup(appointmentGroupMap.get("group01"))
+            );
+		});
+		Node n = find("#AppointmentRegularBodyPane2014-01-01/0");
+		
+		// adding an appointment on another day leaves this day alone
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.appointments().add( new Agenda.AppointmentImplLocal()
+	            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-02T10:00"))
+	            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-02T12:00"))
+	            .withAppointmentGroup(appointmentGroupMap.get("group01"))
+            );
+		});
+		Assert.assertSame(n, find("#AppointmentRegularBodyPane2014-01-01/0"));
+		
+		// adding an appointment on the same day reuses the existing pane, but the tracks are determined again
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.appointments().add( new Agenda.AppointmentImplLocal()
+	            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T11:00"))
+	            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T13:00"))
+	            .withAppointmentGroup(appointmentGroupMap.get("group02"))
+            );
+		});
+		Assert.assertSame(n, find("#AppointmentRegularBodyPane2014-01-01/0"));
+		assertFind("#AppointmentRegularBodyPane2014-01-01/1");
+		Assert.assertTrue(find("#AppointmentRegularBodyPane2014-01-01/0").getLayoutX() < find("#AppointmentRegularBodyPane2014-01-01/1").getLayoutX());
+	}
+
 	/**
 	 * 
 	 */
@@ -436,4 +475,105 @@ public class AgendaRenderTest extends AbstractAgendaTestBase {
 		Assert.assertTrue(lScrollPane.getVvalue() > 0.95); // we do not want to pinpoint it too hard, but somewhere way high is close enough to assert the behavior
 		//TestUtil.sleep(3000);
 	}
+	
+	/**
+	 * 
+	 */
+	@Test
+	public void renderRegularAppointmentOnCanvas()
+	{
+		Agenda.Appointment lAppointment = new Agenda.AppointmentImplLocal()
+            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T10:00"))
+            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T12:00"))
+            .withAppointmentGroup(appointmentGroupMap.get("group01"));
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			((AgendaWeekSkin)agenda.getSkin()).setCanvasRendering(true);
+			agenda.appointments().add(lAppointment);
+		});
+		
+		// the appointment is drawn, not rendered as a pane
+		assertNotFind("#AppointmentRegularBodyPane2014-01-01/0");
+		
+		// selecting it creates its pane at the same location a non drawing agenda would
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.selectedAppointments().add(lAppointment);
+		});
+		Node n = find("#AppointmentRegularBodyPane2014-01-01/0");
+		new AssertNode(n).assertXYWH(0.5, 419.5, 125.0, 84.0, 0.01);
+		
+		// and deselecting it removes the pane again
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.selectedAppointments().clear();
+		});
+		assertNotFind("#AppointmentRegularBodyPane2014-01-01/0");
+		//TestUtil.sleep(3000);
+	}
+	
+	/**
+	 * 
+	 */
+	@Test
+	public void removedCanvasPaneIsNotFoundForPopup()
+	{
+		Agenda.Appointment lAppointment = new Agenda.AppointmentImplLocal()
+            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T10:00"))
+            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T12:00"))
+            .withAppointmentGroup(appointmentGroupMap.get("group01"));
+		AgendaWeekSkin lSkin = (AgendaWeekSkin)agenda.getSkin();
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			lSkin.setCanvasRendering(true);
+			agenda.appointments().add(lAppointment);
+			agenda.selectedAppointments().add(lAppointment);
+		});
+		find("#AppointmentRegularBodyPane2014-01-01/0");
+		
+		// when the pane is removed because the appointment is deselected, and the appointment is no longer displayed
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.selectedAppointments().clear();
+		});
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.setDisplayedLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-08T00:00"));
+		});
+		
+		// then the removed pane is not used for a popup
+		Assert.assertNull(TestUtil.runThenWaitForPaintPulse( () -> lSkin.getNodeForPopup(lAppointment) ));
+		//TestUtil.sleep(3000);
+	}
+	
+	/**
+	 * 
+	 */
+	@Test
+	public void navigatingReusesAppointmentPanes()
+	{
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.appointments().addAll( new Agenda.AppointmentImplLocal()
+	            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T10:00"))
+	            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T12:00"))
+	            .withSummary("this week")
+	            .withAppointmentGroup(appointmentGroupMap.get("group01"))
+	        ,  new Agenda.AppointmentImplLocal()
+	            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-08T12:00"))
+	            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-08T13:00"))
+	            .withSummary("next week")
+	            .withAppointmentGroup(appointmentGroupMap.get("group02"))
+	        );
+		});
+		AgendaWeekSkin lSkin = (AgendaWeekSkin)agenda.getSkin();
+		Node n = find("#AppointmentRegularBodyPane2014-01-01/0");
+		long lReusedCount = lSkin.getReusedAppointmentPaneCount();
+		
+		// when navigating to the next week
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.setDisplayedLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-08T00:00"));
+		});
+		
+		// then the pane of the previous week renders the appointment of the next week
+		Assert.assertSame(n, find("#AppointmentRegularBodyPane2014-01-08/0"));
+		Assert.assertEquals(lReusedCount + 1, lSkin.getReusedAppointmentPaneCount());
+		Assert.assertTrue(n.getStyleClass().contains(appointmentGroupMap.get("group02").getStyleClass()));
+		Assert.assertFalse(n.getStyleClass().contains(appointmentGroupMap.get("group01").getStyleClass()));
+		new AssertNode(n).assertXYWH(0.5, 503.5, 125.0, 42.0, 0.01);
+		//TestUtil.sleep(3000);
+	}
 }
@@ -34,6 +34,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.junit.Assert;
 import org.junit.Test;
 
+import javafx.scene.Node;
 import javafx.scene.Parent;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
@@ -283,4 +284,55 @@ public class AgendaSelectTest extends AbstractAgendaTestBase {
 		Assert.assertEquals(0, agenda.selectedAppointments().size() );
 		//TestUtil.sleep(3000);
 	}
+
+	/**
+	 * 
+	 */
+	@Test
+	public void selectStylesOnlyTheSelectedPanes()
+	{
+		// given
+		Agenda.Appointment lAppointment1 = new Agenda.AppointmentImplLocal()
+	            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T07:00"))
+	            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T08:00"))
+	            .withAppointmentGroup(appointmentGroupMap.get("group01"));
+		Agenda.Appointment lAppointment2 = new Agenda.AppointmentImplLocal()
+	            .withStartLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T10:00"))
+	            .withEndLocalDateTime(TestUtil.quickParseLocalDateTimeYMDhm("2014-01-01T12:00"))
+	            .withAppointmentGroup(appointmentGroupMap.get("group01"));
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.appointments().addAll(lAppointment1, lAppointment2);
+		});
+		Node lPane1 = find("#AppointmentRegularBodyPane2014-01-01/0");
+		Node lPane2 = find("#AppointmentRegularBodyPane2014-01-01/1");
+		Assert.assertFalse(lPane1.getStyleClass().contains("Selected"));
+		Assert.assertFalse(lPane2.getStyleClass().contains("Selected"));
+		
+		// when
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.selectedAppointments().add(lAppointment2);
+		});
+		
+		// then
+		Assert.assertFalse(lPane1.getStyleClass().contains("Selected"));
+		Assert.assertTrue(lPane2.getStyleClass().contains("Selected"));
+		
+		// when selected twice and removed once
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.selectedAppointments().add(lAppointment2);
+			agenda.selectedAppointments().remove(lAppointment2);
+		});
+		
+		// then it is still selected
+		Assert.assertTrue(lPane2.getStyleClass().contains("Selected"));
+		
+		// when
+		TestUtil.runThenWaitForPaintPulse( () -> {
+			agenda.selectedAppointments().setAll(lAppointment1);
+		});
+		
+		// then
+		Assert.assertTrue(lPane1.getStyleClass().contains("Selected"));
+		Assert.assertFalse(lPane2.getStyleClass().contains("Selected"));
+	}
 }
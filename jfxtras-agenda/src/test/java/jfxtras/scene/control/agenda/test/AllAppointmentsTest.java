@@ -31,6 +31,7 @@ package jfxtras.scene.control.agenda.test;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -138,4 +139,103 @@ public class AllAppointmentsTest extends JFXtrasTest {
 		Assert.assertEquals(0, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 2)).size());
 		Assert.assertEquals(0, lAllAppointments.collectWholedayFor(LocalDate.of(2014, 1, 2)).size());
 	}
+
+	@Test
+	public void multipleDays() {
+		// a regular appointment is on each day it spans, a wholeday appointment on each day up to its exclusive end
+		Agenda.Appointment lRegular = new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 8, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 5, 11, 30));
+		Agenda.Appointment lWholeday = new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 0, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 4, 0, 00))
+			.withWholeDay(true);
+		ObservableList<Agenda.Appointment> lAppointments = FXCollections.observableArrayList(lRegular, lWholeday);
+		AllAppointments lAllAppointments = new AllAppointments(lAppointments);
+		Assert.assertEquals(0, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 1)).size());
+		Assert.assertEquals(1, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 2)).size());
+		Assert.assertEquals(1, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 4)).size());
+		Assert.assertEquals(1, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 5)).size());
+		Assert.assertEquals(0, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 6)).size());
+		Assert.assertEquals(1, lAllAppointments.collectWholedayFor(LocalDate.of(2014, 1, 3)).size());
+		Assert.assertEquals(0, lAllAppointments.collectWholedayFor(LocalDate.of(2014, 1, 4)).size());
+	}
+
+	@Test
+	public void longAppointment() {
+		// an appointment spanning more than a year
+		ObservableList<Agenda.Appointment> lAppointments = FXCollections.observableArrayList(new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 8, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2016, 1, 2, 8, 00))
+		);
+		AllAppointments lAllAppointments = new AllAppointments(lAppointments);
+		Assert.assertEquals(0, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 1)).size());
+		Assert.assertEquals(1, lAllAppointments.collectRegularFor(LocalDate.of(2015, 6, 1)).size());
+		Assert.assertEquals(1, lAllAppointments.collectRegularFor(LocalDate.of(2016, 1, 2)).size());
+		Assert.assertEquals(0, lAllAppointments.collectRegularFor(LocalDate.of(2016, 1, 3)).size());
+	}
+
+	@Test
+	public void addAndRemove() {
+		// the index follows the changes of the list
+		ObservableList<Agenda.Appointment> lAppointments = FXCollections.observableArrayList();
+		AllAppointments lAllAppointments = new AllAppointments(lAppointments);
+		Agenda.Appointment lAppointment = new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 8, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 2, 11, 30));
+		lAppointments.add(lAppointment);
+		Assert.assertEquals(1, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 2)).size());
+		lAppointments.remove(lAppointment);
+		Assert.assertEquals(0, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 2)).size());
+	}
+
+	@Test
+	public void listOrder() {
+		// the appointments of a day are collected in the order of the list, also after inserting and sorting
+		Agenda.Appointment lAppointment1 = new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 10, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 2, 11, 00));
+		Agenda.Appointment lAppointment2 = new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 8, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 2, 9, 00));
+		Agenda.Appointment lAppointment3 = new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 1, 9, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 2, 9, 30));
+		ObservableList<Agenda.Appointment> lAppointments = FXCollections.observableArrayList(lAppointment1, lAppointment2);
+		AllAppointments lAllAppointments = new AllAppointments(lAppointments);
+		lAppointments.add(1, lAppointment3);
+		Assert.assertEquals(Arrays.asList(lAppointment1, lAppointment3, lAppointment2), lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 2)));
+		FXCollections.sort(lAppointments, (a1, a2) -> a1.getStartLocalDateTime().compareTo(a2.getStartLocalDateTime()));
+		Assert.assertEquals(Arrays.asList(lAppointment3, lAppointment2, lAppointment1), lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 2)));
+	}
+
+	@Test
+	public void changedOn() {
+		// only the days the added appointment spans are changed
+		ObservableList<Agenda.Appointment> lAppointments = FXCollections.observableArrayList();
+		AllAppointments lAllAppointments = new AllAppointments(lAppointments);
+		lAppointments.add(new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 8, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 3, 11, 30))
+		);
+		Assert.assertFalse(lAllAppointments.isChangedOn(LocalDate.of(2014, 1, 1)));
+		Assert.assertTrue(lAllAppointments.isChangedOn(LocalDate.of(2014, 1, 2)));
+		Assert.assertTrue(lAllAppointments.isChangedOn(LocalDate.of(2014, 1, 3)));
+		Assert.assertFalse(lAllAppointments.isChangedOn(LocalDate.of(2014, 1, 4)));
+	}
+
+	@Test
+	public void reindex() {
+		// an appointment changed in place is found on its new day after reindexing
+		Agenda.Appointment lAppointment = new Agenda.AppointmentImplLocal()
+			.withStartLocalDateTime(LocalDateTime.of(2014, 1, 2, 8, 00))
+			.withEndLocalDateTime(LocalDateTime.of(2014, 1, 2, 11, 30));
+		ObservableList<Agenda.Appointment> lAppointments = FXCollections.observableArrayList(lAppointment);
+		AllAppointments lAllAppointments = new AllAppointments(lAppointments);
+		lAppointment.setStartLocalDateTime(LocalDateTime.of(2014, 1, 3, 8, 00));
+		lAppointment.setEndLocalDateTime(LocalDateTime.of(2014, 1, 3, 11, 30));
+		lAllAppointments.reindex();
+		Assert.assertEquals(0, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 2)).size());
+		Assert.assertEquals(1, lAllAppointments.collectRegularFor(LocalDate.of(2014, 1, 3)).size());
+	}
 }
@@ -0,0 +1,231 @@
+/**
+ * AsyncRangeLoaderTest.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.scene.control.agenda.test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.util.Callback;
+import jfxtras.internal.scene.control.skin.agenda.AsyncRangeLoader;
+import jfxtras.scene.control.agenda.Agenda;
+import jfxtras.scene.control.agenda.Agenda.Appointment;
+import jfxtras.scene.control.agenda.Agenda.LocalDateTimeRange;
+import jfxtras.test.JFXtrasTest;
+
+public class AsyncRangeLoaderTest extends JFXtrasTest {
+
+	/** the requests made to the callback, by start of the range; the futures are completed by the test */
+	final private Map<LocalDateTime, CompletableFuture<List<Appointment>>> requests = new LinkedHashMap<>();
+	final private Callback<LocalDateTimeRange, CompletableFuture<List<Appointment>>> callback = (range) -> {
+		CompletableFuture<List<Appointment>> lFuture = new CompletableFuture<>();
+		requests.put(range.getStartLocalDateTime(), lFuture);
+		return lFuture;
+	};
+	final private ObservableList<Appointment> appointments = FXCollections.observableArrayList();
+	final private AsyncRangeLoader asyncRangeLoader = new AsyncRangeLoader(appointments, (runnable) -> runnable.run(), AsyncRangeLoader.DEFAULT_CACHE_SIZE);
+	
+	@Test
+	public void resultIsAppliedInOneChange() {
+		AtomicInteger lChangeCnt = new AtomicInteger(0);
+		appointments.addListener( (ListChangeListener<Appointment>)(changes) -> lChangeCnt.incrementAndGet() );
+		
+		// when
+		asyncRangeLoader.load(week(0), callback);
+		
+		// then the week and its neighbours are requested, nothing is shown yet
+		Assert.assertEquals(Arrays.asList(start(0), start(-1), start(1)), Arrays.asList(requests.keySet().toArray()));
+		Assert.assertEquals(0, appointments.size());
+		
+		// when
+		requests.get(start(0)).complete(appointments(3));
+		
+		// then
+		Assert.assertEquals(3, appointments.size());
+		Assert.assertEquals(1, lChangeCnt.get());
+	}
+
+	@Test
+	public void staleResultIsIgnoredAndCancelled() {
+		asyncRangeLoader.load(week(0), callback);
+		CompletableFuture<List<Appointment>> lWeek0 = requests.get(start(0));
+		
+		// when navigating two weeks further before week 0 arrived
+		asyncRangeLoader.load(week(2), callback);
+		
+		// then week 0 and its previous week are cancelled, week 1 is still needed as the previous of week 2
+		Assert.assertTrue(lWeek0.isCancelled());
+		Assert.assertTrue(requests.get(start(-1)).isCancelled());
+		Assert.assertFalse(requests.get(start(1)).isCancelled());
+		
+		// when week 2 arrives
+		requests.get(start(2)).complete(appointments(2));
+		Assert.assertEquals(2, appointments.size());
+		
+		// when the stale week 0 would still arrive, it is ignored
+		lWeek0.obtrudeValue(appointments(5));
+		Assert.assertEquals(2, appointments.size());
+	}
+
+	@Test
+	public void prefetchedNeighbourIsShownRightAway() {
+		asyncRangeLoader.load(week(0), callback);
+		requests.get(start(0)).complete(appointments(1));
+		requests.get(start(1)).complete(appointments(4));
+		Assert.assertEquals(3, requests.size());
+		
+		// when
+		asyncRangeLoader.load(week(1), callback);
+		
+		// then the cached result is used, only week 2 is newly requested
+		Assert.assertEquals(4, appointments.size());
+		Assert.assertEquals(4, requests.size());
+		Assert.assertTrue(requests.containsKey(start(2)));
+		
+		// when navigating back, week 0 is still cached
+		asyncRangeLoader.load(week(0), callback);
+		Assert.assertEquals(1, appointments.size());
+		Assert.assertEquals(4, requests.size());
+	}
+
+	@Test
+	public void failedRequestIsRetried() {
+		asyncRangeLoader.load(week(0), callback);
+		requests.get(start(0)).completeExceptionally(new RuntimeException("backend unavailable"));
+		Assert.assertEquals(0, appointments.size());
+		
+		// when
+		requests.clear();
+		asyncRangeLoader.load(week(0), callback);
+		
+		// then the failed week is requested again, the neighbours are cached
+		Assert.assertEquals(Arrays.asList(start(0)), Arrays.asList(requests.keySet().toArray()));
+		requests.get(start(0)).complete(appointments(2));
+		Assert.assertEquals(2, appointments.size());
+	}
+
+	@Test
+	public void cacheIsBounded() {
+		for (int i = 0; i < 50; i++) {
+			asyncRangeLoader.load(week(i), callback);
+			requests.get(start(i)).complete(appointments(1));
+		}
+		Assert.assertEquals(AsyncRangeLoader.DEFAULT_CACHE_SIZE, asyncRangeLoader.getCachedRangeCount());
+		
+		// when
+		asyncRangeLoader.invalidate();
+		
+		// then
+		Assert.assertEquals(0, asyncRangeLoader.getCachedRangeCount());
+	}
+	
+	@Test
+	public void addedAppointmentIsKeptWhenNavigatingBack() {
+		asyncRangeLoader.load(week(0), callback);
+		requests.get(start(0)).complete(appointments(1));
+		requests.get(start(1)).complete(appointments(2));
+		
+		// when the user creates an appointment in week 0
+		Appointment lAdded = appointment(start(0).plusDays(2).withHour(10));
+		appointments.add(lAdded);
+		
+		// and navigates away and back
+		asyncRangeLoader.load(week(1), callback);
+		Assert.assertEquals(2, appointments.size());
+		asyncRangeLoader.load(week(0), callback);
+		
+		// then the appointment is still there, without asking the callback again
+		Assert.assertEquals(2, appointments.size());
+		Assert.assertTrue(appointments.contains(lAdded));
+		Assert.assertEquals(4, requests.size());
+	}
+
+	@Test
+	public void removedAppointmentIsNotBroughtBack() {
+		asyncRangeLoader.load(week(0), callback);
+		Appointment lRemoved = appointment(start(0).withHour(10));
+		requests.get(start(0)).complete(Arrays.asList(lRemoved, appointment(start(0).withHour(12))));
+		requests.get(start(1)).complete(appointments(2));
+		
+		// when the user deletes an appointment, and navigates away and back
+		appointments.remove(lRemoved);
+		asyncRangeLoader.load(week(1), callback);
+		asyncRangeLoader.load(week(0), callback);
+		
+		// then
+		Assert.assertEquals(1, appointments.size());
+		Assert.assertFalse(appointments.contains(lRemoved));
+	}
+
+	@Test
+	public void appointmentAddedWhileLoadingIsKept() {
+		asyncRangeLoader.load(week(0), callback);
+		
+		// when the user creates an appointment before the result arrives
+		Appointment lAdded = appointment(start(0).withHour(10));
+		appointments.add(lAdded);
+		requests.get(start(0)).complete(appointments(2));
+		
+		// then the result is patched with it
+		Assert.assertEquals(3, appointments.size());
+		Assert.assertTrue(appointments.contains(lAdded));
+	}
+
+	private LocalDateTime start(int week) {
+		return LocalDate.of(2014, 1, 6).plusWeeks(week).atStartOfDay();
+	}
+	
+	private LocalDateTimeRange week(int week) {
+		return new LocalDateTimeRange(start(week), start(week + 1));
+	}
+	
+	private Appointment appointment(LocalDateTime start) {
+		return new Agenda.AppointmentImplLocal().withStartLocalDateTime(start).withEndLocalDateTime(start.plusHours(1));
+	}
+	
+	private List<Appointment> appointments(int cnt) {
+		Appointment[] lAppointments = new Appointment[cnt];
+		for (int i = 0; i < cnt; i++) {
+			lAppointments[i] = new Agenda.AppointmentImplLocal();
+		}
+		return Arrays.asList(lAppointments);
+	}
+}
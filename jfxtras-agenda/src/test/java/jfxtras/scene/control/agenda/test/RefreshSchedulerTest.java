@@ -0,0 +1,137 @@
+/**
+ * RefreshSchedulerTest.java
+ *
+ * Copyright (c) 2011-2016, JFXtras
+ * All rights reserved.
+ * 
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are met:
+ *     * Redistributions of source code must retain the above copyright
+ *       notice, this list of conditions and the following disclaimer.
+ *     * Redistributions in binary form must reproduce the above copyright
+ *       notice, this list of conditions and the following disclaimer in the
+ *       documentation and/or other materials provided with the distribution.
+ *     * Neither the name of the organization nor the
+ *       names of its contributors may be used to endorse or promote products
+ *       derived from this software without specific prior written permission.
+ * 
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS" AND
+ * ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE IMPLIED
+ * WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE ARE
+ * DISCLAIMED. IN NO EVENT SHALL <COPYRIGHT HOLDER> BE LIABLE FOR ANY
+ * DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL DAMAGES
+ * (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES;
+ * LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND
+ * ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT
+ * (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+
+package jfxtras.scene.control.agenda.test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import jfxtras.internal.scene.control.skin.agenda.RefreshScheduler;
+import jfxtras.test.JFXtrasTest;
+
+public class RefreshSchedulerTest extends JFXtrasTest {
+
+	@Test
+	public void manyRequestsResultInOneUpdate() {
+		AtomicInteger lTriggerCnt = new AtomicInteger(0);
+		List<RefreshScheduler.Pending> lUpdates = new ArrayList<>();
+		RefreshScheduler lRefreshScheduler = new RefreshScheduler(() -> lTriggerCnt.incrementAndGet(), (pending) -> lUpdates.add(pending));
+		
+		// when many dates are marked
+		for (int i = 0; i < 1000; i++) {
+			lRefreshScheduler.markDirty(LocalDate.of(2014, 1, 1).plusDays(i % 7));
+		}
+		
+		// then only the first request triggers
+		Assert.assertEquals(1, lTriggerCnt.get());
+		Assert.assertTrue(lRefreshScheduler.isPending());
+		Assert.assertEquals(0, lUpdates.size());
+		
+		// when
+		lRefreshScheduler.update();
+		
+		// then all requests are handled in one update
+		Assert.assertFalse(lRefreshScheduler.isPending());
+		Assert.assertEquals(1, lUpdates.size());
+		Assert.assertEquals(7, lUpdates.get(0).getDates().size());
+		Assert.assertFalse(lUpdates.get(0).isAllDates());
+		Assert.assertEquals(1000, lRefreshScheduler.getRequestCount());
+		Assert.assertEquals(1, lRefreshScheduler.getUpdateCount());
+		Assert.assertEquals(999, lRefreshScheduler.getSkippedCount());
+		
+		// when there is nothing to do
+		lRefreshScheduler.update();
+		
+		// then nothing is done
+		Assert.assertEquals(1, lUpdates.size());
+		Assert.assertEquals(1, lRefreshScheduler.getUpdateCount());
+	}
+
+	@Test
+	public void requestsAreMerged() {
+		List<RefreshScheduler.Pending> lUpdates = new ArrayList<>();
+		RefreshScheduler lRefreshScheduler = new RefreshScheduler(() -> {}, (pending) -> lUpdates.add(pending));
+		
+		// when
+		lRefreshScheduler.markDirty(LocalDate.of(2014, 1, 1));
+		lRefreshScheduler.requestSetupAppointments(false);
+		lRefreshScheduler.requestSetupAppointments(true);
+		lRefreshScheduler.update();
+		
+		// then
+		Assert.assertEquals(1, lUpdates.size());
+		Assert.assertTrue(lUpdates.get(0).isAllDates());
+		Assert.assertTrue(lUpdates.get(0).isReindex());
+		Assert.assertFalse(lUpdates.get(0).isRefresh());
+		
+		// when
+		lRefreshScheduler.requestRefresh();
+		lRefreshScheduler.update();
+		
+		// then
+		Assert.assertEquals(2, lUpdates.size());
+		Assert.assertTrue(lUpdates.get(1).isRefresh());
+		Assert.assertFalse(lUpdates.get(1).isAllDates());
+		Assert.assertTrue(lUpdates.get(1).getDates().isEmpty());
+	}
+
+	@Test
+	public void requestsDuringUpdateAreHandledInAnotherPass() {
+		AtomicInteger lTriggerCnt = new AtomicInteger(0);
+		List<RefreshScheduler.Pending> lUpdates = new ArrayList<>();
+		RefreshScheduler[] lRefreshScheduler = new RefreshScheduler[1];
+		lRefreshScheduler[0] = new RefreshScheduler(() -> lTriggerCnt.incrementAndGet(), (pending) -> {
+			lUpdates.add(pending);
+			// a refresh loads the appointments of the displayed dates, which marks these dates
+			if (pending.isRefresh()) {
+				lRefreshScheduler[0].markDirty(LocalDate.of(2014, 1, 1));
+				lRefreshScheduler[0].markDirty(LocalDate.of(2014, 1, 2));
+				lRefreshScheduler[0].update(); // does nothing while updating
+			}
+		});
+		
+		// when
+		lRefreshScheduler[0].requestRefresh();
+		lRefreshScheduler[0].update();
+		
+		// then
+		Assert.assertFalse(lRefreshScheduler[0].isPending());
+		Assert.assertEquals(2, lUpdates.size());
+		Assert.assertTrue(lUpdates.get(0).isRefresh());
+		Assert.assertEquals(new HashSet<>(Arrays.asList(LocalDate.of(2014, 1, 1), LocalDate.of(2014, 1, 2))), lUpdates.get(1).getDates());
+		Assert.assertEquals(2, lTriggerCnt.get());
+	}
+}
@@ -18,7 +18,6 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -421,14 +420,9 @@ public abstract class EditRecurrenceRuleVBox<T extends VDisplayable<T>> extends
         // find last recurrence that is not after initialUntilDate
         RecurrenceRuleValue rruleCopy = new RecurrenceRuleValue(rrule);
         rruleCopy.setUntil((Until) null);
-        Iterator<Temporal> i = rruleCopy.streamRecurrences(vComponent.getDateTimeStart().getValue()).iterator();
-        Temporal until = i.next();
-        while (i.hasNext())
-        {
-            Temporal temporal = i.next();
-            if (DateTimeUtilities.isAfter(temporal, timeAdjustedSelection)) break;
-            until = temporal;
-        }
+        Temporal dateTimeStart = vComponent.getDateTimeStart().getValue();
+        long count = rruleCopy.countRecurrences(dateTimeStart, timeAdjustedSelection);
+        Temporal until = rruleCopy.recurrenceAt(dateTimeStart, Math.max(count - 1, 0));
         return (until instanceof LocalDate) ? until : DateTimeType.DATE_WITH_UTC_TIME.from(until); // ensure type is DATE_WITH_UTC_TIME
     }
 
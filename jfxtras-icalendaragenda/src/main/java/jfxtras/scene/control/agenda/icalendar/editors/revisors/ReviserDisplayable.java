@@ -663,7 +663,7 @@ public abstract class ReviserDisplayable<T, U extends VDisplayable<U>> implement
         // Modify COUNT for the edited vEvent
         if (vComponentEditedCopy.getRecurrenceRule().getValue().getCount() != null)
         {
-            int countInOrginal = (int) thisAndFutureVComponent.streamRecurrences().count();
+            int countInOrginal = (int) thisAndFutureVComponent.countRecurrences();
             int countInNew = vComponentEditedCopy.getRecurrenceRule().getValue().getCount().getValue() - countInOrginal;
             vComponentEditedCopy.getRecurrenceRule().getValue().setCount(countInNew);
         }
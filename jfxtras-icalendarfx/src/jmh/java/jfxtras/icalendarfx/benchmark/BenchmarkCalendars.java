@@ -0,0 +1,73 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+
+import jfxtras.icalendarfx.VCalendar;
+
+/**
+ * <p>Calendar content used by the benchmarks.</p>
+ *
+ * <p>A source is either the name of one of the sample ics files in the test resources, or "synthetic-" followed by the
+ * number of components to make with {@link SyntheticCalendarGenerator}.</p>
+ * <ul>
+ * <li>small - Yahoo_Sample_Calendar.ics (7 VEVENTs, 1 VTIMEZONE)
+ * <li>large - mathBirthdays.ics (1321 yearly VEVENTs)
+ * <li>synthetic-1000, synthetic-10000 - generated calendars
+ * </ul>
+ */
+final class BenchmarkCalendars
+{
+    static final String SMALL = "Yahoo_Sample_Calendar.ics";
+    static final String LARGE = "mathBirthdays.ics";
+    private static final String SYNTHETIC_PREFIX = "synthetic-";
+    private static final String RESOURCE_PATH = "/jfxtras/icalendarfx/calendar/";
+
+    private BenchmarkCalendars() { }
+
+    /** Returns the content text for the source */
+    static String content(String source)
+    {
+        if (source.startsWith(SYNTHETIC_PREFIX))
+        {
+            int size = Integer.parseInt(source.substring(SYNTHETIC_PREFIX.length()));
+            return SyntheticCalendarGenerator.generate(size);
+        }
+        InputStream stream = BenchmarkCalendars.class.getResourceAsStream(RESOURCE_PATH + source);
+        if (stream == null)
+        {
+            throw new IllegalArgumentException("Unknown benchmark calendar:" + source);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8)))
+        {
+            // the parser splits on the platform line separator
+            return reader.lines().collect(Collectors.joining(System.lineSeparator()));
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Returns a parsed calendar for the source */
+    static VCalendar parse(String source)
+    {
+        return parseContent(content(source));
+    }
+
+    static VCalendar parseContent(String content)
+    {
+        try
+        {
+            return VCalendar.parse(new StringReader(content));
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VEvent;
+
+/**
+ * Deep copies with the copy constructors and deep comparison with equals, for whole calendars and single components
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EqualsCopyBenchmark
+{
+    @Param({ BenchmarkCalendars.SMALL, BenchmarkCalendars.LARGE, "synthetic-1000" })
+    public String source;
+
+    private VCalendar vCalendar;
+    private VCalendar vCalendarCopy;
+    private VEvent vEvent;
+    private VEvent vEventCopy;
+
+    @Setup
+    public void setup()
+    {
+        String content = BenchmarkCalendars.content(source);
+        vCalendar = BenchmarkCalendars.parseContent(content);
+        vCalendarCopy = BenchmarkCalendars.parseContent(content);
+        vEvent = vCalendar.getVEvents().get(vCalendar.getVEvents().size()/2);
+        vEventCopy = vCalendarCopy.getVEvents().get(vCalendarCopy.getVEvents().size()/2);
+    }
+
+    @Benchmark
+    public VCalendar copyCalendar()
+    {
+        return new VCalendar(vCalendar);
+    }
+
+    @Benchmark
+    public boolean equalsCalendar()
+    {
+        return vCalendar.equals(vCalendarCopy);
+    }
+
+    @Benchmark
+    public VEvent copyVEvent()
+    {
+        return new VEvent(vEvent);
+    }
+
+    @Benchmark
+    public boolean equalsVEvent()
+    {
+        return vEvent.equals(vEventCopy);
+    }
+}
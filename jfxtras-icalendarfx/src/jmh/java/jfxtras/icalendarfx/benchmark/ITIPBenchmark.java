@@ -0,0 +1,137 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.VCalendar;
+
+/**
+ * <p>Processing iTIP messages with {@link VCalendar#processITIPMessage(VCalendar...)}.</p>
+ *
+ * <p>Processing changes the main calendar, so a fresh copy of it and freshly parsed messages are made
+ * before each invocation.  Only the processing is measured.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class ITIPBenchmark
+{
+    private static final String NL = System.lineSeparator();
+    private static final String DAILY_UID = "benchmark-daily@jfxtras.org";
+    private static final String DAILY =
+            "BEGIN:VEVENT" + NL +
+            "UID:" + DAILY_UID + NL +
+            "DTSTAMP:20170101T000000Z" + NL +
+            "DTSTART:20170102T100000" + NL +
+            "DTEND:20170102T110000" + NL +
+            "SUMMARY:Daily benchmark event" + NL +
+            "ORGANIZER;CN=Papa Smurf:mailto:papa@smurf.org" + NL +
+            "RRULE:FREQ=DAILY" + NL +
+            "END:VEVENT";
+    private static final String PUBLISH =
+            "BEGIN:VCALENDAR" + NL +
+            "METHOD:PUBLISH" + NL +
+            "PRODID:-//Example/ExampleCalendarClient//EN" + NL +
+            "VERSION:2.0" + NL +
+            "BEGIN:VEVENT" + NL +
+            "UID:benchmark-new@jfxtras.org" + NL +
+            "DTSTAMP:20170101T000000Z" + NL +
+            "DTSTART:20170105T140000" + NL +
+            "DTEND:20170105T150000" + NL +
+            "SUMMARY:New benchmark event" + NL +
+            "ORGANIZER;CN=Papa Smurf:mailto:papa@smurf.org" + NL +
+            "END:VEVENT" + NL +
+            "END:VCALENDAR";
+    private static final String REQUEST =
+            "BEGIN:VCALENDAR" + NL +
+            "METHOD:REQUEST" + NL +
+            "PRODID:-//Example/ExampleCalendarClient//EN" + NL +
+            "VERSION:2.0" + NL +
+            "BEGIN:VEVENT" + NL +
+            "UID:" + DAILY_UID + NL +
+            "DTSTAMP:20170201T000000Z" + NL +
+            "DTSTART:20170102T120000" + NL +
+            "DTEND:20170102T130000" + NL +
+            "SUMMARY:Rescheduled benchmark event" + NL +
+            "ORGANIZER;CN=Papa Smurf:mailto:papa@smurf.org" + NL +
+            "RRULE:FREQ=DAILY" + NL +
+            "SEQUENCE:1" + NL +
+            "END:VEVENT" + NL +
+            "END:VCALENDAR";
+    private static final String CANCEL =
+            "BEGIN:VCALENDAR" + NL +
+            "METHOD:CANCEL" + NL +
+            "PRODID:-//Example/ExampleCalendarClient//EN" + NL +
+            "VERSION:2.0" + NL +
+            "BEGIN:VEVENT" + NL +
+            "UID:" + DAILY_UID + NL +
+            "DTSTAMP:20170201T000000Z" + NL +
+            "ORGANIZER;CN=Papa Smurf:mailto:papa@smurf.org" + NL +
+            "RECURRENCE-ID:20170301T100000" + NL +
+            "STATUS:CANCELLED" + NL +
+            "SEQUENCE:1" + NL +
+            "END:VEVENT" + NL +
+            "END:VCALENDAR";
+
+    @Param({ "synthetic-100", "synthetic-1000" })
+    public String source;
+
+    private VCalendar template;
+    private VCalendar mainVCalendar;
+    private VCalendar publish;
+    private VCalendar request;
+    private VCalendar cancel;
+
+    @Setup
+    public void setupTemplate()
+    {
+        template = BenchmarkCalendars.parse(source)
+                .withVEvents(DAILY);
+    }
+
+    @Setup(Level.Invocation)
+    public void setupInvocation()
+    {
+        mainVCalendar = new VCalendar(template);
+        publish = VCalendar.parse(PUBLISH);
+        request = VCalendar.parse(REQUEST);
+        cancel = VCalendar.parse(CANCEL);
+    }
+
+    /** PUBLISH of a new event */
+    @Benchmark
+    public List<String> publishNew()
+    {
+        return mainVCalendar.processITIPMessage(publish);
+    }
+
+    /** REQUEST that reschedules a whole recurring series */
+    @Benchmark
+    public List<String> requestReschedule()
+    {
+        return mainVCalendar.processITIPMessage(request);
+    }
+
+    /** CANCEL of one instance of a recurring series */
+    @Benchmark
+    public List<String> cancelInstance()
+    {
+        return mainVCalendar.processITIPMessage(cancel);
+    }
+}
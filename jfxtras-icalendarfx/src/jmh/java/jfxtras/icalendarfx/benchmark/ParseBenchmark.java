@@ -0,0 +1,59 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.VCalendar;
+
+/**
+ * Parsing a whole calendar from content text, as done by {@link VCalendar#parse(java.io.Reader)}, and from
+ * UTF-8 bytes, as done by {@link VCalendar#parse(java.nio.channels.ReadableByteChannel)}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseBenchmark
+{
+    @Param({ BenchmarkCalendars.SMALL, BenchmarkCalendars.LARGE, "synthetic-1000", "synthetic-10000" })
+    public String source;
+
+    private String content;
+    private byte[] bytes;
+
+    @Setup
+    public void setup()
+    {
+        content = BenchmarkCalendars.content(source);
+        bytes = content.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public VCalendar parse()
+    {
+        return BenchmarkCalendars.parseContent(content);
+    }
+
+    @Benchmark
+    public VCalendar parseChannel() throws IOException
+    {
+        return VCalendar.parse(Channels.newChannel(new ByteArrayInputStream(bytes)));
+    }
+}
@@ -0,0 +1,94 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.Period;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.components.VEvent;
+
+/**
+ * <p>Recurrence expansion with {@link VEvent#streamRecurrences()} for the RRULE shapes in
+ * {@link SyntheticCalendarGenerator#RRULES}, with a floating (local) and a zoned DTSTART.</p>
+ *
+ * <p>The same VEvent is used for every invocation, so {@link #window()} benefits from the recurrence cache,
+ * as it does when an agenda asks for one week after another.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecurrenceBenchmark
+{
+    private static final LocalDateTime DTSTART = LocalDateTime.of(2017, 1, 2, 10, 0);
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+    @Param({
+        "FREQ=DAILY;COUNT=30",
+        "FREQ=WEEKLY;BYDAY=MO,WE,FR",
+        "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH",
+        "FREQ=MONTHLY;BYMONTHDAY=15",
+        "FREQ=MONTHLY;BYDAY=-1FR",
+        "FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1",
+        "FREQ=YEARLY",
+        "FREQ=YEARLY;BYMONTH=3;BYDAY=2SU"
+        })
+    public String rrule;
+
+    @Param({ "local", "zoned" })
+    public String dateTimeStartType;
+
+    private VEvent vEvent;
+    private Temporal windowStart;
+    private Temporal windowEnd;
+
+    @Setup
+    public void setup()
+    {
+        boolean isZoned = dateTimeStartType.equals("zoned");
+        Temporal dtstart = isZoned ? ZonedDateTime.of(DTSTART, ZONE) : DTSTART;
+        vEvent = new VEvent()
+                .withDateTimeStart(dtstart)
+                .withDateTimeEnd(dtstart.plus(Duration.ofHours(1)))
+                .withRecurrenceRule(rrule);
+        // one month, five years after DTSTART
+        windowStart = dtstart.plus(Period.ofYears(5));
+        windowEnd = windowStart.plus(Period.ofMonths(1));
+    }
+
+    /** First 100 recurrences */
+    @Benchmark
+    public List<Temporal> first100()
+    {
+        return vEvent.streamRecurrences()
+                .limit(100)
+                .collect(Collectors.toList());
+    }
+
+    /** Recurrences in a one month range */
+    @Benchmark
+    public List<Temporal> window()
+    {
+        return vEvent.streamRecurrences(windowStart, windowEnd)
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,77 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.utilities.DateTimeUtilities;
+
+/**
+ * {@link DateTimeUtilities#checkScheduleConflict(VEvent, List)} of a new weekly event against the events
+ * of a generated calendar that have a floating (local) start.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ScheduleConflictBenchmark
+{
+    @Param({ "synthetic-100", "synthetic-1000" })
+    public String source;
+
+    private List<VEvent> vEvents;
+    private VEvent noConflict;
+    private VEvent conflict;
+
+    @Setup
+    public void setup()
+    {
+        // the conflict check requires all start date/times to be the same type, so keep the floating ones
+        vEvents = BenchmarkCalendars.parse(source).getVEvents()
+                .stream()
+                .filter(v -> v.getDateTimeStart().getValue() instanceof LocalDateTime)
+                .collect(Collectors.toList());
+        // generated events start at 7:00 or later, so this one never conflicts and every recurrence is checked
+        noConflict = new VEvent()
+                .withDateTimeStart(LocalDateTime.of(2017, 1, 2, 6, 0))
+                .withDateTimeEnd(LocalDateTime.of(2017, 1, 2, 6, 30))
+                .withUniqueIdentifier("no-conflict@jfxtras.org")
+                .withRecurrenceRule("FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR");
+        // overlaps the last floating event
+        VEvent target = vEvents.get(vEvents.size()-1);
+        LocalDateTime targetStart = (LocalDateTime) target.getDateTimeStart().getValue();
+        conflict = new VEvent()
+                .withDateTimeStart(targetStart.minusDays(14))
+                .withDateTimeEnd(targetStart.minusDays(14).plusMinutes(30))
+                .withUniqueIdentifier("conflict@jfxtras.org")
+                .withRecurrenceRule("FREQ=WEEKLY");
+    }
+
+    @Benchmark
+    public String noConflict()
+    {
+        return DateTimeUtilities.checkScheduleConflict(noConflict, vEvents);
+    }
+
+    @Benchmark
+    public String conflict()
+    {
+        return DateTimeUtilities.checkScheduleConflict(conflict, vEvents);
+    }
+}
@@ -0,0 +1,46 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.VCalendar;
+
+/**
+ * Producing content text from a calendar with {@link VCalendar#toString()}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializeBenchmark
+{
+    @Param({ BenchmarkCalendars.SMALL, BenchmarkCalendars.LARGE, "synthetic-1000", "synthetic-10000" })
+    public String source;
+
+    private VCalendar vCalendar;
+
+    @Setup
+    public void setup()
+    {
+        vCalendar = BenchmarkCalendars.parse(source);
+    }
+
+    @Benchmark
+    public String serialize()
+    {
+        return vCalendar.toString();
+    }
+}
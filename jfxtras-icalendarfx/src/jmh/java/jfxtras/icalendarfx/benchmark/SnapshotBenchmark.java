@@ -0,0 +1,64 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.archive.CalendarSnapshot;
+
+/**
+ * Loading a whole calendar from a {@link CalendarSnapshot}, compared with parsing its content text
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SnapshotBenchmark
+{
+    @Param({ BenchmarkCalendars.SMALL, BenchmarkCalendars.LARGE, "synthetic-1000" })
+    public String source;
+
+    private String content;
+    private VCalendar vCalendar;
+    private ByteBuffer snapshot;
+
+    @Setup
+    public void setup()
+    {
+        content = BenchmarkCalendars.content(source);
+        vCalendar = BenchmarkCalendars.parseContent(content);
+        snapshot = CalendarSnapshot.write(vCalendar);
+    }
+
+    @Benchmark
+    public VCalendar parse()
+    {
+        return BenchmarkCalendars.parseContent(content);
+    }
+
+    @Benchmark
+    public VCalendar readSnapshot()
+    {
+        return CalendarSnapshot.read(snapshot.duplicate());
+    }
+
+    @Benchmark
+    public ByteBuffer writeSnapshot()
+    {
+        return CalendarSnapshot.write(vCalendar);
+    }
+}
@@ -0,0 +1,213 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Random;
+
+/**
+ * <p>Produces iCalendar content text for benchmarks.</p>
+ *
+ * <p>The content is written directly as text, not through the {@link jfxtras.icalendarfx.VCalendar VCalendar} API, so
+ * the generated calendar is identical for the same size and seed on every commit.  That keeps benchmark results
+ * comparable even when parsing or serialization changes.</p>
+ *
+ * <p>The mix of components resembles a busy shared calendar: mostly single events, some recurring events
+ * using the shapes in {@link #RRULES}, whole-day events, events with a time zone, attendees, categories
+ * and long folded descriptions.</p>
+ */
+public final class SyntheticCalendarGenerator
+{
+    /** Seed used when none is specified */
+    public static final long DEFAULT_SEED = 20170102L;
+
+    /** Representative recurrence rule shapes, also used by {@link RecurrenceBenchmark} */
+    public static final String[] RRULES = {
+            "FREQ=DAILY;COUNT=30",
+            "FREQ=WEEKLY;BYDAY=MO,WE,FR",
+            "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH",
+            "FREQ=MONTHLY;BYMONTHDAY=15",
+            "FREQ=MONTHLY;BYDAY=-1FR",
+            "FREQ=MONTHLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=-1",
+            "FREQ=YEARLY",
+            "FREQ=YEARLY;BYMONTH=3;BYDAY=2SU"
+    };
+
+    private static final String TIME_ZONE = "America/New_York";
+    private static final LocalDate FIRST_DATE = LocalDate.of(2017, 1, 2);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+    private static final int MAX_LINE_LENGTH = 75;
+    private static final String[] WORDS = { "budget", "review", "planning", "standup", "retrospective", "design",
+            "customer", "release", "training", "interview", "lunch", "workshop", "sync", "demo", "kickoff" };
+    private static final String[] LOCATIONS = { "Room 101", "Room 202", "Board room", "Cafeteria", "Online" };
+    private static final String[] CATEGORIES = { "group00", "group01", "group02", "group03", "group04",
+            "group05", "group06", "group07", "group08", "group09" };
+    private static final String[] STATUS = { "CONFIRMED", "TENTATIVE", "CANCELLED" };
+    private static final String[] PEOPLE = { "Papa Smurf", "Smurfette", "Brainy Smurf", "Hefty Smurf", "Clumsy Smurf",
+            "Grouchy Smurf", "Jokey Smurf", "Vanity Smurf" };
+
+    private final Random random;
+    private final StringBuilder builder;
+
+    private SyntheticCalendarGenerator(long seed, int componentCount)
+    {
+        random = new Random(seed);
+        builder = new StringBuilder(componentCount * 600);
+    }
+
+    /**
+     * Generate calendar content with {@link #DEFAULT_SEED}
+     *
+     * @param componentCount  number of VEVENT components
+     * @return  iCalendar content text
+     */
+    public static String generate(int componentCount)
+    {
+        return generate(componentCount, DEFAULT_SEED);
+    }
+
+    /**
+     * Generate calendar content
+     *
+     * @param componentCount  number of VEVENT components
+     * @param seed  seed for the pseudo-random choices, the same seed always produces the same content
+     * @return  iCalendar content text
+     */
+    public static String generate(int componentCount, long seed)
+    {
+        return new SyntheticCalendarGenerator(seed, componentCount).calendar(componentCount);
+    }
+
+    /**
+     * Generate a single VEVENT
+     *
+     * @param index  index used to make the UID
+     * @param seed  seed for the pseudo-random choices
+     * @return  VEVENT content text
+     */
+    public static String generateVEvent(int index, long seed)
+    {
+        SyntheticCalendarGenerator generator = new SyntheticCalendarGenerator(seed, 1);
+        generator.vEvent(index);
+        return generator.builder.toString().trim();
+    }
+
+    private String calendar(int componentCount)
+    {
+        line("BEGIN:VCALENDAR");
+        line("VERSION:2.0");
+        line("PRODID:-//JFxtras//iCalendarFx Benchmark//EN");
+        vTimeZone();
+        for (int i=0; i<componentCount; i++)
+        {
+            vEvent(i);
+        }
+        builder.append("END:VCALENDAR");
+        return builder.toString();
+    }
+
+    private void vTimeZone()
+    {
+        line("BEGIN:VTIMEZONE");
+        line("TZID:" + TIME_ZONE);
+        line("BEGIN:DAYLIGHT");
+        line("TZOFFSETFROM:-0500");
+        line("TZOFFSETTO:-0400");
+        line("TZNAME:EDT");
+        line("DTSTART:20070311T020000");
+        line("RRULE:FREQ=YEARLY;BYMONTH=3;BYDAY=2SU");
+        line("END:DAYLIGHT");
+        line("BEGIN:STANDARD");
+        line("TZOFFSETFROM:-0400");
+        line("TZOFFSETTO:-0500");
+        line("TZNAME:EST");
+        line("DTSTART:20071104T020000");
+        line("RRULE:FREQ=YEARLY;BYMONTH=11;BYDAY=1SU");
+        line("END:STANDARD");
+        line("END:VTIMEZONE");
+    }
+
+    private void vEvent(int index)
+    {
+        line("BEGIN:VEVENT");
+        line("UID:" + String.format("synthetic-%06d@jfxtras.org", index));
+        line("DTSTAMP:20170101T000000Z");
+
+        LocalDate date = FIRST_DATE.plusDays(random.nextInt(365));
+        int kind = random.nextInt(10);
+        boolean isWholeDay = kind == 0;
+        boolean isZoned = kind >= 7;
+        if (isWholeDay)
+        {
+            line("DTSTART;VALUE=DATE:" + DATE_FORMATTER.format(date));
+            line("DTEND;VALUE=DATE:" + DATE_FORMATTER.format(date.plusDays(1 + random.nextInt(3))));
+        } else
+        {
+            LocalDateTime start = date.atTime(7 + random.nextInt(11), 15 * random.nextInt(4));
+            LocalDateTime end = start.plusMinutes(30 * (1 + random.nextInt(6)));
+            String prefix = isZoned ? ";TZID=" + TIME_ZONE + ":" : ":";
+            line("DTSTART" + prefix + DATE_TIME_FORMATTER.format(start));
+            line("DTEND" + prefix + DATE_TIME_FORMATTER.format(end));
+        }
+
+        line("SUMMARY:" + word() + " " + word() + " " + index);
+        if (random.nextInt(10) < 3)
+        {
+            StringBuilder description = new StringBuilder(300);
+            int words = 20 + random.nextInt(40);
+            for (int i=0; i<words; i++)
+            {
+                description.append(word()).append(' ');
+            }
+            description.append("\\nEnd of notes\\, thank you.");
+            line("DESCRIPTION:" + description);
+        }
+        line("LOCATION:" + LOCATIONS[random.nextInt(LOCATIONS.length)]);
+        line("CATEGORIES:" + CATEGORIES[random.nextInt(CATEGORIES.length)]);
+        line("STATUS:" + STATUS[random.nextInt(10) < 8 ? 0 : 1 + random.nextInt(2)]);
+        String organizer = PEOPLE[random.nextInt(PEOPLE.length)];
+        line("ORGANIZER;CN=" + organizer + ":mailto:" + email(organizer));
+        int attendees = random.nextInt(5);
+        int firstAttendee = random.nextInt(PEOPLE.length); // consecutive people, so no attendee is repeated
+        for (int i=0; i<attendees; i++)
+        {
+            String attendee = PEOPLE[(firstAttendee + i) % PEOPLE.length];
+            line("ATTENDEE;CN=" + attendee + ";ROLE=REQ-PARTICIPANT;PARTSTAT=NEEDS-ACTION;RSVP=TRUE:mailto:" + email(attendee));
+        }
+        if (random.nextInt(10) < 4)
+        {
+            String rrule = RRULES[random.nextInt(RRULES.length)];
+            line("RRULE:" + rrule);
+        }
+        if (random.nextInt(10) == 0)
+        {
+            line("X-JFXTRAS-SOURCE:synthetic");
+        }
+        line("END:VEVENT");
+    }
+
+    private String word()
+    {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static String email(String person)
+    {
+        return person.toLowerCase().replace(' ', '.') + "@smurf.org";
+    }
+
+    /* Append content line, folded according to RFC 5545 (all generated text is US-ASCII) */
+    private void line(String contentLine)
+    {
+        int start = 0;
+        int length = MAX_LINE_LENGTH;
+        while (contentLine.length() - start > length)
+        {
+            builder.append(contentLine, start, start + length).append(System.lineSeparator()).append(' ');
+            start += length;
+            length = MAX_LINE_LENGTH - 1; // continuation lines start with a space
+        }
+        builder.append(contentLine, start, contentLine.length()).append(System.lineSeparator());
+    }
+}
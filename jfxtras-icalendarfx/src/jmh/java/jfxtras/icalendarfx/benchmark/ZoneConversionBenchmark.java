@@ -0,0 +1,124 @@
+package jfxtras.icalendarfx.benchmark;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.utilities.DateTimeUtilities;
+import jfxtras.icalendarfx.utilities.DateTimeUtilities.DateTimeType;
+import jfxtras.icalendarfx.utilities.ZoneConversions;
+
+/**
+ * <p>Time zone conversions of a zoned weekly series with an UNTIL ten years out, so it crosses twenty DST
+ * transitions.  Compares the {@link ZoneConversions} offset tables with converting through {@link ZonedDateTime}.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ZoneConversionBenchmark
+{
+    private static final ZoneId ZONE = ZoneId.of("America/New_York");
+
+    private VEvent vEvent;
+    private List<LocalDateTime> localRecurrences;
+    private List<ZonedDateTime> utcRecurrences;
+
+    @Setup
+    public void setup()
+    {
+        ZonedDateTime dtstart = ZonedDateTime.of(LocalDateTime.of(2017, 1, 2, 10, 0), ZONE);
+        vEvent = new VEvent()
+                .withDateTimeStart(dtstart)
+                .withDateTimeEnd(dtstart.plus(Duration.ofHours(1)))
+                .withRecurrenceRule("FREQ=WEEKLY;BYDAY=MO,WE,FR;UNTIL=20270101T000000Z");
+        localRecurrences = new ArrayList<>();
+        utcRecurrences = new ArrayList<>();
+        vEvent.streamRecurrences().forEach(t ->
+        {
+            localRecurrences.add(((ZonedDateTime) t).toLocalDateTime());
+            utcRecurrences.add(((ZonedDateTime) t).withZoneSameInstant(ZoneOffset.UTC));
+        });
+    }
+
+    /** Whole series, bounded by UNTIL */
+    @Benchmark
+    public List<Temporal> streamUntil()
+    {
+        return vEvent.streamRecurrences().collect(Collectors.toList());
+    }
+
+    /** Sorting the series with {@link DateTimeUtilities#TEMPORAL_COMPARATOR2}, as conflict checks do */
+    @Benchmark
+    public List<Temporal> sortComparator2()
+    {
+        List<Temporal> list = new ArrayList<>(localRecurrences);
+        list.sort(DateTimeUtilities.TEMPORAL_COMPARATOR2);
+        return list;
+    }
+
+    @Benchmark
+    public long localToEpochSecondZoned()
+    {
+        long sum = 0;
+        for (LocalDateTime t : localRecurrences)
+        {
+            sum += t.atZone(ZONE).toEpochSecond();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public long localToEpochSecondTable()
+    {
+        long sum = 0;
+        for (LocalDateTime t : localRecurrences)
+        {
+            sum += ZoneConversions.toEpochSecond(t, ZONE);
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int utcToLocalZoned()
+    {
+        int sum = 0;
+        for (ZonedDateTime t : utcRecurrences)
+        {
+            sum += t.withZoneSameInstant(ZONE).toLocalDateTime().getHour();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int utcToLocalTable()
+    {
+        int sum = 0;
+        for (ZonedDateTime t : utcRecurrences)
+        {
+            sum += ((LocalDateTime) DateTimeType.DATE_WITH_LOCAL_TIME.from(t)).getHour();
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,73 @@
+package jfxtras.icalendarfx;
+
+/**
+ * <p>How content is checked while parsing.</p>
+ *
+ * <ul>
+ * <li>{@link #strict()} - the default.  Content is validated, each child is checked before it's added, and
+ * messages are collected for invalid or unknown elements.
+ * <li>{@link #trusted()} - for content from a known good source, such as our own generator.  Skips content
+ * validation, child checks and message collection.  Elements with invalid values and unknown properties are
+ * dropped silently.  Only structural errors throw an IllegalArgumentException: an unknown component, a child not
+ * allowed in its parent, or a missing END line.
+ * </ul>
+ *
+ * @see VCalendar#parse(java.io.Reader, ParseOptions)
+ * @see VCalendar#parse(String, ParseOptions)
+ */
+public final class ParseOptions
+{
+    private static final ParseOptions STRICT = new ParseOptions(true);
+    private static final ParseOptions TRUSTED = new ParseOptions(false);
+
+    // options of the parse running on this thread, null for strict
+    private static final ThreadLocal<ParseOptions> CURRENT = new ThreadLocal<>();
+
+    private final boolean isValidating;
+
+    private ParseOptions(boolean isValidating)
+    {
+        this.isValidating = isValidating;
+    }
+
+    /** Validate content and collect messages, the default */
+    public static ParseOptions strict() { return STRICT; }
+
+    /** Skip validation and messages, failing only on structural errors */
+    public static ParseOptions trusted() { return TRUSTED; }
+
+    /** Returns true if content is validated and messages collected */
+    public boolean isValidating() { return isValidating; }
+
+    /* Options of the parse running on the current thread */
+    static ParseOptions current()
+    {
+        ParseOptions options = CURRENT.get();
+        return (options == null) ? STRICT : options;
+    }
+
+    /* Use these options on the current thread, returns the options to restore with exit */
+    ParseOptions enter()
+    {
+        ParseOptions previous = CURRENT.get();
+        CURRENT.set(this);
+        return previous;
+    }
+
+    static void exit(ParseOptions previous)
+    {
+        if (previous == null)
+        {
+            CURRENT.remove();
+        } else
+        {
+            CURRENT.set(previous);
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return (isValidating) ? "strict" : "trusted";
+    }
+}
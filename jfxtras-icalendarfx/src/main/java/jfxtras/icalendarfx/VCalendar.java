@@ -3,18 +3,32 @@ package jfxtras.icalendarfx;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.VParentBase;
+import jfxtras.icalendarfx.change.VCalendarChange;
+import jfxtras.icalendarfx.change.VCalendarChangeListener;
 import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.components.VDisplayable;
 import jfxtras.icalendarfx.components.VEvent;
 import jfxtras.icalendarfx.components.VFreeBusy;
 import jfxtras.icalendarfx.components.VJournal;
@@ -23,10 +37,14 @@ import jfxtras.icalendarfx.components.VTimeZone;
 import jfxtras.icalendarfx.components.VTodo;
 import jfxtras.icalendarfx.content.MultiLineContent;
 import jfxtras.icalendarfx.content.OrdererBase;
+import jfxtras.icalendarfx.content.UnfoldingChannelReader;
 import jfxtras.icalendarfx.content.UnfoldingStringIterator;
 import jfxtras.icalendarfx.itip.AbstractITIPFactory;
 import jfxtras.icalendarfx.itip.DefaultITIPFactory;
 import jfxtras.icalendarfx.itip.Processable;
+import jfxtras.icalendarfx.journal.VCalendarJournal;
+import jfxtras.icalendarfx.metrics.ICalendarMetrics;
+import jfxtras.icalendarfx.metrics.ICalendarMetricsListener;
 import jfxtras.icalendarfx.properties.calendar.CalendarScale;
 import jfxtras.icalendarfx.properties.calendar.Method;
 import jfxtras.icalendarfx.properties.calendar.ProductIdentifier;
@@ -34,6 +52,8 @@ import jfxtras.icalendarfx.properties.calendar.Version;
 import jfxtras.icalendarfx.properties.calendar.Method.MethodType;
 import jfxtras.icalendarfx.properties.component.misc.NonStandardProperty;
 import jfxtras.icalendarfx.properties.component.misc.RequestStatus;
+import jfxtras.icalendarfx.query.VCalendarIndex;
+import jfxtras.icalendarfx.query.VComponentQuery;
 import jfxtras.icalendarfx.utilities.DateTimeUtilities;
 
 /**
@@ -563,8 +583,283 @@ public class VCalendar extends VParentBase<VCalendar>
             throw new RuntimeException("Unsuppored VComponent type:" + vComponent.getClass());
         }
     }
-    
-    
+
+    /*
+     * INDEX AND QUERY
+     */
+    /** Optional index of the VComponents by property values, kept current when children change.  Null by default */
+    public VCalendarIndex getIndex() { return index; }
+    private VCalendarIndex index;
+    /** Set index, or null to remove it.  The index must be made for this VCalendar. */
+    public void setIndex(VCalendarIndex index)
+    {
+        if ((index != null) && (index.getVCalendar() != this))
+        {
+            throw new IllegalArgumentException("Index was made for a different VCalendar");
+        }
+        this.index = index;
+    }
+    /** Index the VComponents by the default properties of {@link VCalendarIndex} */
+    public VCalendar withIndex()
+    {
+        setIndex(new VCalendarIndex(this));
+        return this;
+    }
+
+    /**
+     * Query of the VComponents by property values and date range.
+     * Uses the index, if present.
+     *
+     * @param componentClass  type of component to find, such as VEvent.class
+     * @return  query to add conditions to
+     */
+    public <T extends VComponent> VComponentQuery<T> query(Class<T> componentClass)
+    {
+        return new VComponentQuery<>(this, componentClass);
+    }
+
+    /** Query of all types of VComponents, see {@link #query(Class)} */
+    public VComponentQuery<VComponent> query()
+    {
+        return query(VComponent.class);
+    }
+
+    /*
+     * JOURNAL
+     */
+    /** Optional journal recording changes to the VComponents, see {@link VCalendarJournal}.  Null by default */
+    public VCalendarJournal getJournal() { return journal; }
+    private VCalendarJournal journal;
+    /** Set journal, or null to stop journaling.  Use {@link VCalendarJournal#open(Path)} or {@link VCalendarJournal#create(VCalendar, Path)} instead. */
+    public void setJournal(VCalendarJournal journal)
+    {
+        if ((journal != null) && (journal.getVCalendar() != this))
+        {
+            throw new IllegalArgumentException("Journal was made for a different VCalendar");
+        }
+        this.journal = journal;
+    }
+
+    /*
+     * METRICS
+     */
+    /** Optional listener for metrics of this calendar's content line generation and iTIP processing, see {@link ICalendarMetrics}.  Null by default */
+    public ICalendarMetricsListener getMetricsListener() { return metricsListener; }
+    private ICalendarMetricsListener metricsListener;
+    /** Set metrics listener, or null to use the thread or global listener of {@link ICalendarMetrics} */
+    public void setMetricsListener(ICalendarMetricsListener metricsListener) { this.metricsListener = metricsListener; }
+
+    /*
+     * CHANGE LISTENERS
+     */
+    private final List<VCalendarChangeListener> changeListeners = new CopyOnWriteArrayList<>();
+    private List<VCalendarChange> pendingChanges;
+    private int transactionDepth;
+
+    /** Add listener to be told about changes to this calendar, see {@link VCalendarChangeListener} */
+    public void addChangeListener(VCalendarChangeListener listener) { changeListeners.add(listener); }
+    /** Remove listener added by {@link #addChangeListener(VCalendarChangeListener)} */
+    public void removeChangeListener(VCalendarChangeListener listener) { changeListeners.remove(listener); }
+
+    /**
+     * Start a transaction.  Changes are held until the matching {@link #endChanges()}, then delivered to the
+     * change listeners as one batch.  Transactions nest - only the outermost one delivers changes.
+     */
+    public void beginChanges()
+    {
+        if (transactionDepth++ == 0)
+        {
+            pendingChanges = new ArrayList<>();
+        }
+    }
+
+    /** End a transaction started by {@link #beginChanges()} */
+    public void endChanges()
+    {
+        if (transactionDepth == 0)
+        {
+            throw new IllegalStateException("endChanges called without beginChanges");
+        }
+        if (--transactionDepth == 0)
+        {
+            List<VCalendarChange> changes = pendingChanges;
+            pendingChanges = null;
+            if (! changes.isEmpty())
+            {
+                fireChanges(Collections.unmodifiableList(changes));
+            }
+        }
+    }
+
+    /** Make changes in one transaction, see {@link #beginChanges()} */
+    public void runChanges(Runnable changes)
+    {
+        beginChanges();
+        try
+        {
+            changes.run();
+        } finally
+        {
+            endChanges();
+        }
+    }
+
+    private void change(VCalendarChange.Type type, VComponent oldComponent, VComponent newComponent, VChild oldChild, VChild newChild)
+    {
+        if (changeListeners.isEmpty() && (pendingChanges == null))
+        {
+            return;
+        }
+        VCalendarChange change = new VCalendarChange(type, this, oldComponent, newComponent, oldChild, newChild);
+        if (pendingChanges != null)
+        {
+            pendingChanges.add(change);
+        } else
+        {
+            fireChanges(Collections.singletonList(change));
+        }
+    }
+
+    private void fireChanges(List<VCalendarChange> changes)
+    {
+        changeListeners.forEach(l -> l.changed(changes));
+    }
+
+    /* Keep index and journal current, then tell change listeners - all children are added and removed through the orderer */
+    @Override
+    public void orderChild(VChild addedChild)
+    {
+        super.orderChild(addedChild);
+        if (addedChild instanceof VComponent)
+        {
+            componentAdded((VComponent) addedChild);
+        } else
+        {
+            change(VCalendarChange.Type.PROPERTY_CHANGED, null, null, null, addedChild);
+        }
+    }
+
+    @Override
+    public void orderChild(VChild oldChild, VChild newChild)
+    {
+        super.orderChild(oldChild, newChild);
+        componentReplaced(oldChild, newChild);
+    }
+
+    @Override
+    public void orderChild(int index, VChild addedChild)
+    {
+        super.orderChild(index, addedChild);
+        if (addedChild instanceof VComponent)
+        {
+            VComponent vComponent = (VComponent) addedChild;
+            if ((this.index != null) && ! this.index.contains(vComponent))
+            {
+                this.index.add(vComponent);
+            }
+            if ((journal != null) && ! journal.contains(vComponent))
+            {
+                journal.componentAdded(vComponent);
+            }
+            change(VCalendarChange.Type.COMPONENT_ADDED, null, vComponent, null, null);
+        } else
+        {
+            change(VCalendarChange.Type.PROPERTY_CHANGED, null, null, null, addedChild);
+        }
+    }
+
+    @Override
+    public boolean replaceChild(VChild oldChild, VChild newChild)
+    {
+        boolean result = super.replaceChild(oldChild, newChild);
+        componentReplaced(oldChild, newChild);
+        return result;
+    }
+
+    /**
+     * Called by a child VComponent when one of its properties or subcomponents is set or replaced,
+     * to keep the index, journal and cached errors current and tell change listeners
+     */
+    public void componentChanged(VComponent vComponent)
+    {
+        componentChanged(vComponent, null, null);
+    }
+
+    /**
+     * Same as {@link #componentChanged(VComponent)}, with the property or subcomponent that was added, removed or replaced
+     *
+     * @param vComponent - changed top-level component
+     * @param oldChild - removed or replaced child, null if a child was added
+     * @param newChild - added or replacing child, null if a child was removed
+     */
+    public void componentChanged(VComponent vComponent, VChild oldChild, VChild newChild)
+    {
+        componentErrors.remove(vComponent);
+        if (index != null)
+        {
+            index.update(vComponent);
+        }
+        if (journal != null)
+        {
+            journal.componentChanged(vComponent);
+        }
+        change(VCalendarChange.Type.PROPERTY_CHANGED, vComponent, vComponent, oldChild, newChild);
+    }
+
+    private void componentAdded(VComponent vComponent)
+    {
+        componentAddedInternal(vComponent);
+        change(VCalendarChange.Type.COMPONENT_ADDED, null, vComponent, null, null);
+    }
+
+    private void componentAddedInternal(VComponent vComponent)
+    {
+        if (index != null)
+        {
+            index.add(vComponent);
+        }
+        if (journal != null)
+        {
+            journal.componentAdded(vComponent);
+        }
+    }
+
+    private void componentReplaced(VChild oldChild, VChild newChild)
+    {
+        componentReplacedInternal(oldChild, newChild);
+        if ((oldChild instanceof VComponent) || (newChild instanceof VComponent))
+        {
+            VComponent oldComponent = (oldChild instanceof VComponent) ? (VComponent) oldChild : null;
+            VComponent newComponent = (newChild instanceof VComponent) ? (VComponent) newChild : null;
+            VCalendarChange.Type type = (newComponent == null) ? VCalendarChange.Type.COMPONENT_REMOVED :
+                    (oldComponent == null) ? VCalendarChange.Type.COMPONENT_ADDED : VCalendarChange.Type.COMPONENT_REPLACED;
+            change(type, oldComponent, newComponent, null, null);
+        } else
+        {
+            change(VCalendarChange.Type.PROPERTY_CHANGED, null, null, oldChild, newChild);
+        }
+    }
+
+    private void componentReplacedInternal(VChild oldChild, VChild newChild)
+    {
+        if (oldChild instanceof VComponent)
+        {
+            componentErrors.remove(oldChild);
+            if (index != null)
+            {
+                index.remove((VComponent) oldChild);
+            }
+            if (journal != null)
+            {
+                journal.componentRemoved((VComponent) oldChild);
+            }
+        }
+        if (newChild instanceof VComponent)
+        {
+            componentAddedInternal((VComponent) newChild);
+        }
+    }
+
     /** set AbstractITIPFactory to handle processing input VCalendar based on {@link Method} */
     public void setMethodProcessFactory(AbstractITIPFactory iTIPFactory)
     {
@@ -599,23 +894,28 @@ public class VCalendar extends VParentBase<VCalendar>
     public List<String> processITIPMessage(Collection<VCalendar> iTIPMessages)
     {
         List<String> log = new ArrayList<>();
-        iTIPMessages.forEach(message ->
+        ICalendarMetrics.Scope scope = ICalendarMetrics.scope(getMetricsListener());
+        try
         {
-            final Processable methodProcess;
-            if (message.getMethod() == null)
-            { // default to PUBLISH method if not present
-                methodProcess = getITIPFactory().getITIPMessageProcess(MethodType.PUBLISH);
- //               throw new IllegalArgumentException("VCalendar to be processed MUST have the METHOD property populated");
-            } else
-            {
-                MethodType method = message.getMethod().getValue();
-                methodProcess = getITIPFactory().getITIPMessageProcess(method);
-            }
-            List<String> methodLog = methodProcess.process(this, message);
-            log.addAll(methodLog);
-        });
+            runChanges(() -> iTIPMessages.forEach(message -> log.addAll(processOneITIPMessage(message))));
+        } finally
+        {
+            scope.close();
+        }
         return log;
     }
+
+    private List<String> processOneITIPMessage(VCalendar message)
+    {
+        ICalendarMetricsListener listener = ICalendarMetrics.listener();
+        long start = ICalendarMetrics.start(listener);
+        // default to PUBLISH method if not present
+        MethodType method = (message.getMethod() == null) ? MethodType.PUBLISH : message.getMethod().getValue();
+        Processable methodProcess = getITIPFactory().getITIPMessageProcess(method);
+        List<String> methodLog = methodProcess.process(this, message);
+        listener.iTIPMessageProcessed(method.toString(), ICalendarMetrics.elapsed(start));
+        return methodLog;
+    }
     
     /**
      * Process the exchange of iCalendar object according to the iTIP methods identifies in RFC 5546.
@@ -643,11 +943,11 @@ public class VCalendar extends VParentBase<VCalendar>
         {
             iTIPMessageList.add(builder.toString());
         }
-        iTIPMessageList.forEach(message -> 
+        runChanges(() -> iTIPMessageList.forEach(message ->
         {
             List<String> methodLog = processITIPMessage(VCalendar.parse(message));
             log.addAll(methodLog);
-        });
+        }));
         return log;
     }
     
@@ -727,10 +1027,116 @@ public class VCalendar extends VParentBase<VCalendar>
         throw new RuntimeException("not implemented");
     }
     
+    @Override
+    public String toString()
+    {
+        ICalendarMetrics.Scope scope = ICalendarMetrics.scope(getMetricsListener());
+        try
+        {
+            return super.toString();
+        } finally
+        {
+            scope.close();
+        }
+    }
+
+    /*
+     * VALIDATION
+     * For cachedErrors and parallelErrors, errors of each VComponent are cached until it changes, see componentChanged.  Components with a RECURRENCE-ID
+     * depend on their recurrence parent, so they are always validated.
+     */
+    private final Map<VComponent, List<String>> componentErrors = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    private static boolean isErrorsCacheable(VComponent vComponent)
+    {
+        return ! (vComponent instanceof VDisplayable) || (((VDisplayable<?>) vComponent).getRecurrenceId() == null);
+    }
+
+    private List<String> componentErrors(VComponent vComponent)
+    {
+        if (! isErrorsCacheable(vComponent))
+        {
+            return vComponent.errors();
+        }
+        List<String> errors = componentErrors.get(vComponent);
+        if (errors == null)
+        {
+            errors = cacheErrors(vComponent, vComponent.errors());
+        }
+        return errors;
+    }
+
+    private List<String> cacheErrors(VComponent vComponent, List<String> errors)
+    {
+        List<String> unmodifiableErrors = errors.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(errors));
+        if (isErrorsCacheable(vComponent))
+        {
+            componentErrors.put(vComponent, unmodifiableErrors);
+        }
+        return unmodifiableErrors;
+    }
+
     @Override
     public List<String> errors()
     {
-        List<String> errors = super.errors();
+        return errors(childrenUnmodifiable()
+                .stream()
+                .map(c -> c.errors()));
+    }
+
+    /**
+     * Same as {@link #errors()}, but VComponent errors are cached, so after the first call only components changed
+     * since are validated.  Modifying a component in place without replacing a child, such as with setValue on a
+     * property or a RRULE part, isn't seen and must be followed by {@link #componentChanged(VComponent)}.
+     */
+    public List<String> cachedErrors()
+    {
+        return errors(childrenUnmodifiable()
+                .stream()
+                .map(c -> (c instanceof VComponent) ? componentErrors((VComponent) c) : c.errors()));
+    }
+
+    /**
+     * Same as {@link #cachedErrors()}, but validates the VComponents that aren't cached in parallel on the common
+     * fork-join pool.  Use for large calendars.
+     */
+    public List<String> parallelErrors()
+    {
+        return parallelErrors(ForkJoinPool.commonPool());
+    }
+
+    /** Same as {@link #parallelErrors()}, but validates on pool */
+    public List<String> parallelErrors(ForkJoinPool pool)
+    {
+        return pool.submit(() -> parallelErrorsInPool()).join();
+    }
+
+    private List<String> parallelErrorsInPool()
+    {
+        List<VComponent> changedComponents = childrenUnmodifiable()
+                .stream()
+                .filter(c -> (c instanceof VComponent) && ! componentErrors.containsKey(c))
+                .map(c -> (VComponent) c)
+                .collect(Collectors.toList());
+        Map<VComponent, List<String>> newErrors = new IdentityHashMap<>();
+        List<List<String>> changedErrors = changedComponents
+                .parallelStream()
+                .map(c -> c.errors())
+                .collect(Collectors.toList());
+        for (int i=0; i<changedComponents.size(); i++)
+        {
+            newErrors.put(changedComponents.get(i), cacheErrors(changedComponents.get(i), changedErrors.get(i)));
+        }
+        return errors(childrenUnmodifiable()
+                .stream()
+                .map(c -> newErrors.containsKey(c) ? newErrors.get(c) : (c instanceof VComponent) ? componentErrors((VComponent) c) : c.errors()));
+    }
+
+    private List<String> errors(Stream<List<String>> childErrors)
+    {
+        List<String> errors = childErrors
+                .flatMap(e -> e.stream())
+                .collect(Collectors.toList());
         if (getProductIdentifier() == null)
         {
             errors.add("PRODID is not present.  PRODID is REQUIRED and MUST NOT occur more than once");
@@ -957,6 +1363,48 @@ public class VCalendar extends VParentBase<VCalendar>
 //        unfoldingReader.close();
         return vCalendar;
     }
+
+    /**
+     * Creates a new VCalendar from a Reader, reporting metrics to listener
+     *
+     * @param reader  source of iCalendar content lines
+     * @param listener  receives metrics of the parse, and becomes the {@link #getMetricsListener() metrics listener} of the VCalendar
+     * @return  Created VCalendar
+     * @throws IOException
+     */
+    public static VCalendar parse(Reader reader, ICalendarMetricsListener listener) throws IOException
+    {
+        ICalendarMetrics.Scope scope = ICalendarMetrics.scope(listener);
+        try
+        {
+            VCalendar vCalendar = parse(reader);
+            vCalendar.setMetricsListener(listener);
+            return vCalendar;
+        } finally
+        {
+            scope.close();
+        }
+    }
+
+    /**
+     * Creates a new VCalendar from a Reader
+     *
+     * @param reader  source of iCalendar content lines
+     * @param options  {@link ParseOptions#trusted()} to skip validation of content from a known good source
+     * @return  Created VCalendar
+     * @throws IOException
+     */
+    public static VCalendar parse(Reader reader, ParseOptions options) throws IOException
+    {
+        ParseOptions previous = options.enter();
+        try
+        {
+            return parse(reader);
+        } finally
+        {
+            ParseOptions.exit(previous);
+        }
+    }
     
     /**
      * Creates a new VCalendar from an ics file
@@ -967,7 +1415,52 @@ public class VCalendar extends VParentBase<VCalendar>
      */
     public static VCalendar parse(Path icsFilePath) throws IOException
     {
-        return parse(Files.newBufferedReader(icsFilePath));
+        try (FileChannel channel = FileChannel.open(icsFilePath, StandardOpenOption.READ))
+        {
+            return parse(channel);
+        }
+    }
+
+    /**
+     * Creates a new VCalendar from a channel of UTF-8 content lines.  Lines are unfolded as the bytes are
+     * decoded by {@link UnfoldingChannelReader}, without making a String for each physical line.  The channel
+     * isn't closed.
+     *
+     * @param channel  source of iCalendar content lines
+     * @return  Created VCalendar
+     * @throws IOException
+     */
+    public static VCalendar parse(ReadableByteChannel channel) throws IOException
+    {
+        VCalendar vCalendar = new VCalendar();
+        try
+        {
+            vCalendar.parseContent(new UnfoldingChannelReader(channel));
+        } catch (UncheckedIOException e)
+        {
+            throw e.getCause();
+        }
+        return vCalendar;
+    }
+
+    /**
+     * Creates a new VCalendar from a channel of UTF-8 content lines
+     *
+     * @param channel  source of iCalendar content lines
+     * @param options  {@link ParseOptions#trusted()} to skip validation of content from a known good source
+     * @return  Created VCalendar
+     * @throws IOException
+     */
+    public static VCalendar parse(ReadableByteChannel channel, ParseOptions options) throws IOException
+    {
+        ParseOptions previous = options.enter();
+        try
+        {
+            return parse(channel);
+        } finally
+        {
+            ParseOptions.exit(previous);
+        }
     }
     
     /**
@@ -1032,4 +1525,23 @@ public class VCalendar extends VParentBase<VCalendar>
     {
     	return VCalendar.parse(new VCalendar(), content);
     }
+
+    /**
+     * Creates a new VCalendar by parsing a String of iCalendar content lines
+     *
+     * @param content  the text to parse, not null
+     * @param options  {@link ParseOptions#trusted()} to skip validation of content from a known good source
+     * @return  the parsed VCalendar
+     */
+    public static VCalendar parse(String content, ParseOptions options)
+    {
+        ParseOptions previous = options.enter();
+        try
+        {
+            return parse(content);
+        } finally
+        {
+            ParseOptions.exit(previous);
+        }
+    }
 }
@@ -7,6 +7,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import jfxtras.icalendarfx.VChild;
@@ -14,6 +15,7 @@ import jfxtras.icalendarfx.VElement;
 import jfxtras.icalendarfx.VElementBase;
 import jfxtras.icalendarfx.components.VComponent;
 import jfxtras.icalendarfx.components.VComponentElement;
+import jfxtras.icalendarfx.metrics.ICalendarMetrics;
 import jfxtras.icalendarfx.parameters.VParameter;
 import jfxtras.icalendarfx.parameters.VParameterElement;
 import jfxtras.icalendarfx.properties.VProperty;
@@ -144,7 +146,44 @@ public abstract class VElementBase implements VElement
 		}
 		return null;
 	}
-	
+
+	/* Copy constructors, looked up once per class.  Copying a calendar
+	 * invokes a copy constructor for every element, so the reflective lookup is cached */
+	private static final Map<Class<? extends VElement>, Constructor<? extends VElement>> COPY_CONSTRUCTORS = new ConcurrentHashMap<>();
+	private static Constructor<? extends VElement> copyConstructor(Class<? extends VElement> elementClass)
+	{
+		try {
+			Constructor<? extends VElement> constructor = elementClass.getConstructor(elementClass);
+			constructor.setAccessible(true); // skip access check on each invocation
+			return constructor;
+		} catch (NoSuchMethodException | SecurityException e) {
+			throw new RuntimeException(elementClass.getSimpleName() + " doesn't have a copy constructor", e);
+		}
+	}
+
+	/**
+	 * Creates a deep copy of a calendar element by invoking its copy constructor.
+	 * The constructor is looked up once per class and cached.
+	 *
+	 * @param source  element to copy
+	 * @return  the copy, or null if source is null
+	 */
+	public static <T extends VElement> T copyVElement(T source)
+	{
+		if (source == null) return null;
+		Constructor<? extends VElement> constructor = COPY_CONSTRUCTORS.get(source.getClass());
+		if (constructor == null)
+		{
+			constructor = COPY_CONSTRUCTORS.computeIfAbsent(source.getClass(), c -> copyConstructor(c));
+		}
+		try {
+			return (T) constructor.newInstance(source);
+		} catch (InstantiationException | IllegalAccessException | IllegalArgumentException
+				| InvocationTargetException e) {
+			throw new RuntimeException("Can't copy " + source.name(), e);
+		}
+	}
+
     /**
      * Creates a new VElement by parsing a String of iCalendar content text
      * @param <T>
@@ -155,7 +194,7 @@ public abstract class VElementBase implements VElement
     protected static <T extends VElementBase> T parse(T element, String valueContent)
     {
     	if (valueContent == null) return null;
-    	boolean isContentValid = element.isContentValid(valueContent);
+    	boolean isContentValid = ! ParseOptions.current().isValidating() || element.isContentValid(valueContent);
     	if (! isContentValid)
 		{
     		throw new IllegalArgumentException("Invalid element:" + valueContent);
@@ -221,6 +260,7 @@ public abstract class VElementBase implements VElement
 			this.element = element;
 			this.message = message;
 			this.effect = effect;
+			ICalendarMetrics.listener().messageCreated(effect);
 		}
 		public VElement element;
 		public String message;
@@ -15,6 +15,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 import jfxtras.icalendarfx.VCalendar;
@@ -28,6 +29,8 @@ import jfxtras.icalendarfx.content.ContentLineStrategy;
 import jfxtras.icalendarfx.content.Orderer;
 import jfxtras.icalendarfx.content.OrdererBase;
 import jfxtras.icalendarfx.content.UnfoldingStringIterator;
+import jfxtras.icalendarfx.metrics.ICalendarMetrics;
+import jfxtras.icalendarfx.metrics.ICalendarMetricsListener;
 import jfxtras.icalendarfx.parameters.VParameter;
 import jfxtras.icalendarfx.properties.VProperty;
 import jfxtras.icalendarfx.properties.component.recurrence.rrule.RRulePart;
@@ -50,8 +53,8 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
 	 * The first key is the VParent class
 	 * The second key is the VChild of that VParent
 	 */
-	private static final  Map<Class<? extends VParent>, Map<Class<? extends VChild>, Method>> SETTERS = new HashMap<>();
-	private static final  Map<Class<? extends VParent>, Map<Class<? extends VChild>, Method>> GETTERS = new HashMap<>();
+	private static final  Map<Class<? extends VParent>, Map<Class<? extends VChild>, Method>> SETTERS = new ConcurrentHashMap<>();
+	private static final  Map<Class<? extends VParent>, Map<Class<? extends VChild>, Method>> GETTERS = new ConcurrentHashMap<>();
 
     /*
      * HANDLE SORT ORDER FOR CHILD ELEMENTS
@@ -177,24 +180,22 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
 	
     protected Map<Class<? extends VChild>, Method> getSetters()
     {
-    	if (SETTERS.get(getClass()) == null)
+    	Map<Class<? extends VChild>, Method> map = SETTERS.get(getClass());
+    	if (map == null)
     	{
-    		Map<Class<? extends VChild>, Method> setterMap = collectSetterMap(getClass());
-			SETTERS.put(getClass(), setterMap);
-			return setterMap;
+    		map = SETTERS.computeIfAbsent(getClass(), c -> collectSetterMap(c));
     	}
-    	return SETTERS.get(getClass());
+    	return map;
     }
     
     protected Map<Class<? extends VChild>, Method> getGetters()
     {
-    	if (GETTERS.get(getClass()) == null)
+    	Map<Class<? extends VChild>, Method> map = GETTERS.get(getClass());
+    	if (map == null)
     	{
-    		Map<Class<? extends VChild>, Method> getterMap = collectGetterMap(getClass());
-			GETTERS.put(getClass(), getterMap);
-			return getterMap;
+    		map = GETTERS.computeIfAbsent(getClass(), c -> collectGetterMap(c));
     	}
-    	return GETTERS.get(getClass());
+    	return map;
     }
 	protected Method getSetter(VChild child)
 	{
@@ -216,6 +217,18 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
      * NOTE: PARAMETER AND PROPERTY MUST HAVE OVERRIDDEN PARSECONTENT (to handle value part)
      */
     protected List<Message> parseContent(Iterator<String> unfoldedLineIterator)
+    {
+    	ICalendarMetricsListener listener = ICalendarMetrics.listener();
+    	long start = ICalendarMetrics.start(listener);
+    	List<Message> messages = parseLines(unfoldedLineIterator);
+    	if ((this instanceof VCalendar) || (this instanceof VComponent))
+    	{
+    		listener.elementParsed(name(), ICalendarMetrics.elapsed(start));
+    	}
+    	return messages;
+    }
+
+    private List<Message> parseLines(Iterator<String> unfoldedLineIterator)
     {
     	final Class<? extends VElement> multilineChildClass;
     	final Class<? extends VElement> singlelineChildClass;
@@ -240,6 +253,7 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
     		throw new RuntimeException("Not supported parent class:" + getClass());		
 		}
     	
+    	boolean isValidating = ParseOptions.current().isValidating();
     	List<Message> messages = new ArrayList<>();
         while (unfoldedLineIterator.hasNext())
         {
@@ -255,8 +269,15 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
 				if (! isMainComponent)
 				{
 	                child = (VElementBase) VElementBase.newEmptyVElement(multilineChildClass, childName);
+	                if ((child == null) && ! isValidating)
+	                {
+	                	throw new IllegalArgumentException("Unknown component:" + unfoldedLine);
+	                }
 	                List<Message> myMessages = ((VParentBase<?>) child).parseContent(unfoldedLineIterator); // recursively parse child parent
-	                messages.addAll(myMessages);
+	                if (isValidating)
+	                {
+	                	messages.addAll(myMessages);
+	                }
 	        		addChildInternal(messages, unfoldedLine, childName, (VChild) child);
 				}
             } else
@@ -276,11 +297,11 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
 	                if (myMessages.isEmpty())
 	                {
 	            		addChildInternal(messages, unfoldedLine, childName, (VChild) child);                	
-	                } else
+	                } else if (isValidating)
 	                {
 	                	messages.addAll(myMessages);
 	                }
-                } else
+                } else if (isValidating)
                 {
                 	messages.add(new Message(this,
                 			"Unknown element:" + unfoldedLine,
@@ -288,6 +309,10 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
                 }
             }
         }
+        if (! isValidating && (multilineChildClass != null))
+        { // calendars and components must be closed
+        	throw new IllegalArgumentException(END + name() + " not found");
+        }
         return messages;
     }
 
@@ -357,6 +382,15 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
 
 	protected void addChildInternal(List<Message> messages, String content, String elementName, VChild newChild)
 	{
+		if (! ParseOptions.current().isValidating())
+		{ // trusted content - only check the child is allowed
+			if ((newChild == null) || (getGetter(newChild) == null))
+			{
+				throw new IllegalArgumentException(elementName + " not allowed in " + name() + ":" + content);
+			}
+			addChild(newChild);
+			return;
+		}
 		boolean isOK = checkChild(messages, content, elementName, newChild);
 		if (isOK)
 		{
@@ -377,15 +411,9 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
     {
         childrenUnmodifiable().forEach((childSource) -> 
         {
-        	try {
-        		// use copy constructors to make copy of child
-        		VChild newChild = childSource.getClass()
-        				.getConstructor(childSource.getClass())
-        				.newInstance(childSource);
-        		destination.addChild(newChild);
-			} catch (InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException | NoSuchMethodException | SecurityException e) {
-				e.printStackTrace();
-			}
+    		// use copy constructors to make copy of child
+    		VChild newChild = VElementBase.copyVElement(childSource);
+    		destination.addChild(newChild);
         });
     }
     
@@ -476,6 +504,7 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
 		while (methodIterator.hasNext())
 		{
 			Method m = methodIterator.next();
+			m.setAccessible(true); // skip access check on each invocation
 			Class<? extends VChild> returnType = (Class<? extends VChild>) m.getReturnType();
 			if (VChild.class.isAssignableFrom(returnType))
 			{
@@ -506,6 +535,7 @@ public abstract class VParentBase<T> extends VElementBase implements VParent
 		while (methodIterator.hasNext())
 		{
 			Method m = methodIterator.next();
+			m.setAccessible(true); // skip access check on each invocation
 			Parameter p = m.getParameters()[0];
 			Class<? extends VChild> parameterType = (Class<? extends VChild>) p.getType();
 			if (VChild.class.isAssignableFrom(parameterType))
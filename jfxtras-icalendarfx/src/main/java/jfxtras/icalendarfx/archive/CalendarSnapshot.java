@@ -0,0 +1,651 @@
+package jfxtras.icalendarfx.archive;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.DayOfWeek;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.Month;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
+import jfxtras.icalendarfx.VParent;
+import jfxtras.icalendarfx.VParentBase;
+import jfxtras.icalendarfx.VElementBase;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.properties.VProperty;
+import jfxtras.icalendarfx.properties.VPropertyBase;
+import jfxtras.icalendarfx.properties.component.recurrence.RecurrenceRule;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.Count;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.Frequency;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.FrequencyType;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.Interval;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.RRuleElement;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.RRulePart;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.RecurrenceRuleValue;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.Until;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.WeekStart;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByDay;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByDay.ByDayPair;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByHour;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByMinute;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByMonth;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByMonthDay;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByRuleAbstract;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.BySecond;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.BySetPosition;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByWeekNumber;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByYearDay;
+import jfxtras.icalendarfx.utilities.ZoneConversions;
+
+/**
+ * <p>Compact binary form of a {@link VCalendar}, for saving a calendar that is loaded again often, such as
+ * on each start of a service.  Loading a snapshot skips unfolding, line splitting and the text parsing of
+ * date-time and RRULE values.</p>
+ *
+ * <p>A snapshot round-trips exactly with the text form: the loaded calendar's content lines are the same as the
+ * saved calendar's.  Date-times and RRULEs are written as varints only when rebuilding them gives the same content
+ * line; other properties, including X- and non-standard properties, are written as their content line and parsed
+ * when loaded.</p>
+ *
+ * <p>Format, version {@value #VERSION}.  All numbers are unsigned varints, signed numbers are zigzag encoded, and
+ * strings are indexes into the string table.</p>
+ * <pre>
+ * magic      int 'ICSB'
+ * version    varint
+ * strings    count, then count x (UTF-8 byte length, bytes)
+ * calendar   component
+ *
+ * component  name, child count, children
+ * child      tag byte, then
+ *              COMPONENT     component
+ *              CONTENT_LINE  unfolded content line
+ *              DATE_TIME     name, temporal
+ *              RRULE         part count, parts as RRuleElement ordinal byte and value
+ * temporal   kind byte, then epoch day (DATE), local epoch second (DATE-TIME) or zone and epoch second (zoned)
+ * </pre>
+ *
+ * <pre>
+ * CalendarSnapshot.write(vCalendar, Paths.get("tenant.icsb"));
+ * VCalendar loaded = CalendarSnapshot.read(Paths.get("tenant.icsb"));
+ * </pre>
+ */
+public final class CalendarSnapshot
+{
+    private CalendarSnapshot() { }
+
+    private static final int MAGIC = 0x49435342; // ICSB
+    /** Version of the format written */
+    public static final int VERSION = 1;
+
+    private static final byte COMPONENT = 1;
+    private static final byte CONTENT_LINE = 2;
+    private static final byte DATE_TIME = 3;
+    private static final byte RRULE = 4;
+
+    private static final byte LOCAL_DATE = 1;
+    private static final byte LOCAL_DATE_TIME = 2;
+    private static final byte ZONED_DATE_TIME = 3;
+
+    private static final RRuleElement[] RRULE_ELEMENTS = RRuleElement.values();
+    private static final FrequencyType[] FREQUENCY_TYPES = FrequencyType.values();
+    private static final DayOfWeek[] DAYS_OF_WEEK = DayOfWeek.values();
+
+    /*
+     * WRITE
+     */
+    /** Returns the snapshot of vCalendar, ready to read */
+    public static ByteBuffer write(VCalendar vCalendar)
+    {
+        Output body = new Output();
+        writeParent(body, vCalendar);
+
+        Output header = new Output();
+        header.writeInt(MAGIC);
+        header.writeVarint(VERSION);
+        header.writeVarint(body.strings.size());
+        for (String string : body.strings.keySet())
+        {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            header.writeVarint(bytes.length);
+            header.write(bytes, 0, bytes.length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(header.size + body.size);
+        buffer.put(header.bytes, 0, header.size);
+        buffer.put(body.bytes, 0, body.size);
+        buffer.flip();
+        return buffer;
+    }
+
+    /** Writes the snapshot of vCalendar to channel */
+    public static void write(VCalendar vCalendar, WritableByteChannel channel) throws IOException
+    {
+        ByteBuffer buffer = write(vCalendar);
+        while (buffer.hasRemaining())
+        {
+            channel.write(buffer);
+        }
+    }
+
+    /** Writes the snapshot of vCalendar to a file.  The file is replaced only after it's completely written. */
+    public static void write(VCalendar vCalendar, Path snapshotPath) throws IOException
+    {
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(tempPath, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE))
+        {
+            write(vCalendar, channel);
+        }
+        Files.move(tempPath, snapshotPath, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static void writeParent(Output out, VParent parent)
+    {
+        out.writeString(parent.name());
+        List<VChild> children = parent.childrenUnmodifiable();
+        out.writeVarint(children.size());
+        for (VChild child : children)
+        {
+            if (child instanceof VComponent)
+            {
+                out.writeByte(COMPONENT);
+                writeParent(out, (VComponent) child);
+            } else if (child instanceof VPropertyBase)
+            {
+                writeProperty(out, (VPropertyBase<?,?>) child);
+            } else
+            {
+                throw new RuntimeException("Unsupported child of " + parent.name() + ":" + child.getClass().getSimpleName());
+            }
+        }
+    }
+
+    private static void writeProperty(Output out, VPropertyBase<?,?> property)
+    {
+        String content = property.toUnfoldedString();
+        Object value = property.getValue();
+        if ((value instanceof Temporal) && isEncodable((Temporal) value) && content.equals(newDateTime(property.name(), (Temporal) value)))
+        {
+            out.writeByte(DATE_TIME);
+            out.writeString(property.name());
+            writeTemporal(out, (Temporal) value);
+        } else if ((property instanceof RecurrenceRule) && (value != null) && isEncodable((RecurrenceRuleValue) value)
+                && content.equals(new RecurrenceRule(new RecurrenceRuleValue((RecurrenceRuleValue) value)).toUnfoldedString()))
+        {
+            out.writeByte(RRULE);
+            writeRecurrenceRule(out, (RecurrenceRuleValue) value);
+        } else
+        {
+            out.writeByte(CONTENT_LINE);
+            out.writeString(content);
+        }
+    }
+
+    // content line of a property rebuilt from its value, as it's done by read
+    private static String newDateTime(String name, Temporal value)
+    {
+        VChild property = VElementBase.newEmptyVElement(VProperty.class, name);
+        if (! (property instanceof VPropertyBase))
+        {
+            return null;
+        }
+        try
+        {
+            ((VPropertyBase<Object,?>) property).setValue(value);
+        } catch (RuntimeException e)
+        { // value type not allowed by property
+            return null;
+        }
+        return ((VPropertyBase<?,?>) property).toUnfoldedString();
+    }
+
+    private static boolean isEncodable(Temporal temporal)
+    {
+        if (temporal instanceof LocalDate)
+        {
+            return true;
+        } else if (temporal instanceof LocalDateTime)
+        {
+            return ((LocalDateTime) temporal).getNano() == 0;
+        } else if (temporal instanceof ZonedDateTime)
+        {
+            return ((ZonedDateTime) temporal).getNano() == 0;
+        }
+        return false;
+    }
+
+    private static void writeTemporal(Output out, Temporal temporal)
+    {
+        if (temporal instanceof LocalDate)
+        {
+            out.writeByte(LOCAL_DATE);
+            out.writeSignedVarint(((LocalDate) temporal).toEpochDay());
+        } else if (temporal instanceof LocalDateTime)
+        {
+            out.writeByte(LOCAL_DATE_TIME);
+            out.writeSignedVarint(((LocalDateTime) temporal).toEpochSecond(ZoneOffset.UTC));
+        } else
+        {
+            ZonedDateTime zonedDateTime = (ZonedDateTime) temporal;
+            out.writeByte(ZONED_DATE_TIME);
+            out.writeString(zonedDateTime.getZone().getId());
+            out.writeSignedVarint(zonedDateTime.toEpochSecond());
+        }
+    }
+
+    private static boolean isEncodable(RecurrenceRuleValue rrule)
+    {
+        for (VChild part : rrule.childrenUnmodifiable())
+        {
+            if (((RRulePart<?>) part).getValue() == null)
+            {
+                return false;
+            } else if ((part instanceof Until) && ! isEncodable(((Until) part).getValue()))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeRecurrenceRule(Output out, RecurrenceRuleValue rrule)
+    {
+        List<VChild> parts = rrule.childrenUnmodifiable();
+        out.writeVarint(parts.size());
+        for (VChild child : parts)
+        {
+            RRulePart<?> part = (RRulePart<?>) child;
+            RRuleElement element = RRuleElement.fromClass(part.getClass());
+            out.writeByte(element.ordinal());
+            switch (element)
+            {
+            case FREQUENCY:
+                out.writeByte(((Frequency) part).getValue().ordinal());
+                break;
+            case INTERVAL:
+                out.writeVarint(((Interval) part).getValue());
+                break;
+            case COUNT:
+                out.writeVarint(((Count) part).getValue());
+                break;
+            case UNTIL:
+                writeTemporal(out, ((Until) part).getValue());
+                break;
+            case WEEK_START:
+                out.writeByte(((WeekStart) part).getValue().ordinal());
+                break;
+            case BY_DAY:
+                List<ByDayPair> pairs = ((ByDay) part).getValue();
+                out.writeVarint(pairs.size());
+                for (ByDayPair pair : pairs)
+                {
+                    out.writeByte(pair.getDayOfWeek().ordinal());
+                    out.writeSignedVarint(pair.getOrdinal());
+                }
+                break;
+            case BY_MONTH:
+                List<Month> months = ((ByMonth) part).getValue();
+                out.writeVarint(months.size());
+                months.forEach(m -> out.writeVarint(m.getValue()));
+                break;
+            default: // integer by rules
+                List<Integer> values = ((ByRuleAbstract<Integer,?>) part).getValue();
+                out.writeVarint(values.size());
+                values.forEach(v -> out.writeSignedVarint(v));
+                break;
+            }
+        }
+    }
+
+    /*
+     * READ
+     */
+    /** Loads a calendar from a snapshot made by {@link #write(VCalendar)}, starting at the buffer's position */
+    public static VCalendar read(ByteBuffer buffer)
+    {
+        Input in = new Input(buffer);
+        if (buffer.getInt() != MAGIC)
+        {
+            throw new IllegalArgumentException("Not a calendar snapshot");
+        }
+        int version = (int) in.readVarint();
+        if (version != VERSION)
+        {
+            throw new IllegalArgumentException("Unsupported calendar snapshot version:" + version);
+        }
+        int count = (int) in.readVarint();
+        String[] strings = new String[count];
+        for (int i=0; i<count; i++)
+        {
+            int length = (int) in.readVarint();
+            if (buffer.hasArray())
+            {
+                strings[i] = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+                buffer.position(buffer.position() + length);
+            } else
+            {
+                byte[] bytes = new byte[length];
+                buffer.get(bytes);
+                strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+        in.strings = strings;
+        in.zones = new ZoneId[count];
+
+        VCalendar vCalendar = new VCalendar();
+        String name = in.readString();
+        if (! name.equals(vCalendar.name()))
+        {
+            throw new IllegalArgumentException("Snapshot doesn't contain a " + vCalendar.name() + ":" + name);
+        }
+        readChildren(in, vCalendar);
+        return vCalendar;
+    }
+
+    /** Loads a calendar from a snapshot read from channel until its end */
+    public static VCalendar read(ReadableByteChannel channel) throws IOException
+    {
+        ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+        while (channel.read(buffer) >= 0)
+        {
+            if (! buffer.hasRemaining())
+            {
+                buffer = ByteBuffer.allocate(buffer.capacity() * 2).put((ByteBuffer) buffer.flip());
+            }
+        }
+        buffer.flip();
+        return read(buffer);
+    }
+
+    /**
+     * Loads a calendar from a snapshot file made by {@link #write(VCalendar, Path)}.  The file is memory-mapped; the
+     * returned calendar doesn't reference the mapping, which is released when it's garbage collected.
+     */
+    public static VCalendar read(Path snapshotPath) throws IOException
+    {
+        try (FileChannel channel = FileChannel.open(snapshotPath, StandardOpenOption.READ))
+        {
+            return read(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    private static void readChildren(Input in, VParentBase<?> parent)
+    {
+        int count = (int) in.readVarint();
+        for (int i=0; i<count; i++)
+        {
+            byte tag = in.buffer.get();
+            switch (tag)
+            {
+            case COMPONENT:
+            {
+                String name = in.readString();
+                VChild component = VElementBase.newEmptyVElement(VComponent.class, name);
+                if (component == null)
+                {
+                    throw new IllegalArgumentException("Unknown component:" + name);
+                }
+                readChildren(in, (VParentBase<?>) component);
+                parent.addChild(component);
+                break;
+            }
+            case CONTENT_LINE:
+                parent.addChild(in.readString()); // parsed as text
+                break;
+            case DATE_TIME:
+            {
+                VChild property = newProperty(in.readString());
+                ((VPropertyBase<Object,?>) property).setValue(readTemporal(in));
+                parent.addChild(property);
+                break;
+            }
+            case RRULE:
+                parent.addChild(new RecurrenceRule(readRecurrenceRule(in)));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown calendar snapshot tag:" + tag);
+            }
+        }
+    }
+
+    private static VChild newProperty(String name)
+    {
+        VChild property = VElementBase.newEmptyVElement(VProperty.class, name);
+        if (property == null)
+        {
+            throw new IllegalArgumentException("Unknown property:" + name);
+        }
+        return property;
+    }
+
+    private static Temporal readTemporal(Input in)
+    {
+        byte kind = in.buffer.get();
+        switch (kind)
+        {
+        case LOCAL_DATE:
+            return LocalDate.ofEpochDay(in.readSignedVarint());
+        case LOCAL_DATE_TIME:
+            return LocalDateTime.ofEpochSecond(in.readSignedVarint(), 0, ZoneOffset.UTC);
+        case ZONED_DATE_TIME:
+            ZoneId zone = in.readZone();
+            return ZonedDateTime.ofInstant(Instant.ofEpochSecond(in.readSignedVarint()), zone);
+        default:
+            throw new IllegalArgumentException("Unknown calendar snapshot temporal:" + kind);
+        }
+    }
+
+    private static RecurrenceRuleValue readRecurrenceRule(Input in)
+    {
+        RecurrenceRuleValue rrule = new RecurrenceRuleValue();
+        int count = (int) in.readVarint();
+        for (int i=0; i<count; i++)
+        {
+            RRuleElement element = RRULE_ELEMENTS[in.buffer.get()];
+            final VChild part;
+            switch (element)
+            {
+            case FREQUENCY:
+                part = new Frequency(FREQUENCY_TYPES[in.buffer.get()]);
+                break;
+            case INTERVAL:
+                part = new Interval((int) in.readVarint());
+                break;
+            case COUNT:
+                part = new Count((int) in.readVarint());
+                break;
+            case UNTIL:
+                part = new Until(readTemporal(in));
+                break;
+            case WEEK_START:
+                part = new WeekStart(DAYS_OF_WEEK[in.buffer.get()]);
+                break;
+            case BY_DAY:
+            {
+                ByDayPair[] pairs = new ByDayPair[(int) in.readVarint()];
+                for (int j=0; j<pairs.length; j++)
+                {
+                    DayOfWeek dayOfWeek = DAYS_OF_WEEK[in.buffer.get()];
+                    pairs[j] = new ByDayPair(dayOfWeek, (int) in.readSignedVarint());
+                }
+                part = new ByDay(pairs);
+                break;
+            }
+            case BY_MONTH:
+            {
+                Month[] months = new Month[(int) in.readVarint()];
+                for (int j=0; j<months.length; j++)
+                {
+                    months[j] = Month.of((int) in.readVarint());
+                }
+                part = new ByMonth(months);
+                break;
+            }
+            default:
+                part = newIntegerByRule(element, in.readIntegers());
+                break;
+            }
+            rrule.addChild(part);
+        }
+        return rrule;
+    }
+
+    private static VChild newIntegerByRule(RRuleElement element, Integer[] values)
+    {
+        switch (element)
+        {
+        case BY_HOUR: return new ByHour(values);
+        case BY_MINUTE: return new ByMinute(values);
+        case BY_SECOND: return new BySecond(values);
+        case BY_MONTH_DAY: return new ByMonthDay(values);
+        case BY_YEAR_DAY: return new ByYearDay(values);
+        case BY_WEEK_NUMBER: return new ByWeekNumber(values);
+        case BY_SET_POSITION: return new BySetPosition(values);
+        default:
+            throw new IllegalArgumentException("Unsupported RRULE element:" + element);
+        }
+    }
+
+    /*
+     * ENCODING
+     */
+    /* Growable byte array with a string table */
+    private static class Output
+    {
+        private byte[] bytes = new byte[1 << 12];
+        private int size;
+        private final Map<String, Integer> strings = new LinkedHashMap<>();
+
+        private void ensureCapacity(int extra)
+        {
+            if (size + extra > bytes.length)
+            {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+            }
+        }
+
+        void writeByte(int b)
+        {
+            ensureCapacity(1);
+            bytes[size++] = (byte) b;
+        }
+
+        void write(byte[] b, int offset, int length)
+        {
+            ensureCapacity(length);
+            System.arraycopy(b, offset, bytes, size, length);
+            size += length;
+        }
+
+        void writeInt(int i)
+        {
+            writeByte(i >>> 24);
+            writeByte(i >>> 16);
+            writeByte(i >>> 8);
+            writeByte(i);
+        }
+
+        void writeVarint(long value)
+        {
+            while ((value & ~0x7FL) != 0)
+            {
+                writeByte((int) ((value & 0x7F) | 0x80));
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        void writeSignedVarint(long value)
+        {
+            writeVarint((value << 1) ^ (value >> 63));
+        }
+
+        void writeString(String string)
+        {
+            Integer index = strings.get(string);
+            if (index == null)
+            {
+                index = strings.size();
+                strings.put(string, index);
+            }
+            writeVarint(index);
+        }
+    }
+
+    private static class Input
+    {
+        private final ByteBuffer buffer;
+        private String[] strings;
+        private ZoneId[] zones;
+
+        Input(ByteBuffer buffer)
+        {
+            this.buffer = buffer;
+        }
+
+        long readVarint()
+        {
+            long value = 0;
+            int shift = 0;
+            byte b;
+            do
+            {
+                b = buffer.get();
+                value |= (long) (b & 0x7F) << shift;
+                shift += 7;
+            } while (b < 0);
+            return value;
+        }
+
+        long readSignedVarint()
+        {
+            long value = readVarint();
+            return (value >>> 1) ^ -(value & 1);
+        }
+
+        String readString()
+        {
+            return strings[(int) readVarint()];
+        }
+
+        // zones are looked up once per string
+        ZoneId readZone()
+        {
+            int index = (int) readVarint();
+            ZoneId zone = zones[index];
+            if (zone == null)
+            {
+                zone = ZoneConversions.zoneId(strings[index]);
+                zones[index] = zone;
+            }
+            return zone;
+        }
+
+        Integer[] readIntegers()
+        {
+            Integer[] values = new Integer[(int) readVarint()];
+            for (int i=0; i<values.length; i++)
+            {
+                values[i] = (int) readSignedVarint();
+            }
+            return values;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package jfxtras.icalendarfx.archive;
+
+import java.time.temporal.Temporal;
+
+import jfxtras.icalendarfx.components.VComponentElement;
+import jfxtras.icalendarfx.properties.component.relationship.RecurrenceId;
+import jfxtras.icalendarfx.properties.component.time.DateTimeStart;
+
+/**
+ * Location of one top-level {@link jfxtras.icalendarfx.components.VComponent VComponent} in an ics file, with the
+ * properties needed to find it.  Made by {@link MappedCalendarFile}.
+ */
+public class ComponentOffset
+{
+    private final VComponentElement element;
+    private final String identifier;
+    private final String recurrenceIdContent;
+    private final String dateTimeStartContent;
+    private final long start;
+    private final long end;
+
+    ComponentOffset(VComponentElement element, String identifier, String recurrenceIdContent, String dateTimeStartContent,
+            long start, long end)
+    {
+        this.element = element;
+        this.identifier = identifier;
+        this.recurrenceIdContent = recurrenceIdContent;
+        this.dateTimeStartContent = dateTimeStartContent;
+        this.start = start;
+        this.end = end;
+    }
+
+    /** Type of component, such as VEVENT */
+    public VComponentElement getElement() { return element; }
+
+    /** UID, or TZID for VTIMEZONE.  Null if the component has neither. */
+    public String getIdentifier() { return identifier; }
+
+    /** RECURRENCE-ID content line, such as RECURRENCE-ID:20170102T100000.  Null if not present. */
+    public String getRecurrenceIdContent() { return recurrenceIdContent; }
+
+    /** DTSTART content line, such as DTSTART;TZID=America/New_York:20170102T100000.  Null if not present. */
+    public String getDateTimeStartContent() { return dateTimeStartContent; }
+
+    /** RECURRENCE-ID value, or null if not present */
+    public Temporal getRecurrenceId()
+    {
+        return (recurrenceIdContent == null) ? null : RecurrenceId.parse(recurrenceIdContent).getValue();
+    }
+
+    /** DTSTART value, or null if not present */
+    public Temporal getDateTimeStart()
+    {
+        return (dateTimeStartContent == null) ? null : DateTimeStart.parse(dateTimeStartContent).getValue();
+    }
+
+    /** Byte offset of the BEGIN line */
+    public long getStart() { return start; }
+
+    /** Byte offset after the line break of the END line */
+    public long getEnd() { return end; }
+
+    /** Number of bytes from BEGIN to END */
+    public long getLength() { return end - start; }
+
+    @Override
+    public String toString()
+    {
+        return element + " " + identifier + ((recurrenceIdContent == null) ? "" : " " + recurrenceIdContent) + " [" + start + ", " + end + ")";
+    }
+}
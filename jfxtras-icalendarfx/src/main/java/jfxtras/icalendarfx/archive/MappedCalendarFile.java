@@ -0,0 +1,461 @@
+package jfxtras.icalendarfx.archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.components.VComponentElement;
+
+/**
+ * <p>Read-only random access to the components of a large ics file, without parsing the whole calendar.</p>
+ *
+ * <p>The file is memory-mapped and scanned once for the top-level components, building an index of
+ * {@link ComponentOffset ComponentOffsets}: type, UID (TZID for VTIMEZONE), RECURRENCE-ID, DTSTART and byte range.
+ * The scan only decodes those properties.  A component is parsed when it's requested, from its mapped bytes.
+ * The index can be saved next to the file, named ics file + {@value #INDEX_SUFFIX}, so the next open skips the scan;
+ * it's used only while the ics file's size and modified time are unchanged.</p>
+ *
+ * <pre>
+ * try (MappedCalendarFile file = MappedCalendarFile.open(Paths.get("archive.ics"), true))
+ * {
+ *     List&lt;VComponent&gt; series = file.parse("20150110T080000-0@jfxtras.org");
+ * }
+ * </pre>
+ *
+ * <p>For whole calendars use {@link VCalendar#parse(Path)} instead.</p>
+ */
+public class MappedCalendarFile implements Closeable
+{
+    /** Suffix of the saved index file name, appended to the ics file name */
+    public static final String INDEX_SUFFIX = ".index";
+
+    private static final int INDEX_MAGIC = 0x49435358; // ICSX
+    private static final int INDEX_VERSION = 1;
+    /* Files larger than a MappedByteBuffer can address are mapped in segments */
+    private static final int SEGMENT_SHIFT = 30;
+    private static final long SEGMENT_SIZE = 1L << SEGMENT_SHIFT;
+
+    private static final byte[] BEGIN = "BEGIN:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] END = "END:".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] VCALENDAR = "VCALENDAR".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] UID = "UID".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TZID = "TZID".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] RECURRENCE_ID = "RECURRENCE-ID".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] DTSTART = "DTSTART".getBytes(StandardCharsets.US_ASCII);
+
+    private final Path icsFilePath;
+    private final long size;
+    private final long lastModified;
+    private MappedByteBuffer[] segments;
+    private final List<ComponentOffset> offsets;
+    private final Map<String, List<ComponentOffset>> identifierMap;
+
+    /*
+     * CONSTRUCTOR
+     */
+    private MappedCalendarFile(Path icsFilePath, boolean saveIndex) throws IOException
+    {
+        this.icsFilePath = icsFilePath;
+        size = Files.size(icsFilePath);
+        lastModified = Files.getLastModifiedTime(icsFilePath).toMillis();
+        segments = map(icsFilePath, size);
+        List<ComponentOffset> savedOffsets = loadIndex();
+        if (savedOffsets == null)
+        {
+            offsets = Collections.unmodifiableList(scan());
+            if (saveIndex)
+            {
+                saveIndex();
+            }
+        } else
+        {
+            offsets = Collections.unmodifiableList(savedOffsets);
+        }
+        identifierMap = offsets.stream()
+                .filter(o -> o.getIdentifier() != null)
+                .collect(Collectors.groupingBy(o -> o.getIdentifier()));
+    }
+
+    /**
+     * Maps an ics file and loads its saved index if up to date, or scans the file otherwise.
+     *
+     * @param icsFilePath  path of ics file
+     * @return  the mapped file
+     * @throws IOException
+     */
+    public static MappedCalendarFile open(Path icsFilePath) throws IOException
+    {
+        return open(icsFilePath, false);
+    }
+
+    /**
+     * Maps an ics file and loads its saved index if up to date, or scans the file otherwise.
+     *
+     * @param icsFilePath  path of ics file
+     * @param saveIndex  true to save the index next to the ics file after a scan
+     * @return  the mapped file
+     * @throws IOException
+     */
+    public static MappedCalendarFile open(Path icsFilePath, boolean saveIndex) throws IOException
+    {
+        return new MappedCalendarFile(icsFilePath, saveIndex);
+    }
+
+    /*
+     * LOOKUP
+     */
+    /** Returns the ics file */
+    public Path getPath() { return icsFilePath; }
+
+    /** Returns the top-level components of the file, in file order */
+    public List<ComponentOffset> offsets() { return offsets; }
+
+    /**
+     * Returns the components with a UID, or TZID for VTIMEZONE, in file order.  For a recurring
+     * component that includes the parent and the components with a RECURRENCE-ID.
+     */
+    public List<ComponentOffset> find(String identifier)
+    {
+        List<ComponentOffset> found = identifierMap.get(identifier);
+        return (found == null) ? Collections.emptyList() : Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Returns the component with a UID and RECURRENCE-ID
+     *
+     * @param uid  UID of component
+     * @param recurrenceId  RECURRENCE-ID value, or null for the component without RECURRENCE-ID
+     * @return  the component, or null if not found
+     */
+    public ComponentOffset find(String uid, Temporal recurrenceId)
+    {
+        for (ComponentOffset offset : find(uid))
+        {
+            Temporal offsetRecurrenceId = offset.getRecurrenceId();
+            if ((recurrenceId == null) ? (offsetRecurrenceId == null) : recurrenceId.equals(offsetRecurrenceId))
+            {
+                return offset;
+            }
+        }
+        return null;
+    }
+
+    /** Returns the content lines of a component, as in the file */
+    public String content(ComponentOffset offset)
+    {
+        return new String(bytes(offset.getStart(), offset.getEnd()), StandardCharsets.UTF_8);
+    }
+
+    /** Parses a component from the mapped file */
+    public VComponent parse(ComponentOffset offset)
+    {
+        if (offset.getElement() == null)
+        {
+            throw new RuntimeException("Unsupported VComponent type:" + offset);
+        }
+        String lines = content(offset).replace("\r\n", "\n").replace("\n", System.lineSeparator());
+        return offset.getElement().parse(lines);
+    }
+
+    /** Parses the components with a UID, or TZID for VTIMEZONE, see {@link #find(String)} */
+    public List<VComponent> parse(String identifier)
+    {
+        return find(identifier).stream()
+                .map(o -> parse(o))
+                .collect(Collectors.toList());
+    }
+
+    /** Releases the mapped file.  The memory is unmapped when it's garbage collected. */
+    @Override
+    public void close()
+    {
+        segments = null;
+    }
+
+    /*
+     * SCAN
+     */
+    private static MappedByteBuffer[] map(Path icsFilePath, long size) throws IOException
+    {
+        int count = (int) ((size + SEGMENT_SIZE - 1) >>> SEGMENT_SHIFT);
+        MappedByteBuffer[] segments = new MappedByteBuffer[count];
+        try (FileChannel channel = FileChannel.open(icsFilePath, StandardOpenOption.READ))
+        {
+            for (int i=0; i<count; i++)
+            {
+                long position = (long) i << SEGMENT_SHIFT;
+                segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(SEGMENT_SIZE, size - position));
+            }
+        }
+        return segments;
+    }
+
+    private byte get(long position)
+    {
+        if (segments == null)
+        {
+            throw new IllegalStateException("File is closed:" + icsFilePath);
+        }
+        return segments[(int) (position >>> SEGMENT_SHIFT)].get((int) (position & (SEGMENT_SIZE - 1)));
+    }
+
+    private byte[] bytes(long start, long end)
+    {
+        byte[] bytes = new byte[(int) (end - start)];
+        for (int i=0; i<bytes.length; i++)
+        {
+            bytes[i] = get(start + i);
+        }
+        return bytes;
+    }
+
+    /* Offset of next line feed at or after position, or size if none */
+    private long lineFeed(long position)
+    {
+        while (position < size)
+        {
+            MappedByteBuffer segment = segments[(int) (position >>> SEGMENT_SHIFT)];
+            int limit = segment.limit();
+            for (int i = (int) (position & (SEGMENT_SIZE - 1)); i<limit; i++)
+            {
+                if (segment.get(i) == '\n')
+                {
+                    return (position & ~(SEGMENT_SIZE - 1)) + i;
+                }
+            }
+            position = (position & ~(SEGMENT_SIZE - 1)) + SEGMENT_SIZE;
+        }
+        return size;
+    }
+
+    /* True if line starts with prefix, ignoring case */
+    private boolean startsWith(long lineStart, long lineEnd, byte[] prefix)
+    {
+        if (lineEnd - lineStart < prefix.length) return false;
+        for (int i=0; i<prefix.length; i++)
+        {
+            byte b = get(lineStart + i);
+            if ((b >= 'a') && (b <= 'z')) b -= 'a' - 'A';
+            if (b != prefix[i]) return false;
+        }
+        return true;
+    }
+
+    /* True if line is the property, ignoring parameters and case */
+    private boolean isProperty(long lineStart, long lineEnd, byte[] name)
+    {
+        if (! startsWith(lineStart, lineEnd, name) || (lineEnd - lineStart == name.length)) return false;
+        byte next = get(lineStart + name.length);
+        return (next == ':') || (next == ';');
+    }
+
+    private String string(long start, long end)
+    {
+        return new String(bytes(start, end), StandardCharsets.UTF_8);
+    }
+
+    private List<ComponentOffset> scan()
+    {
+        List<ComponentOffset> offsets = new ArrayList<>();
+        VComponentElement element = null;
+        long componentStart = -1;
+        int nestedDepth = 0; // VALARM, STANDARD and DAYLIGHT inside the component
+        String identifier = null;
+        String recurrenceId = null;
+        String dateTimeStart = null;
+        StringBuilder unfolded = null; // property being read, may continue on folded lines
+        byte[] unfoldedName = null;
+
+        long lineStart = 0;
+        while (lineStart < size)
+        {
+            long lineFeed = lineFeed(lineStart);
+            long next = Math.min(lineFeed + 1, size);
+            long lineEnd = ((lineFeed > lineStart) && (get(lineFeed - 1) == '\r')) ? lineFeed - 1 : lineFeed;
+            boolean isContinuation = (lineEnd > lineStart) && ((get(lineStart) == ' ') || (get(lineStart) == '\t'));
+            if (isContinuation)
+            {
+                if (unfolded != null)
+                {
+                    unfolded.append(string(lineStart + 1, lineEnd));
+                }
+                lineStart = next;
+                continue;
+            }
+            if (unfolded != null)
+            {
+                String content = unfolded.toString();
+                if (unfoldedName == RECURRENCE_ID)
+                {
+                    recurrenceId = content;
+                } else if (unfoldedName == DTSTART)
+                {
+                    dateTimeStart = content;
+                } else
+                {
+                    identifier = value(content);
+                }
+                unfolded = null;
+                unfoldedName = null;
+            }
+
+            if (startsWith(lineStart, lineEnd, BEGIN))
+            {
+                if (componentStart >= 0)
+                {
+                    nestedDepth++;
+                } else if (! isName(lineStart + BEGIN.length, lineEnd, VCALENDAR))
+                {
+                    componentStart = lineStart;
+                    element = VComponentElement.fromName(string(lineStart + BEGIN.length, lineEnd).trim());
+                    identifier = null;
+                    recurrenceId = null;
+                    dateTimeStart = null;
+                }
+            } else if (startsWith(lineStart, lineEnd, END))
+            {
+                if (nestedDepth > 0)
+                {
+                    nestedDepth--;
+                } else if (componentStart >= 0)
+                {
+                    offsets.add(new ComponentOffset(element, identifier, recurrenceId, dateTimeStart, componentStart, next));
+                    componentStart = -1;
+                }
+            } else if ((componentStart >= 0) && (nestedDepth == 0))
+            {
+                byte[] idName = (element == VComponentElement.VTIMEZONE) ? TZID : UID;
+                if (isProperty(lineStart, lineEnd, idName))
+                {
+                    unfoldedName = idName;
+                } else if (isProperty(lineStart, lineEnd, RECURRENCE_ID))
+                {
+                    unfoldedName = RECURRENCE_ID;
+                } else if (isProperty(lineStart, lineEnd, DTSTART))
+                {
+                    unfoldedName = DTSTART;
+                }
+                if (unfoldedName != null)
+                {
+                    unfolded = new StringBuilder(string(lineStart, lineEnd));
+                }
+            }
+            lineStart = next;
+        }
+        return offsets;
+    }
+
+    private boolean isName(long start, long lineEnd, byte[] name)
+    {
+        return startsWith(start, lineEnd, name) && (lineEnd - start == name.length);
+    }
+
+    /* Value of a content line - after the first colon that isn't in a quoted parameter value */
+    private static String value(String content)
+    {
+        boolean isQuoted = false;
+        for (int i=0; i<content.length(); i++)
+        {
+            char c = content.charAt(i);
+            if (c == '"')
+            {
+                isQuoted = ! isQuoted;
+            } else if ((c == ':') && ! isQuoted)
+            {
+                return content.substring(i + 1);
+            }
+        }
+        return null;
+    }
+
+    /*
+     * SAVED INDEX
+     */
+    private Path indexPath()
+    {
+        return icsFilePath.resolveSibling(icsFilePath.getFileName() + INDEX_SUFFIX);
+    }
+
+    /** Saves the index next to the ics file, so the next open doesn't scan the file */
+    public void saveIndex() throws IOException
+    {
+        Path indexPath = indexPath();
+        Path tempPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempPath))))
+        {
+            out.writeInt(INDEX_MAGIC);
+            out.writeInt(INDEX_VERSION);
+            out.writeLong(size);
+            out.writeLong(lastModified);
+            out.writeInt(offsets.size());
+            for (ComponentOffset offset : offsets)
+            {
+                out.writeByte((offset.getElement() == null) ? -1 : offset.getElement().ordinal());
+                writeString(out, offset.getIdentifier());
+                writeString(out, offset.getRecurrenceIdContent());
+                writeString(out, offset.getDateTimeStartContent());
+                out.writeLong(offset.getStart());
+                out.writeLong(offset.getEnd());
+            }
+        }
+        Files.move(tempPath, indexPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /* Saved index, or null if missing or not for the current ics file */
+    private List<ComponentOffset> loadIndex() throws IOException
+    {
+        Path indexPath = indexPath();
+        if (! Files.exists(indexPath)) return null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexPath))))
+        {
+            if ((in.readInt() != INDEX_MAGIC) || (in.readInt() != INDEX_VERSION) ||
+                    (in.readLong() != size) || (in.readLong() != lastModified))
+            {
+                return null;
+            }
+            int count = in.readInt();
+            List<ComponentOffset> offsets = new ArrayList<>(count);
+            VComponentElement[] elements = VComponentElement.values();
+            for (int i=0; i<count; i++)
+            {
+                byte ordinal = in.readByte();
+                VComponentElement element = (ordinal < 0) ? null : elements[ordinal];
+                offsets.add(new ComponentOffset(element, readString(in), readString(in), readString(in), in.readLong(), in.readLong()));
+            }
+            return offsets;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String s) throws IOException
+    {
+        out.writeBoolean(s != null);
+        if (s != null)
+        {
+            out.writeUTF(s);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException
+    {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
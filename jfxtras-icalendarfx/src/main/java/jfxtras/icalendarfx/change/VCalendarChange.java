@@ -0,0 +1,103 @@
+package jfxtras.icalendarfx.change;
+
+import java.time.temporal.Temporal;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.components.VDisplayable;
+import jfxtras.icalendarfx.components.VPersonal;
+
+/**
+ * One change to a {@link VCalendar}, reported to a {@link VCalendarChangeListener}.  The UID and RECURRENCE-ID
+ * are taken when the change is made, so they are still known after a removed component is modified.
+ */
+public class VCalendarChange
+{
+    /** Kind of change */
+    public enum Type
+    {
+        /** A VComponent was added, see {@link VCalendarChange#getNewComponent()} */
+        COMPONENT_ADDED,
+        /** A VComponent was removed, see {@link VCalendarChange#getOldComponent()} */
+        COMPONENT_REMOVED,
+        /** A VComponent was replaced by another */
+        COMPONENT_REPLACED,
+        /**
+         * A property, or subcomponent such as VALARM, of a VComponent or of the VCalendar itself was added, removed
+         * or replaced.  The component is the top-level VComponent, or null for a calendar property.
+         */
+        PROPERTY_CHANGED
+    }
+
+    private final Type type;
+    private final VCalendar vCalendar;
+    private final VComponent oldComponent;
+    private final VComponent newComponent;
+    private final VChild oldChild;
+    private final VChild newChild;
+    private final String uniqueIdentifier;
+    private final Temporal recurrenceId;
+
+    public VCalendarChange(Type type, VCalendar vCalendar, VComponent oldComponent, VComponent newComponent,
+            VChild oldChild, VChild newChild)
+    {
+        this.type = type;
+        this.vCalendar = vCalendar;
+        this.oldComponent = oldComponent;
+        this.newComponent = newComponent;
+        this.oldChild = oldChild;
+        this.newChild = newChild;
+        VComponent vComponent = (newComponent == null) ? oldComponent : newComponent;
+        uniqueIdentifier = ((vComponent instanceof VPersonal) && (((VPersonal<?>) vComponent).getUniqueIdentifier() != null)) ?
+                ((VPersonal<?>) vComponent).getUniqueIdentifier().getValue() : null;
+        recurrenceId = ((vComponent instanceof VDisplayable) && (((VDisplayable<?>) vComponent).getRecurrenceId() != null)) ?
+                ((VDisplayable<?>) vComponent).getRecurrenceId().getValue() : null;
+    }
+
+    /** Kind of change */
+    public Type getType() { return type; }
+
+    /** Calendar that changed */
+    public VCalendar getVCalendar() { return vCalendar; }
+
+    /** Removed or replaced component, or the changed component for {@link Type#PROPERTY_CHANGED} */
+    public VComponent getOldComponent() { return oldComponent; }
+
+    /** Added or replacing component, or the changed component for {@link Type#PROPERTY_CHANGED} */
+    public VComponent getNewComponent() { return newComponent; }
+
+    /** Component the change is about: the new component, or the old one if it was removed */
+    public VComponent getComponent() { return (newComponent == null) ? oldComponent : newComponent; }
+
+    /**
+     * For {@link Type#PROPERTY_CHANGED}, the removed or replaced property or subcomponent.  Null if one was added,
+     * or if the change isn't known, such as after {@link VCalendar#componentChanged(VComponent)}.
+     */
+    public VChild getOldChild() { return oldChild; }
+
+    /**
+     * For {@link Type#PROPERTY_CHANGED}, the added or replacing property or subcomponent.  Null if one was removed,
+     * or if the change isn't known.  Equals the old child if a subcomponent changed in place.
+     */
+    public VChild getNewChild() { return newChild; }
+
+    /** UID of the component when the change was made, null if it has none */
+    public String getUniqueIdentifier() { return uniqueIdentifier; }
+
+    /** RECURRENCE-ID of the component when the change was made, null if it has none */
+    public Temporal getRecurrenceId() { return recurrenceId; }
+
+    @Override
+    public String toString()
+    {
+        VComponent vComponent = getComponent();
+        VChild child = (newChild == null) ? oldChild : newChild;
+        return "VCalendarChange [type=" + type
+                + ((vComponent == null) ? "" : ", component=" + vComponent.name())
+                + ((child == null) ? "" : ", child=" + child.name())
+                + ", UID=" + uniqueIdentifier
+                + ((recurrenceId == null) ? "" : ", RECURRENCE-ID=" + recurrenceId)
+                + "]";
+    }
+}
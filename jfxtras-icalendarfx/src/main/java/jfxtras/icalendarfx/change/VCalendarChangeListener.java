@@ -0,0 +1,24 @@
+package jfxtras.icalendarfx.change;
+
+import java.util.List;
+
+import jfxtras.icalendarfx.VCalendar;
+
+/**
+ * <p>Receives the changes made to a {@link VCalendar}, registered with
+ * {@link VCalendar#addChangeListener(VCalendarChangeListener) addChangeListener}.</p>
+ *
+ * <p>Changes made between {@link VCalendar#beginChanges()} and {@link VCalendar#endChanges()}, such as by processing
+ * an iTIP message, are delivered as one batch when the outermost transaction ends.  Other changes are delivered
+ * one at a time as they are made.  Listeners are called on the thread making the changes.</p>
+ */
+@FunctionalInterface
+public interface VCalendarChangeListener
+{
+    /**
+     * Changes were made
+     *
+     * @param changes - changes in the order they were made, never empty
+     */
+    void changed(List<VCalendarChange> changes);
+}
@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.DaylightSavingTime;
 import jfxtras.icalendarfx.components.StandardOrDaylight;
 import jfxtras.icalendarfx.components.StandardTime;
@@ -48,11 +49,12 @@ public abstract class StandardOrDaylight<T extends StandardOrDaylight<T>> extend
     public List<TimeZoneName> getTimeZoneNames() { return timeZoneNames; }
     public void setTimeZoneNames(List<TimeZoneName> timeZoneNames)
     {
-    	if (this.timeZoneNames != null)
+    	List<? extends VChild> oldElements = this.timeZoneNames;
+    	this.timeZoneNames = timeZoneNames;
+    	if (oldElements != null)
     	{
-    		this.timeZoneNames.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.timeZoneNames = timeZoneNames;
     	if (timeZoneNames != null)
     	{
     		timeZoneNames.forEach(c -> orderChild(c));
@@ -113,8 +115,9 @@ public abstract class StandardOrDaylight<T extends StandardOrDaylight<T>> extend
     public TimeZoneOffsetFrom getTimeZoneOffsetFrom() { return timeZoneOffsetFrom; }
     public void setTimeZoneOffsetFrom(TimeZoneOffsetFrom timeZoneOffsetFrom)
     {
-    	orderChild(this.timeZoneOffsetFrom, timeZoneOffsetFrom);
+    	VChild oldChild = this.timeZoneOffsetFrom;
     	this.timeZoneOffsetFrom = timeZoneOffsetFrom;
+    	orderChild(oldChild, timeZoneOffsetFrom);
 	}
     public void setTimeZoneOffsetFrom(ZoneOffset zoneOffset) { setTimeZoneOffsetFrom(new TimeZoneOffsetFrom(zoneOffset)); }
     public void setTimeZoneOffsetFrom(String timeZoneOffsetFrom) { setTimeZoneOffsetFrom(TimeZoneOffsetFrom.parse(timeZoneOffsetFrom)); }
@@ -166,8 +169,9 @@ public abstract class StandardOrDaylight<T extends StandardOrDaylight<T>> extend
     public TimeZoneOffsetTo getTimeZoneOffsetTo() { return timeZoneOffsetTo; }
     public void setTimeZoneOffsetTo(TimeZoneOffsetTo timeZoneOffsetTo)
     {
-    	orderChild(this.timeZoneOffsetTo, timeZoneOffsetTo);
+    	VChild oldChild = this.timeZoneOffsetTo;
     	this.timeZoneOffsetTo = timeZoneOffsetTo;
+    	orderChild(oldChild, timeZoneOffsetTo);
 	}
     public void setTimeZoneOffsetTo(ZoneOffset zoneOffset) { setTimeZoneOffsetTo(new TimeZoneOffsetTo(zoneOffset)); }
     public void setTimeZoneOffsetTo(String timeZoneOffsetTo) { setTimeZoneOffsetTo(TimeZoneOffsetTo.parse(timeZoneOffsetTo)); }
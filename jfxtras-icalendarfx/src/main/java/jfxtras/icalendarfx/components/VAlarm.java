@@ -6,6 +6,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VAlarm;
 import jfxtras.icalendarfx.components.VAttendee;
 import jfxtras.icalendarfx.components.VComponent;
@@ -237,8 +238,9 @@ public class VAlarm extends VDescribableBase<VAlarm> implements VDescribable2<VA
     public void setAction(String action) { setAction(Action.parse(action)); }
     public void setAction(Action action)
     {
-    	orderer.replaceChild(this.action, action);
+    	VChild oldChild = this.action;
     	this.action = action;
+    	orderChild(oldChild, action);
 	}
     public void setAction(ActionType action) { setAction(new Action(action)); }
     /**
@@ -286,11 +288,12 @@ public class VAlarm extends VDescribableBase<VAlarm> implements VDescribable2<VA
     @Override
     public void setAttendees(List<Attendee> attendees)
     {
-    	if (this.attendees != null)
+    	List<? extends VChild> oldElements = this.attendees;
+    	this.attendees = attendees;
+    	if (oldElements != null)
     	{
-    		this.attendees.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.attendees = attendees;
     	if (attendees != null)
     	{
     		attendees.forEach(c -> orderChild(c));
@@ -317,8 +320,9 @@ public class VAlarm extends VDescribableBase<VAlarm> implements VDescribable2<VA
     @Override
 	public void setDescription(Description description)
     {
-    	orderer.replaceChild(this.description, description);
+    	VChild oldChild = this.description;
     	this.description = description;
+    	orderChild(oldChild, description);
 	}
     
     /*
@@ -335,8 +339,9 @@ public class VAlarm extends VDescribableBase<VAlarm> implements VDescribable2<VA
 	@Override
 	public void setDuration(DurationProp duration)
 	{
-    	orderer.replaceChild(this.duration, duration);
-		this.duration = duration;
+    	VChild oldChild = this.duration;
+    	this.duration = duration;
+    	orderChild(oldChild, duration);
 	}
     
     /**
@@ -359,8 +364,9 @@ public class VAlarm extends VDescribableBase<VAlarm> implements VDescribable2<VA
     public RepeatCount getRepeatCount() { return repeatCount; }
     public void setRepeatCount(RepeatCount repeatCount)
     {
-    	orderChild(this.repeatCount, repeatCount);
+    	VChild oldChild = this.repeatCount;
     	this.repeatCount = repeatCount;
+    	orderChild(oldChild, repeatCount);
 	}
     public void setRepeatCount(int repeatCount) { setRepeatCount(new RepeatCount(repeatCount)); }
     public void setRepeatCount(String repeatCount) { setRepeatCount(RepeatCount.parse(repeatCount)); }
@@ -409,8 +415,9 @@ public class VAlarm extends VDescribableBase<VAlarm> implements VDescribable2<VA
     public void setTrigger(String trigger) { setTrigger(Trigger.parse(trigger)); }
     public void setTrigger(Trigger<?> trigger)
     {
-    	orderChild(this.trigger, trigger);    	
+    	VChild oldChild = this.trigger;
     	this.trigger = trigger;
+    	orderChild(oldChild, trigger);
 	}
     public void setTrigger(Duration trigger) { setTrigger(new Trigger<Duration>(trigger)); }
     public void setTrigger(ZonedDateTime trigger) { setTrigger(new Trigger<ZonedDateTime>(trigger)); }
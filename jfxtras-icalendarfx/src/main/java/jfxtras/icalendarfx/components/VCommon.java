@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VCommon;
 import jfxtras.icalendarfx.components.VComponent;
 import jfxtras.icalendarfx.components.VComponentBase;
@@ -36,11 +37,12 @@ public abstract class VCommon<T> extends VComponentBase<T>
     public List<NonStandardProperty> getNonStandard() { return nonStandardProps; }
     public void setNonStandard(List<NonStandardProperty> nonStandardProps)
     {
-    	if (this.nonStandardProps != null)
+    	List<? extends VChild> oldElements = this.nonStandardProps;
+    	this.nonStandardProps = nonStandardProps;
+    	if (oldElements != null)
     	{
-    		this.nonStandardProps.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.nonStandardProps = nonStandardProps;
     	if (nonStandardProps != null)
     	{
     		nonStandardProps.forEach(c -> orderChild(c));
@@ -1,11 +1,14 @@
 package jfxtras.icalendarfx.components;
 
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.VParent;
 import jfxtras.icalendarfx.VParentBase;
 import jfxtras.icalendarfx.components.VComponent;
 import jfxtras.icalendarfx.components.VComponentBase;
 import jfxtras.icalendarfx.components.VComponentElement;
 import jfxtras.icalendarfx.content.MultiLineContent;;
+import jfxtras.icalendarfx.properties.VProperty;
 
 /**
  * <p>Base class implementation of a {@link VComponent}</p>
@@ -54,6 +57,41 @@ public abstract class VComponentBase<T> extends VParentBase<T> implements VCompo
         setParent(source.getParent());
     }
    
+    /*
+     * Keep index, journal, cached errors and change listeners of the VCalendar current when a property or subcomponent is set or replaced.
+     * Setters assign their field before ordering the child, so the VCalendar and its listeners see the new value.
+     */
+    @Override
+    public void orderChild(VChild addedChild)
+    {
+        super.orderChild(addedChild);
+        updateCalendar(null, addedChild);
+    }
+
+    @Override
+    public void orderChild(VChild oldChild, VChild newChild)
+    {
+        super.orderChild(oldChild, newChild);
+        updateCalendar(oldChild, newChild);
+    }
+
+    private void updateCalendar(VChild oldChild, VChild newChild)
+    {
+        if (parent instanceof VCalendar)
+        {
+            ((VCalendar) parent).componentChanged(this, oldChild, newChild);
+        } else if (parent instanceof VComponentBase)
+        {
+            ((VComponentBase) parent).updateCalendar(this, this); // subcomponent, such as VALARM, changed in place
+        }
+    }
+
+    /** Called by a property when one of its parameters or RRULE parts is set or replaced */
+    public void propertyChanged(VProperty property)
+    {
+        updateCalendar(property, property);
+    }
+
     /**
      * Hook to add subcomponent such as {@link #VAlarm}, {@link #StandardTime} and {@link #DaylightSavingTime}
      * 
@@ -80,4 +80,35 @@ public enum VComponentElement
         this.name = name;
         this.myClass = myClass;
     }
+
+    /**
+     * Creates a new VComponent of this type by parsing a String of iCalendar content lines
+     *
+     * @param content  the text to parse, lines separated by the platform line separator, not null
+     * @return  the parsed VComponent
+     */
+    public VComponent parse(String content)
+    {
+        switch (this)
+        {
+        case VEVENT:
+            return VEvent.parse(content);
+        case VTODO:
+            return VTodo.parse(content);
+        case VJOURNAL:
+            return VJournal.parse(content);
+        case VTIMEZONE:
+            return VTimeZone.parse(content);
+        case VFREEBUSY:
+            return VFreeBusy.parse(content);
+        case DAYLIGHT_SAVING_TIME:
+            return DaylightSavingTime.parse(content);
+        case STANDARD_TIME:
+            return StandardTime.parse(content);
+        case VALARM:
+            return VAlarm.parse(content);
+        default:
+            throw new RuntimeException("Unsupported VComponent type:" + name);
+        }
+    }
 }
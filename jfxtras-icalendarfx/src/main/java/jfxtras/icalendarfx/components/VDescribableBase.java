@@ -2,6 +2,7 @@ package jfxtras.icalendarfx.components;
 
 import java.util.List;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VCommon;
 import jfxtras.icalendarfx.components.VComponent;
 import jfxtras.icalendarfx.components.VDescribable;
@@ -41,11 +42,12 @@ public abstract class VDescribableBase<T> extends VCommon<T> implements VDescrib
     @Override
     public void setAttachments(List<Attachment<?>> attachments)
     {
-    	if (this.attachments != null)
+    	List<? extends VChild> oldElements = this.attachments;
+    	this.attachments = attachments;
+    	if (oldElements != null)
     	{
-    		this.attachments.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.attachments = attachments;
     	if (attachments != null)
     	{
     		attachments.forEach(c -> orderChild(c));
@@ -67,8 +69,9 @@ public abstract class VDescribableBase<T> extends VCommon<T> implements VDescrib
     @Override
 	public void setSummary(Summary summary)
     {
-    	orderChild(this.summary, summary);
+    	VChild oldChild = this.summary;
     	this.summary = summary;
+    	orderChild(oldChild, summary);
 	}
     
     /*
@@ -16,6 +16,7 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VComponent;
 import jfxtras.icalendarfx.components.VDescribable;
 import jfxtras.icalendarfx.components.VDisplayable;
@@ -38,6 +39,7 @@ import jfxtras.icalendarfx.properties.component.recurrence.ExceptionDates;
 import jfxtras.icalendarfx.properties.component.recurrence.RecurrenceDates;
 import jfxtras.icalendarfx.properties.component.recurrence.RecurrenceRule;
 import jfxtras.icalendarfx.properties.component.recurrence.RecurrenceRuleCache;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.RecurrenceRuleValue;
 import jfxtras.icalendarfx.properties.component.relationship.Contact;
 import jfxtras.icalendarfx.properties.component.relationship.RecurrenceId;
 import jfxtras.icalendarfx.properties.component.relationship.RelatedTo;
@@ -88,11 +90,12 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     @Override
     public void setAttachments(List<Attachment<?>> attachments)
     {
-    	if (this.attachments != null)
+    	List<? extends VChild> oldElements = this.attachments;
+    	this.attachments = attachments;
+    	if (oldElements != null)
     	{
-    		this.attachments.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.attachments = attachments;
     	if (attachments != null)
     	{
     		attachments.forEach(e -> orderChild(e));
@@ -111,11 +114,12 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     private List<Categories> categories;
     public void setCategories(List<Categories> categories)
     {
-    	if (this.categories != null)
+    	List<? extends VChild> oldElements = this.categories;
+    	this.categories = categories;
+    	if (oldElements != null)
     	{
-    		this.categories.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.categories = categories;
     	if (categories != null)
     	{
     		categories.forEach(e -> orderChild(e));
@@ -159,8 +163,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     public void setClassification(String classification) { setClassification(Classification.parse(classification)); }
     public void setClassification(Classification classification)
     {
-    	orderChild(this.classification, classification);
+    	VChild oldChild = this.classification;
     	this.classification = classification;
+    	orderChild(oldChild, classification);
 	}
     public void setClassification(ClassificationType classification) { setClassification(new Classification(classification)); }
     public T withClassification(Classification classification)
@@ -195,11 +200,12 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     private List<Contact> contacts;
     public void setContacts(List<Contact> contacts)
     {
-    	if (this.contacts != null)
+    	List<? extends VChild> oldElements = this.contacts;
+    	this.contacts = contacts;
+    	if (oldElements != null)
     	{
-    		this.contacts.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.contacts = contacts;
     	if (contacts != null)
     	{
     		contacts.forEach(c -> orderChild(c));
@@ -245,8 +251,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     public void setDateTimeCreated(String dateTimeCreated) { setDateTimeCreated(DateTimeCreated.parse(dateTimeCreated)); }
     public void setDateTimeCreated(DateTimeCreated dateTimeCreated)
     {
-    	orderChild(this.dateTimeCreated, dateTimeCreated);
+    	VChild oldChild = this.dateTimeCreated;
     	this.dateTimeCreated = dateTimeCreated;
+    	orderChild(oldChild, dateTimeCreated);
 	}
     public void setDateTimeCreated(ZonedDateTime dateTimeCreated) { setDateTimeCreated(new DateTimeCreated(dateTimeCreated)); }
     public T withDateTimeCreated(ZonedDateTime dateTimeCreated)
@@ -277,11 +284,12 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     private List<ExceptionDates> exceptionDates;
     public void setExceptionDates(List<ExceptionDates> exceptionDates)
     {
-    	if (this.exceptionDates != null)
+    	List<? extends VChild> oldElements = this.exceptionDates;
+    	this.exceptionDates = exceptionDates;
+    	if (oldElements != null)
     	{
-    		this.exceptionDates.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-        this.exceptionDates = exceptionDates;
         if (exceptionDates != null)
         {
         	exceptionDates.forEach(e -> orderChild(e)); // order new elements
@@ -338,8 +346,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     @Override
 	public void setDateTimeLastModified(LastModified lastModified)
     {
-    	orderChild(this.lastModified, lastModified);
+    	VChild oldChild = this.lastModified;
     	this.lastModified = lastModified;
+    	orderChild(oldChild, lastModified);
 	}
     // Other setters are default methods in interface
     
@@ -379,8 +388,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     private RecurrenceId recurrenceId;
     public void setRecurrenceId(RecurrenceId recurrenceId)
     {
-    	orderChild(this.recurrenceId, recurrenceId);
+    	VChild oldChild = this.recurrenceId;
     	this.recurrenceId = recurrenceId;
+    	orderChild(oldChild, recurrenceId);
 	}
     public void setRecurrenceId(String recurrenceId) { setRecurrenceId(RecurrenceId.parse(recurrenceId)); }
     public void setRecurrenceId(Temporal temporal)
@@ -448,11 +458,12 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     private List<RelatedTo> relatedTo;
     public void setRelatedTo(List<RelatedTo> relatedTo)
     {
-    	if (this.relatedTo != null)
+    	List<? extends VChild> oldElements = this.relatedTo;
+    	this.relatedTo = relatedTo;
+    	if (oldElements != null)
     	{
-    		this.relatedTo.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.relatedTo = relatedTo;
     	if (relatedTo != null)
     	{
         	relatedTo.forEach(c -> orderChild(c));
@@ -500,8 +511,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     @Override
 	public void setRecurrenceRule(RecurrenceRule recurrenceRule)
     {
-    	orderChild(this.recurrenceRule, recurrenceRule);
+    	VChild oldChild = this.recurrenceRule;
     	this.recurrenceRule = recurrenceRule;
+    	orderChild(oldChild, recurrenceRule);
 	}
  
     /**
@@ -523,8 +535,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     private Sequence sequence;
     public void setSequence(Sequence sequence)
     {
-    	orderChild(this.sequence, sequence);
+    	VChild oldChild = this.sequence;
     	this.sequence = sequence;
+    	orderChild(oldChild, sequence);
 	}
     public void setSequence(String sequence) { setSequence(Sequence.parse(sequence)); }
     public void setSequence(Integer sequence) { setSequence(new Sequence(sequence)); }
@@ -585,8 +598,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     private Status status;
     public void setStatus(Status status)
     {
-    	orderChild(this.status, status);
+    	VChild oldChild = this.status;
     	this.status = status;
+    	orderChild(oldChild, status);
 	}
     public void setStatus(String status) { setStatus(Status.parse(status)); }
     public void setStatus(StatusType status) { setStatus(new Status(status)); }
@@ -621,8 +635,9 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     @Override
 	public void setSummary(Summary summary)
     {
-    	orderChild(this.summary, summary);
+    	VChild oldChild = this.summary;
     	this.summary = summary;
+    	orderChild(oldChild, summary);
 	}
 
     
@@ -702,6 +717,34 @@ public abstract class VDisplayable<T> extends VPersonal<T> implements VRepeatabl
     	}
     }
 
+    /** Subtracts the RECURRENCE-ID and EXDATE values that are recurrences from the closed-form count */
+    @Override
+    public long countRecurrences(Temporal end)
+    {
+        List<Temporal> exclusions = new ArrayList<>();
+        List<VDisplayable<?>> children = recurrenceChildren();
+        if (children != null)
+        {
+            children.forEach(c -> exclusions.add(c.getRecurrenceId().getValue()));
+        }
+        if (getExceptionDates() != null)
+        {
+            getExceptionDates().forEach(e -> exclusions.addAll(e.getValue()));
+        }
+        if (exclusions.isEmpty() || (getRecurrenceRule() == null) || (getRecurrenceDates() != null))
+        {
+            return VRepeatable.super.countRecurrences(end); // streams without closed form
+        }
+        RecurrenceRuleValue rrule = getRecurrenceRule().getValue();
+        Temporal dateTimeStart = getDateTimeStart().getValue();
+        long excluded = exclusions.stream()
+                .distinct()
+                .filter(t -> (end == null) || ! DateTimeUtilities.isAfter(t, end))
+                .filter(t -> rrule.isRecurrence(dateTimeStart, t))
+                .count();
+        return rrule.countRecurrences(dateTimeStart, end) - excluded;
+    }
+
     /*
      *  RECURRENCE STREAMER
      *  produces recurrence set
@@ -7,6 +7,7 @@ import java.util.Collections;
 import java.util.List;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VDateTimeEnd;
 import jfxtras.icalendarfx.components.VDescribable2;
 import jfxtras.icalendarfx.components.VEvent;
@@ -100,8 +101,9 @@ public class VEvent extends VLocatable<VEvent> implements VDateTimeEnd<VEvent>,
     @Override
 	public void setDateTimeEnd(DateTimeEnd dateTimeEnd)
     {
-    	orderChild(this.dateTimeEnd, dateTimeEnd);
+    	VChild oldChild = this.dateTimeEnd;
     	this.dateTimeEnd = dateTimeEnd;
+    	orderChild(oldChild, dateTimeEnd);
 	}
     /** add listener to Duration to ensure both DURATION and DTEND are not both set */
 
@@ -123,8 +125,9 @@ public class VEvent extends VLocatable<VEvent> implements VDateTimeEnd<VEvent>,
     public void setTimeTransparency(String timeTransparency) { setTimeTransparency(TimeTransparency.parse(timeTransparency)); }
     public void setTimeTransparency(TimeTransparency timeTransparency)
     {
-    	orderChild(this.timeTransparency, timeTransparency);
+    	VChild oldChild = this.timeTransparency;
     	this.timeTransparency = timeTransparency;
+    	orderChild(oldChild, timeTransparency);
 	}
     public void setTimeTransparency(TimeTransparencyType timeTransparency) { setTimeTransparency(new TimeTransparency(timeTransparency)); }
     public VEvent withTimeTransparency(TimeTransparency timeTransparency)
@@ -6,6 +6,7 @@ import java.util.Collections;
 import java.util.List;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VDateTimeEnd;
 import jfxtras.icalendarfx.components.VFreeBusy;
 import jfxtras.icalendarfx.components.VPersonal;
@@ -111,8 +112,9 @@ public class VFreeBusy extends VPersonal<VFreeBusy> implements VDateTimeEnd<VFre
     public void setContact(String contact) { setContact(Contact.parse(contact)); }
     public void setContact(Contact contact)
     {
-    	orderChild(this.contact, contact);
+    	VChild oldChild = this.contact;
     	this.contact = contact;
+    	orderChild(oldChild, contact);
 	}
     public VFreeBusy withContact(Contact contact)
     {
@@ -145,8 +147,9 @@ public class VFreeBusy extends VPersonal<VFreeBusy> implements VDateTimeEnd<VFre
     @Override
 	public void setDateTimeEnd(DateTimeEnd dateTimeEnd)
     {
-    	orderChild(this.dateTimeEnd, dateTimeEnd);
+    	VChild oldChild = this.dateTimeEnd;
     	this.dateTimeEnd = dateTimeEnd;
+    	orderChild(oldChild, dateTimeEnd);
 	}
     
     /**
@@ -177,8 +180,9 @@ public class VFreeBusy extends VPersonal<VFreeBusy> implements VDateTimeEnd<VFre
     public void setFreeBusyTime(List<Pair<ZonedDateTime, TemporalAmount>> freeBusyTime) { setFreeBusyTime(new FreeBusyTime(freeBusyTime)); }
     public void setFreeBusyTime(FreeBusyTime freeBusyTime)
     {
-    	orderChild(this.freeBusyTime, freeBusyTime);
+    	VChild oldChild = this.freeBusyTime;
     	this.freeBusyTime = freeBusyTime;
+    	orderChild(oldChild, freeBusyTime);
 	}
     public VFreeBusy withFreeBusyTime(FreeBusyTime freeBusyTime)
     {
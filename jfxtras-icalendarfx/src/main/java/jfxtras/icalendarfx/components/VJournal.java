@@ -7,6 +7,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VDisplayable;
 import jfxtras.icalendarfx.components.VJournal;
 import jfxtras.icalendarfx.properties.component.descriptive.Description;
@@ -78,11 +79,12 @@ public class VJournal extends VDisplayable<VJournal>
     private List<Description> descriptions;
     public void setDescriptions(List<Description> descriptions)
     {
-    	if (this.descriptions != null)
+    	List<? extends VChild> oldElements = this.descriptions;
+    	this.descriptions = descriptions;
+    	if (oldElements != null)
     	{
-    		this.descriptions.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.descriptions = descriptions;
     	if (descriptions != null)
     	{
     		descriptions.forEach(c -> orderChild(c)); // order new elements
@@ -11,6 +11,7 @@ import java.util.List;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VAlarm;
 import jfxtras.icalendarfx.components.VComponent;
 import jfxtras.icalendarfx.components.VDescribable2;
@@ -46,8 +47,9 @@ public abstract class VLocatable<T> extends VDisplayable<T> implements VDescriba
     @Override
 	public void setDescription(Description description)
     {
-    	orderChild(this.description, description);
+    	VChild oldChild = this.description;
     	this.description = description;
+    	orderChild(oldChild, description);
 	}
 
     /** 
@@ -74,8 +76,9 @@ public abstract class VLocatable<T> extends VDisplayable<T> implements VDescriba
                 throw new DateTimeException("DURATION is negative (" + duration + "). DURATION MUST be positive.");
             }
         }
-        orderChild(this.duration, duration);
+        VChild oldChild = this.duration;
         this.duration = duration;
+        orderChild(oldChild, duration);
     }
     
     /**
@@ -94,8 +97,9 @@ public abstract class VLocatable<T> extends VDisplayable<T> implements VDescriba
     public GeographicPosition getGeographicPosition() { return geographicPosition; }
     public void setGeographicPosition(GeographicPosition geographicPosition)
     {
-    	orderChild(this.geographicPosition, geographicPosition);
+    	VChild oldChild = this.geographicPosition;
     	this.geographicPosition = geographicPosition;
+    	orderChild(oldChild, geographicPosition);
 	}
     public void setGeographicPosition(String geographicPosition) { setGeographicPosition(GeographicPosition.parse(geographicPosition)); }
     public void setGeographicPosition(double latitude, double longitude)
@@ -131,8 +135,9 @@ public abstract class VLocatable<T> extends VDisplayable<T> implements VDescriba
     public Location getLocation() { return location; }
     public void setLocation(Location location)
     {
-    	orderChild(this.location, location);
+    	VChild oldChild = this.location;
     	this.location = location;
+    	orderChild(oldChild, location);
 	}
     public void setLocation(String location) { setLocation(Location.parse(location)); }
     public T withLocation(Location location)
@@ -159,8 +164,9 @@ public abstract class VLocatable<T> extends VDisplayable<T> implements VDescriba
     public Priority getPriority() { return priority; }
     public void setPriority(Priority priority)
     {
-    	orderChild(this.priority, priority);
+    	VChild oldChild = this.priority;
     	this.priority = priority;
+    	orderChild(oldChild, priority);
 	}
     public void setPriority(String priority) { setPriority(Priority.parse(priority)); }
     public void setPriority(int priority) { setPriority(new Priority(priority)); }
@@ -194,11 +200,12 @@ public abstract class VLocatable<T> extends VDisplayable<T> implements VDescriba
     private List<Resources> resources;
     public void setResources(List<Resources> resources)
     {
-    	if (this.resources != null)
+    	List<? extends VChild> oldElements = this.resources;
+    	this.resources = resources;
+    	if (oldElements != null)
     	{
-    		this.resources.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.resources = resources;
     	if (resources != null)
     	{
     		resources.forEach(c -> orderChild(c)); // order new elements
@@ -243,11 +250,12 @@ public abstract class VLocatable<T> extends VDisplayable<T> implements VDescriba
     private List<VAlarm> vAlarms;
     public void setVAlarms(List<VAlarm> vAlarms)
     {
-    	if (this.vAlarms != null)
+    	List<? extends VChild> oldElements = this.vAlarms;
+    	this.vAlarms = vAlarms;
+    	if (oldElements != null)
     	{
-    		this.vAlarms.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.vAlarms = vAlarms;
     	if (vAlarms != null)
     	{
     		vAlarms.forEach(c -> orderChild(c)); // order new elements
@@ -8,6 +8,7 @@ import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VAttendee;
 import jfxtras.icalendarfx.components.VFreeBusy;
 import jfxtras.icalendarfx.components.VPersonal;
@@ -52,11 +53,12 @@ public abstract class VPersonal<T> extends VPrimary<T> implements VAttendee<T>
     @Override
     public void setAttendees(List<Attendee> attendees)
     {
-    	if (this.attendees != null)
+    	List<? extends VChild> oldElements = this.attendees;
+    	this.attendees = attendees;
+    	if (oldElements != null)
     	{
-    		this.attendees.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.attendees = attendees;
     	if (attendees != null)
     	{
     		attendees.forEach(c -> orderChild(c)); // order new elements
@@ -73,8 +75,9 @@ public abstract class VPersonal<T> extends VPrimary<T> implements VAttendee<T>
     public void setDateTimeStamp(String dateTimeStamp) { setDateTimeStamp(DateTimeStamp.parse(dateTimeStamp)); }
     public void setDateTimeStamp(DateTimeStamp dateTimeStamp)
     {
-    	orderChild(this.dateTimeStamp, dateTimeStamp);
+    	VChild oldChild = this.dateTimeStamp;
     	this.dateTimeStamp = dateTimeStamp;
+    	orderChild(oldChild, dateTimeStamp);
 	}
     public void setDateTimeStamp(ZonedDateTime dateTimeStamp) { setDateTimeStamp(new DateTimeStamp(dateTimeStamp)); }
     public T withDateTimeStamp(ZonedDateTime dateTimeStamp)
@@ -105,8 +108,9 @@ public abstract class VPersonal<T> extends VPrimary<T> implements VAttendee<T>
     private Organizer organizer;
     public void setOrganizer(Organizer organizer)
     {
-    	orderChild(this.organizer, organizer);
+    	VChild oldChild = this.organizer;
     	this.organizer = organizer;
+    	orderChild(oldChild, organizer);
 	}
     public void setOrganizer(String organizer) { setOrganizer(Organizer.parse(organizer)); }
     public T withOrganizer(String organizer)
@@ -135,11 +139,12 @@ public abstract class VPersonal<T> extends VPrimary<T> implements VAttendee<T>
     private List<RequestStatus> requestStatus;
     public void setRequestStatus(List<RequestStatus> requestStatus)
     {
-    	if (this.requestStatus != null)
+    	List<? extends VChild> oldElements = this.requestStatus;
+    	this.requestStatus = requestStatus;
+    	if (oldElements != null)
     	{
-    		this.requestStatus.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.requestStatus = requestStatus;
     	if (requestStatus != null)
     	{
     		requestStatus.forEach(c -> orderChild(c)); // order new elements
@@ -183,8 +188,9 @@ public abstract class VPersonal<T> extends VPrimary<T> implements VAttendee<T>
     public UniqueIdentifier getUniqueIdentifier() { return uniqueIdentifier; }
     public void setUniqueIdentifier(UniqueIdentifier uniqueIdentifier)
     {
-    	orderChild(this.uniqueIdentifier, uniqueIdentifier);
+    	VChild oldChild = this.uniqueIdentifier;
     	this.uniqueIdentifier = uniqueIdentifier;
+    	orderChild(oldChild, uniqueIdentifier);
 	}
     public void setUniqueIdentifier(String uniqueIdentifier) { setUniqueIdentifier(UniqueIdentifier.parse(uniqueIdentifier)); }
     /** Set uniqueIdentifier by calling uidGeneratorCallback */
@@ -246,8 +252,9 @@ public abstract class VPersonal<T> extends VPrimary<T> implements VAttendee<T>
     private UniformResourceLocator url;
     public void setURL(UniformResourceLocator url)
     {
-    	orderChild(this.url, url);
+    	VChild oldChild = this.url;
     	this.url = url;
+    	orderChild(oldChild, url);
 	};
     public void setURL(String url) { setURL(UniformResourceLocator.parse(url)); };
     public void setURL(URI url) { setURL(new UniformResourceLocator(url)); };
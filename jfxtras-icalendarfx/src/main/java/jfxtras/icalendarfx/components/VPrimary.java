@@ -8,6 +8,7 @@ import java.util.Comparator;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VCommon;
 import jfxtras.icalendarfx.components.VFreeBusy;
 import jfxtras.icalendarfx.components.VPrimary;
@@ -45,11 +46,12 @@ public abstract class VPrimary<T> extends VCommon<T>
     private List<Comment> comments;
     public void setComments(List<Comment> comments)
     {
-    	if (this.comments != null)
+    	List<? extends VChild> oldElements = this.comments;
+    	this.comments = comments;
+    	if (oldElements != null)
     	{
-    		this.comments.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.comments = comments;
     	if (comments != null)
     	{
     		comments.forEach(c -> orderChild(c)); // order new elements
@@ -94,8 +96,9 @@ public abstract class VPrimary<T> extends VCommon<T>
     private DateTimeStart dateTimeStart;
     public void setDateTimeStart(DateTimeStart dateTimeStart)
     {
-    	orderChild(this.dateTimeStart, dateTimeStart);
+    	VChild oldChild = this.dateTimeStart;
     	this.dateTimeStart = dateTimeStart;
+    	orderChild(oldChild, dateTimeStart);
 	}
     public void setDateTimeStart(String dateTimeStart) { setDateTimeStart(DateTimeStart.parse(dateTimeStart)); }
     public void setDateTimeStart(Temporal temporal) { setDateTimeStart(new DateTimeStart(temporal)); }
@@ -8,9 +8,11 @@ import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Optional;
+import java.util.PrimitiveIterator;
 import java.util.Spliterator;
 import java.util.Spliterators;
 import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
@@ -26,6 +28,7 @@ import jfxtras.icalendarfx.properties.component.recurrence.RecurrenceRuleCache;
 import jfxtras.icalendarfx.properties.component.recurrence.rrule.RecurrenceRuleValue;
 import jfxtras.icalendarfx.properties.component.time.DateTimeStart;
 import jfxtras.icalendarfx.utilities.DateTimeUtilities;
+import jfxtras.icalendarfx.utilities.EpochTimeUtilities;
 import jfxtras.icalendarfx.utilities.ICalendarUtilities;
 import jfxtras.icalendarfx.utilities.DateTimeUtilities.DateTimeType;
 
@@ -296,6 +299,62 @@ public interface VRepeatable<T> extends VComponent
     {
         return streamRecurrences(getDateTimeStart().getValue());
     }
+
+    /**
+     * Produces the recurrence starts of {@link #streamRecurrences(Temporal)} as primitive epoch values: epoch days if
+     * DTSTART is a date, otherwise epoch seconds, with floating date-times as if UTC.  Sort, merge and compare them with
+     * {@link EpochTimeUtilities}, and convert back with {@link #recurrenceFromEpoch(long)}.
+     * 
+     * @param start - include recurrences that END before this value
+     * @return - stream of epoch values for the recurrence set
+     */
+    default LongStream streamEpochRecurrences(Temporal start)
+    {
+        return streamRecurrences(start).mapToLong(EpochTimeUtilities::toEpoch);
+    }
+
+    /** Epoch values of recurrences bounded by start and end, see {@link #streamEpochRecurrences(Temporal)} and {@link #streamRecurrences(Temporal, Temporal)} */
+    default LongStream streamEpochRecurrences(Temporal start, Temporal end)
+    {
+        return streamRecurrences(start, end).mapToLong(EpochTimeUtilities::toEpoch);
+    }
+
+    /** Iterator of epoch values of recurrences, see {@link #streamEpochRecurrences(Temporal)} */
+    default PrimitiveIterator.OfLong epochRecurrenceIterator(Temporal start)
+    {
+        return streamEpochRecurrences(start).iterator();
+    }
+
+    /** Recurrence start of an epoch value from {@link #streamEpochRecurrences(Temporal)}, of the same type as DTSTART */
+    default Temporal recurrenceFromEpoch(long epoch)
+    {
+        return EpochTimeUtilities.fromEpoch(epoch, getDateTimeStart().getValue());
+    }
+    
+    /**
+     * Number of recurrences that start on or before end, the same as counting {@link #streamRecurrences()}.
+     * Without RDATE it's computed in closed form for the RRULE shapes {@link RecurrenceRuleValue#countRecurrences(Temporal, Temporal)}
+     * supports, so it doesn't iterate long series.
+     * 
+     * @param end - last value to count, inclusive, or null to count all recurrences
+     * @return - number of recurrences
+     */
+    default long countRecurrences(Temporal end)
+    {
+        Temporal dateTimeStart = getDateTimeStart().getValue();
+        if ((getRecurrenceRule() == null) || (getRecurrenceDates() != null))
+        {
+            Stream<Temporal> recurrences = streamRecurrences(dateTimeStart);
+            return ((end == null) ? recurrences : ICalendarUtilities.takeWhile(recurrences, a -> ! DateTimeUtilities.isAfter(a, end))).count();
+        }
+        return getRecurrenceRule().getValue().countRecurrences(dateTimeStart, end);
+    }
+
+    /** Number of recurrences, see {@link #countRecurrences(Temporal)} */
+    default long countRecurrences()
+    {
+        return countRecurrences(null);
+    }
     
     /**
      * finds previous stream Temporal before input parameter value
@@ -8,6 +8,7 @@ import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.DaylightSavingTime;
 import jfxtras.icalendarfx.components.StandardTime;
 import jfxtras.icalendarfx.components.VPrimary;
@@ -49,11 +50,12 @@ public abstract class VRepeatableBase<T> extends VPrimary<T> implements VRepeata
     @Override
     public void setRecurrenceDates(List<RecurrenceDates> recurrenceDates)
     {
-    	if (this.recurrenceDates != null)
+    	List<? extends VChild> oldElements = this.recurrenceDates;
+    	this.recurrenceDates = recurrenceDates;
+    	if (oldElements != null)
     	{
-    		this.recurrenceDates.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.recurrenceDates = recurrenceDates;
     	if (recurrenceDates != null)
     	{
     		recurrenceDates.forEach(c -> orderChild(c)); // order new elements
@@ -77,8 +79,9 @@ public abstract class VRepeatableBase<T> extends VPrimary<T> implements VRepeata
 	@Override
 	public void setRecurrenceRule(RecurrenceRule recurrenceRule)
 	{
-		orderChild(this.recurrenceRule, recurrenceRule);
+		VChild oldChild = this.recurrenceRule;
 		this.recurrenceRule = recurrenceRule;
+		orderChild(oldChild, recurrenceRule);
 	}
 
     /*
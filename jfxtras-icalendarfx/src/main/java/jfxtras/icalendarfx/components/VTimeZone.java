@@ -285,11 +285,12 @@ public class VTimeZone extends VCommon<VTimeZone> implements VLastModified<VTime
     private List<StandardOrDaylight<?>> standardOrDaylight;
     public void setStandardOrDaylight(List<StandardOrDaylight<?>> standardOrDaylight)
     {
-    	if (this.standardOrDaylight != null)
+    	List<? extends VChild> oldElements = this.standardOrDaylight;
+    	this.standardOrDaylight = standardOrDaylight;
+    	if (oldElements != null)
     	{
-    		this.standardOrDaylight.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.standardOrDaylight = standardOrDaylight;
     	if (standardOrDaylight != null)
     	{
     		standardOrDaylight.forEach(c -> orderChild(c)); // order new elements
@@ -357,8 +358,9 @@ public class VTimeZone extends VCommon<VTimeZone> implements VLastModified<VTime
     @Override
 	public void setDateTimeLastModified(LastModified lastModified)
     {
-    	orderChild(this.lastModified, lastModified);
+    	VChild oldChild = this.lastModified;
     	this.lastModified = lastModified;
+    	orderChild(oldChild, lastModified);
 	}
     
     /**
@@ -380,8 +382,9 @@ public class VTimeZone extends VCommon<VTimeZone> implements VLastModified<VTime
     public TimeZoneIdentifier getTimeZoneIdentifier() { return timeZoneIdentifier; }
     public void setTimeZoneIdentifier(TimeZoneIdentifier timeZoneIdentifier)
     {
-		orderChild(this.timeZoneIdentifier, timeZoneIdentifier);
-    	this.timeZoneIdentifier = timeZoneIdentifier;
+		VChild oldChild = this.timeZoneIdentifier;
+		this.timeZoneIdentifier = timeZoneIdentifier;
+		orderChild(oldChild, timeZoneIdentifier);
 	}
     public void setTimeZoneIdentifier(String timeZoneIdentifier) { setTimeZoneIdentifier(TimeZoneIdentifier.parse(timeZoneIdentifier)); }
     public VTimeZone withTimeZoneIdentifier(TimeZoneIdentifier timeZoneIdentifier)
@@ -411,8 +414,9 @@ public class VTimeZone extends VCommon<VTimeZone> implements VLastModified<VTime
     public TimeZoneURL getTimeZoneURL() { return timeZoneURL; }
     public void setTimeZoneURL(TimeZoneURL timeZoneURL)
     {
-    	orderChild(this.timeZoneURL, timeZoneURL);
+    	VChild oldChild = this.timeZoneURL;
     	this.timeZoneURL = timeZoneURL;
+    	orderChild(oldChild, timeZoneURL);
 	}
     public void setTimeZoneURL(String timeZoneURL) { setTimeZoneURL(TimeZoneURL.parse(timeZoneURL)); }
     public void setTimeZoneURL(URI timeZoneURL) { setTimeZoneURL(new TimeZoneURL(timeZoneURL)); }
@@ -11,6 +11,7 @@ import java.util.Collections;
 import java.util.List;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.components.VDescribable2;
 import jfxtras.icalendarfx.components.VLocatable;
 import jfxtras.icalendarfx.components.VTodo;
@@ -76,8 +77,9 @@ public class VTodo extends VLocatable<VTodo> implements VDescribable2<VTodo>
     public void setDateTimeCompleted(String dateTimeCompleted) { setDateTimeCompleted(DateTimeCompleted.parse(dateTimeCompleted)); }
     public void setDateTimeCompleted(DateTimeCompleted dateTimeCompleted)
     {
-    	orderChild(this.dateTimeCompleted, dateTimeCompleted);
+    	VChild oldChild = this.dateTimeCompleted;
     	this.dateTimeCompleted = dateTimeCompleted;
+    	orderChild(oldChild, dateTimeCompleted);
 	}
     public void setDateTimeCompleted(ZonedDateTime dateTimeCompleted) { setDateTimeCompleted(new DateTimeCompleted(dateTimeCompleted)); }
     public VTodo withDateTimeCompleted(ZonedDateTime dateTimeCompleted)
@@ -111,8 +113,9 @@ public class VTodo extends VLocatable<VTodo> implements VDescribable2<VTodo>
     public void setDateTimeDue(String dateTimeDue) { setDateTimeDue(DateTimeDue.parse(dateTimeDue)); }
     public void setDateTimeDue(DateTimeDue dateTimeDue)
     {
-    	orderChild(this.dateTimeDue, dateTimeDue);
+    	VChild oldChild = this.dateTimeDue;
     	this.dateTimeDue = dateTimeDue;
+    	orderChild(oldChild, dateTimeDue);
 	}
     public void setDateTimeDue(Temporal dateTimeDue)
     {
@@ -170,8 +173,9 @@ public class VTodo extends VLocatable<VTodo> implements VDescribable2<VTodo>
     public void setPercentComplete(Integer percentComplete) { setPercentComplete(new PercentComplete(percentComplete)); }
     public void setPercentComplete(PercentComplete percentComplete)
     {
-    	orderChild(this.percentComplete, percentComplete);
+    	VChild oldChild = this.percentComplete;
     	this.percentComplete = percentComplete;
+    	orderChild(oldChild, percentComplete);
 	}
     public VTodo withPercentComplete(PercentComplete percentComplete)
     { 
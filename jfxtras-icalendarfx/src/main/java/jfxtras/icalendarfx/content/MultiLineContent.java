@@ -2,11 +2,15 @@ package jfxtras.icalendarfx.content;
 
 import java.util.stream.Collectors;
 
+import jfxtras.icalendarfx.metrics.ICalendarMetrics;
+import jfxtras.icalendarfx.metrics.ICalendarMetricsListener;
+
 public class MultiLineContent extends ContentLineBase
 {
     final private String firstContentLine;
     final private String lastContentLine;
     final private int builderSize;
+    final private String name; // element name for metrics
     
     public MultiLineContent(
             Orderer orderer,
@@ -18,11 +22,14 @@ public class MultiLineContent extends ContentLineBase
         this.firstContentLine = firstContentLine;
         this.lastContentLine = lastContentLine;
         this.builderSize = builderSize;
+        name = firstContentLine.substring(firstContentLine.indexOf(':') + 1);
     }
     
     @Override
     public String execute()
     {
+        ICalendarMetricsListener listener = ICalendarMetrics.listener();
+        long start = ICalendarMetrics.start(listener);
         StringBuilder builder = new StringBuilder(builderSize);
         builder.append(firstContentLine + System.lineSeparator());
         String content = orderer.childrenUnmodifiable().stream()
@@ -33,6 +40,8 @@ public class MultiLineContent extends ContentLineBase
             builder.append(content + System.lineSeparator());
         }
         builder.append(lastContentLine);
-        return builder.toString();
+        String contentLines = builder.toString();
+        listener.elementSerialized(name, contentLines.length(), ICalendarMetrics.elapsed(start));
+        return contentLines;
     }
 }
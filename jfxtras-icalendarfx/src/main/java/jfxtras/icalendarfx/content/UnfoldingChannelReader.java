@@ -0,0 +1,251 @@
+package jfxtras.icalendarfx.content;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import jfxtras.icalendarfx.metrics.ICalendarMetrics;
+import jfxtras.icalendarfx.metrics.ICalendarMetricsListener;
+
+/**
+ * <p>Reads UTF-8 content from a channel or buffer and unfolds lines according to the RFC 5545 iCalendar
+ * standard.  A line break followed by a space or tab is removed as it's read, so physical lines never become
+ * Strings of their own.  Malformed UTF-8 throws an {@link UncheckedIOException} with a
+ * {@link java.nio.charset.MalformedInputException MalformedInputException} cause.</p>
+ *
+ * <p>{@link #nextLine()} returns the unfolded line as a {@code CharSequence} view over a reused buffer, which is only
+ * valid until the next call.  As an {@code Iterator<String>}, like {@link UnfoldingStringIterator}, one String is made
+ * for each unfolded line.  Empty lines are skipped.</p>
+ *
+ * <pre>
+ * try (FileChannel channel = FileChannel.open(path))
+ * {
+ *     UnfoldingChannelReader reader = new UnfoldingChannelReader(channel);
+ *     for (CharSequence line = reader.nextLine(); line != null; line = reader.nextLine()) { ... }
+ * }
+ * </pre>
+ */
+public class UnfoldingChannelReader implements Iterator<String>, Closeable
+{
+    private static final int BUFFER_SIZE = 8192;
+
+    /* the channel being read, null when reading from a buffer */
+    private final ReadableByteChannel channel;
+    private final ByteBuffer bytes;
+    private final CharBuffer chars;
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPORT)
+            .onUnmappableCharacter(CodingErrorAction.REPORT);
+    private boolean isEndOfInput;
+    private boolean isFlushed;
+
+    /* the unfolded line, reused for each line */
+    private char[] line = new char[256];
+    private int length;
+    private final LineView lineView = new LineView();
+    // true when a line has been read by hasNext but not yet returned
+    private boolean isLineReady;
+    // true after a CR, so a following LF is part of the same line break
+    private boolean isAfterCarriageReturn;
+
+    /**
+     * Reads from a channel.  The channel isn't closed until {@link #close()} is called.
+     *
+     * @param channel  source of UTF-8 content lines
+     */
+    public UnfoldingChannelReader(ReadableByteChannel channel)
+    {
+        this.channel = channel;
+        bytes = ByteBuffer.allocate(BUFFER_SIZE);
+        bytes.flip();
+        chars = CharBuffer.allocate(BUFFER_SIZE);
+        chars.flip();
+    }
+
+    /**
+     * Reads from the remaining bytes of a buffer, such as a mapped file.  The buffer's position is moved
+     * as it's read.
+     *
+     * @param buffer  UTF-8 content lines
+     */
+    public UnfoldingChannelReader(ByteBuffer buffer)
+    {
+        channel = null;
+        bytes = buffer;
+        isEndOfInput = true;
+        chars = CharBuffer.allocate(BUFFER_SIZE);
+        chars.flip();
+    }
+
+    /**
+     * Returns the next unfolded line, or null at the end of the content.  The returned view is
+     * overwritten by the next call.
+     */
+    public CharSequence nextLine()
+    {
+        if (! isLineReady && ! readLine())
+        {
+            return null;
+        }
+        isLineReady = false;
+        return lineView;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (! isLineReady)
+        {
+            isLineReady = readLine();
+        }
+        return isLineReady;
+    }
+
+    @Override
+    public String next()
+    {
+        if (! hasNext())
+        {
+            throw new NoSuchElementException();
+        }
+        isLineReady = false;
+        return new String(line, 0, length);
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        if (channel != null)
+        {
+            channel.close();
+        }
+    }
+
+    /* Reads the next non-empty unfolded line into line buffer, returns false at end of content */
+    private boolean readLine()
+    {
+        ICalendarMetricsListener listener = ICalendarMetrics.listener();
+        long start = ICalendarMetrics.start(listener);
+        int physicalLines = 1;
+        length = 0;
+        boolean isLineBreak = false; // a line break ended the line, unless the next character is a space or tab
+        while (chars.hasRemaining() || fill())
+        {
+            char c = chars.get(chars.position());
+            if ((c == '\n') && isAfterCarriageReturn)
+            { // LF of CRLF
+                chars.get();
+                isAfterCarriageReturn = false;
+                continue;
+            }
+            isAfterCarriageReturn = false;
+            if ((c == '\r') || (c == '\n'))
+            {
+                chars.get();
+                isAfterCarriageReturn = (c == '\r');
+                isLineBreak = (length > 0);
+                continue;
+            }
+            if (isLineBreak)
+            {
+                if ((c != ' ') && (c != '\t'))
+                {
+                    break; // c starts the next line
+                }
+                // folded line, drop the line break and the white space
+                chars.get();
+                isLineBreak = false;
+                physicalLines++;
+                continue;
+            }
+            chars.get();
+            if (length == line.length)
+            {
+                line = Arrays.copyOf(line, length * 2);
+            }
+            line[length++] = c;
+        }
+        if (length == 0)
+        {
+            return false;
+        }
+        listener.lineUnfolded(physicalLines, ICalendarMetrics.elapsed(start));
+        return true;
+    }
+
+    /* Decodes more characters, returns false at end of content */
+    private boolean fill()
+    {
+        if (isFlushed)
+        {
+            return false;
+        }
+        chars.compact();
+        try
+        {
+            while (chars.position() == 0)
+            {
+                CoderResult result = decoder.decode(bytes, chars, isEndOfInput);
+                if (result.isError())
+                {
+                    result.throwException(); // malformed UTF-8, like Files.newBufferedReader
+                }
+                if (chars.position() > 0)
+                {
+                    break;
+                }
+                if (isEndOfInput)
+                {
+                    decoder.flush(chars);
+                    isFlushed = true;
+                    break;
+                }
+                // all bytes decoded, or a partial character left - read more
+                bytes.compact();
+                int read = channel.read(bytes);
+                bytes.flip();
+                isEndOfInput = (read < 0);
+            }
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        } finally
+        {
+            chars.flip();
+        }
+        return chars.hasRemaining();
+    }
+
+    /* The unfolded line as a CharSequence, valid until the next line is read */
+    private class LineView implements CharSequence
+    {
+        @Override
+        public int length() { return length; }
+
+        @Override
+        public char charAt(int index)
+        {
+            if (index >= length) throw new IndexOutOfBoundsException(Integer.toString(index));
+            return line[index];
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end)
+        {
+            return toString().subSequence(start, end);
+        }
+
+        @Override
+        public String toString() { return new String(line, 0, length); }
+    }
+}
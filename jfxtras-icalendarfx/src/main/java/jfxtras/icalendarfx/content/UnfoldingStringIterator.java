@@ -2,6 +2,9 @@ package jfxtras.icalendarfx.content;
 
 import java.util.Iterator;
 
+import jfxtras.icalendarfx.metrics.ICalendarMetrics;
+import jfxtras.icalendarfx.metrics.ICalendarMetricsListener;
+
 /**
  * A simple {@code Iterator<String>} decorator that unfolds line according to the 
  * RFC 5545 iCalendar standard.  Lines are unfolded automatically by calling the next() method.
@@ -37,6 +40,9 @@ public class UnfoldingStringIterator implements Iterator<String>
     @Override
     public String next()
     {
+        ICalendarMetricsListener listener = ICalendarMetrics.listener();
+        long start = ICalendarMetrics.start(listener);
+        int physicalLines = 1;
         StringBuilder builder = new StringBuilder(200);
         if (lastLine != null)
         {
@@ -56,6 +62,7 @@ public class UnfoldingStringIterator implements Iterator<String>
                 if (isContinuationLine)
                 {
                     builder.append(currentLine.substring(1, currentLine.length()));
+                    physicalLines++;
                 } else
                 {
                     break;
@@ -64,7 +71,9 @@ public class UnfoldingStringIterator implements Iterator<String>
             currentLine = iterator.next();
         }
         pushBackLine(currentLine);
-        return builder.toString();
+        String unfoldedLine = builder.toString();
+        listener.lineUnfolded(physicalLines, ICalendarMetrics.elapsed(start));
+        return unfoldedLine;
     }
     
     private void pushBackLine(String s)
@@ -178,8 +178,7 @@ public class ProcessCancel implements Processable
                             int oldSequence = (matchingVComponent.getSequence() == null) ? 0 : matchingVComponent.getSequence().getValue();
                             if (newSequence >= oldSequence)
                             {
-                                List<? extends VComponent> myVComponents = vDisplayable.calendarList();
-                                myVComponents.remove(matchingVComponent);
+                                mainVCalendar.removeChild(matchingVComponent);
                                 log.add("SUCCESS: canceled " + c.getClass().getSimpleName() + " with UID:" + vDisplayable.getUniqueIdentifier().getValue());
                             } else
                             {
@@ -242,7 +241,7 @@ public class ProcessCancel implements Processable
                                         List<VDisplayable<?>> orphanedChildren = parentVComponent.orphanedRecurrenceChildren();
                                         if (! orphanedChildren.isEmpty())
                                         {
-                                        	mainVCalendar.getVComponents(vDisplayable).removeAll(orphanedChildren);
+                                        	orphanedChildren.forEach(v -> mainVCalendar.removeChild(v));
                                         }                                        
                                     } else
                                     {
@@ -179,7 +179,7 @@ public class ProcessPublish implements Processable
                 List<VDisplayable<?>> orphanedChildren = vDisplayable.orphanedRecurrenceChildren();
                 if (! orphanedChildren.isEmpty())
                 {
-                    vDisplayable.calendarList().removeAll(orphanedChildren);
+                    orphanedChildren.forEach(v -> mainVCalendar.removeChild(v));
                 }
             } else if (c instanceof VTimeZone)
             {
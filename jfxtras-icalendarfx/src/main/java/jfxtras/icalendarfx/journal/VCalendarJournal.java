@@ -0,0 +1,722 @@
+package jfxtras.icalendarfx.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.components.VComponentElement;
+import jfxtras.icalendarfx.components.VDisplayable;
+import jfxtras.icalendarfx.components.VPersonal;
+import jfxtras.icalendarfx.components.VTimeZone;
+import jfxtras.icalendarfx.properties.component.relationship.RecurrenceId;
+import jfxtras.icalendarfx.properties.component.relationship.UniqueIdentifier;
+import jfxtras.icalendarfx.properties.component.timezone.TimeZoneIdentifier;
+
+/**
+ * <p>Append-only journal of the changes made to the {@link VComponent VComponents} of a {@link VCalendar}, so a
+ * change is saved by writing only the changed component instead of the whole calendar.</p>
+ *
+ * <p>The calendar is stored as an ics snapshot file plus a journal file next to it, named snapshot + {@value #JOURNAL_SUFFIX}.
+ * Each journal entry is one component added, replaced or removed, identified by its UID and RECURRENCE-ID (TZID for
+ * VTIMEZONE) and followed by the component's content lines.  Entries are recorded automatically while the journal
+ * is set on the calendar: components added or removed through {@link VCalendar#addChild(VChild) addChild},
+ * {@link VCalendar#removeChild(VChild) removeChild} or the component list setters, and properties of a component that are
+ * set or replaced.  A change made directly to a property value, such as {@code getSummary().setValue("new")}, isn't
+ * seen; call {@link #componentChanged(VComponent)} after such a change.</p>
+ *
+ * <p>Each entry is written as one frame of length, CRC-32 checksum and UTF-8 content.  On recovery the snapshot is
+ * parsed and the entries replayed on top of it.  A frame torn by a crash fails its checksum; replay stops there and the
+ * journal is truncated before new entries are appended.  By default every entry is forced to the storage device
+ * before returning, see {@link #setSyncOnWrite(boolean)}.</p>
+ *
+ * <p>{@link #compact()} writes a new snapshot and starts an empty journal.  The calendar is serialized on the calling
+ * thread, while the snapshot file is written in the background, so the journal can go on recording.  Until the new
+ * snapshot is in place the previous entries are kept in snapshot + {@value #OLD_JOURNAL_SUFFIX}, which recovery replays
+ * first.  Replay is idempotent - an added component replaces one with the same key, and removing a missing key is
+ * ignored - so entries that are already in the snapshot do no harm.</p>
+ *
+ * <pre>
+ * VCalendarJournal journal = VCalendarJournal.open(Paths.get("calendar.ics"));
+ * VCalendar vCalendar = journal.getVCalendar();
+ * vCalendar.addChild(vEvent); // journaled
+ * ...
+ * journal.close();
+ * </pre>
+ *
+ * <p>Not thread safe - like the VCalendar, it must be changed from one thread.</p>
+ */
+public class VCalendarJournal implements Closeable
+{
+    /** Suffix of the journal file name, appended to the snapshot file name */
+    public static final String JOURNAL_SUFFIX = ".journal";
+    /** Suffix of the journal file name while a compaction is writing the snapshot */
+    public static final String OLD_JOURNAL_SUFFIX = ".journal.old";
+
+    private static final byte[] MAGIC = "ICSJ".getBytes(StandardCharsets.US_ASCII);
+    private static final int VERSION = 1;
+    private static final int HEADER_LENGTH = MAGIC.length + 4;
+    private static final int FRAME_HEADER_LENGTH = 8;
+    private static final char SEPARATOR = '\n';
+
+    /* Compaction thread, shared by all journals */
+    private static final ExecutorService COMPACTOR = Executors.newSingleThreadExecutor(r ->
+    {
+        Thread thread = new Thread(r, "VCalendarJournal compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Kind of change in a journal entry */
+    public enum Operation
+    {
+        ADD,
+        REPLACE,
+        REMOVE;
+    }
+
+    private final VCalendar vCalendar;
+    private final Path snapshotPath;
+    private final Path journalPath;
+    private final Path oldJournalPath;
+    private FileChannel channel;
+    /* Key last journaled for each component, so a replace or remove finds the entry even after UID or RECURRENCE-ID changed, see key */
+    private final Map<VComponent, String> keys = new IdentityHashMap<>();
+    private CompletableFuture<Void> compaction;
+
+    /** Returns the VCalendar whose changes are journaled */
+    public VCalendar getVCalendar() { return vCalendar; }
+
+    /** Returns the snapshot file */
+    public Path getSnapshotPath() { return snapshotPath; }
+
+    /** Returns the journal file */
+    public Path getJournalPath() { return journalPath; }
+
+    /** Force each entry to the storage device before returning.  Default is true. */
+    public boolean isSyncOnWrite() { return syncOnWrite; }
+    private boolean syncOnWrite = true;
+    public void setSyncOnWrite(boolean syncOnWrite) { this.syncOnWrite = syncOnWrite; }
+    public VCalendarJournal withSyncOnWrite(boolean syncOnWrite)
+    {
+        setSyncOnWrite(syncOnWrite);
+        return this;
+    }
+
+    /**
+     * Start a compaction when the journal grows to this many bytes, 0 to compact only on request.  Default is 0.
+     * If the previous compaction is still running, the write waits for it, so the journal stays within one entry of the threshold.
+     */
+    public long getCompactionThreshold() { return compactionThreshold; }
+    private long compactionThreshold;
+    public void setCompactionThreshold(long compactionThreshold)
+    {
+        if (compactionThreshold < 0)
+        {
+            throw new IllegalArgumentException("compactionThreshold can't be negative:" + compactionThreshold);
+        }
+        this.compactionThreshold = compactionThreshold;
+    }
+    public VCalendarJournal withCompactionThreshold(long compactionThreshold)
+    {
+        setCompactionThreshold(compactionThreshold);
+        return this;
+    }
+
+    /*
+     * CONSTRUCTOR
+     */
+    private VCalendarJournal(VCalendar vCalendar, Path snapshotPath) throws IOException
+    {
+        this.vCalendar = vCalendar;
+        this.snapshotPath = snapshotPath;
+        journalPath = journalPath(snapshotPath);
+        oldJournalPath = oldJournalPath(snapshotPath);
+        for (VChild child : vCalendar.childrenUnmodifiable())
+        {
+            if (child instanceof VComponent)
+            {
+                keys.put((VComponent) child, key((VComponent) child));
+            }
+        }
+        channel = openJournal(journalPath);
+    }
+
+    /**
+     * Recovers the VCalendar from the snapshot and journal files and journals its changes from now on.
+     * If the snapshot doesn't exist the VCalendar starts empty.
+     *
+     * @param snapshotPath  ics snapshot file
+     * @return  journal of the recovered VCalendar, see {@link #getVCalendar()}
+     * @throws IOException
+     */
+    public static VCalendarJournal open(Path snapshotPath) throws IOException
+    {
+        VCalendar vCalendar = recover(snapshotPath);
+        VCalendarJournal journal = new VCalendarJournal(vCalendar, snapshotPath);
+        vCalendar.setJournal(journal);
+        if (Files.exists(journal.oldJournalPath))
+        {
+            journal.compact(); // previous compaction didn't finish
+        }
+        return journal;
+    }
+
+    /**
+     * Writes the VCalendar to a new snapshot file, replacing any existing snapshot and journal,
+     * and journals its changes from now on
+     *
+     * @param vCalendar  calendar to save
+     * @param snapshotPath  ics snapshot file
+     * @return  journal of vCalendar
+     * @throws IOException
+     */
+    public static VCalendarJournal create(VCalendar vCalendar, Path snapshotPath) throws IOException
+    {
+        writeSnapshot(vCalendar.toString(), snapshotPath);
+        Files.deleteIfExists(journalPath(snapshotPath));
+        Files.deleteIfExists(oldJournalPath(snapshotPath));
+        VCalendarJournal journal = new VCalendarJournal(vCalendar, snapshotPath);
+        vCalendar.setJournal(journal);
+        return journal;
+    }
+
+    /**
+     * Recovers a VCalendar by parsing the snapshot file and replaying the journal files on it.
+     * The files are only read, the VCalendar isn't journaled.
+     *
+     * @param snapshotPath  ics snapshot file
+     * @return  recovered VCalendar, empty if there are no files
+     * @throws IOException
+     */
+    public static VCalendar recover(Path snapshotPath) throws IOException
+    {
+        VCalendar vCalendar = Files.exists(snapshotPath) ? VCalendar.parse(snapshotPath) : new VCalendar();
+        Replay replay = new Replay(vCalendar);
+        replay.replay(oldJournalPath(snapshotPath));
+        replay.replay(journalPath(snapshotPath));
+        return vCalendar;
+    }
+
+    /*
+     * RECORDING
+     */
+    /** Returns true if vComponent is journaled */
+    public boolean contains(VComponent vComponent)
+    {
+        return keys.containsKey(vComponent);
+    }
+
+    /** Records vComponent added to the VCalendar */
+    public void componentAdded(VComponent vComponent)
+    {
+        String key = key(vComponent);
+        keys.put(vComponent, key);
+        if (key == null)
+        {
+            compactUnaddressable();
+        } else
+        {
+            write(Operation.ADD, key, vComponent.toString());
+        }
+    }
+
+    /** Records the current content of vComponent, call after changing a property value directly */
+    public void componentChanged(VComponent vComponent)
+    {
+        if (! keys.containsKey(vComponent)) return; // not in the VCalendar, such as a copy
+        String oldKey = keys.get(vComponent);
+        String key = key(vComponent);
+        keys.put(vComponent, key);
+        if ((oldKey == null) || (key == null))
+        {
+            compactUnaddressable();
+        } else
+        {
+            write(Operation.REPLACE, oldKey, vComponent.toString());
+        }
+    }
+
+    /** Records vComponent removed from the VCalendar */
+    public void componentRemoved(VComponent vComponent)
+    {
+        if (! keys.containsKey(vComponent)) return;
+        String key = keys.remove(vComponent);
+        if (key == null)
+        {
+            compactUnaddressable();
+        } else
+        {
+            write(Operation.REMOVE, key, "");
+        }
+    }
+
+    /* A component without UID or TZID can't be found on replay, so the change is saved by a new snapshot instead */
+    private void compactUnaddressable()
+    {
+        try
+        {
+            compact();
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException("Can't compact journal " + journalPath, e);
+        }
+    }
+
+    /** Returns the size of the journal file in bytes */
+    public synchronized long size()
+    {
+        try
+        {
+            return channel.size();
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /** Forces the journal to the storage device */
+    public synchronized void sync() throws IOException
+    {
+        channel.force(false);
+    }
+
+    private synchronized void write(Operation operation, String key, String content)
+    {
+        if (channel == null)
+        {
+            throw new IllegalStateException("Journal is closed");
+        }
+        byte[] payload = (operation.name() + SEPARATOR + key + SEPARATOR + content).getBytes(StandardCharsets.UTF_8);
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        ByteBuffer buffer = ByteBuffer.allocate(FRAME_HEADER_LENGTH + payload.length);
+        buffer.putInt(payload.length);
+        buffer.putInt((int) crc.getValue());
+        buffer.put(payload);
+        buffer.flip();
+        try
+        {
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            if (syncOnWrite)
+            {
+                channel.force(false);
+            }
+            if ((compactionThreshold > 0) && (channel.size() >= compactionThreshold))
+            {
+                if (isCompacting())
+                {
+                    await(compaction); // changes outpace the snapshot writer, wait instead of letting the journal grow
+                }
+                compactInBackground();
+            }
+        } catch (IOException e)
+        {
+            throw new UncheckedIOException("Can't write to journal " + journalPath, e);
+        }
+    }
+
+    /*
+     * COMPACTION
+     */
+    /**
+     * Writes a new snapshot and starts an empty journal.  The VCalendar is serialized on the calling thread and
+     * the snapshot file is written in the background.  If a compaction is already running it is returned instead.
+     *
+     * @return  completes when the new snapshot is in place
+     */
+    public synchronized CompletableFuture<Void> compactInBackground() throws IOException
+    {
+        if (isCompacting())
+        {
+            return compaction;
+        }
+        String snapshot = vCalendar.toString();
+        rotate();
+        compaction = CompletableFuture.runAsync(() ->
+        {
+            try
+            {
+                writeSnapshot(snapshot, snapshotPath);
+                Files.delete(oldJournalPath);
+            } catch (IOException e)
+            {
+                throw new UncheckedIOException("Can't write snapshot " + snapshotPath, e);
+            }
+        }, COMPACTOR);
+        return compaction;
+    }
+
+    /** Writes a new snapshot of the current VCalendar and starts an empty journal, waiting until the snapshot is in place */
+    public void compact() throws IOException
+    {
+        CompletableFuture<Void> running;
+        synchronized (this)
+        {
+            running = isCompacting() ? compaction : null;
+        }
+        if (running != null)
+        {
+            await(running); // its snapshot was taken earlier
+        }
+        await(compactInBackground());
+    }
+
+    private synchronized boolean isCompacting()
+    {
+        return (compaction != null) && ! compaction.isDone();
+    }
+
+    /* Moves the journal's entries to the old journal and opens an empty journal */
+    private void rotate() throws IOException
+    {
+        channel.force(false);
+        if (Files.exists(oldJournalPath))
+        {
+            // previous compaction failed, its snapshot doesn't have the old entries
+            try (FileChannel oldChannel = FileChannel.open(oldJournalPath, StandardOpenOption.WRITE, StandardOpenOption.APPEND))
+            {
+                long size = channel.size();
+                long position = HEADER_LENGTH;
+                while (position < size)
+                {
+                    position += channel.transferTo(position, size - position, oldChannel);
+                }
+                oldChannel.force(false);
+            }
+            channel.close();
+            Files.delete(journalPath);
+        } else
+        {
+            channel.close();
+            Files.move(journalPath, oldJournalPath, StandardCopyOption.ATOMIC_MOVE);
+        }
+        channel = openJournal(journalPath);
+    }
+
+    private static void writeSnapshot(String snapshot, Path snapshotPath) throws IOException
+    {
+        Path tempPath = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+        try (FileChannel tempChannel = FileChannel.open(tempPath, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE))
+        {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(snapshot);
+            while (buffer.hasRemaining())
+            {
+                tempChannel.write(buffer);
+            }
+            tempChannel.force(true);
+        }
+        Files.move(tempPath, snapshotPath, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    /**
+     * Waits for a running compaction, forces the journal to the storage device and stops journaling the VCalendar.
+     */
+    @Override
+    public void close() throws IOException
+    {
+        CompletableFuture<Void> running;
+        synchronized (this)
+        {
+            if (channel == null) return;
+            running = compaction;
+        }
+        if (running != null)
+        {
+            await(running);
+        }
+        synchronized (this)
+        {
+            channel.force(false);
+            channel.close();
+            channel = null;
+        }
+        if (vCalendar.getJournal() == this)
+        {
+            vCalendar.setJournal(null);
+        }
+    }
+
+    private static void await(CompletableFuture<Void> future) throws IOException
+    {
+        try
+        {
+            future.join();
+        } catch (CompletionException e)
+        {
+            if (e.getCause() instanceof UncheckedIOException)
+            {
+                throw ((UncheckedIOException) e.getCause()).getCause();
+            }
+            throw e;
+        }
+    }
+
+    /*
+     * FILES
+     */
+    private static Path journalPath(Path snapshotPath)
+    {
+        return snapshotPath.resolveSibling(snapshotPath.getFileName() + JOURNAL_SUFFIX);
+    }
+
+    private static Path oldJournalPath(Path snapshotPath)
+    {
+        return snapshotPath.resolveSibling(snapshotPath.getFileName() + OLD_JOURNAL_SUFFIX);
+    }
+
+    /* Opens journal for appending, writing the header if new and truncating a torn last frame */
+    private static FileChannel openJournal(Path journalPath) throws IOException
+    {
+        FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        if (channel.size() == 0)
+        {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+            header.put(MAGIC);
+            header.putInt(VERSION);
+            header.flip();
+            while (header.hasRemaining())
+            {
+                channel.write(header);
+            }
+            channel.force(false);
+        } else
+        {
+            long end = new JournalReader(channel).validLength();
+            if (end < channel.size())
+            {
+                channel.truncate(end);
+                channel.force(false);
+            }
+        }
+        channel.position(channel.size());
+        return channel;
+    }
+
+    /**
+     * Returns the key of a component in journal entries: name, UID and RECURRENCE-ID, or name and TZID for VTIMEZONE.
+     * Null if the component has no UID or TZID; changes to such a component are saved by a compaction.
+     * The key is read from the children, the content the entries are made of, not from the property fields.
+     */
+    static String key(VComponent vComponent)
+    {
+        boolean isTimeZone = vComponent instanceof VTimeZone;
+        Object identifier = null;
+        Object recurrenceId = null;
+        for (VChild child : vComponent.childrenUnmodifiable())
+        {
+            if (isTimeZone && (child instanceof TimeZoneIdentifier))
+            {
+                identifier = ((TimeZoneIdentifier) child).getValue();
+            } else if ((vComponent instanceof VPersonal) && (child instanceof UniqueIdentifier))
+            {
+                identifier = ((UniqueIdentifier) child).getValue();
+            } else if ((vComponent instanceof VDisplayable) && (child instanceof RecurrenceId))
+            {
+                recurrenceId = ((RecurrenceId) child).getValue();
+            }
+        }
+        if (identifier == null) return null;
+        String key = vComponent.name() + ":" + identifier;
+        return (recurrenceId == null) ? key : key + ";" + recurrenceId;
+    }
+
+    /* Reads frames from a journal file */
+    private static class JournalReader
+    {
+        private final ByteBuffer buffer;
+
+        JournalReader(FileChannel channel) throws IOException
+        {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE)
+            {
+                throw new IOException("Journal is too large:" + size);
+            }
+            buffer = ByteBuffer.allocate((int) size);
+            channel.position(0);
+            while (buffer.hasRemaining() && (channel.read(buffer) >= 0)) { }
+            buffer.flip();
+            if (size >= HEADER_LENGTH)
+            {
+                byte[] magic = new byte[MAGIC.length];
+                buffer.get(magic);
+                int version = buffer.getInt();
+                if (! Arrays.equals(magic, MAGIC) || (version != VERSION))
+                {
+                    throw new IOException("Not a VCalendar journal, or unsupported version");
+                }
+            } else
+            {
+                buffer.position(buffer.limit()); // torn header
+            }
+        }
+
+        /* Payload of the next frame, or null at end or at a torn or corrupt frame */
+        String next()
+        {
+            if (buffer.remaining() < FRAME_HEADER_LENGTH) return null;
+            int start = buffer.position();
+            int length = buffer.getInt();
+            int checksum = buffer.getInt();
+            if ((length < 0) || (length > buffer.remaining()))
+            {
+                buffer.position(start);
+                return null;
+            }
+            byte[] payload = new byte[length];
+            buffer.get(payload);
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+            if ((int) crc.getValue() != checksum)
+            {
+                buffer.position(start);
+                return null;
+            }
+            return new String(payload, StandardCharsets.UTF_8);
+        }
+
+        /* Length of the header and valid frames, the rest is torn */
+        long validLength()
+        {
+            if (buffer.limit() < HEADER_LENGTH) return 0;
+            while (next() != null) { }
+            return buffer.position();
+        }
+    }
+
+    /* Applies journal entries to a VCalendar */
+    private static class Replay
+    {
+        private final VCalendar vCalendar;
+        private final Map<String, VComponent> components = new HashMap<>();
+
+        Replay(VCalendar vCalendar)
+        {
+            this.vCalendar = vCalendar;
+            for (VChild child : vCalendar.childrenUnmodifiable())
+            {
+                if (child instanceof VComponent)
+                {
+                    String key = key((VComponent) child);
+                    if (key != null)
+                    {
+                        components.put(key, (VComponent) child);
+                    }
+                }
+            }
+        }
+
+        void replay(Path journalPath) throws IOException
+        {
+            if (! Files.exists(journalPath)) return;
+            try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.READ))
+            {
+                JournalReader reader = new JournalReader(channel);
+                String payload;
+                while ((payload = reader.next()) != null)
+                {
+                    apply(payload);
+                }
+            }
+        }
+
+        private void apply(String payload)
+        {
+            int operationEnd = payload.indexOf(SEPARATOR);
+            int keyEnd = payload.indexOf(SEPARATOR, operationEnd + 1);
+            Operation operation = Operation.valueOf(payload.substring(0, operationEnd));
+            String key = payload.substring(operationEnd + 1, keyEnd);
+            String content = payload.substring(keyEnd + 1);
+            switch (operation)
+            {
+            case ADD:
+            case REPLACE:
+            {
+                VComponent vComponent = parse(content);
+                String newKey = key(vComponent);
+                VComponent existing = components.remove(key);
+                if (existing == null)
+                {
+                    // key changed in an entry that is already in the snapshot
+                    existing = components.remove(newKey);
+                }
+                if (existing == null)
+                {
+                    vCalendar.addChild(vComponent);
+                } else
+                {
+                    replace(existing, vComponent);
+                }
+                components.put(newKey, vComponent);
+                break;
+            }
+            case REMOVE:
+            {
+                VComponent existing = components.remove(key);
+                if (existing != null)
+                {
+                    vCalendar.removeChild(existing);
+                }
+                break;
+            }
+            default:
+                throw new RuntimeException("Unsupported operation:" + operation);
+            }
+        }
+
+        /* Replaces component, keeping its position in the calendar */
+        private void replace(VComponent existing, VComponent vComponent)
+        {
+            @SuppressWarnings("unchecked")
+            List<VComponent> list = (List<VComponent>) vCalendar.getVComponents(existing);
+            for (int i=0; i<list.size(); i++)
+            {
+                if (list.get(i) == existing)
+                {
+                    list.set(i, vComponent);
+                    vComponent.setParent(vCalendar);
+                    vCalendar.replaceChild(existing, vComponent);
+                    return;
+                }
+            }
+            throw new RuntimeException("VComponent isn't in VCalendar:" + existing.name());
+        }
+
+        /* Parses component content, written with the line separator of the platform that wrote the journal */
+        private static VComponent parse(String content)
+        {
+            String lines = content.replace("\r\n", "\n").replace("\n", System.lineSeparator());
+            String name = lines.substring("BEGIN:".length(), lines.indexOf(System.lineSeparator()));
+            VComponentElement element = VComponentElement.fromName(name);
+            if (element == null)
+            {
+                throw new RuntimeException("Unsupported VComponent type:" + name);
+            }
+            return element.parse(lines);
+        }
+    }
+}
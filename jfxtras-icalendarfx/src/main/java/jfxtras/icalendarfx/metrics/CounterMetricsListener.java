@@ -0,0 +1,141 @@
+package jfxtras.icalendarfx.metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import jfxtras.icalendarfx.VElementBase.MessageEffect;
+
+/**
+ * {@link ICalendarMetricsListener} that adds up counts and times in {@link LongAdder LongAdders}, so it's cheap
+ * to leave registered in production and can be shared by parsing threads.  Read the totals with the getters or
+ * {@link #report()}.
+ */
+public class CounterMetricsListener implements ICalendarMetricsListener
+{
+    /** Count and total time of one kind of event */
+    public static class Counter
+    {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder nanos = new LongAdder();
+        private final LongAdder size = new LongAdder();
+
+        void add(long nanos, long size)
+        {
+            count.increment();
+            this.nanos.add(nanos);
+            this.size.add(size);
+        }
+
+        /** Number of events */
+        public long getCount() { return count.sum(); }
+        /** Total time, in nanoseconds */
+        public long getNanos() { return nanos.sum(); }
+        /** Total size, such as physical lines or characters */
+        public long getSize() { return size.sum(); }
+
+        void reset()
+        {
+            count.reset();
+            nanos.reset();
+            size.reset();
+        }
+
+        @Override
+        public String toString()
+        {
+            return "count=" + getCount() + " ms=" + TimeUnit.NANOSECONDS.toMillis(getNanos()) + " size=" + getSize();
+        }
+    }
+
+    private final Counter unfolded = new Counter();
+    private final ConcurrentMap<String, Counter> parsed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> serialized = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> iTIPProcessed = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MessageEffect, LongAdder> messages = new ConcurrentHashMap<>();
+
+    @Override
+    public void lineUnfolded(int physicalLines, long nanos)
+    {
+        unfolded.add(nanos, physicalLines);
+    }
+
+    @Override
+    public void elementParsed(String name, long nanos)
+    {
+        counter(parsed, name).add(nanos, 0);
+    }
+
+    @Override
+    public void messageCreated(MessageEffect effect)
+    {
+        messages.computeIfAbsent(effect, e -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void elementSerialized(String name, int length, long nanos)
+    {
+        counter(serialized, name).add(nanos, length);
+    }
+
+    @Override
+    public void iTIPMessageProcessed(String method, long nanos)
+    {
+        counter(iTIPProcessed, method).add(nanos, 0);
+    }
+
+    private static Counter counter(ConcurrentMap<String, Counter> counters, String name)
+    {
+        Counter counter = counters.get(name);
+        return (counter == null) ? counters.computeIfAbsent(name, n -> new Counter()) : counter;
+    }
+
+    /** Unfolded content lines: count is unfolded lines, size is physical lines */
+    public Counter getUnfoldedLines() { return unfolded; }
+    /** Parsed elements by name, such as VEVENT */
+    public Map<String, Counter> getParsedElements() { return new TreeMap<>(parsed); }
+    /** Serialized elements by name: size is characters */
+    public Map<String, Counter> getSerializedElements() { return new TreeMap<>(serialized); }
+    /** Processed iTIP messages by METHOD */
+    public Map<String, Counter> getProcessedITIPMessages() { return new TreeMap<>(iTIPProcessed); }
+    /** Number of messages made with effect */
+    public long getMessageCount(MessageEffect effect)
+    {
+        LongAdder count = messages.get(effect);
+        return (count == null) ? 0 : count.sum();
+    }
+
+    /** Sets all counters to zero */
+    public void reset()
+    {
+        unfolded.reset();
+        parsed.values().forEach(c -> c.reset());
+        serialized.values().forEach(c -> c.reset());
+        iTIPProcessed.values().forEach(c -> c.reset());
+        messages.values().forEach(c -> c.reset());
+    }
+
+    /** Multi-line summary of all counters */
+    public String report()
+    {
+        StringBuilder builder = new StringBuilder();
+        builder.append("unfolded lines: " + unfolded + System.lineSeparator());
+        getParsedElements().forEach((n, c) -> builder.append("parsed " + n + ": " + c + System.lineSeparator()));
+        getSerializedElements().forEach((n, c) -> builder.append("serialized " + n + ": " + c + System.lineSeparator()));
+        getProcessedITIPMessages().forEach((n, c) -> builder.append("iTIP " + n + ": " + c + System.lineSeparator()));
+        for (MessageEffect effect : MessageEffect.values())
+        {
+            builder.append("messages " + effect + ": " + getMessageCount(effect) + System.lineSeparator());
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public String toString()
+    {
+        return report();
+    }
+}
@@ -0,0 +1,96 @@
+package jfxtras.icalendarfx.metrics;
+
+/**
+ * <p>Registry of the {@link ICalendarMetricsListener} that receives metrics.  A listener scoped to the current
+ * thread takes precedence over the global listener.  With neither registered, a no-op listener is used and no
+ * timings are taken.</p>
+ *
+ * <pre>
+ * CounterMetricsListener counters = new CounterMetricsListener();
+ * ICalendarMetrics.Scope scope = ICalendarMetrics.scope(counters);
+ * try
+ * {
+ *     vCalendar = VCalendar.parse(reader);
+ * } finally
+ * {
+ *     scope.close();
+ * }
+ * System.out.println(counters.report());
+ * </pre>
+ */
+public final class ICalendarMetrics
+{
+    private ICalendarMetrics() { }
+
+    /** Listener that ignores everything */
+    public static final ICalendarMetricsListener NO_OP = new ICalendarMetricsListener() { };
+
+    private static volatile ICalendarMetricsListener globalListener = NO_OP;
+    private static final ThreadLocal<ICalendarMetricsListener> SCOPED_LISTENER = new ThreadLocal<>();
+
+    /** Global listener, used by all threads without a scoped listener */
+    public static ICalendarMetricsListener getGlobalListener() { return globalListener; }
+    /** Set global listener, or null to remove it */
+    public static void setGlobalListener(ICalendarMetricsListener listener)
+    {
+        globalListener = (listener == null) ? NO_OP : listener;
+    }
+
+    /** Listener for the current thread: the scoped listener, otherwise the global listener */
+    public static ICalendarMetricsListener listener()
+    {
+        ICalendarMetricsListener listener = SCOPED_LISTENER.get();
+        return (listener == null) ? globalListener : listener;
+    }
+
+    /** Start time for a timing, or 0 if listener is {@link #NO_OP} so the clock isn't read */
+    public static long start(ICalendarMetricsListener listener)
+    {
+        return (listener == NO_OP) ? 0 : System.nanoTime();
+    }
+
+    /** Time elapsed since a start from {@link #start(ICalendarMetricsListener)} */
+    public static long elapsed(long start)
+    {
+        return (start == 0) ? 0 : System.nanoTime() - start;
+    }
+
+    /**
+     * Use listener on the current thread until the returned scope is closed.  Scopes nest.
+     *
+     * @param listener - listener, or null to keep the current one
+     * @return - scope that restores the previous listener when closed
+     */
+    public static Scope scope(ICalendarMetricsListener listener)
+    {
+        ICalendarMetricsListener previous = SCOPED_LISTENER.get();
+        if (listener != null)
+        {
+            SCOPED_LISTENER.set(listener);
+        }
+        return new Scope(previous);
+    }
+
+    /** Restores the previous thread listener when closed, see {@link ICalendarMetrics#scope(ICalendarMetricsListener)} */
+    public static final class Scope implements AutoCloseable
+    {
+        private final ICalendarMetricsListener previous;
+
+        private Scope(ICalendarMetricsListener previous)
+        {
+            this.previous = previous;
+        }
+
+        @Override
+        public void close()
+        {
+            if (previous == null)
+            {
+                SCOPED_LISTENER.remove();
+            } else
+            {
+                SCOPED_LISTENER.set(previous);
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package jfxtras.icalendarfx.metrics;
+
+import jfxtras.icalendarfx.VElementBase.MessageEffect;
+
+/**
+ * <p>Receives counters and timings from parsing, content line generation and iTIP processing.  Register one
+ * globally or for a single thread with {@link ICalendarMetrics}, or for one {@link jfxtras.icalendarfx.VCalendar VCalendar}
+ * with {@link jfxtras.icalendarfx.VCalendar#setMetricsListener(ICalendarMetricsListener) setMetricsListener}.</p>
+ *
+ * <p>Methods are called on the parsing thread, often once per content line, so implementations must be fast and
+ * thread-safe.  All methods do nothing by default.  See {@link CounterMetricsListener} for a ready-made implementation.</p>
+ */
+public interface ICalendarMetricsListener
+{
+    /**
+     * An unfolded content line was produced by {@link jfxtras.icalendarfx.content.UnfoldingStringIterator} or
+     * {@link jfxtras.icalendarfx.content.UnfoldingChannelReader}
+     *
+     * @param physicalLines - number of lines joined, 1 if the line wasn't folded
+     * @param nanos - time spent unfolding
+     */
+    default void lineUnfolded(int physicalLines, long nanos) { }
+
+    /**
+     * A calendar or component finished parsing
+     *
+     * @param name - element name, such as VEVENT
+     * @param nanos - time spent, including nested components
+     */
+    default void elementParsed(String name, long nanos) { }
+
+    /** A parse or validation message was made */
+    default void messageCreated(MessageEffect effect) { }
+
+    /**
+     * Content lines of a calendar or component were generated
+     *
+     * @param name - element name, such as VEVENT
+     * @param length - number of characters
+     * @param nanos - time spent, including nested components
+     */
+    default void elementSerialized(String name, int length, long nanos) { }
+
+    /**
+     * An iTIP message was processed by {@link jfxtras.icalendarfx.VCalendar#processITIPMessage(java.util.Collection)}
+     *
+     * @param method - METHOD of the message, such as REQUEST
+     * @param nanos - time spent
+     */
+    default void iTIPMessageProcessed(String method, long nanos) { }
+}
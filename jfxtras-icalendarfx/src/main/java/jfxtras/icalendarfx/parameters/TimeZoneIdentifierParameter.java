@@ -5,6 +5,7 @@ import java.time.ZoneId;
 import jfxtras.icalendarfx.parameters.TimeZoneIdentifierParameter;
 import jfxtras.icalendarfx.parameters.VParameterBase;
 import jfxtras.icalendarfx.utilities.StringConverter;
+import jfxtras.icalendarfx.utilities.ZoneConversions;
 
 /**
  * TZID
@@ -33,7 +34,7 @@ public class TimeZoneIdentifierParameter extends VParameterBase<TimeZoneIdentifi
         @Override
         public ZoneId fromString(String string)
         {
-            return ZoneId.of(string);
+            return ZoneConversions.zoneId(string);
         }
     };
     
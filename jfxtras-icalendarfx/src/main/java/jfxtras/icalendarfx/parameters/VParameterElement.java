@@ -40,6 +40,7 @@ import jfxtras.icalendarfx.properties.VProperty;
 import jfxtras.icalendarfx.properties.ValueType;
 import jfxtras.icalendarfx.utilities.StringConverter;
 import jfxtras.icalendarfx.utilities.StringConverters;
+import jfxtras.icalendarfx.utilities.ZoneConversions;
 
 /**
  * For each VComponent property parameter (RFC 5545, 3.2, page 13) contains the following: <br>
@@ -319,7 +320,7 @@ public enum VParameterElement
                 @Override
                 public T fromString(String string)
                 {
-                    return (T) ZoneId.of(string);
+                    return (T) ZoneConversions.zoneId(string);
                 }
             };
         }
@@ -4,6 +4,7 @@ import java.net.URI;
 
 import javax.annotation.Resources;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.parameters.AlternateText;
 import jfxtras.icalendarfx.properties.PropAltText;
 import jfxtras.icalendarfx.properties.PropBaseAltText;
@@ -69,8 +70,9 @@ public abstract class PropBaseAltText<T,U> extends PropBaseLanguage<T,U> impleme
     @Override
     public void setAlternateText(AlternateText alternateText)
     {
-    	orderChild(this.alternateText, alternateText);
+    	VChild oldChild = this.alternateText;
     	this.alternateText = alternateText;
+    	orderChild(oldChild, alternateText);
 	}
     public void setAlternateText(String value)
     {
@@ -4,11 +4,13 @@ import java.time.DateTimeException;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.Temporal;
 import java.util.Collection;
 import java.util.List;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.parameters.TimeZoneIdentifierParameter;
 import jfxtras.icalendarfx.parameters.VParameterElement;
 import jfxtras.icalendarfx.parameters.ValueParameter;
@@ -53,8 +55,9 @@ public abstract class PropBaseDateTime<T,U> extends VPropertyBase<T,U> implement
     {
         if ((myElement == null) || (myElement instanceof ZonedDateTime))
         {
-        	orderChild(this.timeZoneIdentifier, timeZoneIdentifier);
+        	VChild oldChild = this.timeZoneIdentifier;
             this.timeZoneIdentifier = timeZoneIdentifier;
+        	orderChild(oldChild, timeZoneIdentifier);
         } else
         {
             throw new DateTimeException(VParameterElement.TIME_ZONE_IDENTIFIER.name() + " can't be set for date-time of type " + getValue().getClass().getSimpleName());
@@ -135,7 +138,7 @@ public abstract class PropBaseDateTime<T,U> extends VPropertyBase<T,U> implement
             if (myElement instanceof ZonedDateTime)
             {
                 ZoneId zone = ((ZonedDateTime) myElement).getZone();
-                if (! zone.equals(ZoneId.of("Z")))
+                if (! zone.equals(ZoneOffset.UTC))
                 {
                     if (getValueType() != null && getValueType().getValue() == ValueType.DATE)
                 	{
@@ -1,5 +1,6 @@
 package jfxtras.icalendarfx.properties;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.parameters.Language;
 import jfxtras.icalendarfx.properties.component.descriptive.Categories;
 import jfxtras.icalendarfx.properties.component.timezone.TimeZoneName;
@@ -32,8 +33,9 @@ public abstract class PropBaseLanguage<T,U> extends VPropertyBase<T,U> implement
     @Override
     public void setLanguage(Language language)
     {
-    	orderChild(this.language, language);
+    	VChild oldChild = this.language;
     	this.language = language;
+    	orderChild(oldChild, language);
 	}
     public void setLanguage(String value)
     {
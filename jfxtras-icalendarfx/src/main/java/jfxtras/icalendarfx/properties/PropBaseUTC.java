@@ -2,6 +2,7 @@ package jfxtras.icalendarfx.properties;
 
 import java.time.DateTimeException;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 
 import jfxtras.icalendarfx.properties.PropBaseUTC;
@@ -44,7 +45,7 @@ public abstract class PropBaseUTC<U extends PropBaseUTC<U>> extends VPropertyBas
     public void setValue(ZonedDateTime value)
     {
         ZoneId zone = value.getZone();
-        if (! zone.equals(ZoneId.of("Z")))
+        if (! zone.equals(ZoneOffset.UTC))
         {
             throw new DateTimeException("Unsupported ZoneId:" + zone + " only Z supported");
         }
@@ -55,7 +56,7 @@ public abstract class PropBaseUTC<U extends PropBaseUTC<U>> extends VPropertyBas
     public boolean isValid()
     {
         ZoneId zone = getValue().getZone();
-        if (! zone.equals(ZoneId.of("Z")))
+        if (! zone.equals(ZoneOffset.UTC))
         {
             return false;
         }
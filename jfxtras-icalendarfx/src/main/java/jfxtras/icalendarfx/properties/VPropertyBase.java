@@ -8,9 +8,11 @@ import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.VElement;
 import jfxtras.icalendarfx.VParent;
 import jfxtras.icalendarfx.VParentBase;
+import jfxtras.icalendarfx.components.VComponentBase;
 import jfxtras.icalendarfx.content.SingleLineContent;
 import jfxtras.icalendarfx.parameters.NonStandardParameter;
 import jfxtras.icalendarfx.parameters.VParameter;
@@ -53,6 +55,33 @@ public abstract class VPropertyBase<T,U> extends VParentBase<U> implements VProp
     {
     	return myParent;
 	}
+
+    /*
+     * Tell the parent component when a parameter is set or replaced, so its VCalendar stays current.
+     * Setters assign their field before ordering the child, so listeners see the new value.
+     */
+    @Override
+    public void orderChild(VChild addedChild)
+    {
+        super.orderChild(addedChild);
+        propertyChanged();
+    }
+
+    @Override
+    public void orderChild(VChild oldChild, VChild newChild)
+    {
+        super.orderChild(oldChild, newChild);
+        propertyChanged();
+    }
+
+    /** Tells the parent component that this property changed, see {@link VComponentBase#propertyChanged(VProperty)} */
+    public void propertyChanged()
+    {
+        if (myParent instanceof VComponentBase)
+        {
+            ((VComponentBase<?>) myParent).propertyChanged(this);
+        }
+    }
     
     /**
      * PROPERTY VALUE
@@ -186,9 +215,10 @@ public abstract class VPropertyBase<T,U> extends VParentBase<U> implements VProp
     {
         if (valueType == null || isValueTypeValid(valueType.getValue()))
         {
-        	orderChild(this.valueType, valueType);
+        	VChild oldChild = this.valueType;
             this.valueType = valueType;
             valueParamenterConverter(valueType); // convert new value
+        	orderChild(oldChild, valueType);
         } else
         {
             throw new IllegalArgumentException("Invalid Value Date Type:" + valueType.getValue() + ", allowed = " + allowedValueTypes);
@@ -249,11 +279,12 @@ public abstract class VPropertyBase<T,U> extends VParentBase<U> implements VProp
     @Override
     public void setNonStandard(List<NonStandardParameter> nonStandardParams)
     {
-    	if (this.nonStandardParams != null)
+    	List<? extends VChild> oldElements = this.nonStandardParams;
+        this.nonStandardParams = nonStandardParams;
+    	if (oldElements != null)
     	{
-    		this.nonStandardParams.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-        this.nonStandardParams = nonStandardParams;
     	if (nonStandardParams != null)
     	{
         	nonStandardParams.forEach(e -> orderChild(e));
@@ -517,13 +548,19 @@ public abstract class VPropertyBase<T,U> extends VParentBase<U> implements VProp
         return (isValueTypeOK || isUnknownType);
     }
 
-    @Override
-    public String toString()
+    /** Content line before folding */
+    public String toUnfoldedString()
     {
         StringBuilder builder = new StringBuilder(super.toString());
         builder.append(":" + valueContent());
+        return builder.toString();
+    }
+
+    @Override
+    public String toString()
+    {
         // return folded line
-        return ICalendarUtilities.foldLine(builder).toString();
+        return ICalendarUtilities.foldLine(toUnfoldedString()).toString();
     }
     
     @Override // Note: can't check equality of parents - causes stack overflow
@@ -2,6 +2,7 @@ package jfxtras.icalendarfx.properties.component.alarm;
 
 import java.time.DateTimeException;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
 import java.time.temporal.TemporalAmount;
 import java.util.List;
@@ -51,8 +52,8 @@ public class Trigger<T> extends VPropertyBase<T, Trigger<T>> implements PropAlar
            ValueType valueType = (getValueType() == null) ? defaultValueType : getValueType().getValue();
            if (valueType == ValueType.DURATION)
            {
-        	   orderChild(relationship);
                this.relationship = relationship;
+        	   orderChild(relationship);
            } else
            {
                throw new IllegalArgumentException("Alarm Trigger Relationship can only be set if value type is DURATION");
@@ -82,7 +83,7 @@ public class Trigger<T> extends VPropertyBase<T, Trigger<T>> implements PropAlar
         if (value instanceof ZonedDateTime)
         {
             ZoneId zone = ((ZonedDateTime) value).getZone();
-            if (! zone.equals(ZoneId.of("Z")))
+            if (! zone.equals(ZoneOffset.UTC))
             {
                 throw new DateTimeException("Unsupported ZoneId:" + zone + " only Z supported");
             }
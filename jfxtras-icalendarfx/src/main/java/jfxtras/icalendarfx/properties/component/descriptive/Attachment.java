@@ -101,8 +101,8 @@ public class Attachment<T> extends VPropertyBase<T, Attachment<T>> implements Pr
    @Override
    public void setFormatType(FormatType formatType)
    {
-       orderChild(formatType);
 	   this.formatType = formatType;
+       orderChild(formatType);
    }
    public Attachment<T> withFormatType(FormatType format) { setFormatType(format); return this; }
    public Attachment<T> withFormatType(String format) { setFormatType(FormatType.parse(format)); return this; }
@@ -128,8 +128,8 @@ public class Attachment<T> extends VPropertyBase<T, Attachment<T>> implements Pr
        {
            throw new IllegalArgumentException("Attachment property only allows ENCODING to be set to" + EncodingType.BASE64);
        }
-       orderChild(encoding);
        this.encoding = encoding;
+       orderChild(encoding);
    }
    public Attachment<T> withEncoding(Encoding encoding) { setEncoding(encoding); return this; }
    public Attachment<T> withEncoding(EncodingType encoding) { setEncoding(new Encoding(encoding)); return this; }
@@ -2,6 +2,7 @@ package jfxtras.icalendarfx.properties.component.misc;
 
 import java.net.URI;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.parameters.AlarmTriggerRelationship;
 import jfxtras.icalendarfx.parameters.AlternateText;
 import jfxtras.icalendarfx.parameters.Encoding;
@@ -75,8 +76,9 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setAlternateText(AlternateText alternateText)
     {
-    	orderChild(this.alternateText, alternateText);
+    	VChild oldChild = this.alternateText;
     	this.alternateText = alternateText;
+    	orderChild(oldChild, alternateText);
 	}
     public void setAlternateText(String value) { setAlternateText(AlternateText.parse(value)); }
     public U withAlternateText(AlternateText altrep) { setAlternateText(altrep); return (U) this; }
@@ -100,8 +102,9 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setEncoding(Encoding encoding)
     {
-    	orderChild(this.encoding, encoding);
+    	VChild oldChild = this.encoding;
     	this.encoding = encoding;
+    	orderChild(oldChild, encoding);
 	}
     public U withEncoding(Encoding encoding) { setEncoding(encoding); return (U) this; }
     public U withEncoding(EncodingType encoding) { setEncoding(new Encoding(encoding)); return (U) this; }
@@ -120,8 +123,9 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setFreeBusyType(FreeBusyType freeBusyType)
     {
-    	orderChild(this.freeBusyType, freeBusyType);
+    	VChild oldChild = this.freeBusyType;
     	this.freeBusyType = freeBusyType;
+    	orderChild(oldChild, freeBusyType);
 	}
     public void setFreeBusyType(FreeBusyTypeEnum type) { setFreeBusyType(new FreeBusyType(type)); }
     public U withFreeBusyType(FreeBusyType freeBusyType) { setFreeBusyType(freeBusyType); return (U)this; }
@@ -139,8 +143,9 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setFormatType(FormatType formatType)
     {
-    	orderChild(this.formatType, formatType);
+    	VChild oldChild = this.formatType;
     	this.formatType = formatType;
+    	orderChild(oldChild, formatType);
 	}
     public void setFormatType(String formatType) { setFormatType(FormatType.parse(formatType)); }
     public U withFormatType(FormatType format) { setFormatType(format); return (U) this; }
@@ -167,8 +172,9 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setRange(Range range)
     {
-    	orderChild(this.range, range);
+    	VChild oldChild = this.range;
     	this.range = range;
+    	orderChild(oldChild, range);
 	}
     public void setRange(String value) { setRange(new Range(value)); }
     public U withRange(Range altrep) { setRange(altrep); return (U) this; }
@@ -187,8 +193,8 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setAlarmTrigger(AlarmTriggerRelationship alarmTrigger)
     {
-    	orderChild(alarmTrigger);
     	this.alarmTrigger = alarmTrigger;
+    	orderChild(alarmTrigger);
 	}
     public void setAlarmTrigger(String AlarmTrigger) { setAlarmTrigger(AlarmTriggerRelationship.parse(AlarmTrigger));; }
     public void setAlarmTrigger(AlarmTriggerRelationshipType type) { setAlarmTrigger(new AlarmTriggerRelationship(type)); } 
@@ -214,8 +220,9 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setRelationship(Relationship relationship)
     {
-    	orderChild(this.relationship, relationship);
+    	VChild oldChild = this.relationship;
     	this.relationship = relationship;
+    	orderChild(oldChild, relationship);
 	}
     public void setRelationship(String value) { setRelationship(Relationship.parse(value)); }
     public U withRelationship(Relationship altrep) { setRelationship(altrep); return (U) this; }
@@ -237,8 +244,9 @@ public abstract class UnknownProperty<T,U> extends PropertyBaseAttendee<T,U> imp
     @Override
     public void setTimeZoneIdentifier(TimeZoneIdentifierParameter timeZoneIdentifier)
     {
-    	orderChild(this.timeZoneIdentifier, timeZoneIdentifier);
+    	VChild oldChild = this.timeZoneIdentifier;
     	this.timeZoneIdentifier = timeZoneIdentifier;
+    	orderChild(oldChild, timeZoneIdentifier);
 	}
     public void setTimeZoneIdentifier(String value)
     {
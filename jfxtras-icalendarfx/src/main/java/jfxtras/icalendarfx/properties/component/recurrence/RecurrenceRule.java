@@ -43,6 +43,17 @@ public class RecurrenceRule extends VPropertyBase<RecurrenceRuleValue, Recurrenc
         super(source);
     }
 
+    /* The value is the parent of the rule parts, and tells this property when they change */
+    @Override
+    public void setValue(RecurrenceRuleValue value)
+    {
+        super.setValue(value);
+        if (value != null)
+        {
+            value.setParent(this);
+        }
+    }
+
     @Override
     protected RecurrenceRuleValue copyValue(RecurrenceRuleValue source)
     {
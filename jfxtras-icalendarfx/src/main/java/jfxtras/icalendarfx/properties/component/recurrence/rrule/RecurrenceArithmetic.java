@@ -0,0 +1,283 @@
+package jfxtras.icalendarfx.properties.component.recurrence.rrule;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByDay;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByHour;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByMinute;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByMonth;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByMonthDay;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.ByRule;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.BySecond;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.byxxx.BySetPosition;
+import jfxtras.icalendarfx.utilities.DateTimeUtilities;
+
+/**
+ * Closed-form positions of the recurrences of a {@link RecurrenceRuleValue}, ignoring COUNT and UNTIL.
+ *
+ * <p>For the supported rules the recurrences after the DTSTART period repeat with a fixed cycle: the values of
+ * the periods in one cycle, shifted by a whole number of cycles.  Only the first period and one cycle are
+ * streamed, so finding the nth recurrence or counting the recurrences before a date doesn't depend on how far
+ * it is from DTSTART.</p>
+ *
+ * <p>Supported rules:
+ * <ul>
+ * <li>HOURLY, MINUTELY and SECONDLY without byRules
+ * <li>DAILY and WEEKLY with BYDAY without ordinals, BYHOUR, BYMINUTE, BYSECOND and BYSETPOS
+ * <li>MONTHLY with BYMONTHDAY from 1 to 28, BYHOUR, BYMINUTE, BYSECOND and BYSETPOS
+ * <li>YEARLY with BYMONTH, BYMONTHDAY from 1 to 28, BYHOUR, BYMINUTE, BYSECOND and BYSETPOS
+ * </ul>
+ * MONTHLY and YEARLY rules without BYMONTHDAY also need a DTSTART day of month of 28 or less.</p>
+ */
+final class RecurrenceArithmetic
+{
+    private static final int MAX_SAFE_DAY_OF_MONTH = 28;
+
+    private final Temporal dateTimeStart;
+    private final ChronoUnit unit;
+    private final long cycleLength; // in unit
+    private final List<Temporal> firstPeriod; // recurrences of the DTSTART period
+    private final List<Temporal> cycle; // recurrences of the periods after the first, for one cycle
+
+    private RecurrenceArithmetic(Temporal dateTimeStart, ChronoUnit unit, long cycleLength, List<Temporal> firstPeriod,
+            List<Temporal> cycle)
+    {
+        this.dateTimeStart = dateTimeStart;
+        this.unit = unit;
+        this.cycleLength = cycleLength;
+        this.firstPeriod = firstPeriod;
+        this.cycle = cycle;
+    }
+
+    /**
+     * Arithmetic for rrule starting at dateTimeStart
+     *
+     * @return - arithmetic, or null if rrule isn't supported and must be iterated
+     */
+    static RecurrenceArithmetic of(RecurrenceRuleValue rrule, Temporal dateTimeStart)
+    {
+        if (rrule.getFrequency() == null)
+        {
+            return null;
+        }
+        FrequencyType frequency = rrule.getFrequency().getValue();
+        int interval = (rrule.getInterval() == null) ? Interval.DEFAULT_INTERVAL : rrule.getInterval().getValue();
+        List<ByRule<?>> byRules = (rrule.getByRules() == null) ? Collections.emptyList() : rrule.getByRules();
+        long periods = periodsInCycle(frequency, interval, byRules, dateTimeStart);
+        if (periods == 0)
+        {
+            return null;
+        }
+
+        List<Temporal> anchors = rrule.getFrequency()
+                .streamRecurrences(dateTimeStart, interval)
+                .limit(periods + 1)
+                .collect(Collectors.toList());
+        List<Temporal> firstPeriod = rrule.streamPeriod(anchors.get(0), dateTimeStart).collect(Collectors.toList());
+        List<Temporal> cycle = new ArrayList<>();
+        for (Temporal anchor : anchors.subList(1, anchors.size()))
+        {
+            cycle.addAll(rrule.streamPeriod(anchor, dateTimeStart).collect(Collectors.toList()));
+        }
+        RecurrenceArithmetic arithmetic = new RecurrenceArithmetic(dateTimeStart, frequency.getChronoUnit(),
+                periods * interval, firstPeriod, cycle);
+        return arithmetic.isAscending() ? arithmetic : null;
+    }
+
+    /*
+     * Number of frequency periods until the recurrences repeat, or 0 if they don't repeat in a way that can be
+     * shifted by adding the frequency unit
+     */
+    private static long periodsInCycle(FrequencyType frequency, int interval, List<ByRule<?>> byRules,
+            Temporal dateTimeStart)
+    {
+        boolean isByDayPresent = false;
+        boolean isByMonthDayPresent = false;
+        for (ByRule<?> byRule : byRules)
+        {
+            if ((byRule instanceof ByHour) || (byRule instanceof ByMinute) || (byRule instanceof BySecond)
+                    || (byRule instanceof BySetPosition))
+            {
+                if (! frequency.getChronoUnit().isDateBased())
+                {
+                    return 0;
+                }
+            } else if (byRule instanceof ByDay)
+            {
+                if (((frequency != FrequencyType.DAILY) && (frequency != FrequencyType.WEEKLY)) || ((ByDay) byRule).hasOrdinals())
+                {
+                    return 0;
+                }
+                isByDayPresent = true;
+            } else if (byRule instanceof ByMonthDay)
+            {
+                boolean isSafe = ((ByMonthDay) byRule).getValue()
+                        .stream()
+                        .allMatch(d -> (d >= 1) && (d <= MAX_SAFE_DAY_OF_MONTH));
+                if (((frequency != FrequencyType.MONTHLY) && (frequency != FrequencyType.YEARLY)) || ! isSafe)
+                {
+                    return 0;
+                }
+                isByMonthDayPresent = true;
+            } else if (byRule instanceof ByMonth)
+            {
+                if (frequency != FrequencyType.YEARLY)
+                {
+                    return 0;
+                }
+            } else
+            {
+                return 0;
+            }
+        }
+        switch (frequency)
+        {
+        case DAILY:
+            // day of week filter repeats every week
+            return (isByDayPresent) ? lcm(interval, 7) / interval : 1;
+        case MONTHLY:
+        case YEARLY:
+            // adding months or years to a day after the 28th can change the day of month
+            if (! isByMonthDayPresent && (dateTimeStart.get(ChronoField.DAY_OF_MONTH) > MAX_SAFE_DAY_OF_MONTH))
+            {
+                return 0;
+            }
+            return 1;
+        default:
+            return 1;
+        }
+    }
+
+    private static long lcm(long a, long b)
+    {
+        long x = a;
+        long y = b;
+        while (y != 0)
+        {
+            long remainder = x % y;
+            x = y;
+            y = remainder;
+        }
+        return a / x * b;
+    }
+
+    /*
+     * Recurrences must be in ascending order with no duplicates, including across cycles, so that position and
+     * count agree with the stream.  A BYSETPOS with unsorted positions can break this.
+     */
+    private boolean isAscending()
+    {
+        List<Temporal> all = new ArrayList<>(firstPeriod);
+        all.addAll(cycle);
+        if (! cycle.isEmpty())
+        {
+            all.add(shift(cycle.get(0), 1));
+        }
+        for (int i=1; i<all.size(); i++)
+        {
+            if (! DateTimeUtilities.isBefore(all.get(i-1), all.get(i)))
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Temporal shift(Temporal temporal, long cycles)
+    {
+        return (cycles == 0) ? temporal : temporal.plus(Math.multiplyExact(cycles, cycleLength), unit);
+    }
+
+    /** Recurrence at zero-based index, or null if there are no more recurrences */
+    Temporal recurrenceAt(long index)
+    {
+        if (index < firstPeriod.size())
+        {
+            return firstPeriod.get((int) index);
+        }
+        if (cycle.isEmpty())
+        {
+            return null;
+        }
+        long indexInCycles = index - firstPeriod.size();
+        return shift(cycle.get((int) (indexInCycles % cycle.size())), indexInCycles / cycle.size());
+    }
+
+    /** Number of recurrences on or before end */
+    long countRecurrences(Temporal end)
+    {
+        int count = (int) firstPeriod.stream()
+                .filter(t -> ! DateTimeUtilities.isAfter(t, end))
+                .count();
+        if ((count < firstPeriod.size()) || cycle.isEmpty() || DateTimeUtilities.isAfter(cycle.get(0), end))
+        {
+            return count;
+        }
+        // last cycle that starts on or before end
+        long cycles = unit.between(cycle.get(0), end) / cycleLength;
+        while ((cycles > 0) && DateTimeUtilities.isAfter(shift(cycle.get(0), cycles), end))
+        {
+            cycles--;
+        }
+        while (! DateTimeUtilities.isAfter(shift(cycle.get(0), cycles + 1), end))
+        {
+            cycles++;
+        }
+        long lastCycleCount = 0;
+        for (Temporal temporal : cycle)
+        {
+            if (DateTimeUtilities.isAfter(shift(temporal, cycles), end)) break;
+            lastCycleCount++;
+        }
+        return count + cycles * cycle.size() + lastCycleCount;
+    }
+
+    /**
+     * Returns true if the closed form matches the stream up to end.  Adding days to a ZonedDateTime keeps the
+     * local time, but the stream adds them one period at a time, so a recurrence time in a daylight saving gap
+     * or overlap can move later recurrences.  Returns false if a transition from DTSTART to end has one.
+     */
+    boolean isExact(Temporal end)
+    {
+        if (! (dateTimeStart instanceof ZonedDateTime) || ! unit.isDateBased())
+        {
+            return true;
+        }
+        ZonedDateTime start = (ZonedDateTime) dateTimeStart;
+        ZoneRules rules = start.getZone().getRules();
+        Set<LocalTime> times = new HashSet<>();
+        firstPeriod.forEach(t -> times.add(((ZonedDateTime) t).toLocalTime()));
+        cycle.forEach(t -> times.add(((ZonedDateTime) t).toLocalTime()));
+        long endSecond = ((ZonedDateTime) end).toEpochSecond();
+        ZoneOffsetTransition transition = rules.nextTransition(start.toInstant());
+        while ((transition != null) && (transition.getInstant().getEpochSecond() <= endSecond))
+        {
+            for (LocalDate date : Arrays.asList(transition.getDateTimeBefore().toLocalDate(), transition.getDateTimeAfter().toLocalDate()))
+            {
+                for (LocalTime time : times)
+                {
+                    if (rules.getValidOffsets(date.atTime(time)).size() != 1)
+                    {
+                        return false;
+                    }
+                }
+            }
+            transition = rules.nextTransition(transition.getInstant());
+        }
+        return true;
+    }
+}
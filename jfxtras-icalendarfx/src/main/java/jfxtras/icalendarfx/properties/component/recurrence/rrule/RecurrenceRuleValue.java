@@ -23,6 +23,7 @@ import java.util.stream.StreamSupport;
 import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.VParent;
 import jfxtras.icalendarfx.VParentBase;
+import jfxtras.icalendarfx.properties.VPropertyBase;
 import jfxtras.icalendarfx.properties.component.recurrence.RecurrenceRule;
 import jfxtras.icalendarfx.properties.component.recurrence.rrule.Count;
 import jfxtras.icalendarfx.properties.component.recurrence.rrule.Frequency;
@@ -86,6 +87,29 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     private VParent myParent;
     @Override public void setParent(VParent parent) { myParent = parent; }
     @Override public VParent getParent() { return myParent; }
+
+    /* Tell the RRULE property when a rule part is set or replaced, so its VCalendar stays current */
+    @Override
+    public void orderChild(VChild addedChild)
+    {
+        super.orderChild(addedChild);
+        propertyChanged();
+    }
+
+    @Override
+    public void orderChild(VChild oldChild, VChild newChild)
+    {
+        super.orderChild(oldChild, newChild);
+        propertyChanged();
+    }
+
+    private void propertyChanged()
+    {
+        if (myParent instanceof VPropertyBase)
+        {
+            ((VPropertyBase<?,?>) myParent).propertyChanged();
+        }
+    }
     
     private static final String NAME = "RRULE";
     @Override public String name() { return NAME; }
@@ -106,11 +130,12 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     private List<ByRule<?>> byRules;
     public void setByRules(List<ByRule<?>> byRules)
     {
-    	if (this.byRules != null)
+    	List<? extends VChild> oldElements = this.byRules;
+    	this.byRules = byRules;
+    	if (oldElements != null)
     	{
-    		this.byRules.forEach(e -> orderChild(e, null)); // remove old elements
+    		oldElements.forEach(e -> orderChild(e, null)); // remove old elements
     	}
-    	this.byRules = byRules;
     	if (byRules != null)
     	{
     		byRules.forEach(e -> orderChild(e));
@@ -166,8 +191,9 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     public Count getCount() { return count; }
     public void setCount(Count count)
     {
-    	orderChild(this.count, count);
+    	VChild oldChild = this.count;
     	this.count = count;
+    	orderChild(oldChild, count);
 	}
     public void setCount(int count) { setCount(new Count(count)); }
     public RecurrenceRuleValue withCount(Count count)
@@ -204,8 +230,9 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     public Frequency getFrequency() { return frequency; }
     public void setFrequency(Frequency frequency)
     {
-    	orderChild(this.frequency, frequency);
+    	VChild oldChild = this.frequency;
     	this.frequency = frequency;
+    	orderChild(oldChild, frequency);
 	}
     public void setFrequency(String frequency)
     {
@@ -247,8 +274,9 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     public Interval getInterval() { return interval; }
     public void setInterval(Interval interval)
     {
-    	orderChild(this.interval, interval);
+    	VChild oldChild = this.interval;
     	this.interval = interval;
+    	orderChild(oldChild, interval);
 	}
     public void setInterval(Integer interval) { setInterval(new Interval(interval)); }
     public RecurrenceRuleValue withInterval(int interval) { setInterval(interval); return this; }
@@ -279,8 +307,9 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     public Until getUntil() { return until; }
     public void setUntil(Until until)
     {
-    	orderChild(this.until, until);
+    	VChild oldChild = this.until;
     	this.until = until;
+    	orderChild(oldChild, until);
 	}
     public void setUntil(Temporal until) { setUntil(new Until(until)); }
     public void setUntil(String until) { setUntil(DateTimeUtilities.temporalFromString(until)); }
@@ -304,8 +333,9 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     public WeekStart getWeekStart() { return weekStart; }
     public void setWeekStart(WeekStart weekStart)
     {
-    	orderChild(this.weekStart, weekStart);
+    	VChild oldChild = this.weekStart;
     	this.weekStart = weekStart;
+    	orderChild(oldChild, weekStart);
 	}
     public void setWeekStart(DayOfWeek weekStart) { setWeekStart(new WeekStart(weekStart)); }
     public RecurrenceRuleValue withWeekStart(WeekStart weekStart) { setWeekStart(weekStart); return this; }
@@ -385,37 +415,49 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
         Stream<Temporal> frequencyStream = getFrequency().streamRecurrences(start, interval);
         
         Stream<Temporal> recurrenceStream = frequencyStream
-                .flatMap(value ->
-                {
-                    // process byRules
-                    chronoUnit = getFrequency().getValue().getChronoUnit(); // initial chronoUnit from Frequency
-                    myStream = Arrays.asList(value).stream();
-                    if (getByRules() != null)
-                    {
-	                    getByRules().stream()
-	                            .sorted()
-	                            .forEach(rule ->
-	                            {
-	                                myStream = rule.streamRecurrences(myStream, chronoUnit, start);
-//	                                chronoUnit = RRuleElement.fromClass(rule.getClass()).getChronoUnit();
-	                                chronoUnit = ((ByRuleAbstract<?, ?>) rule).elementType.getChronoUnit();
-	                            });
-                    }
-                    // must filter out too early recurrences
-                    return myStream.filter(r -> ! DateTimeUtilities.isBefore(r, start));
-                });
+                .flatMap(value -> streamPeriod(value, start));
         
         if (getCount() != null)
         {
             return recurrenceStream.limit(getCount().getValue());
         } else if (getUntil() != null)
         {
-            ZoneId zone = (start instanceof ZonedDateTime) ? ((ZonedDateTime) start).getZone() : null;
-            Temporal convertedUntil = DateTimeType.of(start).from(getUntil().getValue(), zone);
+            Temporal convertedUntil = convertedUntil(start);
             return takeWhile(recurrenceStream, a -> ! DateTimeUtilities.isAfter(a, convertedUntil));
         }
         return recurrenceStream;
     }
+    
+    /** Recurrences of one value of the frequency stream, after applying the byRules, not before start */
+    Stream<Temporal> streamPeriod(Temporal value, Temporal start)
+    {
+        // process byRules
+        chronoUnit = getFrequency().getValue().getChronoUnit(); // initial chronoUnit from Frequency
+        myStream = Arrays.asList(value).stream();
+        if (getByRules() != null)
+        {
+            getByRules().stream()
+                    .sorted()
+                    .forEach(rule ->
+                    {
+                        myStream = rule.streamRecurrences(myStream, chronoUnit, start);
+                        chronoUnit = ((ByRuleAbstract<?, ?>) rule).elementType.getChronoUnit();
+                    });
+        }
+        // must filter out too early recurrences
+        return myStream.filter(r -> ! DateTimeUtilities.isBefore(r, start));
+    }
+    
+    /** UNTIL converted to the type of start, or null if UNTIL isn't present */
+    private Temporal convertedUntil(Temporal start)
+    {
+        if (getUntil() == null)
+        {
+            return null;
+        }
+        ZoneId zone = (start instanceof ZonedDateTime) ? ((ZonedDateTime) start).getZone() : null;
+        return DateTimeType.of(start).from(getUntil().getValue(), zone);
+    }
     private ChronoUnit chronoUnit; // must be field instead of local variable due to use in lambda expression
     private Stream<Temporal> myStream; // must be field instead of local variable due to use in lambda expression
     
@@ -428,7 +470,118 @@ public class RecurrenceRuleValue extends VParentBase<RecurrenceRuleValue> implem
     {
         return ((getCount() == null) && (getUntil() == null));
     }
-    
+
+    /*
+     * RECURRENCE ARITHMETIC
+     * Computed in closed form for DAILY, WEEKLY, MONTHLY and YEARLY rules with a fixed set of byRules, and for
+     * HOURLY, MINUTELY and SECONDLY rules without byRules.  Other rules fall back to iterating the stream.
+     */
+    /**
+     * Recurrence at a position in the stream
+     *
+     * @param dateTimeStart - DTSTART, the first recurrence
+     * @param index - zero-based position, index 0 is dateTimeStart
+     * @return - recurrence, or null if COUNT or UNTIL ends the stream before index
+     */
+    public Temporal recurrenceAt(Temporal dateTimeStart, long index)
+    {
+        if (index < 0)
+        {
+            throw new IllegalArgumentException("Index must not be negative: " + index);
+        }
+        if ((getCount() != null) && (index >= getCount().getValue()))
+        {
+            return null;
+        }
+        RecurrenceArithmetic arithmetic = RecurrenceArithmetic.of(this, dateTimeStart);
+        if (arithmetic != null)
+        {
+            Temporal recurrence = arithmetic.recurrenceAt(index);
+            if (recurrence == null)
+            {
+                return null;
+            }
+            if (arithmetic.isExact(recurrence))
+            {
+                Temporal until = convertedUntil(dateTimeStart);
+                return ((until != null) && DateTimeUtilities.isAfter(recurrence, until)) ? null : recurrence;
+            }
+        }
+        return streamRecurrences(dateTimeStart).skip(index).findFirst().orElse(null);
+    }
+
+    /**
+     * Number of recurrences that start on or before end
+     *
+     * @param dateTimeStart - DTSTART, the first recurrence
+     * @param end - last value to count, inclusive, of the same type as dateTimeStart.  If null all recurrences are
+     * counted, which requires COUNT or UNTIL.
+     * @return - number of recurrences
+     */
+    public long countRecurrences(Temporal dateTimeStart, Temporal end)
+    {
+        Temporal until = convertedUntil(dateTimeStart);
+        final Temporal last;
+        if (end == null)
+        {
+            if (getCount() != null)
+            {
+                return getCount().getValue();
+            } else if (until == null)
+            {
+                throw new RuntimeException("Can't count recurrences of an infinite RRULE: " + toString());
+            }
+            last = until;
+        } else
+        {
+            last = ((until != null) && DateTimeUtilities.isAfter(end, until)) ? until : end;
+        }
+        if (DateTimeUtilities.isBefore(last, dateTimeStart))
+        {
+            return 0;
+        }
+        RecurrenceArithmetic arithmetic = RecurrenceArithmetic.of(this, dateTimeStart);
+        if ((arithmetic != null) && arithmetic.isExact(last))
+        {
+            long count = arithmetic.countRecurrences(last);
+            return (getCount() == null) ? count : Math.min(count, getCount().getValue());
+        }
+        return takeWhile(streamRecurrences(dateTimeStart), a -> ! DateTimeUtilities.isAfter(a, last)).count();
+    }
+
+    /** Number of recurrences, which requires COUNT or UNTIL.  Used to replace UNTIL with COUNT. */
+    public long countRecurrences(Temporal dateTimeStart)
+    {
+        return countRecurrences(dateTimeStart, null);
+    }
+
+    /**
+     * Last recurrence, such as the UNTIL equivalent of COUNT
+     *
+     * @param dateTimeStart - DTSTART, the first recurrence
+     * @return - last recurrence, or null if the rule is infinite or has no recurrences
+     */
+    public Temporal lastRecurrence(Temporal dateTimeStart)
+    {
+        if (isInfinite())
+        {
+            return null;
+        }
+        long count = countRecurrences(dateTimeStart);
+        return (count == 0) ? null : recurrenceAt(dateTimeStart, count - 1);
+    }
+
+    /** Returns true if temporal, of the same type as dateTimeStart, is one of the recurrences */
+    public boolean isRecurrence(Temporal dateTimeStart, Temporal temporal)
+    {
+        if (DateTimeType.of(temporal) != DateTimeType.of(dateTimeStart))
+        {
+            return false;
+        }
+        long count = countRecurrences(dateTimeStart, temporal);
+        return (count > 0) && temporal.equals(recurrenceAt(dateTimeStart, count - 1));
+    }
+
     
     // takeWhile - From http://stackoverflow.com/questions/20746429/limit-a-stream-by-a-predicate
     static <T> Spliterator<T> takeWhile(Spliterator<T> splitr, Predicate<? super T> predicate)
@@ -3,6 +3,7 @@ package jfxtras.icalendarfx.properties.component.relationship;
 import java.net.URI;
 import java.util.List;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.parameters.CalendarUser;
 import jfxtras.icalendarfx.parameters.Delegatees;
 import jfxtras.icalendarfx.parameters.Delegators;
@@ -47,8 +48,9 @@ public abstract class PropertyBaseAttendee<T,U> extends PropertyBaseCalendarUser
     @Override
     public void setCalendarUser(CalendarUser calendarUser)
     {
-    	orderChild(this.calendarUser, calendarUser);
+    	VChild oldChild = this.calendarUser;
     	this.calendarUser = calendarUser;
+    	orderChild(oldChild, calendarUser);
 	}
     public void setCalendarUser(String value) { setCalendarUser(CalendarUser.parse(value)); }
     public U withCalendarUser(CalendarUser calendarUser) { setCalendarUser(calendarUser); return (U) this; }
@@ -73,8 +75,8 @@ public abstract class PropertyBaseAttendee<T,U> extends PropertyBaseCalendarUser
     @Override
     public void setDelegators(Delegators delegators)
     {
-    	orderChild(delegators);
     	this.delegators = delegators;
+    	orderChild(delegators);
 	}
     public void setDelegators(String content) { setDelegators(Delegators.parse(content)); }
     public U withDelegators(Delegators delegators) { setDelegators(delegators); return (U) this; }
@@ -100,8 +102,8 @@ public abstract class PropertyBaseAttendee<T,U> extends PropertyBaseCalendarUser
     @Override
     public void setDelegatees(Delegatees delegatees)
     {
-    	orderChild(delegatees);
     	this.delegatees = delegatees;
+    	orderChild(delegatees);
 	}
     public void setDelegatees(String content) { setDelegatees(Delegatees.parse(content)); }
     public U withDelegatees(Delegatees delegatees) { setDelegatees(delegatees); return (U) this; }
@@ -126,8 +128,8 @@ public abstract class PropertyBaseAttendee<T,U> extends PropertyBaseCalendarUser
     @Override
     public void setGroupMembership(GroupMembership groupMembership)
     {
-    	orderChild(groupMembership);
     	this.groupMembership = groupMembership;
+    	orderChild(groupMembership);
 	}
     public void setGroupMembership(String content) { setGroupMembership(GroupMembership.parse(content)); }
     public U withGroupMembership(GroupMembership groupMembership) { setGroupMembership(groupMembership); return (U) this; }
@@ -150,8 +152,8 @@ public abstract class PropertyBaseAttendee<T,U> extends PropertyBaseCalendarUser
     @Override
     public void setRSVP(RSVP rsvp)
     {
-    	orderChild(rsvp);
     	this.rsvp = rsvp;
+    	orderChild(rsvp);
 	}
     public void setRSVP(String content) { setRSVP(RSVP.parse(content)); }
     public U withRSVP(RSVP rsvp) { setRSVP(rsvp); return (U) this; }
@@ -174,8 +176,8 @@ public abstract class PropertyBaseAttendee<T,U> extends PropertyBaseCalendarUser
     @Override
     public void setParticipationStatus(ParticipationStatus participationStatus)
     {
-    	orderChild(participationStatus);
     	this.participationStatus = participationStatus;
+    	orderChild(participationStatus);
 	}
     public void setParticipationStatus(String content) { setParticipationStatus(ParticipationStatus.parse(content)); }
     public U withParticipationStatus(ParticipationStatus participationStatus) { setParticipationStatus(participationStatus); return (U) this; }
@@ -198,8 +200,8 @@ public abstract class PropertyBaseAttendee<T,U> extends PropertyBaseCalendarUser
     @Override
     public void setParticipationRole(ParticipationRole participationRole)
     {
-    	orderChild(participationRole);
     	this.participationRole = participationRole;
+    	orderChild(participationRole);
 	}
     public void setParticipationRole(String content) { setParticipationRole(ParticipationRole.parse(content)); }
     public U withParticipationRole(ParticipationRole participationRole) { setParticipationRole(participationRole); return (U) this; }
@@ -2,6 +2,7 @@ package jfxtras.icalendarfx.properties.component.relationship;
 
 import java.net.URI;
 
+import jfxtras.icalendarfx.VChild;
 import jfxtras.icalendarfx.parameters.CommonName;
 import jfxtras.icalendarfx.parameters.DirectoryEntry;
 import jfxtras.icalendarfx.parameters.SentBy;
@@ -51,8 +52,9 @@ public abstract class PropertyBaseCalendarUser<T,U> extends PropBaseLanguage<T,U
     @Override
     public void setCommonName(CommonName commonName)
     {
-    	orderChild(this.commonName, commonName);
+    	VChild oldChild = this.commonName;
     	this.commonName = commonName;
+    	orderChild(oldChild, commonName);
 	}
     public void setCommonName(String content) { setCommonName(CommonName.parse(content)); }
     public U withCommonName(CommonName commonName) { setCommonName(commonName); return (U) this; }
@@ -77,8 +79,8 @@ public abstract class PropertyBaseCalendarUser<T,U> extends PropBaseLanguage<T,U
     @Override
     public void setDirectoryEntryReference(DirectoryEntry directoryEntryReference)
     {
-    	orderChild(directoryEntryReference);
     	this.directoryEntryReference = directoryEntryReference;
+    	orderChild(directoryEntryReference);
 	}
     public U withDirectoryEntryReference(DirectoryEntry directoryEntryReference) { setDirectoryEntryReference(directoryEntryReference); return (U) this; }
     public U withDirectoryEntryReference(URI uri) { setDirectoryEntryReference(new DirectoryEntry(uri)); return (U) this; }
@@ -102,8 +104,8 @@ public abstract class PropertyBaseCalendarUser<T,U> extends PropBaseLanguage<T,U
     @Override
     public void setSentBy(SentBy sentBy)
     {
-    	orderChild(sentBy);
     	this.sentBy = sentBy;
+    	orderChild(sentBy);
 	}
     public U withSentBy(SentBy sentBy) { setSentBy(sentBy); return (U) this; }
     public U withSentBy(URI uri) { setSentBy(new SentBy(uri)); return (U) this; }
@@ -61,8 +61,8 @@ public class RecurrenceId extends PropBaseDateTime<Temporal, RecurrenceId> imple
     @Override
     public void setRange(Range range)
     {
-    	orderChild(range);
     	this.range = range;
+    	orderChild(range);
 	}
     public void setRange(String value) { setRange(new Range(value)); }
     public RecurrenceId withRange(Range altrep) { setRange(altrep); return this; }
@@ -44,8 +44,8 @@ public class RelatedTo extends VPropertyBase<String, RelatedTo> implements PropR
     @Override
     public void setRelationship(Relationship relationship)
     {
-    	orderChild(relationship);
     	this.relationship = relationship;
+    	orderChild(relationship);
 	}
     public void setRelationship(String value) { setRelationship(Relationship.parse(value)); }
     public RelatedTo withRelationship(Relationship altrep) { setRelationship(altrep); return this; }
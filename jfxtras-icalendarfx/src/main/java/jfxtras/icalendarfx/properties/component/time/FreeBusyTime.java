@@ -100,8 +100,8 @@ public class FreeBusyTime extends VPropertyBase<List<Pair<ZonedDateTime, Tempora
     @Override
     public void setFreeBusyType(FreeBusyType freeBusyType)
     {
-    	orderer.orderChild(freeBusyType);
     	this.freeBusyType = freeBusyType;
+    	orderChild(freeBusyType);
 	}
     public void setFreeBusyType(FreeBusyTypeEnum type) { setFreeBusyType(new FreeBusyType(type)); }
     public FreeBusyTime withFreeBusyType(FreeBusyType freeBusyType) { setFreeBusyType(freeBusyType); return this; }
@@ -6,6 +6,7 @@ import java.time.ZoneId;
 import jfxtras.icalendarfx.components.VTimeZone;
 import jfxtras.icalendarfx.properties.VPropertyBase;
 import jfxtras.icalendarfx.utilities.StringConverter;
+import jfxtras.icalendarfx.utilities.ZoneConversions;
 
 /**
  * TZID
@@ -41,7 +42,7 @@ public class TimeZoneIdentifier extends VPropertyBase<ZoneId, TimeZoneIdentifier
         {
             try
             {
-            return ZoneId.of(string);
+            return ZoneConversions.zoneId(string);
             } catch (DateTimeException e)
             {
                 // null means value is unknown and should be stored as non-converted string by PropertyBase
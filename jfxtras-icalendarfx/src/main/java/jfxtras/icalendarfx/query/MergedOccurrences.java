@@ -0,0 +1,204 @@
+package jfxtras.icalendarfx.query;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VDisplayable;
+import jfxtras.icalendarfx.utilities.ZoneConversions;
+
+/**
+ * <p>Chronological stream of the recurrences of many calendars or components.</p>
+ *
+ * <p>Each component gets a lazy recurrence iterator, and a priority queue holds the next recurrence of every
+ * iterator.  Taking an occurrence polls the earliest one and advances only its iterator, so a k-way merge of
+ * n occurrences costs O(n log k).  Components with unbounded RRULEs are fine when the range has no end, as long as
+ * the stream is limited, for example with {@link Stream#limit(long)}.</p>
+ *
+ * <p>Occurrences with equal start are ordered by calendar, then by component order in the calendar.
+ * Floating date/times and dates are placed on the time line in the zone parameter, the system default
+ * zone if not specified.  The range is applied to each component like {@link VComponentQuery#withDateRange}.</p>
+ *
+ * <pre>
+ * List&lt;Occurrence&gt; next100 = MergedOccurrences.stream(teamCalendars, LocalDateTime.now(), null)
+ *         .limit(100)
+ *         .collect(Collectors.toList());
+ * </pre>
+ */
+public final class MergedOccurrences
+{
+    private MergedOccurrences() { }
+
+    /**
+     * Stream of occurrences of all {@link VDisplayable} components (VEVENT, VTODO, VJOURNAL) of the calendars,
+     * in chronological order
+     *
+     * @param vCalendars  calendars to merge
+     * @param startRange  include occurrences that end after this value
+     * @param endRange  include occurrences that start before this value, null for no end
+     * @return  lazy stream of occurrences
+     */
+    public static Stream<Occurrence> stream(Collection<VCalendar> vCalendars, LocalDateTime startRange, LocalDateTime endRange)
+    {
+        return stream(vCalendars, startRange, endRange, ZoneId.systemDefault());
+    }
+
+    /**
+     * Stream of occurrences of all {@link VDisplayable} components of the calendars, in chronological order
+     *
+     * @param vCalendars  calendars to merge
+     * @param startRange  include occurrences that end after this value
+     * @param endRange  include occurrences that start before this value, null for no end
+     * @param zone  zone of floating date/times and dates
+     * @return  lazy stream of occurrences
+     */
+    public static Stream<Occurrence> stream(Collection<VCalendar> vCalendars, LocalDateTime startRange, LocalDateTime endRange, ZoneId zone)
+    {
+        return streamComponents(vCalendars.stream()
+                .flatMap(c -> c.childrenUnmodifiable().stream())
+                .filter(c -> c instanceof VDisplayable)
+                .map(c -> (VDisplayable<?>) c)
+                .collect(Collectors.toList()),
+                startRange, endRange, zone);
+    }
+
+    /**
+     * Stream of occurrences of the components, in chronological order
+     *
+     * @param vComponents  components to merge, their calendar is their parent
+     * @param startRange  include occurrences that end after this value
+     * @param endRange  include occurrences that start before this value, null for no end
+     * @param zone  zone of floating date/times and dates
+     * @return  lazy stream of occurrences
+     */
+    public static Stream<Occurrence> streamComponents(Collection<? extends VDisplayable<?>> vComponents, LocalDateTime startRange,
+            LocalDateTime endRange, ZoneId zone)
+    {
+        if ((endRange != null) && ! startRange.isBefore(endRange))
+        {
+            throw new IllegalArgumentException("startRange (" + startRange + ") must be before endRange (" + endRange + ")");
+        }
+        List<VDisplayable<?>> components = new ArrayList<>(vComponents);
+        // the queue is filled when the stream is consumed, not when it's made
+        return StreamSupport.stream(
+                () -> Spliterators.spliteratorUnknownSize(new MergedIterator(components, startRange, endRange, zone),
+                        Spliterator.ORDERED | Spliterator.NONNULL),
+                Spliterator.ORDERED | Spliterator.NONNULL,
+                false);
+    }
+
+    /** Position of temporal on the time line */
+    static Instant toInstant(Temporal temporal, ZoneId zone)
+    {
+        if (temporal instanceof LocalDate)
+        {
+            return Instant.ofEpochSecond(ZoneConversions.toEpochSecond((LocalDate) temporal, zone));
+        } else if (temporal instanceof LocalDateTime)
+        {
+            return ZoneConversions.toInstant((LocalDateTime) temporal, zone);
+        } else if (temporal instanceof ZonedDateTime)
+        {
+            return ((ZonedDateTime) temporal).toInstant();
+        }
+        return Instant.from(temporal);
+    }
+
+    /* Heap-based merge of one recurrence iterator per component */
+    private static class MergedIterator implements Iterator<Occurrence>
+    {
+        private final PriorityQueue<Cursor> queue;
+
+        MergedIterator(List<VDisplayable<?>> components, LocalDateTime startRange, LocalDateTime endRange, ZoneId zone)
+        {
+            Comparator<Cursor> comparator = Comparator
+                    .comparing((Cursor c) -> c.nextInstant)
+                    .thenComparingInt(c -> c.order);
+            queue = new PriorityQueue<>(Math.max(1, components.size()), comparator);
+            for (int i=0; i<components.size(); i++)
+            {
+                VDisplayable<?> vComponent = components.get(i);
+                if (vComponent.getDateTimeStart() == null) continue;
+                Cursor cursor = new Cursor(vComponent, i, startRange, endRange, zone);
+                if (cursor.advance())
+                {
+                    queue.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext()
+        {
+            return ! queue.isEmpty();
+        }
+
+        @Override
+        public Occurrence next()
+        {
+            Cursor cursor = queue.poll();
+            if (cursor == null) throw new NoSuchElementException();
+            Occurrence occurrence = cursor.next;
+            if (cursor.advance())
+            {
+                queue.add(cursor);
+            }
+            return occurrence;
+        }
+    }
+
+    /* Recurrence iterator of one component, holding its next occurrence */
+    private static class Cursor
+    {
+        private final VDisplayable<?> vComponent;
+        private final VCalendar vCalendar;
+        private final int order;
+        private final TemporalAmount duration;
+        private final ZoneId zone;
+        private final Iterator<Temporal> iterator;
+        private Occurrence next;
+        private Instant nextInstant;
+
+        Cursor(VDisplayable<?> vComponent, int order, LocalDateTime startRange, LocalDateTime endRange, ZoneId zone)
+        {
+            this.vComponent = vComponent;
+            this.vCalendar = (vComponent.getParent() instanceof VCalendar) ? (VCalendar) vComponent.getParent() : null;
+            this.order = order;
+            this.zone = zone;
+            duration = RecurrenceRanges.duration(vComponent);
+            iterator = RecurrenceRanges.streamRecurrences(vComponent, duration, startRange, endRange).iterator();
+        }
+
+        /* Move to next recurrence, returns false if there are no more */
+        boolean advance()
+        {
+            if (! iterator.hasNext())
+            {
+                next = null;
+                nextInstant = null;
+                return false;
+            }
+            Temporal start = iterator.next();
+            Temporal end = (duration == null) ? start : start.plus(duration);
+            next = new Occurrence(start, end, vComponent, vCalendar);
+            nextInstant = toInstant(start, zone);
+            return true;
+        }
+    }
+}
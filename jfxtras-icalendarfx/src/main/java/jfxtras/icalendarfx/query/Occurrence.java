@@ -0,0 +1,44 @@
+package jfxtras.icalendarfx.query;
+
+import java.time.temporal.Temporal;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VDisplayable;
+
+/**
+ * One recurrence instance of a {@link VDisplayable} component, as produced by {@link MergedOccurrences}
+ */
+public class Occurrence
+{
+    private final Temporal start;
+    private final Temporal end;
+    private final VDisplayable<?> vComponent;
+    private final VCalendar vCalendar;
+
+    public Occurrence(Temporal start, Temporal end, VDisplayable<?> vComponent, VCalendar vCalendar)
+    {
+        this.start = start;
+        this.end = end;
+        this.vComponent = vComponent;
+        this.vCalendar = vCalendar;
+    }
+
+    /** Start of the recurrence, in the Temporal type of the component's DTSTART */
+    public Temporal getStart() { return start; }
+
+    /** End of the recurrence, equals start if the component has no duration */
+    public Temporal getEnd() { return end; }
+
+    /** Component that made the recurrence */
+    public VDisplayable<?> getVComponent() { return vComponent; }
+
+    /** Calendar containing the component, null if the component isn't in a calendar */
+    public VCalendar getVCalendar() { return vCalendar; }
+
+    @Override
+    public String toString()
+    {
+        String uid = (vComponent.getUniqueIdentifier() == null) ? null : vComponent.getUniqueIdentifier().getValue();
+        return "Occurrence [start=" + start + ", end=" + end + ", UID=" + uid + "]";
+    }
+}
@@ -0,0 +1,72 @@
+package jfxtras.icalendarfx.query;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.Temporal;
+import java.time.temporal.TemporalAmount;
+import java.util.stream.Stream;
+
+import jfxtras.icalendarfx.components.VLocatable;
+import jfxtras.icalendarfx.components.VRepeatable;
+import jfxtras.icalendarfx.utilities.DateTimeUtilities;
+
+/**
+ * Recurrences of a component that overlap a range of local date/times.
+ * The range is converted to the Temporal type of DTSTART, like the agenda does: whole-day components use dates and
+ * zoned components apply the range in their own time zone.
+ */
+final class RecurrenceRanges
+{
+    private RecurrenceRanges() { }
+
+    /** Duration of each recurrence, or null if component has no duration (e.g. VJOURNAL) */
+    static TemporalAmount duration(VRepeatable<?> vRepeatable)
+    {
+        if (vRepeatable instanceof VLocatable)
+        {
+            TemporalAmount duration = ((VLocatable<?>) vRepeatable).getActualDuration();
+            boolean isZero = duration.getUnits().stream().allMatch(u -> duration.get(u) == 0);
+            return isZero ? null : duration;
+        }
+        return null;
+    }
+
+    /** Range start in Temporal type of dtstart */
+    static Temporal startRange(Temporal dtstart, LocalDateTime startRange)
+    {
+        return (dtstart instanceof LocalDate) ? LocalDate.from(startRange) : dtstart.with(startRange);
+    }
+
+    /** Range end in Temporal type of dtstart.  Dates are rounded up, so a partial day is included */
+    static Temporal endRange(Temporal dtstart, LocalDateTime endRange)
+    {
+        if (dtstart instanceof LocalDate)
+        {
+            LocalDate endDate = LocalDate.from(endRange);
+            return endRange.toLocalTime().equals(LocalTime.MIDNIGHT) ? endDate : endDate.plusDays(1);
+        }
+        return dtstart.with(endRange);
+    }
+
+    /**
+     * Lazy stream of recurrence starts that overlap the range
+     *
+     * @param vRepeatable  component with DTSTART
+     * @param duration  from {@link #duration(VRepeatable)}
+     * @param startRange  start of range, inclusive
+     * @param endRange  end of range, exclusive, null for no end
+     * @return  recurrence start values, in the Temporal type of DTSTART
+     */
+    static Stream<Temporal> streamRecurrences(VRepeatable<?> vRepeatable, TemporalAmount duration, LocalDateTime startRange, LocalDateTime endRange)
+    {
+        Temporal dtstart = vRepeatable.getDateTimeStart().getValue();
+        Temporal startRange2 = startRange(dtstart, startRange);
+        // recurrences that started before the range can still overlap it
+        Temporal streamStart = (duration == null) ? startRange2 : startRange2.minus(duration);
+        Stream<Temporal> stream = (endRange == null) ? vRepeatable.streamRecurrences(streamStart) :
+            vRepeatable.streamRecurrences(streamStart, endRange(dtstart, endRange));
+        return (duration == null) ? stream :
+            stream.filter(t -> DateTimeUtilities.isAfter(t.plus(duration), startRange2));
+    }
+}
@@ -0,0 +1,400 @@
+package jfxtras.icalendarfx.query;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.properties.VProperty;
+import jfxtras.icalendarfx.properties.VPropertyElement;
+
+/**
+ * <p>Secondary indexes of the {@link VComponent VComponents} in a {@link VCalendar}, by property value.</p>
+ *
+ * <p>Two kinds of index are maintained:
+ * <ul>
+ * <li>exact-match - hash index of the complete property value, such as {@link VPropertyElement#CATEGORIES CATEGORIES},
+ * {@link VPropertyElement#ORGANIZER ORGANIZER}, {@link VPropertyElement#ATTENDEE ATTENDEE},
+ * {@link VPropertyElement#LOCATION LOCATION} and {@link VPropertyElement#STATUS STATUS}
+ * <li>text - inverted index of the words in the property value, such as {@link VPropertyElement#SUMMARY SUMMARY}
+ * and {@link VPropertyElement#DESCRIPTION DESCRIPTION}
+ * </ul>
+ * Values are compared ignoring case.</p>
+ *
+ * <p>The index is kept current by the {@link VCalendar} it's set on: components added or removed through
+ * {@link VCalendar#addChild(VChild) addChild}, {@link VCalendar#removeChild(VChild) removeChild} or the
+ * component list setters, and properties of an indexed component that are set or replaced.  A change made directly to
+ * a property value, such as {@code getSummary().setValue("new")}, isn't seen; call {@link #update(VComponent)}
+ * after such a change.</p>
+ *
+ * <p>Use {@link VCalendar#query(Class)} to look up components.</p>
+ *
+ * @see VComponentQuery
+ */
+public class VCalendarIndex
+{
+    /** Properties with an exact-match index by default */
+    public static final List<VPropertyElement> DEFAULT_EXACT_PROPERTIES = Collections.unmodifiableList(Arrays.asList(
+            VPropertyElement.UNIQUE_IDENTIFIER,
+            VPropertyElement.CATEGORIES,
+            VPropertyElement.ORGANIZER,
+            VPropertyElement.ATTENDEE,
+            VPropertyElement.LOCATION,
+            VPropertyElement.STATUS));
+
+    /** Properties with a text index by default */
+    public static final List<VPropertyElement> DEFAULT_TEXT_PROPERTIES = Collections.unmodifiableList(Arrays.asList(
+            VPropertyElement.SUMMARY,
+            VPropertyElement.DESCRIPTION));
+
+    private final VCalendar vCalendar;
+    private final Set<VPropertyElement> exactProperties;
+    private final Set<VPropertyElement> textProperties;
+    /* property -> lower case value -> components */
+    private final Map<VPropertyElement, Map<String, Set<VComponent>>> exactIndexes = new EnumMap<>(VPropertyElement.class);
+    /* property -> lower case word -> components, sorted to find words by prefix */
+    private final Map<VPropertyElement, NavigableMap<String, Set<VComponent>>> textIndexes = new EnumMap<>(VPropertyElement.class);
+    /* What each component is indexed under, so it can be removed after its property values changed.
+     * Components are compared by identity - VComponent equals compares content */
+    private final Map<VComponent, Entry> entries = new IdentityHashMap<>();
+    private long nextSequence;
+
+    /*
+     * CONSTRUCTORS
+     */
+    /** Create index of {@link #DEFAULT_EXACT_PROPERTIES} and {@link #DEFAULT_TEXT_PROPERTIES} */
+    public VCalendarIndex(VCalendar vCalendar)
+    {
+        this(vCalendar, DEFAULT_EXACT_PROPERTIES, DEFAULT_TEXT_PROPERTIES);
+    }
+
+    /**
+     * Create index of the components in vCalendar
+     *
+     * @param vCalendar  calendar to index
+     * @param exactProperties  properties to index by complete value
+     * @param textProperties  properties to index by words
+     */
+    public VCalendarIndex(VCalendar vCalendar, Collection<VPropertyElement> exactProperties, Collection<VPropertyElement> textProperties)
+    {
+        this.vCalendar = vCalendar;
+        this.exactProperties = exactProperties.isEmpty() ? EnumSet.noneOf(VPropertyElement.class) : EnumSet.copyOf(exactProperties);
+        this.textProperties = textProperties.isEmpty() ? EnumSet.noneOf(VPropertyElement.class) : EnumSet.copyOf(textProperties);
+        this.exactProperties.forEach(p -> exactIndexes.put(p, new HashMap<>()));
+        this.textProperties.forEach(p -> textIndexes.put(p, new TreeMap<>()));
+        rebuild();
+    }
+
+    /*
+     * MAINTENANCE
+     */
+    /** Clear the index and index all components in the calendar again */
+    public void rebuild()
+    {
+        exactIndexes.values().forEach(Map::clear);
+        textIndexes.values().forEach(Map::clear);
+        entries.clear();
+        nextSequence = 0;
+        vCalendar.childrenUnmodifiable()
+                .stream()
+                .filter(c -> c instanceof VComponent)
+                .forEach(c -> add((VComponent) c));
+    }
+
+    /**
+     * Add component to the index.  If it's already indexed it's updated.
+     *
+     * @param vComponent  component to index
+     */
+    public void add(VComponent vComponent)
+    {
+        Entry entry = entries.get(vComponent);
+        if (entry == null)
+        {
+            entry = new Entry(nextSequence++);
+            entries.put(vComponent, entry);
+        } else
+        {
+            entry.unindex(vComponent);
+        }
+        index(vComponent, entry);
+    }
+
+    /**
+     * Remove component from the index
+     *
+     * @param vComponent  component to remove
+     * @return  true if the component was indexed
+     */
+    public boolean remove(VComponent vComponent)
+    {
+        Entry entry = entries.remove(vComponent);
+        if (entry == null) return false;
+        entry.unindex(vComponent);
+        return true;
+    }
+
+    /**
+     * Index the current property values of a component.  Components that aren't indexed are ignored.
+     *
+     * @param vComponent  changed component
+     */
+    public void update(VComponent vComponent)
+    {
+        Entry entry = entries.get(vComponent);
+        if (entry != null)
+        {
+            entry.unindex(vComponent);
+            index(vComponent, entry);
+        }
+    }
+
+    private void index(VComponent vComponent, Entry entry)
+    {
+        for (VChild child : vComponent.childrenUnmodifiable())
+        {
+            if (! (child instanceof VProperty)) continue;
+            VPropertyElement property = VPropertyElement.fromClass(child.getClass());
+            Map<String, Set<VComponent>> exactIndex = exactIndexes.get(property);
+            if (exactIndex != null)
+            {
+                for (Object value : values((VProperty<?>) child))
+                {
+                    entry.index(exactIndex, normalize(value), vComponent);
+                }
+            }
+            Map<String, Set<VComponent>> textIndex = textIndexes.get(property);
+            if (textIndex != null)
+            {
+                for (Object value : values((VProperty<?>) child))
+                {
+                    for (String word : words(normalize(value)))
+                    {
+                        entry.index(textIndex, word, vComponent);
+                    }
+                }
+            }
+        }
+    }
+
+    /*
+     * LOOKUP
+     */
+    /** The indexed calendar */
+    public VCalendar getVCalendar() { return vCalendar; }
+
+    /** Number of indexed components */
+    public int size() { return entries.size(); }
+
+    /** Returns true if the component is indexed */
+    public boolean contains(VComponent vComponent) { return entries.containsKey(vComponent); }
+
+    /** Returns true if property has an exact-match index */
+    public boolean isExactIndexed(VPropertyElement property) { return exactProperties.contains(property); }
+
+    /** Returns true if property has a text index */
+    public boolean isTextIndexed(VPropertyElement property) { return textProperties.contains(property); }
+
+    /**
+     * Components with a property value equal to value, ignoring case
+     *
+     * @param property  property with an exact-match index
+     * @param value  property value, or one element of a list value such as a category
+     * @return  matching components, or null if property isn't indexed
+     */
+    public Set<VComponent> lookup(VPropertyElement property, Object value)
+    {
+        Map<String, Set<VComponent>> exactIndex = exactIndexes.get(property);
+        if (exactIndex == null) return null;
+        Set<VComponent> components = exactIndex.get(normalize(value));
+        return (components == null) ? Collections.emptySet() : Collections.unmodifiableSet(components);
+    }
+
+    /**
+     * Components that may have a property value containing text, ignoring case.
+     * All words of text are looked up; the first and last words may be part of a longer word.
+     * The result can contain components where the words aren't adjacent, so they still need checking.
+     *
+     * @param property  property with a text index
+     * @param text  text to find
+     * @return  candidate components, or null if property isn't indexed or text has no words
+     */
+    public Set<VComponent> lookupText(VPropertyElement property, String text)
+    {
+        NavigableMap<String, Set<VComponent>> textIndex = textIndexes.get(property);
+        if (textIndex == null) return null;
+        String normalizedText = normalize(text);
+        List<String> words = words(normalizedText);
+        if (words.isEmpty()) return null;
+        boolean isStartPartial = isWordCharacter(normalizedText.charAt(0));
+        boolean isEndPartial = isWordCharacter(normalizedText.charAt(normalizedText.length()-1));
+        List<Set<VComponent>> sets = new ArrayList<>();
+        for (int i=0; i<words.size(); i++)
+        {
+            String word = words.get(i);
+            boolean isFirst = i == 0;
+            boolean isLast = i == words.size()-1;
+            Set<VComponent> matches = newIdentitySet();
+            if (isFirst && isStartPartial)
+            { // text can start inside a word, scan vocabulary
+                boolean isBothPartial = isLast && isEndPartial;
+                textIndex.entrySet()
+                        .stream()
+                        .filter(e -> isBothPartial ? e.getKey().contains(word) : e.getKey().endsWith(word))
+                        .forEach(e -> matches.addAll(e.getValue()));
+            } else if (isLast && isEndPartial)
+            { // text can end inside a word, words with the prefix are adjacent in the sorted map
+                textIndex.subMap(word, true, word + Character.MAX_VALUE, false)
+                        .values()
+                        .forEach(matches::addAll);
+            } else
+            {
+                Set<VComponent> exact = textIndex.get(word);
+                if (exact != null) matches.addAll(exact);
+            }
+            if (matches.isEmpty()) return Collections.emptySet();
+            sets.add(matches);
+        }
+        return intersect(sets);
+    }
+
+    /** Comparator that orders components in the order they were indexed */
+    Comparator<VComponent> indexOrder()
+    {
+        return Comparator.comparingLong(c -> entries.get(c).sequence);
+    }
+
+    /*
+     * UTILITIES
+     */
+    /** Value used as index key */
+    static String normalize(Object value)
+    {
+        return String.valueOf(value).toLowerCase(Locale.ROOT);
+    }
+
+    /** Property value, with list values, such as CATEGORIES, split into their elements */
+    static Collection<?> values(VProperty<?> property)
+    {
+        Object value = property.getValue();
+        if (value == null) return Collections.emptyList();
+        if (value instanceof Collection) return (Collection<?>) value;
+        return Collections.singletonList(value);
+    }
+
+    /* Split lower case text into words of letters and digits */
+    static List<String> words(String text)
+    {
+        List<String> words = new ArrayList<>();
+        int start = -1;
+        for (int i=0; i<text.length(); i++)
+        {
+            boolean isWordCharacter = isWordCharacter(text.charAt(i));
+            if (isWordCharacter && start == -1)
+            {
+                start = i;
+            } else if (! isWordCharacter && start != -1)
+            {
+                words.add(text.substring(start, i));
+                start = -1;
+            }
+        }
+        if (start != -1)
+        {
+            words.add(text.substring(start));
+        }
+        return words;
+    }
+
+    private static boolean isWordCharacter(char c)
+    {
+        return Character.isLetterOrDigit(c);
+    }
+
+    static Set<VComponent> newIdentitySet()
+    {
+        return Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    /** Intersection of sets, iterating the smallest one */
+    static Set<VComponent> intersect(List<Set<VComponent>> sets)
+    {
+        if (sets.size() == 1) return sets.get(0);
+        List<Set<VComponent>> sortedSets = new ArrayList<>(sets);
+        sortedSets.sort(Comparator.comparingInt(Set::size));
+        Set<VComponent> smallest = sortedSets.get(0);
+        List<Set<VComponent>> others = sortedSets.subList(1, sortedSets.size());
+        Set<VComponent> result = newIdentitySet();
+        for (VComponent c : smallest)
+        {
+            boolean isInAll = others.stream().allMatch(s -> s.contains(c));
+            if (isInAll)
+            {
+                result.add(c);
+            }
+        }
+        return result;
+    }
+
+    /* Index keys of one component */
+    private static class Entry
+    {
+        private final long sequence;
+        private final List<Map<String, Set<VComponent>>> indexes = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+
+        Entry(long sequence)
+        {
+            this.sequence = sequence;
+        }
+
+        void index(Map<String, Set<VComponent>> index, String key, VComponent vComponent)
+        {
+            Set<VComponent> components = index.get(key);
+            if (components == null)
+            {
+                components = newIdentitySet();
+                index.put(key, components);
+            }
+            if (components.add(vComponent))
+            {
+                indexes.add(index);
+                keys.add(key);
+            }
+        }
+
+        void unindex(VComponent vComponent)
+        {
+            for (int i=0; i<keys.size(); i++)
+            {
+                Map<String, Set<VComponent>> index = indexes.get(i);
+                String key = keys.get(i);
+                Set<VComponent> components = index.get(key);
+                if (components != null)
+                {
+                    components.remove(vComponent);
+                    if (components.isEmpty())
+                    {
+                        index.remove(key);
+                    }
+                }
+            }
+            indexes.clear();
+            keys.clear();
+        }
+    }
+}
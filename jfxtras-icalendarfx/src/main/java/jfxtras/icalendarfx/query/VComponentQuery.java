@@ -0,0 +1,251 @@
+package jfxtras.icalendarfx.query;
+
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAmount;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VChild;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.components.VRepeatable;
+import jfxtras.icalendarfx.properties.VProperty;
+import jfxtras.icalendarfx.properties.VPropertyElement;
+import jfxtras.icalendarfx.properties.component.descriptive.Status.StatusType;
+
+/**
+ * <p>Query of the {@link VComponent VComponents} in a {@link VCalendar} by property values and date range.</p>
+ *
+ * <p>All conditions must match.  When the calendar has a {@link VCalendarIndex} the candidates are found by
+ * intersecting the index entries of the conditions, starting with the smallest, so only those candidates are
+ * checked.  Without an index, or for properties that aren't indexed, every component of the calendar is checked.</p>
+ *
+ * <pre>
+ * List&lt;VEvent&gt; events = vCalendar.query(VEvent.class)
+ *         .withCategory("group03")
+ *         .withText("budget")
+ *         .withDateRange(LocalDateTime.of(2017, 3, 1, 0, 0), LocalDateTime.of(2017, 4, 1, 0, 0))
+ *         .list();
+ * </pre>
+ *
+ * @param <T>  component type of the results
+ */
+public class VComponentQuery<T extends VComponent>
+{
+    private static final List<VPropertyElement> TEXT_PROPERTIES = Arrays.asList(VPropertyElement.SUMMARY, VPropertyElement.DESCRIPTION);
+
+    private final VCalendar vCalendar;
+    private final Class<T> componentClass;
+    private final List<Condition> conditions = new ArrayList<>();
+    private LocalDateTime startRange;
+    private LocalDateTime endRange;
+
+    /*
+     * CONSTRUCTOR
+     */
+    /**
+     * Create query of components of componentClass, use {@link VCalendar#query(Class)} instead
+     *
+     * @param vCalendar  calendar to search
+     * @param componentClass  type of component to find, such as VEvent.class, or VComponent.class for all components
+     */
+    public VComponentQuery(VCalendar vCalendar, Class<T> componentClass)
+    {
+        this.vCalendar = vCalendar;
+        this.componentClass = componentClass;
+    }
+
+    /*
+     * CONDITIONS
+     */
+    /** Components with a property value equal to value, ignoring case.  For list values, such as CATEGORIES, one element must be equal. */
+    public VComponentQuery<T> withValue(VPropertyElement property, Object value)
+    {
+        conditions.add(new Condition(Arrays.asList(property), value, false));
+        return this;
+    }
+
+    /** Components with the {@link VPropertyElement#CATEGORIES CATEGORIES} category */
+    public VComponentQuery<T> withCategory(String category)
+    {
+        return withValue(VPropertyElement.CATEGORIES, category);
+    }
+
+    /** Components with the {@link VPropertyElement#ORGANIZER ORGANIZER} calendar address, such as mailto:jsmith@example.com */
+    public VComponentQuery<T> withOrganizer(String calendarAddress)
+    {
+        return withValue(VPropertyElement.ORGANIZER, calendarAddress);
+    }
+
+    /** Components with an {@link VPropertyElement#ATTENDEE ATTENDEE} calendar address, such as mailto:jsmith@example.com */
+    public VComponentQuery<T> withAttendee(String calendarAddress)
+    {
+        return withValue(VPropertyElement.ATTENDEE, calendarAddress);
+    }
+
+    /** Components with the {@link VPropertyElement#LOCATION LOCATION} */
+    public VComponentQuery<T> withLocation(String location)
+    {
+        return withValue(VPropertyElement.LOCATION, location);
+    }
+
+    /** Components with the {@link VPropertyElement#STATUS STATUS} */
+    public VComponentQuery<T> withStatus(StatusType status)
+    {
+        return withValue(VPropertyElement.STATUS, status);
+    }
+
+    /** Components with the {@link VPropertyElement#UNIQUE_IDENTIFIER UID} */
+    public VComponentQuery<T> withUniqueIdentifier(String uid)
+    {
+        return withValue(VPropertyElement.UNIQUE_IDENTIFIER, uid);
+    }
+
+    /** Components with a property value containing text, ignoring case */
+    public VComponentQuery<T> withText(VPropertyElement property, String text)
+    {
+        conditions.add(new Condition(Arrays.asList(property), text, true));
+        return this;
+    }
+
+    /** Components with a {@link VPropertyElement#SUMMARY SUMMARY} or {@link VPropertyElement#DESCRIPTION DESCRIPTION} containing text, ignoring case */
+    public VComponentQuery<T> withText(String text)
+    {
+        conditions.add(new Condition(TEXT_PROPERTIES, text, true));
+        return this;
+    }
+
+    /**
+     * Components with a recurrence that overlaps the range.  Components without recurrences, such as VFREEBUSY,
+     * don't match.  The range is applied in the time zone of each component, like the agenda does.
+     *
+     * @param startRange  start of range, inclusive
+     * @param endRange  end of range, exclusive
+     */
+    public VComponentQuery<T> withDateRange(LocalDateTime startRange, LocalDateTime endRange)
+    {
+        if (! startRange.isBefore(endRange))
+        {
+            throw new IllegalArgumentException("startRange (" + startRange + ") must be before endRange (" + endRange + ")");
+        }
+        this.startRange = startRange;
+        this.endRange = endRange;
+        return this;
+    }
+
+    /*
+     * RESULTS
+     */
+    /** Stream of matching components, in calendar order */
+    public Stream<T> stream()
+    {
+        VCalendarIndex index = vCalendar.getIndex();
+        Collection<VComponent> candidates = (index == null) ? null : indexedCandidates(index);
+        final Stream<? extends VChild> stream;
+        if (candidates == null)
+        {
+            stream = vCalendar.childrenUnmodifiable().stream();
+        } else
+        {
+            stream = candidates.stream().sorted(index.indexOrder());
+        }
+        return stream
+                .filter(c -> componentClass.isInstance(c))
+                .map(c -> componentClass.cast(c))
+                .filter(c -> conditions.stream().allMatch(condition -> condition.matches(c)))
+                .filter(c -> (startRange == null) || isInRange(c));
+    }
+
+    /** List of matching components, in calendar order */
+    public List<T> list()
+    {
+        return stream().collect(Collectors.toList());
+    }
+
+    /** Number of matching components */
+    public long count()
+    {
+        return stream().count();
+    }
+
+    /* Candidates from the index, or null if none of the conditions is indexed */
+    private Collection<VComponent> indexedCandidates(VCalendarIndex index)
+    {
+        List<Set<VComponent>> sets = new ArrayList<>();
+        for (Condition condition : conditions)
+        {
+            Set<VComponent> candidates = condition.candidates(index);
+            if (candidates != null)
+            {
+                if (candidates.isEmpty()) return candidates;
+                sets.add(candidates);
+            }
+        }
+        return sets.isEmpty() ? null : VCalendarIndex.intersect(sets);
+    }
+
+    private boolean isInRange(VComponent vComponent)
+    {
+        if (! (vComponent instanceof VRepeatable)) return false;
+        VRepeatable<?> vRepeatable = (VRepeatable<?>) vComponent;
+        if (vRepeatable.getDateTimeStart() == null) return false;
+        TemporalAmount duration = RecurrenceRanges.duration(vRepeatable);
+        return RecurrenceRanges.streamRecurrences(vRepeatable, duration, startRange, endRange)
+                .findAny()
+                .isPresent();
+    }
+
+    /* One condition, matches if any of the properties matches */
+    private static class Condition
+    {
+        private final List<VPropertyElement> properties;
+        private final String value;
+        private final boolean isText;
+
+        Condition(List<VPropertyElement> properties, Object value, boolean isText)
+        {
+            this.properties = properties;
+            this.value = VCalendarIndex.normalize(value);
+            this.isText = isText;
+        }
+
+        /* Union of index entries of the properties, or null if a property isn't indexed */
+        Set<VComponent> candidates(VCalendarIndex index)
+        {
+            List<Set<VComponent>> sets = new ArrayList<>();
+            for (VPropertyElement property : properties)
+            {
+                Set<VComponent> candidates = isText ? index.lookupText(property, value) : index.lookup(property, value);
+                if (candidates == null) return null;
+                sets.add(candidates);
+            }
+            if (sets.size() == 1) return sets.get(0);
+            Set<VComponent> union = VCalendarIndex.newIdentitySet();
+            sets.forEach(union::addAll);
+            return union;
+        }
+
+        /* Checks the current property values, the index only narrows the candidates */
+        boolean matches(VComponent vComponent)
+        {
+            for (VChild child : vComponent.childrenUnmodifiable())
+            {
+                if (! (child instanceof VProperty)) continue;
+                VPropertyElement property = VPropertyElement.fromClass(child.getClass());
+                if (! properties.contains(property)) continue;
+                for (Object v : VCalendarIndex.values((VProperty<?>) child))
+                {
+                    String normalized = VCalendarIndex.normalize(v);
+                    boolean isMatch = isText ? normalized.contains(value) : normalized.equals(value);
+                    if (isMatch) return true;
+                }
+            }
+            return false;
+        }
+    }
+}
@@ -25,8 +25,10 @@ import java.time.temporal.TemporalAdjusters;
 import java.time.temporal.TemporalAmount;
 import java.util.Arrays;
 import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -119,11 +121,33 @@ public final class DateTimeUtilities
      * Makes LocalDate at start of day.  Add system default ZoneId to LocalDate and LocalDateTime */
     public final static Comparator<Temporal> TEMPORAL_COMPARATOR2 = (t1, t2) -> 
     {
+        // compare instants first, only equal instants need the UTC ZonedDateTimes
+        int result = Long.compare(utcEpochSecond(t1), utcEpochSecond(t2));
+        if (result != 0)
+        {
+            return result;
+        }
         ZonedDateTime z1 = (ZonedDateTime) DateTimeType.DATE_WITH_UTC_TIME.from(t1);
         ZonedDateTime z2 = (ZonedDateTime) DateTimeType.DATE_WITH_UTC_TIME.from(t2);
         return z1.compareTo(z2);
     };
     
+    /* Epoch second of temporal as converted by DATE_WITH_UTC_TIME */
+    private static long utcEpochSecond(Temporal temporal)
+    {
+        if (temporal instanceof LocalDate)
+        {
+            return ((LocalDate) temporal).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+        } else if (temporal instanceof LocalDateTime)
+        {
+            return ZoneConversions.toEpochSecond((LocalDateTime) temporal, DEFAULT_ZONE);
+        } else if (temporal instanceof ZonedDateTime)
+        {
+            return ((ZonedDateTime) temporal).toEpochSecond();
+        }
+        throw new DateTimeException("Unsupported Temporal class:" + temporal.getClass().getSimpleName());
+    }
+    
     /** Returns correct comparator based on Temporal parameter */
     public final static Comparator<Temporal> getTemporalComparator(Temporal t) 
     {
@@ -233,32 +257,53 @@ public final class DateTimeUtilities
         LocalDate dtstart = LocalDate.from(vEvent.getDateTimeStart().getValue());
         TemporalAmount duration = vEvent.getActualDuration();
         List<Temporal> newStarts = vEvent.streamRecurrences().limit(checkQuantity).collect(Collectors.toList());
-        Temporal lastStart = newStarts.get(newStarts.size()-1);
+        long lastStart = EpochTimeUtilities.toEpochSecond(newStarts.get(newStarts.size()-1), DEFAULT_ZONE);
 
         /*
-         * Make sorted list of events before lastStart from all VEvents
+         * Make timeline of recurrences before lastStart from all VEvents, as epoch seconds
          */
-        List<Triple> eventTimes = vEvents.stream()
-            .filter(v -> 
-            { // only keep OPAQUE events
-                TimeTransparencyType myTransparency = (v.getTimeTransparency() == null) ? TimeTransparencyType.OPAQUE : v.getTimeTransparency().getValue();
-                return myTransparency == TimeTransparencyType.OPAQUE;
-            })
-            .flatMap(v ->
+        int size = 0;
+        int capacity = Math.max(16, checkQuantity);
+        long[] starts = new long[capacity];
+        long[] ends = new long[capacity];
+        int[] owners = new int[capacity];
+        Temporal[] recurrences = new Temporal[capacity];
+        for (int v=0; v<vEvents.size(); v++)
+        {
+            VEvent existingVEvent = vEvents.get(v);
+            // only keep OPAQUE events
+            TimeTransparencyType myTransparency = (existingVEvent.getTimeTransparency() == null) ? TimeTransparencyType.OPAQUE : existingVEvent.getTimeTransparency().getValue();
+            if (myTransparency != TimeTransparencyType.OPAQUE) continue;
+            TemporalAmount actualDuration = existingVEvent.getActualDuration();
+            Temporal myDTStart = existingVEvent.getDateTimeStart().getValue().with(dtstart);
+            Iterator<Temporal> i = existingVEvent.streamRecurrences(myDTStart).limit(checkQuantity).iterator();
+            while (i.hasNext())
             {
-                TemporalAmount actualDuration = v.getActualDuration();
-                Temporal myDTStart = v.getDateTimeStart().getValue().with(dtstart);
-                return v.streamRecurrences(myDTStart)
-                    .limit(checkQuantity)
-                    .filter(t -> ! DateTimeUtilities.isAfter(t, lastStart))
-                    .map(t -> 
-                    {
-                        String uid = (v.getUniqueIdentifier() != null) ? v.getUniqueIdentifier().getValue() : null;
-                        return new Triple(t, t.plus(actualDuration), uid);
-                    });
-            })
-            .sorted((t1, t2) -> DateTimeUtilities.TEMPORAL_COMPARATOR2.compare(t1.start, t2.start))
-            .collect(Collectors.toList());
+                Temporal t = i.next();
+                long start = EpochTimeUtilities.toEpochSecond(t, DEFAULT_ZONE);
+                if (start > lastStart) break; // recurrences are in order
+                if (size == starts.length)
+                {
+                    starts = Arrays.copyOf(starts, size * 2);
+                    ends = Arrays.copyOf(ends, size * 2);
+                    owners = Arrays.copyOf(owners, size * 2);
+                    recurrences = Arrays.copyOf(recurrences, size * 2);
+                }
+                starts[size] = start;
+                ends[size] = EpochTimeUtilities.toEpochSecond(t.plus(actualDuration), DEFAULT_ZONE);
+                owners[size] = v;
+                recurrences[size] = t;
+                size++;
+            }
+        }
+        starts = Arrays.copyOf(starts, size);
+        int[] order = EpochTimeUtilities.sortedOrder(starts);
+        long[] sortedStarts = new long[size];
+        for (int i=0; i<size; i++)
+        {
+            sortedStarts[i] = starts[order[i]];
+        }
+        long[] maxEnds = EpochTimeUtilities.maxEnds(ends, order);
 
         /*
          *  Search for a conflict
@@ -266,37 +311,18 @@ public final class DateTimeUtilities
          */
         for (Temporal newStart : newStarts)
         {
-            Temporal newEnd = newStart.plus(duration);
-            Triple firstConflict = eventTimes.stream()
-                .filter(triple ->
-                {
-                    boolean newStartBeforeEnd = DateTimeUtilities.isBefore(newStart, triple.end);
-                    boolean newEndAfterStart = DateTimeUtilities.isAfter(newEnd, triple.start);
-                    return (newStartBeforeEnd && newEndAfterStart);
-                })
-                .findAny()
-                .orElseGet(() -> null);
-            if (firstConflict != null)
+            long start = EpochTimeUtilities.toEpochSecond(newStart, DEFAULT_ZONE);
+            long end = EpochTimeUtilities.toEpochSecond(newStart.plus(duration), DEFAULT_ZONE);
+            int conflict = EpochTimeUtilities.firstOverlap(sortedStarts, maxEnds, start, end);
+            if (conflict >= 0)
             {
-                String uid = (firstConflict.uid != null) ? firstConflict.uid + ", " : "";
-                return (firstConflict == null) ? null : uid + DateTimeUtilities.temporalToString(firstConflict.start);
+                VEvent conflictVEvent = vEvents.get(owners[order[conflict]]);
+                String uid = (conflictVEvent.getUniqueIdentifier() != null) ? conflictVEvent.getUniqueIdentifier().getValue() + ", " : "";
+                return uid + DateTimeUtilities.temporalToString(recurrences[order[conflict]]);
             }
         }
         return null; // no conflicts found
     }
-    // Triple class for checkScheduleConflict
-    private static class Triple
-    {
-        public Triple(Temporal start, Temporal end, String uid)
-        {
-            this.start = start;
-            this.end = end;
-            this.uid = uid;
-        }
-        Temporal start;
-        Temporal end;
-        String uid;
-    }
     
 //    /** Check if schedule conflict exists for {@link TimeTransparencyType.OPAQUE OPAQUE} events.
 //     * Finds conflict faster, but not necessarily the first conflict that occurs
@@ -548,7 +574,7 @@ public final class DateTimeUtilities
                     return LocalDate.from(temporal);
                 case DATE_WITH_LOCAL_TIME_AND_TIME_ZONE:
                 case DATE_WITH_UTC_TIME:
-                    return ZonedDateTime.from(temporal).withZoneSameInstant(DEFAULT_ZONE).toLocalDate();
+                    return ZoneConversions.toLocalDateTime((ZonedDateTime) temporal, DEFAULT_ZONE).toLocalDate();
                 default:
                     throw new DateTimeException("Unsupported Temporal class:" + temporal.getClass().getSimpleName());
                 }
@@ -589,7 +615,7 @@ public final class DateTimeUtilities
                     return temporal;  // do nothing
                 case DATE_WITH_LOCAL_TIME_AND_TIME_ZONE:
                 case DATE_WITH_UTC_TIME:
-                    return ZonedDateTime.from(temporal).withZoneSameInstant(DEFAULT_ZONE).toLocalDateTime();
+                    return ZoneConversions.toLocalDateTime((ZonedDateTime) temporal, DEFAULT_ZONE);
                 default:
                     throw new DateTimeException("Unsupported Temporal class:" + temporal.getClass().getSimpleName());
                 }
@@ -627,11 +653,11 @@ public final class DateTimeUtilities
                 switch(DateTimeType.of(temporal))
                 {
                 case DATE:
-                    return LocalDate.from(temporal).atStartOfDay().atZone(ZoneId.of("Z"));
+                    return LocalDate.from(temporal).atStartOfDay().atZone(ZoneOffset.UTC);
                 case DATE_WITH_LOCAL_TIME:
-                    return LocalDateTime.from(temporal).atZone(DEFAULT_ZONE).withZoneSameInstant(ZoneId.of("Z"));
+                    return ZoneConversions.toInstant((LocalDateTime) temporal, DEFAULT_ZONE).atZone(ZoneOffset.UTC);
                 case DATE_WITH_LOCAL_TIME_AND_TIME_ZONE:
-                    return ZonedDateTime.from(temporal).withZoneSameInstant(ZoneId.of("Z"));
+                    return ZonedDateTime.from(temporal).withZoneSameInstant(ZoneOffset.UTC);
                 case DATE_WITH_UTC_TIME:
                     return temporal;  // do nothing
                 default:
@@ -645,7 +671,7 @@ public final class DateTimeUtilities
                 if (temporal instanceof ZonedDateTime)
                 {
                     ZoneId z = ((ZonedDateTime) temporal).getZone();
-                    return z == ZoneId.of("Z");
+                    return z == ZoneOffset.UTC;
                 }
                 return false;
             }
@@ -714,13 +740,19 @@ public final class DateTimeUtilities
             this.pattern = pattern;
         }
 
+        private static final DateTimeType[] VALUES = values();
+        
         /** Find DateTimeType of Temporal parameter temporal */
         public static DateTimeType of(Temporal temporal)
         {
-            return Arrays.stream(DateTimeType.values())
-                    .filter(d -> d.is(temporal))
-                    .findFirst()
-                    .get();
+            for (DateTimeType type : VALUES)
+            {
+                if (type.is(temporal))
+                {
+                    return type;
+                }
+            }
+            throw new NoSuchElementException("No DateTimeType for " + temporal);
         }
         
         /**
@@ -0,0 +1,371 @@
+package jfxtras.icalendarfx.utilities;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * <p>Primitive encoding of recurrence start values as {@code long} epoch values, and sort, merge and interval
+ * operations over {@code long[]} timelines.  Comparing longs avoids converting each Temporal to a UTC ZonedDateTime on
+ * every comparison, as {@link DateTimeUtilities#TEMPORAL_COMPARATOR2} does.  Convert back to Temporal only for results.</p>
+ *
+ * <p>Two encodings are used:
+ * <ul>
+ * <li>epoch value - lossless encoding of one DateTimeType: epoch days for DATE, epoch seconds for date-times.
+ * Floating date-times are encoded as if in UTC.  Only comparable with values of the same type and time zone.
+ * See {@link #toEpoch(Temporal)} and {@link #fromEpoch(long, Temporal)}.
+ * <li>epoch second - instant of any DateTimeType, dates and floating date-times taken in a time zone.
+ * Comparable across types.  See {@link #toEpochSecond(Temporal, ZoneId)} and {@link #fromEpochSecond(long, Temporal, ZoneId)}.
+ * </ul></p>
+ *
+ * <p>Intervals are stored as an interleaved array of start and end pairs: {@code {start0, end0, start1, end1, ...}}.
+ * Ends are exclusive.</p>
+ */
+public final class EpochTimeUtilities
+{
+    private EpochTimeUtilities() { }
+
+    /*
+     * ENCODING
+     */
+    /**
+     * Epoch value of temporal: epoch days for LocalDate, epoch seconds for LocalDateTime (as if UTC) and ZonedDateTime
+     */
+    public static long toEpoch(Temporal temporal)
+    {
+        if (temporal instanceof LocalDate)
+        {
+            return ((LocalDate) temporal).toEpochDay();
+        } else if (temporal instanceof LocalDateTime)
+        {
+            return ((LocalDateTime) temporal).toEpochSecond(ZoneOffset.UTC);
+        } else if (temporal instanceof ZonedDateTime)
+        {
+            return ((ZonedDateTime) temporal).toEpochSecond();
+        }
+        throw new DateTimeException("Unsupported Temporal class: " + temporal.getClass());
+    }
+
+    /**
+     * Temporal of an epoch value from {@link #toEpoch(Temporal)}
+     *
+     * @param epoch  epoch value
+     * @param type  Temporal of the encoded type, such as DTSTART, also provides the time zone of a ZonedDateTime
+     * @return  Temporal of the same class as type
+     */
+    public static Temporal fromEpoch(long epoch, Temporal type)
+    {
+        if (type instanceof LocalDate)
+        {
+            return LocalDate.ofEpochDay(epoch);
+        } else if (type instanceof LocalDateTime)
+        {
+            return LocalDateTime.ofEpochSecond(epoch, 0, ZoneOffset.UTC);
+        } else if (type instanceof ZonedDateTime)
+        {
+            return Instant.ofEpochSecond(epoch).atZone(((ZonedDateTime) type).getZone());
+        }
+        throw new DateTimeException("Unsupported Temporal class: " + type.getClass());
+    }
+
+    /**
+     * Epoch second of temporal.  LocalDate is start of day and LocalDateTime is taken in zone.
+     */
+    public static long toEpochSecond(Temporal temporal, ZoneId zone)
+    {
+        if (temporal instanceof LocalDate)
+        {
+            return ZoneConversions.toEpochSecond((LocalDate) temporal, zone);
+        } else if (temporal instanceof LocalDateTime)
+        {
+            return ZoneConversions.toEpochSecond((LocalDateTime) temporal, zone);
+        } else if (temporal instanceof ZonedDateTime)
+        {
+            return ((ZonedDateTime) temporal).toEpochSecond();
+        }
+        throw new DateTimeException("Unsupported Temporal class: " + temporal.getClass());
+    }
+
+    /**
+     * Temporal of an epoch second from {@link #toEpochSecond(Temporal, ZoneId)}
+     *
+     * @param epochSecond  epoch second
+     * @param type  Temporal of the result type, such as DTSTART, also provides the time zone of a ZonedDateTime
+     * @param zone  time zone of LocalDate and LocalDateTime results
+     * @return  Temporal of the same class as type
+     */
+    public static Temporal fromEpochSecond(long epochSecond, Temporal type, ZoneId zone)
+    {
+        if (type instanceof LocalDate)
+        {
+            return ZoneConversions.toLocalDateTime(epochSecond, 0, zone).toLocalDate();
+        } else if (type instanceof LocalDateTime)
+        {
+            return ZoneConversions.toLocalDateTime(epochSecond, 0, zone);
+        } else if (type instanceof ZonedDateTime)
+        {
+            return Instant.ofEpochSecond(epochSecond).atZone(((ZonedDateTime) type).getZone());
+        }
+        throw new DateTimeException("Unsupported Temporal class: " + type.getClass());
+    }
+
+    /*
+     * SORT AND MERGE
+     */
+    /** Sorts values in place and returns them */
+    public static long[] sort(long[] values)
+    {
+        Arrays.sort(values);
+        return values;
+    }
+
+    /**
+     * Indexes of values in ascending order of value, so parallel arrays can be read in sorted order.
+     * Stable: equal values keep their order.
+     */
+    public static int[] sortedOrder(long[] values)
+    {
+        int[] order = new int[values.length];
+        for (int i=0; i<order.length; i++)
+        {
+            order[i] = i;
+        }
+        int[] buffer = new int[values.length];
+        // bottom-up merge sort
+        for (int width=1; width<order.length; width*=2)
+        {
+            for (int left=0; left<order.length; left+=2*width)
+            {
+                int middle = Math.min(left + width, order.length);
+                int right = Math.min(left + 2*width, order.length);
+                int i = left;
+                int j = middle;
+                for (int k=left; k<right; k++)
+                {
+                    if ((i < middle) && ((j >= right) || (values[order[i]] <= values[order[j]])))
+                    {
+                        buffer[k] = order[i++];
+                    } else
+                    {
+                        buffer[k] = order[j++];
+                    }
+                }
+            }
+            int[] swap = order;
+            order = buffer;
+            buffer = swap;
+        }
+        return order;
+    }
+
+    /** Merges two sorted arrays into a new sorted array, keeping duplicates */
+    public static long[] merge(long[] sorted1, long[] sorted2)
+    {
+        long[] merged = new long[sorted1.length + sorted2.length];
+        int i = 0;
+        int j = 0;
+        for (int k=0; k<merged.length; k++)
+        {
+            if ((i < sorted1.length) && ((j >= sorted2.length) || (sorted1[i] <= sorted2[j])))
+            {
+                merged[k] = sorted1[i++];
+            } else
+            {
+                merged[k] = sorted2[j++];
+            }
+        }
+        return merged;
+    }
+
+    /** Merges sorted arrays into a new sorted array, keeping duplicates.  Merges pairs, so it takes log(k) passes. */
+    public static long[] merge(List<long[]> sortedArrays)
+    {
+        if (sortedArrays.isEmpty())
+        {
+            return new long[0];
+        }
+        long[][] arrays = sortedArrays.toArray(new long[sortedArrays.size()][]);
+        int count = arrays.length;
+        while (count > 1)
+        {
+            int half = (count + 1) / 2;
+            for (int i=0; i<count/2; i++)
+            {
+                arrays[i] = merge(arrays[2*i], arrays[2*i + 1]);
+            }
+            if (count % 2 == 1)
+            {
+                arrays[half - 1] = arrays[count - 1];
+            }
+            count = half;
+        }
+        return arrays[0];
+    }
+
+    /** Index of the first value not less than key in a sorted array, or length if none */
+    public static int lowerBound(long[] sorted, long key)
+    {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (sorted[middle] < key)
+            {
+                low = middle + 1;
+            } else
+            {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /** Sorted values in the range, start inclusive and end exclusive */
+    public static long[] range(long[] sorted, long start, long end)
+    {
+        int from = lowerBound(sorted, start);
+        int to = Math.max(from, lowerBound(sorted, end));
+        return Arrays.copyOfRange(sorted, from, to);
+    }
+
+    /*
+     * INTERVALS
+     */
+    /**
+     * Intervals of the same duration
+     *
+     * @param starts  interval starts
+     * @param duration  length of each interval, in the unit of starts
+     * @return  interleaved start and end pairs, in the order of starts
+     */
+    public static long[] intervals(long[] starts, long duration)
+    {
+        long[] intervals = new long[starts.length * 2];
+        for (int i=0; i<starts.length; i++)
+        {
+            intervals[2*i] = starts[i];
+            intervals[2*i + 1] = starts[i] + duration;
+        }
+        return intervals;
+    }
+
+    /**
+     * Union of intervals - sorted, with overlapping and adjacent intervals joined, such as busy time
+     *
+     * @param intervals  interleaved start and end pairs, in any order
+     * @return  new interleaved array of disjoint intervals in ascending order
+     */
+    public static long[] union(long[] intervals)
+    {
+        long[] starts = new long[intervals.length / 2];
+        for (int i=0; i<starts.length; i++)
+        {
+            starts[i] = intervals[2*i];
+        }
+        int[] order = sortedOrder(starts);
+        long[] union = new long[intervals.length];
+        int size = 0;
+        for (int index : order)
+        {
+            long start = intervals[2*index];
+            long end = intervals[2*index + 1];
+            if ((size > 0) && (start <= union[size - 1]))
+            {
+                union[size - 1] = Math.max(union[size - 1], end);
+            } else
+            {
+                union[size++] = start;
+                union[size++] = end;
+            }
+        }
+        return Arrays.copyOf(union, size);
+    }
+
+    /**
+     * Gaps between disjoint intervals within a range, such as free time
+     *
+     * @param union  sorted disjoint intervals, from {@link #union(long[])}
+     * @param start  range start
+     * @param end  range end
+     * @return  interleaved start and end pairs of the gaps
+     */
+    public static long[] complement(long[] union, long start, long end)
+    {
+        long[] gaps = new long[union.length + 2];
+        int size = 0;
+        long gapStart = start;
+        for (int i=0; i<union.length; i+=2)
+        {
+            if (union[i + 1] <= gapStart) continue;
+            if (union[i] >= end) break;
+            if (union[i] > gapStart)
+            {
+                gaps[size++] = gapStart;
+                gaps[size++] = union[i];
+            }
+            gapStart = union[i + 1];
+        }
+        if (gapStart < end)
+        {
+            gaps[size++] = gapStart;
+            gaps[size++] = end;
+        }
+        return Arrays.copyOf(gaps, size);
+    }
+
+    /**
+     * Pair index of the first interval, in order of start, that overlaps [start, end).  Intervals that only touch
+     * don't overlap.
+     *
+     * @param sortedStarts  interval starts in ascending order
+     * @param maxEnds  for each interval, the greatest end of it and the intervals before it, from {@link #maxEnds(long[], int[])}
+     * @param start  start of interval to test
+     * @param end  end of interval to test
+     * @return  index into sortedStarts, or -1 if none overlaps
+     */
+    public static int firstOverlap(long[] sortedStarts, long[] maxEnds, long start, long end)
+    {
+        // first interval whose running maximum end is after start is the first one ending after start
+        int low = 0;
+        int high = maxEnds.length;
+        while (low < high)
+        {
+            int middle = (low + high) >>> 1;
+            if (maxEnds[middle] <= start)
+            {
+                low = middle + 1;
+            } else
+            {
+                high = middle;
+            }
+        }
+        return ((low < sortedStarts.length) && (sortedStarts[low] < end)) ? low : -1;
+    }
+
+    /**
+     * Running maximum of interval ends, in order of start, for {@link #firstOverlap(long[], long[], long, long)}
+     *
+     * @param ends  interval ends
+     * @param order  indexes of intervals in ascending order of start, from {@link #sortedOrder(long[])}
+     * @return  running maximum, indexed like the sorted starts
+     */
+    public static long[] maxEnds(long[] ends, int[] order)
+    {
+        long[] maxEnds = new long[order.length];
+        long max = Long.MIN_VALUE;
+        for (int i=0; i<order.length; i++)
+        {
+            max = Math.max(max, ends[order[i]]);
+            maxEnds[i] = max;
+        }
+        return maxEnds;
+    }
+}
@@ -0,0 +1,189 @@
+package jfxtras.icalendarfx.utilities;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * <p>Cached time zone conversions between local date-times and instants.</p>
+ *
+ * <p>Resolved {@link ZoneId ZoneIds} are cached by id, and each zone gets an offset table: the offset transitions
+ * of its {@link ZoneRules} from {@value #FIRST_YEAR} to {@value #LAST_YEAR}, in sorted arrays.  A conversion is then a binary
+ * search on a primitive array, with no {@link ZonedDateTime} made.  Values outside those years are converted by the
+ * ZoneRules.</p>
+ *
+ * <p>Results are the same as {@code localDateTime.atZone(zone)}: a local date-time in a gap is moved later by the
+ * length of the gap, and one in an overlap takes the earlier offset.</p>
+ */
+public final class ZoneConversions
+{
+    private ZoneConversions() { }
+
+    /** First year of the offset tables */
+    public static final int FIRST_YEAR = 1900;
+    /** Last year of the offset tables */
+    public static final int LAST_YEAR = 2100;
+
+    private static final long FIRST_EPOCH_SECOND = LocalDate.of(FIRST_YEAR, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    private static final long END_EPOCH_SECOND = LocalDate.of(LAST_YEAR + 1, 1, 1).atStartOfDay().toEpochSecond(ZoneOffset.UTC);
+    // local date-times this close to the ends of the tables are converted by the ZoneRules, as no offset exceeds a day
+    private static final long LOCAL_MARGIN = 86400;
+
+    private static final Map<String, ZoneId> ZONE_IDS = new ConcurrentHashMap<>();
+    private static final Map<ZoneId, OffsetTable> OFFSET_TABLES = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the ZoneId of an id, as {@link ZoneId#of(String)}, resolving each id only once
+     *
+     * @throws java.time.DateTimeException if the id is invalid or unknown
+     */
+    public static ZoneId zoneId(String id)
+    {
+        ZoneId zone = ZONE_IDS.get(id);
+        if (zone == null)
+        {
+            zone = ZONE_IDS.computeIfAbsent(id, i -> ZoneId.of(i));
+        }
+        return zone;
+    }
+
+    /** Returns the ZoneRules of zone, looked up once per zone */
+    public static ZoneRules rules(ZoneId zone)
+    {
+        return table(zone).rules;
+    }
+
+    /** Returns the offset of zone at an instant, given in epoch seconds */
+    public static ZoneOffset offset(long epochSecond, ZoneId zone)
+    {
+        return table(zone).offset(epochSecond);
+    }
+
+    /** Returns the epoch second of a local date-time in zone, as {@code localDateTime.atZone(zone).toEpochSecond()} */
+    public static long toEpochSecond(LocalDateTime localDateTime, ZoneId zone)
+    {
+        return table(zone).toEpochSecond(localDateTime);
+    }
+
+    /** Returns the epoch second of the start of a date in zone, as {@code localDate.atStartOfDay(zone).toEpochSecond()} */
+    public static long toEpochSecond(LocalDate localDate, ZoneId zone)
+    {
+        return table(zone).toEpochSecond(localDate.atStartOfDay());
+    }
+
+    /** Returns the instant of a local date-time in zone, as {@code localDateTime.atZone(zone).toInstant()} */
+    public static Instant toInstant(LocalDateTime localDateTime, ZoneId zone)
+    {
+        return Instant.ofEpochSecond(toEpochSecond(localDateTime, zone), localDateTime.getNano());
+    }
+
+    /** Returns the local date-time in zone of an instant, given in epoch seconds and nanoseconds */
+    public static LocalDateTime toLocalDateTime(long epochSecond, int nanoOfSecond, ZoneId zone)
+    {
+        return LocalDateTime.ofEpochSecond(epochSecond, nanoOfSecond, offset(epochSecond, zone));
+    }
+
+    /** Returns the local date-time in zone of the instant of a ZonedDateTime, as {@code withZoneSameInstant(zone).toLocalDateTime()} */
+    public static LocalDateTime toLocalDateTime(ZonedDateTime zonedDateTime, ZoneId zone)
+    {
+        if (zonedDateTime.getZone().equals(zone))
+        {
+            return zonedDateTime.toLocalDateTime();
+        }
+        return toLocalDateTime(zonedDateTime.toEpochSecond(), zonedDateTime.getNano(), zone);
+    }
+
+    private static OffsetTable table(ZoneId zone)
+    {
+        OffsetTable table = OFFSET_TABLES.get(zone);
+        if (table == null)
+        {
+            table = OFFSET_TABLES.computeIfAbsent(zone, z -> new OffsetTable(z.getRules()));
+        }
+        return table;
+    }
+
+    /*
+     * Offset transitions of one zone between FIRST_YEAR and LAST_YEAR.  Transition i is at epoch second
+     * transitions[i], changing the offset from offsetsBefore[i] to offsetsBefore[i+1].  The last element of
+     * offsetsBefore is the offset after the last transition.
+     */
+    private static class OffsetTable
+    {
+        private final ZoneRules rules;
+        private final long[] transitions;
+        // local epoch second after which a local date-time is past transition i, the later of its two local times
+        private final long[] localEnds;
+        private final ZoneOffset[] offsetsBefore;
+
+        OffsetTable(ZoneRules rules)
+        {
+            this.rules = rules;
+            List<ZoneOffsetTransition> list = new ArrayList<>();
+            if (! rules.isFixedOffset())
+            {
+                ZoneOffsetTransition transition = rules.nextTransition(Instant.ofEpochSecond(FIRST_EPOCH_SECOND - 1));
+                while ((transition != null) && (transition.toEpochSecond() < END_EPOCH_SECOND))
+                {
+                    list.add(transition);
+                    transition = rules.nextTransition(transition.getInstant());
+                }
+            }
+            int size = list.size();
+            transitions = new long[size];
+            localEnds = new long[size];
+            offsetsBefore = new ZoneOffset[size + 1];
+            for (int i=0; i<size; i++)
+            {
+                ZoneOffsetTransition transition = list.get(i);
+                transitions[i] = transition.toEpochSecond();
+                int before = transition.getOffsetBefore().getTotalSeconds();
+                int after = transition.getOffsetAfter().getTotalSeconds();
+                localEnds[i] = transitions[i] + Math.max(before, after);
+                offsetsBefore[i] = transition.getOffsetBefore();
+            }
+            offsetsBefore[size] = (size == 0) ? rules.getOffset(Instant.ofEpochSecond(FIRST_EPOCH_SECOND))
+                    : list.get(size - 1).getOffsetAfter();
+        }
+
+        ZoneOffset offset(long epochSecond)
+        {
+            if ((epochSecond < FIRST_EPOCH_SECOND) || (epochSecond >= END_EPOCH_SECOND))
+            {
+                return rules.getOffset(Instant.ofEpochSecond(epochSecond));
+            }
+            // first transition after epochSecond
+            int index = Arrays.binarySearch(transitions, epochSecond);
+            index = (index < 0) ? -index - 1 : index + 1;
+            return offsetsBefore[index];
+        }
+
+        long toEpochSecond(LocalDateTime localDateTime)
+        {
+            long localSecond = localDateTime.toEpochSecond(ZoneOffset.UTC);
+            if ((localSecond < FIRST_EPOCH_SECOND + LOCAL_MARGIN) || (localSecond >= END_EPOCH_SECOND - LOCAL_MARGIN))
+            {
+                // the offset ZoneRules gives in a gap or overlap is the offset before the transition, as below
+                return localSecond - rules.getOffset(localDateTime).getTotalSeconds();
+            }
+            /*
+             * First transition the local date-time isn't past.  Before it, in its gap or in its overlap, the
+             * offset before the transition gives the same epoch second as atZone: a gap moves the local
+             * date-time later by the gap length, and an overlap takes the earlier offset.
+             */
+            int index = Arrays.binarySearch(localEnds, localSecond);
+            index = (index < 0) ? -index - 1 : index + 1;
+            return localSecond - offsetsBefore[index].getTotalSeconds();
+        }
+    }
+}
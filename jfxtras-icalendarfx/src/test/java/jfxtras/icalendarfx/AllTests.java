@@ -5,9 +5,16 @@ import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
 
 import jfxtras.icalendarfx.calendar.CalendarScaleTest;
+import jfxtras.icalendarfx.calendar.CalendarSnapshotTest;
+import jfxtras.icalendarfx.calendar.ChangeCalendarTest;
 import jfxtras.icalendarfx.calendar.CopyCalendarTest;
 import jfxtras.icalendarfx.calendar.GeneralCalendarTest;
+import jfxtras.icalendarfx.calendar.JournalCalendarTest;
+import jfxtras.icalendarfx.calendar.MappedCalendarFileTest;
+import jfxtras.icalendarfx.calendar.MergedOccurrencesTest;
+import jfxtras.icalendarfx.calendar.MetricsCalendarTest;
 import jfxtras.icalendarfx.calendar.ParseCalendarTest;
+import jfxtras.icalendarfx.calendar.QueryCalendarTest;
 import jfxtras.icalendarfx.calendar.ReadICSFileTest;
 import jfxtras.icalendarfx.calendar.RecurrenceIDParentValidTest;
 import jfxtras.icalendarfx.calendar.VCalendarRecurrenceIDTest;
@@ -18,6 +25,7 @@ import jfxtras.icalendarfx.component.DateTimeEndComponentTest;
 import jfxtras.icalendarfx.component.DaylightSavingsTimeTest;
 import jfxtras.icalendarfx.component.DescribableTest;
 import jfxtras.icalendarfx.component.DisplayableTest;
+import jfxtras.icalendarfx.component.EpochRecurrenceTest;
 import jfxtras.icalendarfx.component.EqualsTest;
 import jfxtras.icalendarfx.component.ErrorCatchTest;
 import jfxtras.icalendarfx.component.GeneralComponentTest;
@@ -47,6 +55,7 @@ import jfxtras.icalendarfx.misc.ErrorDetectingTest;
 import jfxtras.icalendarfx.misc.FoldingAndUnfoldingTest;
 import jfxtras.icalendarfx.misc.MiscICalendarTests;
 import jfxtras.icalendarfx.misc.OrdererTest;
+import jfxtras.icalendarfx.misc.ZoneConversionsTest;
 import jfxtras.icalendarfx.parameter.AlternateTextRepresentationTest;
 import jfxtras.icalendarfx.parameter.CommonNameTest;
 import jfxtras.icalendarfx.parameter.DelegateesTest;
@@ -70,6 +79,7 @@ import jfxtras.icalendarfx.parameter.rrule.ByYearDayTest;
 import jfxtras.icalendarfx.parameter.rrule.FrequencyTest;
 import jfxtras.icalendarfx.parameter.rrule.IntervalTest;
 import jfxtras.icalendarfx.parameter.rrule.RRuleErrorTest;
+import jfxtras.icalendarfx.parameter.rrule.RecurrenceArithmeticTest;
 import jfxtras.icalendarfx.parameter.rrule.RecurrenceRuleParseTest;
 import jfxtras.icalendarfx.parameter.rrule.RecurrenceRuleStreamTest;
 import jfxtras.icalendarfx.property.calendar.MethodTest;
@@ -125,6 +135,7 @@ import jfxtras.icalendarfx.property.component.UniqueIdentifierTest;
         FoldingAndUnfoldingTest.class,
         MiscICalendarTests.class,
         OrdererTest.class,
+        ZoneConversionsTest.class,
         
         // iTIP tests
         CancelRecurrenceTest.class,
@@ -139,8 +150,15 @@ import jfxtras.icalendarfx.property.component.UniqueIdentifierTest;
         CalendarScaleTest.class,
         CopyCalendarTest.class,
         GeneralCalendarTest.class,
+        JournalCalendarTest.class,
+        MappedCalendarFileTest.class,
+        CalendarSnapshotTest.class,
+        ChangeCalendarTest.class,
+        MergedOccurrencesTest.class,
+        MetricsCalendarTest.class,
         OrdererTest.class,
         ParseCalendarTest.class,
+        QueryCalendarTest.class,
         ReadICSFileTest.class,
         RecurrenceIDParentValidTest.class,
         VCalendarRecurrenceIDTest.class,
@@ -153,6 +171,7 @@ import jfxtras.icalendarfx.property.component.UniqueIdentifierTest;
         DaylightSavingsTimeTest.class,
         DescribableTest.class,
         DisplayableTest.class,
+        EpochRecurrenceTest.class,
         EqualsTest.class,
         ErrorCatchTest.class,
         GeneralComponentTest.class,
@@ -240,6 +259,7 @@ import jfxtras.icalendarfx.property.component.UniqueIdentifierTest;
         ByYearDayTest.class,
         FrequencyTest.class,
         IntervalTest.class,
+        RecurrenceArithmeticTest.class,
         RecurrenceRuleParseTest.class,
         RecurrenceRuleStreamTest.class,
         ByRuleTest.class
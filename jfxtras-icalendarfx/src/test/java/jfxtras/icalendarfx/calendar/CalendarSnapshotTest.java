@@ -0,0 +1,105 @@
+package jfxtras.icalendarfx.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.archive.CalendarSnapshot;
+
+public class CalendarSnapshotTest
+{
+    @Test
+    public void canRoundTripFiles() throws IOException
+    {
+        for (String fileName : new String[] { "mathBirthdays.ics", "Yahoo_Sample_Calendar.ics" })
+        {
+            Path icsFilePath = Paths.get(getClass().getResource(fileName).getFile());
+            VCalendar expected = VCalendar.parse(icsFilePath);
+            ByteBuffer snapshot = CalendarSnapshot.write(expected);
+            assertTrue(snapshot.remaining() < Files.size(icsFilePath));
+            VCalendar vCalendar = CalendarSnapshot.read(snapshot);
+            assertEquals(expected.toString(), vCalendar.toString());
+            assertEquals(expected, vCalendar);
+        }
+    }
+
+    @Test
+    public void canRoundTripContent() throws IOException
+    {
+        String content = String.join(System.lineSeparator(),
+                "BEGIN:VCALENDAR",
+                "PRODID:-//Example/ExampleCalendarClient//EN",
+                "VERSION:2.0",
+                "X-WR-CALNAME:Snapshot",
+                "BEGIN:VTIMEZONE",
+                "TZID:America/New_York",
+                "BEGIN:STANDARD",
+                "DTSTART:20071104T020000",
+                "RRULE:FREQ=YEARLY;BYMONTH=11;BYDAY=1SU",
+                "TZOFFSETFROM:-0400",
+                "TZOFFSETTO:-0500",
+                "TZNAME:EST",
+                "END:STANDARD",
+                "END:VTIMEZONE",
+                "BEGIN:VEVENT",
+                "DTSTART;TZID=America/New_York:20160105T100000",
+                "DTEND;TZID=America/New_York:20160105T113000",
+                "DTSTAMP:20160101T080000Z",
+                "UID:20160101T080000-0@example.com",
+                "RRULE:FREQ=MONTHLY;INTERVAL=2;BYDAY=-1FR,2MO;BYSETPOS=1,-1;UNTIL=20161231T150000Z;WKST=SU",
+                "EXDATE;TZID=America/New_York:20160304T100000",
+                "SUMMARY:A summary that is long enough to be folded when it is written as content lines",
+                "X-CUSTOM;X-PARAM=1:custom value",
+                "BEGIN:VALARM",
+                "ACTION:DISPLAY",
+                "DESCRIPTION:Reminder",
+                "TRIGGER;RELATED=START:-PT15M",
+                "END:VALARM",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "DTSTART;VALUE=DATE:20160107",
+                "DTSTAMP:20160101T080000Z",
+                "UID:20160101T080000-1@example.com",
+                "RECURRENCE-ID;TZID=America/New_York:20160105T100000",
+                "RRULE:FREQ=YEARLY;COUNT=3;BYMONTH=1,7;BYMONTHDAY=7",
+                "END:VEVENT",
+                "END:VCALENDAR");
+        VCalendar expected = VCalendar.parse(content);
+        Path snapshotPath = Files.createTempFile("calendar", ".icsb");
+        try
+        {
+            CalendarSnapshot.write(expected, snapshotPath);
+            VCalendar vCalendar = CalendarSnapshot.read(snapshotPath); // the mapped buffer isn't kept by the calendar
+            assertEquals(expected.toString(), vCalendar.toString());
+            assertEquals(expected, vCalendar);
+            try (ReadableByteChannel channel = Channels.newChannel(Files.newInputStream(snapshotPath)))
+            {
+                VCalendar fromChannel = CalendarSnapshot.read(channel);
+                assertEquals(expected.toString(), fromChannel.toString());
+            }
+        } finally
+        {
+            System.gc(); // a mapped file can't be deleted on Windows until its unreferenced buffer is collected
+            if (! snapshotPath.toFile().delete())
+            {
+                snapshotPath.toFile().deleteOnExit();
+            }
+        }
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void canRejectOtherContent()
+    {
+        CalendarSnapshot.read(ByteBuffer.wrap("BEGIN:VCALENDAR".getBytes()));
+    }
+}
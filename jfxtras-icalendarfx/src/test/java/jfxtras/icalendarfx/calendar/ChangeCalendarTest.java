@@ -0,0 +1,243 @@
+package jfxtras.icalendarfx.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.change.VCalendarChange;
+import jfxtras.icalendarfx.change.VCalendarChange.Type;
+import jfxtras.icalendarfx.components.VAlarm;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.parameters.Language;
+import jfxtras.icalendarfx.properties.VPropertyElement;
+import jfxtras.icalendarfx.properties.calendar.Method.MethodType;
+import jfxtras.icalendarfx.properties.component.descriptive.Comment;
+import jfxtras.icalendarfx.properties.component.descriptive.Summary;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.Until;
+
+public class ChangeCalendarTest
+{
+    private static VEvent makeEvent(int i)
+    {
+        return new VEvent()
+                .withUniqueIdentifier(i + "@jfxtras.org")
+                .withDateTimeStamp("20150110T080000Z")
+                .withDateTimeStart(LocalDateTime.of(2017, 1, 2, 10, 0).plusDays(i))
+                .withDateTimeEnd(LocalDateTime.of(2017, 1, 2, 11, 0).plusDays(i))
+                .withSummary("Event " + i);
+    }
+
+    private static VCalendar makeCalendar()
+    {
+        return new VCalendar()
+                .withProductIdentifier("-//JFxtras//iCalendarFx-1.0//EN")
+                .withVersion()
+                .withVEvents(makeEvent(0))
+                .withVEvents(makeEvent(1));
+    }
+
+    @Test
+    public void canReportChanges()
+    {
+        VCalendar c = makeCalendar();
+        List<List<VCalendarChange>> batches = new ArrayList<>();
+        c.addChangeListener(changes -> batches.add(changes));
+
+        VEvent added = makeEvent(2);
+        c.addChild(added);
+        assertEquals(1, batches.size());
+        VCalendarChange change = batches.get(0).get(0);
+        assertEquals(Type.COMPONENT_ADDED, change.getType());
+        assertSame(added, change.getNewComponent());
+        assertEquals("2@jfxtras.org", change.getUniqueIdentifier());
+
+        VEvent changed = c.getVEvents().get(0);
+        Summary oldSummary = changed.getSummary();
+        changed.setSummary("Changed summary");
+        change = batches.get(1).get(0);
+        assertEquals(Type.PROPERTY_CHANGED, change.getType());
+        assertSame(changed, change.getComponent());
+        assertSame(oldSummary, change.getOldChild());
+        assertSame(changed.getSummary(), change.getNewChild());
+
+        VEvent removed = c.getVEvents().get(1);
+        c.removeChild(removed);
+        change = batches.get(2).get(0);
+        assertEquals(Type.COMPONENT_REMOVED, change.getType());
+        assertSame(removed, change.getOldComponent());
+        assertNull(change.getNewComponent());
+        assertEquals("1@jfxtras.org", change.getUniqueIdentifier());
+
+        c.setMethod(MethodType.PUBLISH);
+        change = batches.get(3).get(0);
+        assertEquals(Type.PROPERTY_CHANGED, change.getType());
+        assertNull(change.getComponent());
+        assertSame(c.getMethod(), change.getNewChild());
+        assertEquals(4, batches.size());
+    }
+
+    @Test
+    public void canReadChangedComponentInListener()
+    {
+        VCalendar c = makeCalendar();
+        VEvent e = c.getVEvents().get(0);
+        List<String> seen = new ArrayList<>();
+        c.addChangeListener(changes -> changes.forEach(change ->
+        {
+            VEvent changed = (VEvent) change.getComponent();
+            int comments = (changed.getComments() == null) ? 0 : changed.getComments().size();
+            seen.add(changed.getSummary().getValue() + " " + changed.getUniqueIdentifier().getValue() + " " + comments);
+        }));
+
+        e.setSummary("new");
+        e.setUniqueIdentifier("changed@jfxtras.org");
+        e.setComments(Arrays.asList(Comment.parse("first")));
+        assertEquals(Arrays.asList("new 0@jfxtras.org 0", "new changed@jfxtras.org 0", "new changed@jfxtras.org 1"), seen);
+    }
+
+    @Test
+    public void canReadChangedPropertyInListener()
+    {
+        VCalendar c = makeCalendar();
+        VEvent e = c.getVEvents().get(0).withRecurrenceRule("RRULE:FREQ=DAILY");
+        List<String> seen = new ArrayList<>();
+        c.addChangeListener(changes -> changes.forEach(change ->
+        {
+            VEvent changed = (VEvent) change.getComponent();
+            Language language = changed.getSummary().getLanguage();
+            Until until = changed.getRecurrenceRule().getValue().getUntil();
+            seen.add(((language == null) ? null : language.getValue()) + " " + ((until == null) ? null : until.getValue()));
+        }));
+
+        e.getSummary().setLanguage("en");
+        e.getRecurrenceRule().getValue().setUntil(LocalDate.of(2017, 2, 1));
+        assertEquals(Arrays.asList("en null", "en 2017-02-01"), seen);
+    }
+
+    @Test
+    public void canQueryIndexInListener()
+    {
+        VCalendar c = makeCalendar().withIndex();
+        List<String> seen = new ArrayList<>();
+        c.addChangeListener(changes -> changes.forEach(change ->
+        {
+            VComponent component = (change.getNewComponent() != null) ? change.getNewComponent() : change.getOldComponent();
+            Set<VComponent> found = c.getIndex().lookup(VPropertyElement.UNIQUE_IDENTIFIER, change.getUniqueIdentifier());
+            seen.add(change.getType() + " " + found.contains(component));
+        }));
+
+        VEvent added = makeEvent(2);
+        c.addChild(added);
+        added.setUniqueIdentifier("changed@jfxtras.org");
+        c.removeChild(added);
+        assertEquals(Arrays.asList("COMPONENT_ADDED true", "PROPERTY_CHANGED true", "COMPONENT_REMOVED false"), seen);
+    }
+
+    @Test
+    public void canUpdateIndexWhenListenerThrows()
+    {
+        VCalendar c = makeCalendar().withIndex();
+        c.addChangeListener(changes -> { throw new IllegalStateException(); });
+        VEvent added = makeEvent(2);
+        try
+        {
+            c.addChild(added);
+        } catch (IllegalStateException e)
+        {
+            // expected
+        }
+        assertTrue(c.getIndex().contains(added));
+    }
+
+    @Test
+    public void canReportSubcomponentChanges()
+    {
+        VCalendar c = makeCalendar();
+        VEvent e = c.getVEvents().get(0);
+        VAlarm alarm = new VAlarm().withDescription("Reminder");
+        e.addChild(alarm);
+        List<VCalendarChange> changes = new ArrayList<>();
+        c.addChangeListener(changes::addAll);
+
+        alarm.setDescription("Changed reminder");
+        assertEquals(1, changes.size());
+        assertEquals(Type.PROPERTY_CHANGED, changes.get(0).getType());
+        assertSame(e, changes.get(0).getComponent());
+        assertSame(alarm, changes.get(0).getNewChild());
+    }
+
+    @Test
+    public void canBatchChanges()
+    {
+        VCalendar c = makeCalendar();
+        List<List<VCalendarChange>> batches = new ArrayList<>();
+        c.addChangeListener(changes -> batches.add(changes));
+
+        c.runChanges(() ->
+        {
+            c.addChild(makeEvent(2));
+            c.beginChanges(); // nested
+            c.getVEvents().get(0).setSummary("Changed summary");
+            c.endChanges();
+            c.removeChild(c.getVEvents().get(1));
+            assertTrue(batches.isEmpty());
+        });
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertEquals(Type.COMPONENT_ADDED, batches.get(0).get(0).getType());
+        assertEquals(Type.PROPERTY_CHANGED, batches.get(0).get(1).getType());
+        assertEquals(Type.COMPONENT_REMOVED, batches.get(0).get(2).getType());
+    }
+
+    @Test
+    public void canBatchITIPMessage()
+    {
+        VCalendar c = makeCalendar();
+        List<List<VCalendarChange>> batches = new ArrayList<>();
+        c.addChangeListener(changes -> batches.add(changes));
+
+        String publish = String.join(System.lineSeparator(),
+                "BEGIN:VCALENDAR",
+                "METHOD:PUBLISH",
+                "PRODID:-//Example/ExampleCalendarClient//EN",
+                "VERSION:2.0",
+                "BEGIN:VEVENT",
+                "DTSTART:20170110T100000",
+                "DTEND:20170110T110000",
+                "DTSTAMP:20150110T080000Z",
+                "UID:3@jfxtras.org",
+                "SUMMARY:Event 3",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "DTSTART:20170111T100000",
+                "DTEND:20170111T110000",
+                "DTSTAMP:20150110T080000Z",
+                "UID:4@jfxtras.org",
+                "SUMMARY:Event 4",
+                "END:VEVENT",
+                "END:VCALENDAR");
+        c.processITIPMessage(publish);
+        assertEquals(4, c.getVEvents().size());
+        assertEquals(1, batches.size());
+        assertTrue(batches.get(0).stream().anyMatch(ch -> "3@jfxtras.org".equals(ch.getUniqueIdentifier())));
+        assertTrue(batches.get(0).stream().anyMatch(ch -> "4@jfxtras.org".equals(ch.getUniqueIdentifier())));
+    }
+
+    @Test (expected = IllegalStateException.class)
+    public void canRejectUnmatchedEnd()
+    {
+        new VCalendar().endChanges();
+    }
+}
@@ -3,6 +3,11 @@ package jfxtras.icalendarfx.calendar;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import org.junit.Test;
 
 import jfxtras.icalendarfx.ICalendarTestAbstract;
@@ -43,4 +48,19 @@ public class CopyCalendarTest extends ICalendarTestAbstract
 		VEvent yearly2 = new VEvent(yearly1);
 		assertEquals(c, yearly2.getParent());
     }
+    
+    @Test
+    public void canCopyCalendarFile() throws IOException
+    {
+        URL url = getClass().getResource("mathBirthdays.ics");
+        Path icsFilePath = Paths.get(url.getFile());
+        VCalendar c = VCalendar.parse(icsFilePath);
+        
+        VCalendar c2 = new VCalendar(c);
+        
+        assertEquals(c, c2);
+        assertEquals(c.toString(), c2.toString());
+        assertFalse(c.getVEvents().get(0) == c2.getVEvents().get(0));
+        assertEquals(c2, c2.getVEvents().get(0).getParent());
+    }
 }
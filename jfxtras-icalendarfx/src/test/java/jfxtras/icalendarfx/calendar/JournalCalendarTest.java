@@ -0,0 +1,249 @@
+package jfxtras.icalendarfx.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.journal.VCalendarJournal;
+import jfxtras.icalendarfx.properties.component.relationship.RecurrenceId;
+
+public class JournalCalendarTest
+{
+    private static VEvent makeEvent(int i)
+    {
+        return new VEvent()
+                .withUniqueIdentifier(i + "@jfxtras.org")
+                .withDateTimeStamp("20150110T080000Z")
+                .withDateTimeStart(LocalDateTime.of(2017, 1, 2, 10, 0).plusDays(i))
+                .withDateTimeEnd(LocalDateTime.of(2017, 1, 2, 11, 0).plusDays(i))
+                .withSummary("Event " + i);
+    }
+
+    private static VCalendar makeCalendar()
+    {
+        return new VCalendar()
+                .withProductIdentifier("-//JFxtras//iCalendarFx-1.0//EN")
+                .withVersion()
+                .withVEvents(makeEvent(0))
+                .withVEvents(makeEvent(1));
+    }
+
+    private static void deleteDirectory(Path directory) throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void canRecoverChanges() throws IOException
+    {
+        Path directory = Files.createTempDirectory("journal");
+        try
+        {
+            Path snapshot = directory.resolve("calendar.ics");
+            VCalendar c = makeCalendar();
+            VCalendarJournal journal = VCalendarJournal.create(c, snapshot);
+            long snapshotSize = Files.size(snapshot);
+
+            c.addChild(makeEvent(2));
+            c.getVEvents().get(0).setSummary("Changed summary");
+            c.removeChild(c.getVEvents().get(1));
+            VEvent copy = new VEvent(c.getVEvents().get(0)).withSummary("Copy isn't journaled");
+            assertEquals("Changed summary", c.getVEvents().get(0).getSummary().getValue());
+            assertEquals(2, c.getVEvents().size());
+            journal.close();
+
+            // only journal was written
+            assertEquals(snapshotSize, Files.size(snapshot));
+            VCalendar recovered = VCalendarJournal.recover(snapshot);
+            assertEquals(c, recovered);
+            assertEquals(c.toString(), recovered.toString());
+            assertFalse(recovered.getVEvents().contains(copy));
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void canReplaceWithNewKey() throws IOException
+    {
+        Path directory = Files.createTempDirectory("journal");
+        try
+        {
+            Path snapshot = directory.resolve("calendar.ics");
+            VCalendar c = makeCalendar();
+            VCalendarJournal.create(c, snapshot).withSyncOnWrite(false);
+            VEvent vEvent = c.getVEvents().get(0);
+            vEvent.setUniqueIdentifier("new@jfxtras.org");
+            vEvent.setLocation("Board room");
+            c.getJournal().close();
+
+            VCalendar recovered = VCalendarJournal.recover(snapshot);
+            assertEquals(c.toString(), recovered.toString());
+            assertEquals("new@jfxtras.org", recovered.getVEvents().get(0).getUniqueIdentifier().getValue());
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void canRemoveAfterUniqueIdentifierChange() throws IOException
+    {
+        Path directory = Files.createTempDirectory("journal");
+        try
+        {
+            Path snapshot = directory.resolve("calendar.ics");
+            VCalendar c = makeCalendar();
+            VCalendarJournal.create(c, snapshot).withSyncOnWrite(false);
+            VEvent vEvent = c.getVEvents().get(0);
+            vEvent.setUniqueIdentifier("new@jfxtras.org");
+            c.removeChild(vEvent);
+            c.getJournal().close();
+
+            VCalendar recovered = VCalendarJournal.recover(snapshot);
+            assertEquals(1, recovered.getVEvents().size());
+            assertEquals("1@jfxtras.org", recovered.getVEvents().get(0).getUniqueIdentifier().getValue());
+            assertEquals(c.toString(), recovered.toString());
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void canRemoveAfterRecurrenceIdChange() throws IOException
+    {
+        Path directory = Files.createTempDirectory("journal");
+        try
+        {
+            Path snapshot = directory.resolve("calendar.ics");
+            VCalendar c = makeCalendar();
+            VEvent recurrence = makeEvent(0)
+                    .withRecurrenceId(LocalDateTime.of(2017, 1, 9, 10, 0))
+                    .withSummary("Recurrence");
+            c.addChild(recurrence);
+            VCalendarJournal.create(c, snapshot).withSyncOnWrite(false);
+            recurrence.setRecurrenceId(new RecurrenceId(LocalDateTime.of(2017, 1, 16, 10, 0)));
+            c.removeChild(recurrence);
+            c.getJournal().close();
+
+            VCalendar recovered = VCalendarJournal.recover(snapshot);
+            assertEquals(2, recovered.getVEvents().size());
+            assertTrue(recovered.getVEvents().stream().allMatch(v -> v.getRecurrenceId() == null));
+            assertEquals(c.toString(), recovered.toString());
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void canCompact() throws IOException
+    {
+        Path directory = Files.createTempDirectory("journal");
+        try
+        {
+            Path snapshot = directory.resolve("calendar.ics");
+            VCalendarJournal journal = VCalendarJournal.open(snapshot);
+            VCalendar c = journal.getVCalendar();
+            assertTrue(c.getVEvents() == null);
+            for (int i=0; i<10; i++)
+            {
+                c.addChild(makeEvent(i));
+            }
+            long journalSize = journal.size();
+            journal.compact();
+            assertTrue(journal.size() < journalSize);
+            assertFalse(Files.exists(directory.resolve("calendar.ics" + VCalendarJournal.OLD_JOURNAL_SUFFIX)));
+            assertEquals(c.toString(), VCalendar.parse(snapshot).toString());
+
+            // changes after compaction go to new journal
+            c.removeChild(c.getVEvents().get(3));
+            journal.close();
+            journal = VCalendarJournal.open(snapshot);
+            assertEquals(c.toString(), journal.getVCalendar().toString());
+            journal.close();
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void canCompactAutomatically() throws IOException
+    {
+        Path directory = Files.createTempDirectory("journal");
+        try
+        {
+            Path snapshot = directory.resolve("calendar.ics");
+            VCalendar c = makeCalendar();
+            VCalendarJournal journal = VCalendarJournal.create(c, snapshot)
+                    .withSyncOnWrite(false)
+                    .withCompactionThreshold(2000);
+            for (int i=2; i<50; i++)
+            {
+                c.addChild(makeEvent(i));
+                c.getVEvents().get(i/2).setSummary("Change " + i);
+            }
+            journal.close();
+            assertTrue(Files.size(journal.getJournalPath()) < 2000 + 1000);
+            assertEquals(c.toString(), VCalendarJournal.recover(snapshot).toString());
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void canRecoverTornJournal() throws IOException
+    {
+        Path directory = Files.createTempDirectory("journal");
+        try
+        {
+            Path snapshot = directory.resolve("calendar.ics");
+            VCalendar c = makeCalendar();
+            VCalendarJournal journal = VCalendarJournal.create(c, snapshot);
+            c.addChild(makeEvent(2));
+            String expected = c.toString();
+            long size = journal.size();
+            c.addChild(makeEvent(3));
+            journal.close();
+
+            // crash in the middle of writing the last entry
+            Path journalPath = journal.getJournalPath();
+            try (FileChannel channel = FileChannel.open(journalPath, StandardOpenOption.WRITE))
+            {
+                channel.truncate(size + 20);
+            }
+            assertEquals(expected, VCalendarJournal.recover(snapshot).toString());
+
+            // torn entry is truncated, new entries follow the good ones
+            journal = VCalendarJournal.open(snapshot);
+            assertEquals(size, journal.size());
+            journal.getVCalendar().addChild(makeEvent(4));
+            journal.close();
+            assertEquals(journal.getVCalendar().toString(), VCalendarJournal.recover(snapshot).toString());
+            assertEquals(4, VCalendarJournal.recover(snapshot).getVEvents().size());
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package jfxtras.icalendarfx.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.archive.ComponentOffset;
+import jfxtras.icalendarfx.archive.MappedCalendarFile;
+import jfxtras.icalendarfx.components.VComponentElement;
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.components.VTimeZone;
+
+public class MappedCalendarFileTest
+{
+    private static void deleteDirectory(Path directory) throws IOException
+    {
+        try (Stream<Path> paths = Files.walk(directory))
+        {
+            paths.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+        }
+    }
+
+    @Test
+    public void canFindComponentsByUID() throws IOException
+    {
+        URL url = getClass().getResource("mathBirthdays.ics");
+        Path icsFilePath = Paths.get(url.getFile());
+        VCalendar vCalendar = VCalendar.parse(icsFilePath);
+        try (MappedCalendarFile file = MappedCalendarFile.open(icsFilePath))
+        {
+            assertEquals(vCalendar.getVEvents().size(), file.offsets().size());
+            for (int i : Arrays.asList(0, 500, 1320))
+            {
+                VEvent expected = vCalendar.getVEvents().get(i);
+                String uid = expected.getUniqueIdentifier().getValue();
+                assertEquals(Arrays.asList(expected), file.parse(uid));
+                ComponentOffset offset = file.find(uid, null);
+                assertEquals(VComponentElement.VEVENT, offset.getElement());
+                assertEquals(expected.getDateTimeStart().getValue(), offset.getDateTimeStart());
+            }
+            assertTrue(file.find("missing@jfxtras.org").isEmpty());
+        }
+    }
+
+    @Test
+    public void canFindRecurrences() throws IOException
+    {
+        String content = String.join("\r\n",
+                "BEGIN:VCALENDAR",
+                "VERSION:2.0",
+                "BEGIN:VTIMEZONE",
+                "TZID:America/New_York",
+                "BEGIN:STANDARD",
+                "DTSTART:20071104T020000",
+                "TZOFFSETFROM:-0400",
+                "TZOFFSETTO:-0500",
+                "END:STANDARD",
+                "END:VTIMEZONE",
+                "BEGIN:VEVENT",
+                "DTSTART;TZID=America/New_York:20170102T100000",
+                "DTEND;TZID=America/New_York:20170102T110000",
+                "UID:20170102T100000-0@",
+                " jfxtras.org",
+                "RRULE:FREQ=DAILY",
+                "SUMMARY:Daily",
+                "BEGIN:VALARM",
+                "ACTION:DISPLAY",
+                "DESCRIPTION:Reminder",
+                "TRIGGER:-PT15M",
+                "END:VALARM",
+                "END:VEVENT",
+                "BEGIN:VEVENT",
+                "RECURRENCE-ID;TZID=America/New_York:20170104T100000",
+                "DTSTART;TZID=America/New_York:20170104T120000",
+                "DTEND;TZID=America/New_York:20170104T130000",
+                "UID:20170102T100000-0@jfxtras.org",
+                "SUMMARY:Moved",
+                "END:VEVENT",
+                "END:VCALENDAR",
+                "");
+        Path directory = Files.createTempDirectory("mapped");
+        try
+        {
+            Path icsFilePath = directory.resolve("archive.ics");
+            Files.write(icsFilePath, content.getBytes(StandardCharsets.UTF_8));
+            ZoneId newYork = ZoneId.of("America/New_York");
+            try (MappedCalendarFile file = MappedCalendarFile.open(icsFilePath))
+            {
+                assertEquals(Arrays.asList(VComponentElement.VTIMEZONE, VComponentElement.VEVENT, VComponentElement.VEVENT),
+                        file.offsets().stream().map(o -> o.getElement()).collect(Collectors.toList()));
+                assertTrue(file.parse("America/New_York").get(0) instanceof VTimeZone);
+
+                List<ComponentOffset> series = file.find("20170102T100000-0@jfxtras.org");
+                assertEquals(2, series.size());
+                assertNull(series.get(0).getRecurrenceId());
+                ZonedDateTime recurrenceId = ZonedDateTime.of(LocalDateTime.of(2017, 1, 4, 10, 0), newYork);
+                assertEquals(series.get(1), file.find("20170102T100000-0@jfxtras.org", recurrenceId));
+                VEvent moved = (VEvent) file.parse(series.get(1));
+                assertEquals("Moved", moved.getSummary().getValue());
+                assertEquals(recurrenceId, moved.getRecurrenceId().getValue());
+
+                VEvent daily = (VEvent) file.parse(series.get(0));
+                assertEquals(1, daily.getVAlarms().size());
+                assertEquals(ZonedDateTime.of(LocalDateTime.of(2017, 1, 2, 10, 0), newYork), series.get(0).getDateTimeStart());
+            }
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+
+    @Test
+    public void canSaveIndex() throws IOException
+    {
+        Path directory = Files.createTempDirectory("mapped");
+        try
+        {
+            Path icsFilePath = directory.resolve("mathBirthdays.ics");
+            Files.copy(Paths.get(getClass().getResource("mathBirthdays.ics").getFile()), icsFilePath);
+            final List<String> expected;
+            try (MappedCalendarFile file = MappedCalendarFile.open(icsFilePath, true))
+            {
+                expected = file.offsets().stream().map(o -> o.toString()).collect(Collectors.toList());
+            }
+            assertTrue(Files.exists(directory.resolve("mathBirthdays.ics" + MappedCalendarFile.INDEX_SUFFIX)));
+            try (MappedCalendarFile file = MappedCalendarFile.open(icsFilePath))
+            {
+                assertEquals(expected, file.offsets().stream().map(o -> o.toString()).collect(Collectors.toList()));
+                String uid = file.offsets().get(7).getIdentifier();
+                assertEquals(uid, ((VEvent) file.parse(file.offsets().get(7))).getUniqueIdentifier().getValue());
+            }
+        } finally
+        {
+            deleteDirectory(directory);
+        }
+    }
+}
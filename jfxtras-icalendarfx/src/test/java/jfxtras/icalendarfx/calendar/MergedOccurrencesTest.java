@@ -0,0 +1,113 @@
+package jfxtras.icalendarfx.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.components.VJournal;
+import jfxtras.icalendarfx.query.MergedOccurrences;
+import jfxtras.icalendarfx.query.Occurrence;
+
+public class MergedOccurrencesTest
+{
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+
+    @Test
+    public void canMergeCalendars()
+    {
+        VCalendar c1 = new VCalendar()
+                .withVEvents(new VEvent()
+                        .withUniqueIdentifier("daily@jfxtras.org")
+                        .withDateTimeStart(LocalDateTime.of(2017, 1, 2, 10, 0))
+                        .withDateTimeEnd(LocalDateTime.of(2017, 1, 2, 11, 0))
+                        .withRecurrenceRule("RRULE:FREQ=DAILY"));
+        VCalendar c2 = new VCalendar()
+                .withVEvents(new VEvent()
+                        .withUniqueIdentifier("weekly@jfxtras.org")
+                        .withDateTimeStart(LocalDateTime.of(2017, 1, 3, 9, 0))
+                        .withDateTimeEnd(LocalDateTime.of(2017, 1, 3, 9, 30))
+                        .withRecurrenceRule("RRULE:FREQ=WEEKLY;BYDAY=TU,TH"))
+                .withVJournals(new VJournal()
+                        .withUniqueIdentifier("journal@jfxtras.org")
+                        .withDateTimeStart(LocalDateTime.of(2017, 1, 4, 10, 0)));
+        List<Occurrence> occurrences = MergedOccurrences.stream(Arrays.asList(c1, c2),
+                    LocalDateTime.of(2017, 1, 3, 0, 0), LocalDateTime.of(2017, 1, 6, 0, 0), NEW_YORK)
+                .collect(Collectors.toList());
+        List<String> expected = Arrays.asList(
+                "2017-01-03T09:00 weekly@jfxtras.org",
+                "2017-01-03T10:00 daily@jfxtras.org",
+                "2017-01-04T10:00 daily@jfxtras.org",
+                "2017-01-04T10:00 journal@jfxtras.org",
+                "2017-01-05T09:00 weekly@jfxtras.org",
+                "2017-01-05T10:00 daily@jfxtras.org");
+        assertEquals(expected, occurrences.stream()
+                .map(o -> o.getStart() + " " + o.getVComponent().getUniqueIdentifier().getValue())
+                .collect(Collectors.toList()));
+        assertEquals(c2, occurrences.get(0).getVCalendar());
+        assertEquals(LocalDateTime.of(2017, 1, 3, 9, 30), occurrences.get(0).getEnd());
+        assertEquals(LocalDateTime.of(2017, 1, 4, 10, 0), occurrences.get(3).getEnd());
+    }
+
+    @Test
+    public void canMergeTemporalTypes()
+    {
+        VCalendar c = new VCalendar()
+                .withVEvents(new VEvent() // 8:00 in New York
+                        .withUniqueIdentifier("zoned@jfxtras.org")
+                        .withDateTimeStart(ZonedDateTime.of(LocalDateTime.of(2017, 1, 2, 14, 0), ZoneId.of("Europe/Paris")))
+                        .withDateTimeEnd(ZonedDateTime.of(LocalDateTime.of(2017, 1, 2, 15, 0), ZoneId.of("Europe/Paris"))))
+                .withVEvents(new VEvent()
+                        .withUniqueIdentifier("local@jfxtras.org")
+                        .withDateTimeStart(LocalDateTime.of(2017, 1, 2, 7, 0))
+                        .withDateTimeEnd(LocalDateTime.of(2017, 1, 2, 7, 30)))
+                .withVEvents(new VEvent()
+                        .withUniqueIdentifier("wholeday@jfxtras.org")
+                        .withDateTimeStart(LocalDate.of(2017, 1, 2))
+                        .withDateTimeEnd(LocalDate.of(2017, 1, 3)));
+        List<String> uids = MergedOccurrences.stream(Arrays.asList(c),
+                    LocalDateTime.of(2017, 1, 2, 0, 0), LocalDateTime.of(2017, 1, 3, 0, 0), NEW_YORK)
+                .map(o -> o.getVComponent().getUniqueIdentifier().getValue())
+                .collect(Collectors.toList());
+        assertEquals(Arrays.asList("wholeday@jfxtras.org", "local@jfxtras.org", "zoned@jfxtras.org"), uids);
+    }
+
+    @Test
+    public void canTakeFirstOccurrencesOfUnboundedCalendars()
+    {
+        List<VCalendar> vCalendars = new ArrayList<>();
+        for (int i=0; i<200; i++)
+        {
+            vCalendars.add(new VCalendar()
+                    .withVEvents(new VEvent()
+                            .withUniqueIdentifier(i + "@jfxtras.org")
+                            .withDateTimeStart(LocalDateTime.of(2017, 1, 1, 0, 0).plusMinutes(7 * i))
+                            .withDateTimeEnd(LocalDateTime.of(2017, 1, 1, 0, 0).plusMinutes(7 * i + 30))
+                            .withRecurrenceRule("RRULE:FREQ=HOURLY;INTERVAL=" + (i % 5 + 1))));
+        }
+        List<Occurrence> first = MergedOccurrences.stream(vCalendars, LocalDateTime.of(2017, 6, 1, 0, 0), null)
+                .limit(500)
+                .collect(Collectors.toList());
+        assertEquals(500, first.size());
+        for (int i=1; i<first.size(); i++)
+        {
+            Temporal previous = first.get(i-1).getStart();
+            Temporal current = first.get(i).getStart();
+            assertTrue(! ((LocalDateTime) current).isBefore((LocalDateTime) previous));
+        }
+        // first starts at range start, or ended after it
+        assertTrue(! ((LocalDateTime) first.get(0).getEnd()).isBefore(LocalDateTime.of(2017, 6, 1, 0, 0)));
+    }
+}
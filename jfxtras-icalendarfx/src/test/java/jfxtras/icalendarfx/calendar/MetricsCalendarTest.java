@@ -0,0 +1,81 @@
+package jfxtras.icalendarfx.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.VElementBase.MessageEffect;
+import jfxtras.icalendarfx.metrics.CounterMetricsListener;
+import jfxtras.icalendarfx.metrics.ICalendarMetrics;
+
+public class MetricsCalendarTest
+{
+    @Test
+    public void canCountParseAndSerialize() throws IOException
+    {
+        Path icsFilePath = Paths.get(getClass().getResource("mathBirthdays.ics").getFile());
+        CounterMetricsListener counters = new CounterMetricsListener();
+        VCalendar vCalendar = VCalendar.parse(Files.newBufferedReader(icsFilePath), counters);
+        assertSame(counters, vCalendar.getMetricsListener());
+        int events = vCalendar.getVEvents().size();
+        assertEquals(events, counters.getParsedElements().get("VEVENT").getCount());
+        assertEquals(1, counters.getParsedElements().get("VCALENDAR").getCount());
+        assertTrue(counters.getUnfoldedLines().getCount() > events);
+        assertEquals(Files.lines(icsFilePath).count(), counters.getUnfoldedLines().getSize());
+
+        String content = vCalendar.toString();
+        assertEquals(events, counters.getSerializedElements().get("VEVENT").getCount());
+        assertEquals(content.length(), counters.getSerializedElements().get("VCALENDAR").getSize());
+
+        counters.reset();
+        assertEquals(0, counters.getUnfoldedLines().getCount());
+    }
+
+    @Test
+    public void canScopeListener() throws IOException
+    {
+        String content = String.join(System.lineSeparator(),
+                "BEGIN:VCALENDAR",
+                "METHOD:PUBLISH",
+                "PRODID:-//Example/ExampleCalendarClient//EN",
+                "VERSION:2.0",
+                "BEGIN:VEVENT",
+                "DTSTART:19970701T200000Z",
+                "DTSTAMP:19970611T190000Z",
+                "SUMMARY:A summary that is long enough to be folded when it is",
+                " written as content lines",
+                "UID:0981234-1234234-23@example.com",
+                "DTSTART:19970701T210000Z",
+                "END:VEVENT",
+                "END:VCALENDAR");
+        CounterMetricsListener counters = new CounterMetricsListener();
+        final VCalendar message;
+        ICalendarMetrics.Scope scope = ICalendarMetrics.scope(counters);
+        try
+        {
+            message = VCalendar.parse(new StringReader(content));
+        } finally
+        {
+            scope.close();
+        }
+        assertEquals(12, counters.getUnfoldedLines().getCount());
+        assertEquals(13, counters.getUnfoldedLines().getSize());
+        assertEquals(1, counters.getMessageCount(MessageEffect.MESSAGE_ONLY)); // second DTSTART
+        assertSame(ICalendarMetrics.NO_OP, ICalendarMetrics.listener());
+
+        VCalendar main = new VCalendar();
+        main.setMetricsListener(counters);
+        main.processITIPMessage(message);
+        assertEquals(1, counters.getProcessedITIPMessages().get("PUBLISH").getCount());
+        assertEquals(1, main.getVEvents().size());
+    }
+}
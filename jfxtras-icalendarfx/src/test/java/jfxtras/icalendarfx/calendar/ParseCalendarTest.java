@@ -4,6 +4,7 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.io.InputStreamReader;
 import java.io.Reader;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
@@ -15,6 +16,7 @@ import org.junit.Ignore;
 import org.junit.Test;
 
 import jfxtras.icalendarfx.ICalendarTestAbstract;
+import jfxtras.icalendarfx.ParseOptions;
 import jfxtras.icalendarfx.VCalendar;
 import jfxtras.icalendarfx.components.VEvent;
 import jfxtras.icalendarfx.properties.calendar.Version;
@@ -282,4 +284,39 @@ public class ParseCalendarTest extends ICalendarTestAbstract
 
         VCalendar v = VCalendar.parse(content);
     }
+
+    @Test
+    public void canParseTrustedVCalendar() throws IOException
+    {
+        Reader reader = new InputStreamReader(getClass().getResourceAsStream("mathBirthdays.ics"));
+        VCalendar trusted = VCalendar.parse(reader, ParseOptions.trusted());
+        VCalendar strict = VCalendar.parse(new InputStreamReader(getClass().getResourceAsStream("mathBirthdays.ics")));
+        assertEquals(strict, trusted);
+        assertEquals(strict.toString(), trusted.toString());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void canRejectTrustedComponentWithoutEnd()
+    {
+        String content = 
+       "BEGIN:VCALENDAR" + System.lineSeparator() +
+       "VERSION:2.0" + System.lineSeparator() +
+       "BEGIN:VEVENT" + System.lineSeparator() +
+       "UID:19970610T172345Z-AF23B2@example.com" + System.lineSeparator() +
+       "END:VCALENDAR";
+        VCalendar.parse(content, ParseOptions.trusted());
+    }
+
+    @Test (expected = IllegalArgumentException.class)
+    public void canRejectTrustedChildNotAllowed()
+    {
+        String content = 
+       "BEGIN:VCALENDAR" + System.lineSeparator() +
+       "VERSION:2.0" + System.lineSeparator() +
+       "BEGIN:VALARM" + System.lineSeparator() +
+       "ACTION:DISPLAY" + System.lineSeparator() +
+       "END:VALARM" + System.lineSeparator() +
+       "END:VCALENDAR";
+        VCalendar.parse(content, ParseOptions.trusted());
+    }
 }
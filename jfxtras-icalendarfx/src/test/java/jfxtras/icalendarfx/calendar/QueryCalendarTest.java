@@ -0,0 +1,171 @@
+package jfxtras.icalendarfx.calendar;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VComponent;
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.components.VTodo;
+import jfxtras.icalendarfx.properties.component.descriptive.Status.StatusType;
+
+public class QueryCalendarTest
+{
+    private static VCalendar makeCalendar()
+    {
+        return new VCalendar()
+                .withVEvents(new VEvent()
+                        .withUniqueIdentifier("20150110T080000-0@jfxtras.org")
+                        .withDateTimeStart(LocalDateTime.of(2017, 1, 10, 8, 0))
+                        .withDateTimeEnd(LocalDateTime.of(2017, 1, 10, 9, 0))
+                        .withSummary("Budget review")
+                        .withDescription("Review the budget for next year")
+                        .withCategories("Finance", "Planning")
+                        .withLocation("Board room")
+                        .withOrganizer("ORGANIZER;CN=Papa Smurf:mailto:papa@smurf.org")
+                        .withAttendees("ATTENDEE;CN=Smurfette:mailto:smurfette@smurf.org")
+                        .withStatus(StatusType.CONFIRMED))
+                .withVEvents(new VEvent()
+                        .withUniqueIdentifier("20150110T080000-1@jfxtras.org")
+                        .withDateTimeStart(LocalDateTime.of(2017, 1, 2, 10, 0))
+                        .withDateTimeEnd(LocalDateTime.of(2017, 1, 2, 10, 30))
+                        .withSummary("Standup")
+                        .withCategories("Planning")
+                        .withLocation("Online")
+                        .withOrganizer("ORGANIZER;CN=Hefty Smurf:mailto:hefty@smurf.org")
+                        .withAttendees("ATTENDEE;CN=Smurfette:mailto:smurfette@smurf.org",
+                                "ATTENDEE;CN=Brainy Smurf:mailto:brainy@smurf.org")
+                        .withStatus(StatusType.TENTATIVE)
+                        .withRecurrenceRule("RRULE:FREQ=WEEKLY;BYDAY=MO,WE,FR"))
+                .withVTodos(new VTodo()
+                        .withUniqueIdentifier("20150110T080000-2@jfxtras.org")
+                        .withDateTimeStart(LocalDateTime.of(2017, 1, 11, 8, 0))
+                        .withSummary("Write budget report")
+                        .withCategories("Finance"));
+    }
+
+    @Test
+    public void canQueryByPropertyValues()
+    {
+        for (boolean isIndexed : Arrays.asList(false, true))
+        {
+            VCalendar c = makeCalendar();
+            if (isIndexed) c.withIndex();
+            List<VEvent> vEvents = c.getVEvents();
+            assertEquals(Arrays.asList(vEvents.get(0), vEvents.get(1)), c.query(VEvent.class).withCategory("planning").list());
+            assertEquals(2, c.query().withAttendee("MAILTO:smurfette@smurf.org").count());
+            assertEquals(2, c.query().withCategory("Finance").count());
+            assertEquals(Arrays.asList(vEvents.get(0)), c.query(VEvent.class)
+                    .withCategory("Planning")
+                    .withOrganizer("mailto:papa@smurf.org")
+                    .list());
+            assertEquals(Arrays.asList(vEvents.get(1)), c.query(VEvent.class).withStatus(StatusType.TENTATIVE).list());
+            assertEquals(Arrays.asList(vEvents.get(1)), c.query(VEvent.class).withLocation("online").list());
+            assertEquals(Collections.emptyList(), c.query(VEvent.class).withLocation("Room 101").list());
+            assertEquals(Arrays.asList(c.getVTodos().get(0)), c.query(VTodo.class).withUniqueIdentifier("20150110T080000-2@jfxtras.org").list());
+        }
+    }
+
+    @Test
+    public void canQueryByText()
+    {
+        for (boolean isIndexed : Arrays.asList(false, true))
+        {
+            VCalendar c = makeCalendar();
+            if (isIndexed) c.withIndex();
+            VEvent budgetReview = c.getVEvents().get(0);
+            VTodo budgetReport = c.getVTodos().get(0);
+            assertEquals(Arrays.asList(budgetReview, budgetReport), c.query().withText("budget").list());
+            assertEquals(Arrays.asList(budgetReview), c.query().withText("BUDGET REV").withCategory("finance").list());
+            assertEquals(Arrays.asList(budgetReview), c.query().withText("the budget for").list());
+            assertEquals(Arrays.asList(budgetReview, budgetReport), c.query().withText("dget re").list());
+            assertEquals(Arrays.asList(c.getVEvents().get(1)), c.query().withText("andu").list());
+            // words present, but not adjacent
+            assertEquals(Collections.emptyList(), c.query().withText("budget year").list());
+        }
+    }
+
+    @Test
+    public void canKeepIndexCurrent()
+    {
+        VCalendar c = makeCalendar().withIndex();
+        VEvent vEvent = new VEvent()
+                .withDateTimeStart(LocalDateTime.of(2017, 1, 3, 8, 0))
+                .withSummary("Release planning")
+                .withCategories("Planning");
+        c.addChild(vEvent);
+        assertEquals(3, c.query().withCategory("planning").count());
+        assertEquals(Arrays.asList(vEvent), c.query().withText("release").list());
+
+        // replace property of indexed component
+        vEvent.setSummary("Release party");
+        assertEquals(0, c.query().withText("planning").withCategory("planning").count());
+        assertEquals(Arrays.asList(vEvent), c.query().withText("party").list());
+
+        c.removeChild(vEvent);
+        assertEquals(2, c.query().withCategory("planning").count());
+        assertEquals(0, c.query().withText("party").count());
+        assertEquals(3, c.getIndex().size());
+
+        // replace list
+        c.setVEvents(null);
+        assertEquals(1, c.getIndex().size());
+        assertEquals(Arrays.asList(c.getVTodos().get(0)), c.query().withCategory("finance").list());
+    }
+
+    @Test
+    public void canQueryDateRange()
+    {
+        VCalendar c = makeCalendar().withIndex();
+        VEvent budgetReview = c.getVEvents().get(0);
+        VEvent standup = c.getVEvents().get(1);
+        assertEquals(Arrays.asList(budgetReview), c.query(VEvent.class)
+                .withDateRange(LocalDateTime.of(2017, 1, 10, 0, 0), LocalDateTime.of(2017, 1, 11, 0, 0))
+                .list());
+        // starts before range, ends inside it
+        assertEquals(Arrays.asList(budgetReview), c.query(VEvent.class)
+                .withDateRange(LocalDateTime.of(2017, 1, 10, 8, 30), LocalDateTime.of(2017, 1, 10, 12, 0))
+                .list());
+        // recurrence of standup on Wednesday 2017-03-01
+        assertEquals(Arrays.asList(standup), c.query(VEvent.class)
+                .withCategory("planning")
+                .withDateRange(LocalDateTime.of(2017, 3, 1, 0, 0), LocalDateTime.of(2017, 3, 2, 0, 0))
+                .list());
+        assertEquals(0, c.query(VEvent.class)
+                .withDateRange(LocalDateTime.of(2017, 3, 2, 0, 0), LocalDateTime.of(2017, 3, 3, 0, 0))
+                .count());
+    }
+
+    @Test
+    public void canQueryCalendarFile() throws IOException
+    {
+        URL url = getClass().getResource("mathBirthdays.ics");
+        Path icsFilePath = Paths.get(url.getFile());
+        VCalendar c = VCalendar.parse(icsFilePath);
+        List<VComponent> expected = c.query().withText("riemann").list();
+        c.withIndex();
+        assertEquals(c.getVEvents().size(), c.getIndex().size());
+        assertEquals(expected, c.query().withText("riemann").list());
+        List<VEvent> riemann = c.query(VEvent.class)
+                .withText("Bernhard Riemann")
+                .withDateRange(LocalDateTime.of(2017, 9, 1, 0, 0), LocalDateTime.of(2017, 10, 1, 0, 0))
+                .list();
+        assertEquals(1, riemann.size());
+        assertTrue(riemann.get(0).getSummary().getValue().endsWith("Bernhard Riemann"));
+        assertEquals(0, c.query(VEvent.class)
+                .withText("Bernhard Riemann")
+                .withDateRange(LocalDateTime.of(2017, 10, 1, 0, 0), LocalDateTime.of(2017, 11, 1, 0, 0))
+                .count());
+    }
+}
@@ -5,6 +5,7 @@ import static org.junit.Assert.assertEquals;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.net.URL;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -17,6 +18,7 @@ import java.util.stream.Collectors;
 import org.junit.Test;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.content.UnfoldingChannelReader;
 import jfxtras.icalendarfx.content.UnfoldingStringIterator;
 
 public class ReadICSFileTest
@@ -77,4 +79,24 @@ public class ReadICSFileTest
         assertEquals(expectedUnfoldedContent, unfoldedContent);
         assertEquals(13217, expectedLines.size());
     }
+    
+    @Test
+    public void canUnfoldICSFileFromChannel() throws IOException
+    {
+        for (String fileName : Arrays.asList("Yahoo_Sample_Calendar.ics", "mathBirthdays.ics"))
+        {
+            Path icsFilePath = Paths.get(getClass().getResource(fileName).getFile());
+            List<String> expectedLines = new ArrayList<>();
+            try (BufferedReader br = Files.newBufferedReader(icsFilePath))
+            {
+                new UnfoldingStringIterator(br.lines().iterator()).forEachRemaining(line -> expectedLines.add(line));
+            }
+            List<String> lines = new ArrayList<>();
+            try (UnfoldingChannelReader reader = new UnfoldingChannelReader(FileChannel.open(icsFilePath)))
+            {
+                reader.forEachRemaining(line -> lines.add(line));
+            }
+            assertEquals(expectedLines, lines);
+        }
+    }
 }
@@ -1,10 +1,22 @@
 package jfxtras.icalendarfx.calendar;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
 
 import org.junit.Test;
 
 import jfxtras.icalendarfx.VCalendar;
+import jfxtras.icalendarfx.components.VAlarm;
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.properties.component.alarm.Action.ActionType;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.RecurrenceRuleValue;
 
 public class ValidateCalendarTest
 {
@@ -14,4 +26,81 @@ public class ValidateCalendarTest
         VCalendar c = new VCalendar();
         assertEquals(2, c.errors().size());
     }
+
+    @Test
+    public void canUpdateCachedErrors()
+    {
+        VCalendar c = new VCalendar()
+                .withProductIdentifier("-//Example/ExampleCalendarClient//EN")
+                .withVersion();
+        VEvent e = new VEvent()
+                .withDateTimeStart(LocalDateTime.of(2016, 5, 1, 10, 0))
+                .withDateTimeStamp("20160501T080000Z");
+        c.addChild(e);
+        List<String> errors = c.cachedErrors();
+        assertEquals(1, errors.size()); // missing UID
+        assertEquals(errors, c.cachedErrors());
+
+        e.setUniqueIdentifier("20160501T080000-0@example.com");
+        assertTrue(c.cachedErrors().isEmpty());
+
+        VAlarm a = new VAlarm()
+                .withAction(ActionType.DISPLAY)
+                .withDescription("Reminder");
+        e.addChild(a);
+        assertTrue(c.cachedErrors().get(0).startsWith("TRIGGER is not present"));
+        a.setTrigger(Duration.ofMinutes(-15));
+        assertTrue(c.cachedErrors().isEmpty());
+    }
+
+    @Test
+    public void canFindErrorsAfterInPlaceEdit()
+    {
+        VCalendar c = new VCalendar()
+                .withProductIdentifier("-//Example/ExampleCalendarClient//EN")
+                .withVersion();
+        VEvent e = new VEvent()
+                .withDateTimeStart(LocalDate.of(2020, 1, 1))
+                .withDateTimeStamp("20160501T080000Z")
+                .withUniqueIdentifier("20160501T080000-0@example.com")
+                .withRecurrenceRule("RRULE:FREQ=DAILY;COUNT=3");
+        c.addChild(e);
+        assertTrue(c.errors().isEmpty());
+        assertTrue(c.cachedErrors().isEmpty());
+
+        e.getRecurrenceRule().setValue(RecurrenceRuleValue.parse("FREQ=DAILY;COUNT=3;UNTIL=20200201")); // no hook fires
+        assertEquals(1, c.errors().size());
+        assertEquals(e.errors(), c.errors());
+        assertTrue(c.errors().get(0).contains("UNTIL and COUNT are both present"));
+        assertTrue(c.cachedErrors().isEmpty());
+
+        c.componentChanged(e);
+        assertEquals(c.errors(), c.cachedErrors());
+    }
+
+    @Test
+    public void canFindErrorsInParallel()
+    {
+        VCalendar c = new VCalendar()
+                .withProductIdentifier("-//Example/ExampleCalendarClient//EN")
+                .withVersion();
+        IntStream.range(0, 200).forEach(i ->
+        {
+            VEvent e = new VEvent()
+                    .withDateTimeStart(LocalDateTime.of(2016, 5, 1, 10, 0).plusDays(i))
+                    .withDateTimeStamp("20160501T080000Z");
+            if (i % 3 != 0)
+            {
+                e.setUniqueIdentifier("20160501T080000-" + i + "@example.com");
+            }
+            c.addChild(e);
+        });
+        List<String> errors = c.parallelErrors(new ForkJoinPool(4));
+        assertEquals(67, errors.size());
+        assertEquals(errors, new VCalendar(c).errors());
+        assertEquals(errors, c.errors());
+
+        c.getVEvents().get(0).setUniqueIdentifier("20160501T080000-0@example.com");
+        assertEquals(66, c.parallelErrors().size());
+    }
 }
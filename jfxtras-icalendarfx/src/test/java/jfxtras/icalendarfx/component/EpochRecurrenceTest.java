@@ -0,0 +1,81 @@
+package jfxtras.icalendarfx.component;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.utilities.EpochTimeUtilities;
+
+public class EpochRecurrenceTest
+{
+    @Test
+    public void canStreamEpochRecurrences()
+    {
+        VEvent vEvent = new VEvent()
+                .withDateTimeStart(ZonedDateTime.of(LocalDateTime.of(2017, 3, 10, 10, 0), ZoneId.of("America/New_York")))
+                .withRecurrenceRule("RRULE:FREQ=DAILY");
+        Temporal start = vEvent.getDateTimeStart().getValue();
+        List<Temporal> expected = vEvent.streamRecurrences(start).limit(5).collect(Collectors.toList());
+        long[] epochs = vEvent.streamEpochRecurrences(start).limit(5).toArray();
+        assertEquals(expected, Arrays.stream(epochs).mapToObj(e -> vEvent.recurrenceFromEpoch(e)).collect(Collectors.toList()));
+        // daylight saving time starts 2017-03-12
+        assertEquals(86400, epochs[1] - epochs[0]);
+        assertEquals(82800, epochs[2] - epochs[1]);
+    }
+
+    @Test
+    public void canStreamEpochDays()
+    {
+        VEvent vEvent = new VEvent()
+                .withDateTimeStart(LocalDate.of(2017, 1, 30))
+                .withRecurrenceRule("RRULE:FREQ=WEEKLY;COUNT=3");
+        long[] epochs = vEvent.streamEpochRecurrences(LocalDate.of(2017, 1, 1), LocalDate.of(2017, 2, 10)).toArray();
+        assertArrayEquals(new long[] { LocalDate.of(2017, 1, 30).toEpochDay(), LocalDate.of(2017, 2, 6).toEpochDay() }, epochs);
+        assertEquals(LocalDate.of(2017, 2, 6), vEvent.recurrenceFromEpoch(epochs[1]));
+    }
+
+    @Test
+    public void canSortAndMerge()
+    {
+        long[] values = { 5, 3, 9, 3, 1 };
+        assertArrayEquals(new int[] { 4, 1, 3, 0, 2 }, EpochTimeUtilities.sortedOrder(values));
+        assertArrayEquals(new long[] { 1, 2, 3, 4, 5, 6, 6 }, EpochTimeUtilities.merge(new long[] { 1, 3, 5, 6 }, new long[] { 2, 4, 6 }));
+        assertArrayEquals(new long[] { 0, 1, 2, 3, 4, 5, 7 }, EpochTimeUtilities.merge(Arrays.asList(
+                new long[] { 3 }, new long[] { 1, 4 }, new long[] { 0, 7 }, new long[] { }, new long[] { 2, 5 })));
+        assertArrayEquals(new long[] { 3, 3, 5 }, EpochTimeUtilities.range(EpochTimeUtilities.sort(values), 2, 9));
+    }
+
+    @Test
+    public void canMakeBusyAndFreeTime()
+    {
+        long[] busy = EpochTimeUtilities.union(new long[] { 50, 60, 10, 20, 15, 30, 30, 40 });
+        assertArrayEquals(new long[] { 10, 40, 50, 60 }, busy);
+        assertArrayEquals(new long[] { 0, 10, 40, 50, 60, 100 }, EpochTimeUtilities.complement(busy, 0, 100));
+        assertArrayEquals(new long[] { 40, 45 }, EpochTimeUtilities.complement(busy, 20, 45));
+    }
+
+    @Test
+    public void canFindFirstOverlap()
+    {
+        long[] starts = { 30, 0, 10 };
+        long[] ends = { 40, 100, 20 };
+        int[] order = EpochTimeUtilities.sortedOrder(starts);
+        long[] sortedStarts = Arrays.stream(order).mapToLong(i -> starts[i]).toArray();
+        long[] maxEnds = EpochTimeUtilities.maxEnds(ends, order);
+        assertEquals(0, EpochTimeUtilities.firstOverlap(sortedStarts, maxEnds, 50, 60)); // inside long interval
+        assertEquals(-1, EpochTimeUtilities.firstOverlap(sortedStarts, maxEnds, 100, 110)); // touches end
+        assertEquals(-1, EpochTimeUtilities.firstOverlap(sortedStarts, maxEnds, -10, 0)); // touches start
+        assertEquals(2, EpochTimeUtilities.firstOverlap(new long[] { 0, 10, 30 }, new long[] { 5, 20, 40 }, 35, 50));
+    }
+}
@@ -1,10 +1,23 @@
 package jfxtras.icalendarfx.misc;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.MalformedInputException;
+import java.nio.charset.StandardCharsets;
 
 import org.junit.Test;
 
+import jfxtras.icalendarfx.VCalendar;
 import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.content.UnfoldingChannelReader;
 
 public class FoldingAndUnfoldingTest
 {
@@ -24,4 +37,59 @@ public class FoldingAndUnfoldingTest
         assertEquals(builtComponent, unfoldedComponent);
         assertEquals(foldedContent, builtComponent.toString());
     }
+    
+    @Test
+    public void canUnfoldBytes()
+    {
+        String content = "BEGIN:VEVENT\r\n" +
+                "SUMMARY:Caf\u00e9 \u6771\u4eac\r\n" +
+                " meeting\r\n" +
+                "\r\n" +
+                "DESCRIPTION:first\n" +
+                "\tsecond\n" +
+                "END:VEVENT";
+        UnfoldingChannelReader reader = new UnfoldingChannelReader(ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8)));
+        assertEquals("BEGIN:VEVENT", reader.nextLine().toString());
+        assertEquals("SUMMARY:Caf\u00e9 \u6771\u4eacmeeting", reader.nextLine().toString());
+        assertEquals("DESCRIPTION:firstsecond", reader.next());
+        assertTrue(reader.hasNext());
+        assertEquals("END:VEVENT", reader.nextLine().toString());
+        assertNull(reader.nextLine());
+        assertFalse(reader.hasNext());
+    }
+    
+    @Test
+    public void canUnfoldLongLineFromChannel() throws IOException
+    {
+        // longer than the reader's buffers, so folds and multi-byte characters cross buffer boundaries
+        StringBuilder expected = new StringBuilder("DESCRIPTION:");
+        StringBuilder folded = new StringBuilder("DESCRIPTION:");
+        for (int i=0; i<5000; i++)
+        {
+            expected.append("\u00e9t\u00e9 ");
+            folded.append("\u00e9t\u00e9 ");
+            if (i % 10 == 9) folded.append("\r\n ");
+        }
+        String content = "BEGIN:VEVENT\r\n" + folded + "\r\nEND:VEVENT\r\n";
+        ReadableByteChannel channel = Channels.newChannel(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)));
+        try (UnfoldingChannelReader reader = new UnfoldingChannelReader(channel))
+        {
+            assertEquals("BEGIN:VEVENT", reader.next());
+            assertEquals(expected.toString(), reader.next());
+            assertEquals("END:VEVENT", reader.next());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+    @Test (expected = MalformedInputException.class)
+    public void canRejectMalformedBytes() throws IOException
+    {
+        byte[] content = ("BEGIN:VCALENDAR\r\n" +
+                "BEGIN:VEVENT\r\n" +
+                "UID:caf\u00e9@example.com\r\n" +
+                "END:VEVENT\r\n" +
+                "END:VCALENDAR\r\n").getBytes(StandardCharsets.UTF_8);
+        content[content.length - 40] = (byte) 0xff; // replaces the UID's @, not valid in UTF-8
+        VCalendar.parse(Channels.newChannel(new ByteArrayInputStream(content)));
+    }
 }
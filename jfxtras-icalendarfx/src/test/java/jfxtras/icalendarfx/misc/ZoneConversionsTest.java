@@ -0,0 +1,91 @@
+package jfxtras.icalendarfx.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.utilities.DateTimeUtilities;
+import jfxtras.icalendarfx.utilities.ZoneConversions;
+
+public class ZoneConversionsTest
+{
+    // zones with DST, half-hour DST (Lord_Howe), a skipped day (Apia) and fixed offsets
+    private static final List<ZoneId> ZONES = Arrays.asList(
+            ZoneId.of("America/New_York"),
+            ZoneId.of("Europe/London"),
+            ZoneId.of("Australia/Lord_Howe"),
+            ZoneId.of("Pacific/Apia"),
+            ZoneId.of("Asia/Kolkata"),
+            ZoneOffset.UTC,
+            ZoneOffset.ofHours(-7));
+
+    @Test
+    public void canConvertLocalDateTimesLikeAtZone()
+    {
+        for (ZoneId zone : ZONES)
+        {
+            LocalDateTime end = LocalDateTime.of(2040, 1, 1, 0, 0);
+            for (LocalDateTime t = LocalDateTime.of(1965, 1, 1, 0, 0); t.isBefore(end); t = t.plusMinutes(30))
+            {
+                assertEquals(zone + " " + t, t.atZone(zone).toEpochSecond(), ZoneConversions.toEpochSecond(t, zone));
+            }
+        }
+    }
+
+    @Test
+    public void canConvertInstantsLikeWithZoneSameInstant()
+    {
+        for (ZoneId zone : ZONES)
+        {
+            long end = LocalDateTime.of(2040, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+            for (long s = LocalDateTime.of(1965, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC); s < end; s += 1800)
+            {
+                ZonedDateTime utc = ZonedDateTime.ofInstant(Instant.ofEpochSecond(s), ZoneOffset.UTC);
+                assertEquals(zone + " " + utc, utc.withZoneSameInstant(zone).toLocalDateTime(), ZoneConversions.toLocalDateTime(utc, zone));
+            }
+        }
+    }
+
+    @Test
+    public void canConvertOutsideTableYears()
+    {
+        ZoneId zone = ZoneId.of("America/New_York");
+        LocalDateTime early = LocalDateTime.of(1850, 6, 1, 10, 0);
+        LocalDateTime late = LocalDateTime.of(2150, 3, 14, 2, 30); // in the DST gap
+        assertEquals(early.atZone(zone).toEpochSecond(), ZoneConversions.toEpochSecond(early, zone));
+        assertEquals(late.atZone(zone).toEpochSecond(), ZoneConversions.toEpochSecond(late, zone));
+        assertEquals(LocalDate.of(2150, 3, 14).atStartOfDay(zone).toEpochSecond(), ZoneConversions.toEpochSecond(LocalDate.of(2150, 3, 14), zone));
+    }
+
+    @Test
+    public void canCacheZoneIds()
+    {
+        ZoneId zone = ZoneConversions.zoneId("Europe/Paris");
+        assertEquals(ZoneId.of("Europe/Paris"), zone);
+        assertSame(zone, ZoneConversions.zoneId("Europe/Paris"));
+        assertSame(ZoneOffset.UTC, ZoneConversions.zoneId("Z"));
+    }
+
+    @Test
+    public void canCompareAcrossTypes()
+    {
+        ZoneId zone = ZoneId.of("America/New_York");
+        ZonedDateTime zoned = ZonedDateTime.of(LocalDateTime.of(2016, 3, 13, 3, 0), zone); // just after DST starts
+        ZonedDateTime sameInstant = zoned.withZoneSameInstant(ZoneOffset.UTC);
+        assertEquals(0, DateTimeUtilities.TEMPORAL_COMPARATOR2.compare(zoned, sameInstant));
+        assertTrue(DateTimeUtilities.TEMPORAL_COMPARATOR2.compare(zoned.minusSeconds(1), sameInstant) < 0);
+        assertTrue(DateTimeUtilities.TEMPORAL_COMPARATOR2.compare(LocalDate.of(2016, 3, 14), sameInstant) > 0);
+        assertEquals(0, DateTimeUtilities.TEMPORAL_COMPARATOR2.compare(LocalDate.of(2016, 3, 13), LocalDate.of(2016, 3, 13).atStartOfDay(ZoneOffset.UTC)));
+    }
+}
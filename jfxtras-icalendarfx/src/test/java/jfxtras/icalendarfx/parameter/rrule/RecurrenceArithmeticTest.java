@@ -0,0 +1,116 @@
+package jfxtras.icalendarfx.parameter.rrule;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.Temporal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import jfxtras.icalendarfx.components.VEvent;
+import jfxtras.icalendarfx.properties.component.recurrence.rrule.RecurrenceRuleValue;
+import jfxtras.icalendarfx.utilities.DateTimeUtilities;
+
+public class RecurrenceArithmeticTest
+{
+    private static final List<String> RULES = Arrays.asList(
+            "FREQ=HOURLY;INTERVAL=5",
+            "FREQ=DAILY;INTERVAL=3",
+            "FREQ=DAILY;INTERVAL=2;BYDAY=MO,WE,FR",
+            "FREQ=DAILY;BYHOUR=9,17;BYMINUTE=0,30",
+            "FREQ=WEEKLY;INTERVAL=2;BYDAY=TU,TH,SU",
+            "FREQ=WEEKLY;BYDAY=MO,TU,WE,TH,FR;BYSETPOS=1,-1",
+            "FREQ=MONTHLY;BYMONTHDAY=1,15,28",
+            "FREQ=MONTHLY;INTERVAL=3",
+            "FREQ=MONTHLY;BYDAY=2TU", // not closed form
+            "FREQ=YEARLY;BYMONTH=2,8;BYMONTHDAY=10,20",
+            "FREQ=YEARLY;BYMONTH=1,7");
+
+    /* Compares positions and counts with iterating the stream */
+    private static void assertMatchesStream(RecurrenceRuleValue rrule, Temporal dateTimeStart)
+    {
+        List<Temporal> recurrences = rrule.streamRecurrences(dateTimeStart).limit(400).collect(Collectors.toList());
+        for (int index : Arrays.asList(0, 1, 2, 7, 50, 199, 399))
+        {
+            assertEquals(rrule + " index " + index, recurrences.get(index), rrule.recurrenceAt(dateTimeStart, index));
+        }
+        for (int index : Arrays.asList(0, 3, 100, 398))
+        {
+            Temporal end = recurrences.get(index);
+            assertEquals(rrule + " at " + end, index + 1L, rrule.countRecurrences(dateTimeStart, end));
+            assertTrue(rrule.isRecurrence(dateTimeStart, end));
+            ChronoUnit unit = (end instanceof LocalDate) ? ChronoUnit.DAYS : ChronoUnit.SECONDS;
+            Temporal justBefore = end.minus(1, unit);
+            if ((index == 0) || DateTimeUtilities.isAfter(justBefore, recurrences.get(index - 1)))
+            {
+                assertEquals(rrule + " before " + end, (long) index, rrule.countRecurrences(dateTimeStart, justBefore));
+                assertFalse(rrule.isRecurrence(dateTimeStart, justBefore));
+            }
+        }
+    }
+
+    @Test
+    public void canMatchStreamForLocalDateTime()
+    {
+        LocalDateTime dateTimeStart = LocalDateTime.of(2015, 11, 9, 10, 0);
+        RULES.forEach(r -> assertMatchesStream(RecurrenceRuleValue.parse(r), dateTimeStart));
+    }
+
+    @Test
+    public void canMatchStreamForZonedDateTime()
+    {
+        // 02:30 is in the spring gap, so the stream moves to 03:30 and the arithmetic must fall back
+        for (LocalDateTime localDateTime : Arrays.asList(LocalDateTime.of(2015, 11, 9, 10, 0), LocalDateTime.of(2015, 11, 9, 2, 30)))
+        {
+            ZonedDateTime dateTimeStart = ZonedDateTime.of(localDateTime, ZoneId.of("America/Los_Angeles"));
+            RULES.forEach(r -> assertMatchesStream(RecurrenceRuleValue.parse(r), dateTimeStart));
+        }
+    }
+
+    @Test
+    public void canMatchStreamForLocalDate()
+    {
+        LocalDate dateTimeStart = LocalDate.of(2016, 1, 31);
+        Arrays.asList("FREQ=DAILY;INTERVAL=4;BYDAY=SA,SU", "FREQ=WEEKLY;BYDAY=MO,SA", "FREQ=MONTHLY;BYMONTHDAY=5,6",
+                "FREQ=MONTHLY", "FREQ=YEARLY")
+                .forEach(r -> assertMatchesStream(RecurrenceRuleValue.parse(r), dateTimeStart));
+    }
+
+    @Test
+    public void canConvertCountAndUntil()
+    {
+        LocalDateTime dateTimeStart = LocalDateTime.of(2015, 11, 9, 10, 0);
+        RecurrenceRuleValue countRule = RecurrenceRuleValue.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR;COUNT=1000");
+        Temporal last = countRule.lastRecurrence(dateTimeStart);
+        assertEquals(countRule.streamRecurrences(dateTimeStart).reduce((a, b) -> b).get(), last);
+        assertNull(countRule.recurrenceAt(dateTimeStart, 1000));
+
+        RecurrenceRuleValue untilRule = RecurrenceRuleValue.parse("FREQ=WEEKLY;BYDAY=MO,WE,FR;UNTIL=20220301T000000Z");
+        assertEquals(untilRule.streamRecurrences(dateTimeStart).count(), untilRule.countRecurrences(dateTimeStart));
+        assertEquals(untilRule.streamRecurrences(dateTimeStart).reduce((a, b) -> b).get(), untilRule.lastRecurrence(dateTimeStart));
+        assertNull(untilRule.recurrenceAt(dateTimeStart, untilRule.countRecurrences(dateTimeStart)));
+        assertNull(RecurrenceRuleValue.parse("FREQ=DAILY").lastRecurrence(dateTimeStart));
+    }
+
+    @Test
+    public void canCountWithExceptions()
+    {
+        VEvent vEvent = new VEvent()
+                .withDateTimeStart(ZonedDateTime.of(LocalDateTime.of(2015, 11, 9, 10, 0), ZoneId.of("Z")))
+                .withRecurrenceRule("RRULE:FREQ=DAILY;UNTIL=20251109T100000Z")
+                .withExceptionDates("EXDATE:20151110T100000Z,20151111T100000Z,20151111T110000Z");
+        assertEquals(vEvent.streamRecurrences().count(), vEvent.countRecurrences());
+        assertEquals(3652, vEvent.countRecurrences());
+        assertEquals(3, vEvent.countRecurrences(ZonedDateTime.of(LocalDateTime.of(2015, 11, 13, 10, 0), ZoneId.of("Z"))));
+    }
+}